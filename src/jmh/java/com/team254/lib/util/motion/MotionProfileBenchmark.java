@@ -0,0 +1,71 @@
+package com.team254.lib.util.motion;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating a trapezoidal profile from scratch, and getting a setpoint from a {@link SetpointGenerator}
+ * partway through a profile, which is what a profiled subsystem does every loop.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MotionProfileBenchmark {
+
+    /**
+     * The constraints of an elevator-sized move.
+     */
+    private final MotionProfileConstraints constraints = new MotionProfileConstraints(5, 10);
+
+    /**
+     * Where the move ends, in feet.
+     */
+    private final MotionProfileGoal goal = new MotionProfileGoal(4);
+
+    /**
+     * The generator used for setpoints.
+     */
+    private SetpointGenerator generator;
+
+    /**
+     * The setpoint from the last call, fed back in as the previous state like a subsystem would.
+     */
+    private MotionState state;
+
+    /**
+     * The start position, varied between calls so the JIT can't fold it away.
+     */
+    private double start;
+
+    /**
+     * Start a fresh profile.
+     */
+    @Setup
+    public void setup() {
+        generator = new SetpointGenerator();
+        state = new MotionState(0, 0, 0, 0);
+    }
+
+    /**
+     * @return A profile from the next start position to the goal.
+     */
+    @Benchmark
+    public MotionProfile generateProfile() {
+        start = start > 3 ? 0 : start + 0.01;
+        return MotionProfileGenerator.generateProfile(constraints, goal, new MotionState(0, start, 0, 0));
+    }
+
+    /**
+     * @return The setpoint 5 milliseconds after the last one, starting the move over once it's finished.
+     */
+    @Benchmark
+    public SetpointGenerator.Setpoint getSetpoint() {
+        SetpointGenerator.Setpoint setpoint = generator.getSetpoint(constraints, goal, state, state.t() + 0.005);
+        state = setpoint.final_setpoint ? new MotionState(0, 0, 0, 0) : setpoint.motion_state;
+        return setpoint;
+    }
+}
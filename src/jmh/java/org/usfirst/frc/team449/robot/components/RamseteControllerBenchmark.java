@@ -0,0 +1,67 @@
+package org.usfirst.frc.team449.robot.components;
+
+import org.openjdk.jmh.annotations.*;
+import org.usfirst.frc.team449.robot.other.PoseTrajectory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one cycle of {@link org.usfirst.frc.team449.robot.drive.unidirectional.commands.FollowPoseTrajectory}:
+ * sampling the path and running the {@link RamseteController} on it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RamseteControllerBenchmark {
+
+    /**
+     * The controller being measured.
+     */
+    private RamseteController controller;
+
+    /**
+     * A 3 second arc, sampled every 10 milliseconds.
+     */
+    private PoseTrajectory trajectory;
+
+    /**
+     * The time on the path, varied between calls so the JIT can't fold it away.
+     */
+    private double time;
+
+    /**
+     * Build the controller and the path.
+     */
+    @Setup
+    public void setup() {
+        controller = new RamseteController(0.19, 0.7, 2.);
+        int n = 301;
+        double[] x = new double[n], y = new double[n], theta = new double[n], vel = new double[n],
+                omega = new double[n];
+        for (int i = 0; i < n; i++) {
+            double t = i * 0.01;
+            vel[i] = 5;
+            omega[i] = 0.5;
+            theta[i] = omega[i] * t;
+            x[i] = vel[i] / omega[i] * Math.sin(theta[i]);
+            y[i] = vel[i] / omega[i] * (1 - Math.cos(theta[i]));
+        }
+        trajectory = new PoseTrajectory(x, y, theta, vel, omega, 0.01);
+    }
+
+    /**
+     * @return The left wheel velocity for a robot slightly off the path at the next time.
+     */
+    @Benchmark
+    public double cycle() {
+        time = time > 3 ? 0 : time + 0.0037;
+        trajectory.sample(time);
+        controller.calculate(trajectory.getX() + 0.1, trajectory.getY() - 0.1, trajectory.getTheta() + 0.05,
+                trajectory.getX(), trajectory.getY(), trajectory.getTheta(), trajectory.getVel(),
+                trajectory.getOmega());
+        return controller.getLeftVel();
+    }
+}
@@ -0,0 +1,70 @@
+package org.usfirst.frc.team449.robot.components;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding a point to a full {@link RunningLinRegComponent} and getting the slope, which FPSTalon does every
+ * time it's logged to estimate resistance.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RunningLinRegComponentBenchmark {
+
+    /**
+     * The number of points the regression is over.
+     */
+    @Param({"250", "2000"})
+    public int bufferSize;
+
+    /**
+     * The regression being measured.
+     */
+    private RunningLinRegComponent linReg;
+
+    /**
+     * The x of the next point, varied between calls so the JIT can't fold it away.
+     */
+    private double x;
+
+    /**
+     * Fill the regression's buffer so every added point pops an old one.
+     */
+    @Setup
+    public void setup() {
+        linReg = new RunningLinRegComponent(bufferSize, 0);
+        for (int i = 0; i < bufferSize; i++) {
+            addNext();
+        }
+    }
+
+    /**
+     * Add the next point on a noisy line.
+     */
+    private void addNext() {
+        x = x > 40 ? 0 : x + 0.37;
+        linReg.addPoint(x, -0.02 * x + 0.001 * Math.sin(x * 17));
+    }
+
+    /**
+     * Add a point.
+     */
+    @Benchmark
+    public void addPoint() {
+        addNext();
+    }
+
+    /**
+     * @return The slope after adding a point.
+     */
+    @Benchmark
+    public Double addPointAndGetSlope() {
+        addNext();
+        return linReg.getSlope();
+    }
+}
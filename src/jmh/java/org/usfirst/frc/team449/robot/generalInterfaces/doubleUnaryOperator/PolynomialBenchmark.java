@@ -0,0 +1,112 @@
+package org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Compares evaluating a {@link Polynomial} with evaluating the same terms straight from the map, like it used to.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PolynomialBenchmark {
+
+    /**
+     * The terms to evaluate: the throttle curve from the map, one with a fractional power, or a long one.
+     */
+    @Param({"throttle", "fractional", "long"})
+    public String terms;
+
+    /**
+     * The polynomial as compiled, and as evaluated from the map.
+     */
+    private DoubleUnaryOperator compiled, map;
+
+    /**
+     * The input, varied between calls so the JIT can't fold it away.
+     */
+    private double x;
+
+    /**
+     * Build both versions of the polynomial.
+     */
+    @Setup
+    public void setup() {
+        Map<Double, Double> powerToCoefficientMap = new HashMap<>();
+        switch (terms) {
+            case "throttle":
+                powerToCoefficientMap.put(1., 0.5);
+                powerToCoefficientMap.put(3., 0.5);
+                break;
+            case "fractional":
+                powerToCoefficientMap.put(1., 0.4);
+                powerToCoefficientMap.put(1.5, 0.3);
+                powerToCoefficientMap.put(3., 0.3);
+                break;
+            default:
+                for (int i = 0; i <= 7; i++) {
+                    powerToCoefficientMap.put((double) i, 1. / 8);
+                }
+        }
+        compiled = new Polynomial(new HashMap<>(powerToCoefficientMap), null);
+        map = new MapPolynomial(powerToCoefficientMap);
+    }
+
+    /**
+     * @return The compiled polynomial evaluated at the next input.
+     */
+    @Benchmark
+    public double compiled() {
+        x = x > 1 ? -1 : x + 0.01;
+        return compiled.applyAsDouble(x);
+    }
+
+    /**
+     * @return The map-based polynomial evaluated at the next input.
+     */
+    @Benchmark
+    public double map() {
+        x = x > 1 ? -1 : x + 0.01;
+        return map.applyAsDouble(x);
+    }
+
+    /**
+     * The way {@link Polynomial} evaluated its terms before they were compiled.
+     */
+    private static class MapPolynomial implements DoubleUnaryOperator {
+
+        /**
+         * A map of the powers and coefficients of each term.
+         */
+        @NotNull
+        private final Map<Double, Double> powerToCoefficientMap;
+
+        /**
+         * Default constructor.
+         *
+         * @param powerToCoefficientMap A map of the powers and coefficients of each term.
+         */
+        MapPolynomial(@NotNull Map<Double, Double> powerToCoefficientMap) {
+            this.powerToCoefficientMap = powerToCoefficientMap;
+        }
+
+        @Override
+        public double applyAsDouble(double x) {
+            double sign = Math.signum(x);
+            double abs = Math.abs(x);
+            double toRet = 0;
+            for (double power : powerToCoefficientMap.keySet()) {
+                toRet += Math.pow(abs, power) * powerToCoefficientMap.get(power);
+            }
+            return toRet * sign;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package org.usfirst.frc.team449.robot.generalInterfaces.poseEstimator;
+
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.usfirst.frc.team449.robot.drive.unidirectional.DriveUnidirectional;
+import org.usfirst.frc.team449.robot.other.Clock;
+import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.SubsystemAHRS;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a {@link UnidirectionalPoseEstimator} tick, and adding an absolute position once it has a history to search
+ * through and trim. The {@link Clock} is stepped a tick at a time by the benchmark instead of read, so every tick has
+ * its own time.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnidirectionalPoseEstimatorBenchmark {
+
+    /**
+     * The time the {@link Clock} gives. Clock only follows the wall clock, so the benchmark sets it directly.
+     */
+    private static final Field CLOCK_TIME;
+
+    static {
+        try {
+            CLOCK_TIME = Clock.class.getDeclaredField("currentTime");
+            CLOCK_TIME.setAccessible(true);
+        } catch (NoSuchFieldException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Move the {@link Clock} forwards one tick without waiting.
+     */
+    static void tickClock() {
+        try {
+            CLOCK_TIME.setLong(null, Clock.currentTimeMillis() + FakeDrive.TICK_MILLIS);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param state A drive and estimator that gets an absolute position every second.
+     * @return The position after the drive moves one tick.
+     */
+    @Benchmark
+    public double[] run(RunState state) {
+        tickClock();
+        state.drive.step();
+        state.estimator.run();
+        if (++state.ticksSinceAbsolutePos == RunState.TICKS_PER_ABSOLUTE_POS) {
+            state.ticksSinceAbsolutePos = 0;
+            double[] pos = state.estimator.getPos();
+            state.estimator.addAbsolutePos(pos[0], pos[1], Clock.currentTimeMillis(), state.drive.heading);
+        }
+        return state.estimator.getPos();
+    }
+
+    /**
+     * @param state An estimator with a history to search through and trim.
+     * @return Whether the absolute position was used.
+     */
+    @Benchmark
+    public boolean addAbsolutePos(HistoryState state) {
+        //Tick once, so trimming the oldest tick leaves the history the same length.
+        tickClock();
+        state.drive.step();
+        state.estimator.run();
+        return state.estimator.addAbsolutePos(1, 2,
+                Clock.currentTimeMillis() - state.history * FakeDrive.TICK_MILLIS,
+                state.drive.heading - state.history * FakeDrive.DEGREES_PER_TICK);
+    }
+
+    /**
+     * A drive and estimator for ticking. The estimator keeps every tick until it gets an absolute position, so it gets
+     * one every second, like from vision, to keep its history from growing for the whole iteration.
+     */
+    @State(Scope.Thread)
+    public static class RunState {
+
+        /**
+         * The number of ticks between absolute positions. 50 is a second at 50 Hz.
+         */
+        static final int TICKS_PER_ABSOLUTE_POS = 50;
+
+        /**
+         * The drive driving an arc.
+         */
+        FakeDrive drive;
+
+        /**
+         * The estimator being measured.
+         */
+        UnidirectionalPoseEstimator<FakeDrive> estimator;
+
+        /**
+         * The number of ticks since the last absolute position.
+         */
+        int ticksSinceAbsolutePos;
+
+        /**
+         * Start a fresh drive and estimator.
+         */
+        @Setup(Level.Iteration)
+        public void setup() {
+            drive = new FakeDrive();
+            estimator = new UnidirectionalPoseEstimator<>(drive, 5, 0, 0, 0);
+            ticksSinceAbsolutePos = 0;
+        }
+    }
+
+    /**
+     * An estimator whose last absolute position was a given number of ticks ago, for adding one from that long ago.
+     * Each call ticks once before trimming the oldest tick, so the history stays the same length and only has to be
+     * built once per iteration.
+     */
+    @State(Scope.Thread)
+    public static class HistoryState {
+
+        /**
+         * The number of ticks of history. 7500 is a whole match at 50 Hz.
+         */
+        @Param({"50", "7500"})
+        public int history;
+
+        /**
+         * The drive driving an arc.
+         */
+        FakeDrive drive;
+
+        /**
+         * The estimator being measured.
+         */
+        UnidirectionalPoseEstimator<FakeDrive> estimator;
+
+        /**
+         * Give a fresh estimator the history, a tick apart.
+         */
+        @Setup(Level.Iteration)
+        public void setup() {
+            drive = new FakeDrive();
+            estimator = new UnidirectionalPoseEstimator<>(drive, 5, 0, 0, drive.heading);
+            for (int i = 0; i < history; i++) {
+                tickClock();
+                drive.step();
+                estimator.run();
+            }
+        }
+    }
+
+    /**
+     * A drive that moves along an arc each time it's stepped.
+     */
+    static class FakeDrive implements SubsystemAHRS, DriveUnidirectional {
+
+        /**
+         * The length of a tick, in milliseconds.
+         */
+        static final long TICK_MILLIS = 20;
+
+        /**
+         * How far the heading turns each tick, in degrees.
+         */
+        static final double DEGREES_PER_TICK = Math.toDegrees(0.01 / 2.);
+
+        /**
+         * The distance each side has driven, in feet, and the heading, in degrees.
+         */
+        private double left, right, heading;
+
+        /**
+         * Move one 20 millisecond tick along the arc.
+         */
+        void step() {
+            left += 0.1;
+            right += 0.09;
+            heading += DEGREES_PER_TICK;
+        }
+
+        @Override
+        public double getHeading() {
+            return heading;
+        }
+
+        @Override
+        public void setHeading(double heading) {
+            this.heading = heading;
+        }
+
+        @Override
+        public double getHeadingCached() {
+            return heading;
+        }
+
+        @Override
+        public double getAngularVel() {
+            return 0;
+        }
+
+        @Override
+        public double getAngularVelCached() {
+            return 0;
+        }
+
+        @Override
+        public double getAngularDisplacement() {
+            return heading;
+        }
+
+        @Override
+        public double getAngularDisplacementCached() {
+            return heading;
+        }
+
+        @Override
+        public double getPitch() {
+            return 0;
+        }
+
+        @Override
+        public double getCachedPitch() {
+            return 0;
+        }
+
+        @Override
+        public boolean getOverrideGyro() {
+            return false;
+        }
+
+        @Override
+        public void setOverrideGyro(boolean override) {
+        }
+
+        @Override
+        public void setOutput(double left, double right) {
+        }
+
+        @Nullable
+        @Override
+        public Double getLeftVel() {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public Double getRightVel() {
+            return null;
+        }
+
+        @Override
+        public Double getLeftPos() {
+            return left;
+        }
+
+        @Override
+        public Double getRightPos() {
+            return right;
+        }
+
+        @Nullable
+        @Override
+        public Double getLeftVelCached() {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public Double getRightVelCached() {
+            return null;
+        }
+
+        @Override
+        public Double getLeftPosCached() {
+            return left;
+        }
+
+        @Override
+        public Double getRightPosCached() {
+            return right;
+        }
+
+        @Override
+        public void fullStop() {
+        }
+
+        @Override
+        public void enableMotors() {
+        }
+
+        @Override
+        public void resetPosition() {
+        }
+
+        @Override
+        public void update() {
+        }
+    }
+}
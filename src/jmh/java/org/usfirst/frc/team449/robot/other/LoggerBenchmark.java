@@ -0,0 +1,140 @@
+package org.usfirst.frc.team449.robot.other;
+
+import edu.wpi.first.hal.HAL;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one {@link Logger} loop, publishing to NetworkTables and writing a telemetry line and a few events, with
+ * loggables shaped like the robot's talons. Needs the desktop WPILib natives, which the jmh task puts on the library
+ * path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggerBenchmark {
+
+    /**
+     * The number of loggables. The competition map logs about 20.
+     */
+    @Param({"5", "20"})
+    public int loggables;
+
+    /**
+     * The directory the logs are written to.
+     */
+    private File logDir;
+
+    /**
+     * The logger being measured.
+     */
+    private Logger logger;
+
+    /**
+     * Start HAL and make a logger writing to a temporary directory.
+     *
+     * @throws IOException If the logs can't be created.
+     */
+    @Setup
+    public void setup() throws IOException {
+        HAL.initialize(500, 0);
+        logDir = Files.createTempDirectory("loggerBenchmark").toFile();
+        Loggable[] toLog = new Loggable[loggables];
+        for (int i = 0; i < loggables; i++) {
+            toLog[i] = new FakeLoggable("talon" + i);
+        }
+        logger = new Logger(toLog, new File(logDir, "eventLog-").getPath(),
+                new File(logDir, "telemetryLog-").getPath(), 20);
+    }
+
+    /**
+     * Delete the logs.
+     */
+    @TearDown
+    public void tearDown() {
+        File[] logs = logDir.listFiles();
+        if (logs != null) {
+            for (File log : logs) {
+                log.delete();
+            }
+        }
+        logDir.delete();
+    }
+
+    /**
+     * Run one logging loop with a couple of events, like a command starting and ending.
+     */
+    @Benchmark
+    public void run() {
+        Logger.addEvent("Benchmark command init", LoggerBenchmark.class);
+        Logger.addEvent("Benchmark command end", LoggerBenchmark.class);
+        logger.run();
+    }
+
+    /**
+     * A loggable with the same mix of data as an FPSTalon: mostly numbers, with some ints, strings, and nulls.
+     */
+    private static class FakeLoggable implements Loggable {
+
+        /**
+         * The name logged under.
+         */
+        @NotNull
+        private final String name;
+
+        /**
+         * A value that changes every time it's logged.
+         */
+        private double value;
+
+        /**
+         * Default constructor.
+         *
+         * @param name The name logged under.
+         */
+        FakeLoggable(@NotNull String name) {
+            this.name = name;
+        }
+
+        @NotNull
+        @Override
+        public String[] getHeader() {
+            String[] header = new String[25];
+            for (int i = 0; i < header.length; i++) {
+                header[i] = "datum" + i;
+            }
+            return header;
+        }
+
+        @NotNull
+        @Override
+        public Object[] getData() {
+            value += 0.013;
+            Object[] data = new Object[25];
+            for (int i = 0; i < 20; i++) {
+                data[i] = value * i;
+            }
+            data[20] = (int) value;
+            data[21] = "Velocity";
+            data[22] = value > 1;
+            data[23] = (long) (value * 1000);
+            data[24] = null;
+            return data;
+        }
+
+        @NotNull
+        @Override
+        public String getLogName() {
+            return name;
+        }
+    }
+}
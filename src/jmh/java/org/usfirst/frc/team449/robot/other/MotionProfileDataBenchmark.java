@@ -0,0 +1,64 @@
+package org.usfirst.frc.team449.robot.other;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a {@link MotionProfileData} from a CSV, which happens for every profile in the map at boot.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MotionProfileDataBenchmark {
+
+    /**
+     * The number of points in the profile. 750 is a 7.5 second profile at 10 milliseconds per point.
+     */
+    @Param({"100", "750"})
+    public int points;
+
+    /**
+     * The CSV being read.
+     */
+    private File csv;
+
+    /**
+     * Write a profile in the format the path generator outputs.
+     *
+     * @throws IOException If the CSV can't be written.
+     */
+    @Setup
+    public void setup() throws IOException {
+        csv = File.createTempFile("profile", ".csv");
+        try (FileWriter writer = new FileWriter(csv)) {
+            writer.write(points + "\n");
+            for (int i = 0; i < points; i++) {
+                double t = i * 0.01;
+                writer.write(0.5 * t * t + ",\t" + t + ",\t" + 1. + ",\t" + 0.01 + ",\t" + 15 * t + "\n");
+            }
+        }
+    }
+
+    /**
+     * Delete the CSV.
+     */
+    @TearDown
+    public void tearDown() {
+        csv.delete();
+    }
+
+    /**
+     * @return The profile read from the CSV.
+     */
+    @Benchmark
+    public MotionProfileData read() {
+        return new MotionProfileData(csv.getAbsolutePath(), false, false, false);
+    }
+}
@@ -0,0 +1,463 @@
+package org.usfirst.frc.team449.robot;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Fits each talon's kV, kA, and intercept voltage from the telemetry logs of {@link
+ * org.usfirst.frc.team449.robot.drive.unidirectional.commands.VoltageRamp} runs and step tests, and prints a
+ * feedForwardComponent block for each gear. Each block replaces only the feedForwardComponent of that gear's existing
+ * perGearSettings entry in the map, since the entry's PID gains and max speed aren't fit. Run by the characterize
+ * Gradle task on the laptop, after pulling the logs with getLogs.sh.
+ * <p>
+ * Every talon with velocity, voltage, and gear columns in the logs is fit, separately for each gear and direction, by
+ * least squares of the applied voltage on velocity, acceleration, and the sign of velocity, the same model {@link
+ * org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.feedForwardComponent.FeedForwardKaKvComponent}
+ * uses. Ramps pin down kV and the intercept and step tests pin down kA, so both should be in the logs given. Each log
+ * is read on its own thread, and only the sums the fit needs are kept, so they can be combined at the end.
+ * </p>
+ */
+public class Characterizer {
+
+    /**
+     * The slowest speed, in feet/sec, that points are used at. Static friction makes the model wrong below this.
+     */
+    private static final double MIN_SPEED = 0.1;
+
+    /**
+     * The longest gap between telemetry rows, in milliseconds, that acceleration is calculated across. Longer gaps are
+     * treated as the start of a new run.
+     */
+    private static final long MAX_GAP_MILLIS = 100;
+
+    /**
+     * The number of parameters fit in each direction: kV, kA, and intercept voltage.
+     */
+    private static final int NUM_PARAMS = 3;
+
+    /**
+     * Make constructor private so it can't be called
+     */
+    private Characterizer() {
+    }
+
+    /**
+     * Fit the logs and print the results.
+     *
+     * @param args The telemetry logs, or directories of them, to fit.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: Characterizer <telemetry log or directory>...");
+            System.exit(2);
+        }
+        List<File> logs = new ArrayList<>();
+        for (String arg : args) {
+            File file = new File(arg);
+            File[] children = file.listFiles((dir, name) -> name.startsWith("telemetryLog") && name.endsWith(".csv"));
+            if (children != null) {
+                Arrays.sort(children);
+                logs.addAll(Arrays.asList(children));
+            } else if (file.isFile()) {
+                logs.add(file);
+            } else {
+                System.err.println(arg + " doesn't exist");
+                System.exit(2);
+            }
+        }
+        if (logs.isEmpty()) {
+            System.err.println("No telemetry logs found in " + String.join(", ", args));
+            System.exit(2);
+        }
+
+        List<Map<String, Map<Integer, Fit[]>>> perLog = logs.parallelStream().map(log -> {
+            try {
+                return readLog(log);
+            } catch (IOException e) {
+                throw new UncheckedIOException(log.getName() + " couldn't be read", e);
+            }
+        }).collect(Collectors.toList());
+
+        //Combine the logs, keeping talons and gears in order so the output is stable.
+        Map<String, Map<Integer, Fit[]>> fits = new TreeMap<>();
+        for (Map<String, Map<Integer, Fit[]>> log : perLog) {
+            for (Map.Entry<String, Map<Integer, Fit[]>> talon : log.entrySet()) {
+                Map<Integer, Fit[]> gears = fits.computeIfAbsent(talon.getKey(), k -> new TreeMap<>());
+                for (Map.Entry<Integer, Fit[]> gear : talon.getValue().entrySet()) {
+                    Fit[] existing = gears.get(gear.getKey());
+                    if (existing == null) {
+                        gears.put(gear.getKey(), gear.getValue());
+                    } else {
+                        existing[0].merge(gear.getValue()[0]);
+                        existing[1].merge(gear.getValue()[1]);
+                    }
+                }
+            }
+        }
+
+        System.out.println("# Fit from " + logs.size() + " log(s)");
+        if (fits.isEmpty()) {
+            System.out.println("# No talons with velocity, voltage, and gear columns were found");
+        }
+        for (Map.Entry<String, Map<Integer, Fit[]>> talon : fits.entrySet()) {
+            printTalon(talon.getKey(), talon.getValue());
+        }
+    }
+
+    /**
+     * Read one telemetry log and add each usable row to the fit for its talon, gear, and direction.
+     *
+     * @param log The telemetry log.
+     * @return The fits for each talon in the log, by gear, as [forwards, reverse].
+     * @throws IOException If the log can't be read.
+     */
+    @NotNull
+    private static Map<String, Map<Integer, Fit[]>> readLog(@NotNull File log) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        String[] header;
+        try (BufferedReader reader = Files.newBufferedReader(log.toPath())) {
+            String line = reader.readLine();
+            if (line == null) {
+                return new HashMap<>();
+            }
+            header = line.split(",");
+            while ((line = reader.readLine()) != null) {
+                String[] row = line.split(",", -1);
+                //The last row can be cut off if the robot was turned off while it was being written.
+                if (row.length == header.length) {
+                    rows.add(row);
+                }
+            }
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            columns.put(header[i], i);
+        }
+        Integer timeColumn = columns.get("Clock.time");
+        Map<String, Map<Integer, Fit[]>> fits = new HashMap<>();
+        if (timeColumn == null) {
+            return fits;
+        }
+        long[] times = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            times[i] = Long.parseLong(rows.get(i)[timeColumn]);
+        }
+
+        for (String column : header) {
+            if (!column.endsWith(".velocity")) {
+                continue;
+            }
+            String talon = column.substring(0, column.length() - ".velocity".length());
+            Integer voltageColumn = columns.get(talon + ".voltage");
+            Integer gearColumn = columns.get(talon + ".gear");
+            if (voltageColumn == null || gearColumn == null) {
+                continue;
+            }
+            fitTalon(rows, times, columns.get(column), voltageColumn, gearColumn,
+                    fits.computeIfAbsent(talon, k -> new HashMap<>()));
+        }
+        return fits;
+    }
+
+    /**
+     * Add one talon's rows from a log to its fits.
+     *
+     * @param rows          The rows of the log.
+     * @param times         The Clock time of each row, in milliseconds.
+     * @param velColumn     The column of the talon's velocity, in feet/sec.
+     * @param voltageColumn The column of the talon's output voltage.
+     * @param gearColumn    The column of the talon's gear.
+     * @param fits          The talon's fits by gear, as [forwards, reverse], which are added to.
+     */
+    private static void fitTalon(@NotNull List<String[]> rows, @NotNull long[] times, int velColumn,
+                                 int voltageColumn, int gearColumn, @NotNull Map<Integer, Fit[]> fits) {
+        int n = rows.size();
+        double[] vel = new double[n], voltage = new double[n];
+        int[] gear = new int[n];
+        boolean[] valid = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            String[] row = rows.get(i);
+            try {
+                vel[i] = Double.parseDouble(row[velColumn]);
+                voltage[i] = Double.parseDouble(row[voltageColumn]);
+                gear[i] = Integer.parseInt(row[gearColumn]);
+                valid[i] = true;
+            } catch (NumberFormatException e) {
+                //Logged as null before the talon had a reading.
+                valid[i] = false;
+            }
+        }
+
+        //Acceleration is the central difference, so the first and last row of every run are skipped.
+        for (int i = 1; i < n - 1; i++) {
+            if (!valid[i - 1] || !valid[i] || !valid[i + 1] || gear[i - 1] != gear[i] || gear[i + 1] != gear[i]) {
+                continue;
+            }
+            long dt = times[i + 1] - times[i - 1];
+            if (dt <= 0 || times[i] - times[i - 1] > MAX_GAP_MILLIS || times[i + 1] - times[i] > MAX_GAP_MILLIS) {
+                continue;
+            }
+            //Only use points moving under power in the direction of travel, since braking isn't in the model.
+            if (Math.abs(vel[i]) < MIN_SPEED || Math.signum(voltage[i]) != Math.signum(vel[i])) {
+                continue;
+            }
+            double accel = (vel[i + 1] - vel[i - 1]) / (dt / 1000.);
+            Fit[] gearFits = fits.computeIfAbsent(gear[i], k -> new Fit[]{new Fit(), new Fit()});
+            gearFits[vel[i] > 0 ? 0 : 1].addPoint(voltage[i], vel[i], accel);
+        }
+    }
+
+    /**
+     * Print a talon's fit quality and a feedForwardComponent block for each gear it has forwards data for.
+     *
+     * @param talon The name of the talon.
+     * @param gears The talon's fits by gear, as [forwards, reverse].
+     */
+    private static void printTalon(@NotNull String talon, @NotNull Map<Integer, Fit[]> gears) {
+        StringBuilder yaml = new StringBuilder();
+        System.out.println();
+        System.out.println("# " + talon);
+        for (Map.Entry<Integer, Fit[]> entry : gears.entrySet()) {
+            String gearName = gearName(entry.getKey());
+            Fit fwd = entry.getValue()[0];
+            Fit rev = entry.getValue()[1];
+            double[] fwdParams = fwd.solve();
+            double[] revParams = rev.solve();
+            System.out.println("#   gear " + entry.getKey() + " forwards: " + fwd.describe(fwdParams));
+            System.out.println("#   gear " + entry.getKey() + " reverse:  " + rev.describe(revParams));
+            if (fwdParams == null) {
+                System.out.println("#   gear " + entry.getKey() + " is left out, it needs forwards data");
+                continue;
+            }
+            yaml.append("# Replace only feedForwardComponent in the perGearSettings entry with ")
+                    .append(gearName == null ? "gearNum: " + entry.getKey() : "gear: " + gearName)
+                    .append(", keeping its other settings\n");
+            yaml.append("feedForwardComponent:\n");
+            yaml.append("  org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator." +
+                    "feedForwardComponent.FeedForwardKaKvComponent:\n");
+            appendParam(yaml, "kVFwd", fwdParams[0]);
+            appendParam(yaml, "kAFwd", fwdParams[1]);
+            appendParam(yaml, "interceptVoltageFwd", fwdParams[2]);
+            //Leave reverse out if there wasn't enough data, so it defaults to forwards.
+            if (revParams != null) {
+                appendParam(yaml, "kVRev", revParams[0]);
+                appendParam(yaml, "kARev", revParams[1]);
+                appendParam(yaml, "interceptVoltageRev", revParams[2]);
+            }
+        }
+        System.out.print(yaml);
+    }
+
+    /**
+     * @param gearNum The gear number logged by the talon.
+     * @return The name of the gear in the map, or null if it's not a named gear.
+     */
+    @Nullable
+    private static String gearName(int gearNum) {
+        switch (gearNum) {
+            case 1:
+                return "LOW";
+            case 2:
+                return "HIGH";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Add a feedforward parameter to a feedForwardComponent block.
+     *
+     * @param yaml  The block.
+     * @param name  The name of the parameter.
+     * @param value The value of the parameter.
+     */
+    private static void appendParam(@NotNull StringBuilder yaml, @NotNull String name, double value) {
+        yaml.append("    ").append(name).append(": ").append(String.format("%.6f", value)).append('\n');
+    }
+
+    /**
+     * The sums needed for a least squares fit of voltage = kV * velocity + kA * acceleration + sign * intercept in one
+     * direction, which can be combined across logs without keeping the points.
+     */
+    private static class Fit {
+
+        /**
+         * The regressors transposed times the regressors.
+         */
+        private final double[][] xtx = new double[NUM_PARAMS][NUM_PARAMS];
+
+        /**
+         * The regressors transposed times the voltages.
+         */
+        private final double[] xty = new double[NUM_PARAMS];
+
+        /**
+         * The sum of the voltages and of the squared voltages.
+         */
+        private double sumY, sumYSquared;
+
+        /**
+         * The number of points.
+         */
+        private long n;
+
+        /**
+         * The regressors for the current point. Field to avoid garbage collection.
+         */
+        private final double[] x = new double[NUM_PARAMS];
+
+        /**
+         * Add a point.
+         *
+         * @param voltage      The applied voltage.
+         * @param velocity     The velocity, in feet/sec.
+         * @param acceleration The acceleration, in feet/sec^2.
+         */
+        void addPoint(double voltage, double velocity, double acceleration) {
+            x[0] = velocity;
+            x[1] = acceleration;
+            x[2] = Math.signum(velocity);
+            for (int i = 0; i < NUM_PARAMS; i++) {
+                for (int j = 0; j < NUM_PARAMS; j++) {
+                    xtx[i][j] += x[i] * x[j];
+                }
+                xty[i] += x[i] * voltage;
+            }
+            sumY += voltage;
+            sumYSquared += voltage * voltage;
+            n++;
+        }
+
+        /**
+         * Add another fit's points to this one.
+         *
+         * @param other The fit to add.
+         */
+        void merge(@NotNull Fit other) {
+            for (int i = 0; i < NUM_PARAMS; i++) {
+                for (int j = 0; j < NUM_PARAMS; j++) {
+                    xtx[i][j] += other.xtx[i][j];
+                }
+                xty[i] += other.xty[i];
+            }
+            sumY += other.sumY;
+            sumYSquared += other.sumYSquared;
+            n += other.n;
+        }
+
+        /**
+         * Solve for the parameters.
+         *
+         * @return The parameters as [kV, kA, intercept voltage], or null if there aren't enough points or they don't
+         * determine the parameters.
+         */
+        @Nullable
+        double[] solve() {
+            double[][] inverse = inverse();
+            if (inverse == null) {
+                return null;
+            }
+            double[] params = new double[NUM_PARAMS];
+            for (int i = 0; i < NUM_PARAMS; i++) {
+                for (int j = 0; j < NUM_PARAMS; j++) {
+                    params[i] += inverse[i][j] * xty[j];
+                }
+            }
+            return params;
+        }
+
+        /**
+         * Invert the regressors transposed times the regressors with Gauss-Jordan elimination.
+         *
+         * @return The inverse, or null if there are too few points or it's singular.
+         */
+        @Nullable
+        private double[][] inverse() {
+            if (n <= NUM_PARAMS) {
+                return null;
+            }
+            double[][] a = new double[NUM_PARAMS][2 * NUM_PARAMS];
+            for (int i = 0; i < NUM_PARAMS; i++) {
+                System.arraycopy(xtx[i], 0, a[i], 0, NUM_PARAMS);
+                a[i][NUM_PARAMS + i] = 1;
+            }
+            for (int col = 0; col < NUM_PARAMS; col++) {
+                int pivot = col;
+                for (int row = col + 1; row < NUM_PARAMS; row++) {
+                    if (Math.abs(a[row][col]) > Math.abs(a[pivot][col])) {
+                        pivot = row;
+                    }
+                }
+                if (Math.abs(a[pivot][col]) < 1e-9 * Math.max(xtx[col][col], 1)) {
+                    return null;
+                }
+                double[] tmp = a[col];
+                a[col] = a[pivot];
+                a[pivot] = tmp;
+                double scale = a[col][col];
+                for (int j = 0; j < 2 * NUM_PARAMS; j++) {
+                    a[col][j] /= scale;
+                }
+                for (int row = 0; row < NUM_PARAMS; row++) {
+                    if (row != col) {
+                        double factor = a[row][col];
+                        for (int j = 0; j < 2 * NUM_PARAMS; j++) {
+                            a[row][j] -= factor * a[col][j];
+                        }
+                    }
+                }
+            }
+            double[][] inverse = new double[NUM_PARAMS][NUM_PARAMS];
+            for (int i = 0; i < NUM_PARAMS; i++) {
+                System.arraycopy(a[i], NUM_PARAMS, inverse[i], 0, NUM_PARAMS);
+            }
+            return inverse;
+        }
+
+        /**
+         * Describe how well the parameters fit the points.
+         *
+         * @param params The parameters from {@link Fit#solve()}, or null if it couldn't solve.
+         * @return The number of points, R^2, RMS error, and the standard error of each parameter.
+         */
+        @NotNull
+        String describe(@Nullable double[] params) {
+            if (params == null) {
+                return n + " points, not enough to fit";
+            }
+            //The residual sum of squares, expanded so it only needs the sums.
+            double residualSquares = sumYSquared;
+            for (int i = 0; i < NUM_PARAMS; i++) {
+                residualSquares -= 2 * params[i] * xty[i];
+                for (int j = 0; j < NUM_PARAMS; j++) {
+                    residualSquares += params[i] * xtx[i][j] * params[j];
+                }
+            }
+            residualSquares = Math.max(residualSquares, 0);
+            double totalSquares = sumYSquared - sumY * sumY / n;
+            double residualVariance = residualSquares / (n - NUM_PARAMS);
+            double[][] inverse = inverse();
+            //Not null, since params isn't.
+            assert inverse != null;
+            return String.format("%d points, R^2 %.4f, RMS error %.3f V, standard error kV %.4f, kA %.4f, " +
+                            "intercept %.4f",
+                    n, totalSquares > 0 ? 1 - residualSquares / totalSquares : 1, Math.sqrt(residualSquares / n),
+                    Math.sqrt(residualVariance * inverse[0][0]), Math.sqrt(residualVariance * inverse[1][1]),
+                    Math.sqrt(residualVariance * inverse[2][2]));
+        }
+    }
+}
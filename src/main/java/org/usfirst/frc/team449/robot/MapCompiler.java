@@ -0,0 +1,411 @@
+package org.usfirst.frc.team449.robot;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedWithParams;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.introspect.ObjectIdInfo;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks yaml maps against the {@link JsonCreator}s they'll be deserialized with and writes a Smile snapshot of each
+ * that {@link MapLoader} reads at boot instead of the yaml. Run at build time by the compileMaps Gradle task, so
+ * config mistakes are caught on the laptop instead of when the robot boots.
+ * <p>
+ * The check uses the same introspection Jackson does, but never constructs anything, so it runs without any hardware.
+ * It catches unknown and missing required properties, classes that don't exist or aren't the right type, values of
+ * the wrong shape, and references to ids that are never declared.
+ * </p>
+ */
+public class MapCompiler {
+
+    /**
+     * The deserialization config of the mapper.
+     */
+    @NotNull
+    private final DeserializationConfig config;
+
+    /**
+     * The problems found in the map being checked.
+     */
+    @NotNull
+    private final List<String> errors;
+
+    /**
+     * The object ids declared in the map.
+     */
+    @NotNull
+    private final Set<String> declaredIds;
+
+    /**
+     * The object ids referenced in the map, and where the first reference to each is.
+     */
+    @NotNull
+    private final Map<String, String> referencedIds;
+
+    /**
+     * Default constructor.
+     *
+     * @param mapper The mapper the map will be deserialized with.
+     */
+    public MapCompiler(@NotNull ObjectMapper mapper) {
+        this.config = mapper.getDeserializationConfig();
+        this.errors = new ArrayList<>();
+        this.declaredIds = new HashSet<>();
+        this.referencedIds = new HashMap<>();
+    }
+
+    /**
+     * Check and compile maps.
+     *
+     * @param args The directory the maps are in, followed by the filename of each map.
+     * @throws IOException If a map can't be read or its snapshot can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: MapCompiler <resources directory> <map filename>...");
+            System.exit(2);
+        }
+        ObjectMapper mapper = MapLoader.createMapper();
+        boolean failed = false;
+        for (int i = 1; i < args.length; i++) {
+            File yaml = new File(args[0], args[i]);
+            byte[] yamlBytes = Files.readAllBytes(yaml.toPath());
+            JsonNode map = MapLoader.readYaml(mapper, yamlBytes, null);
+
+            List<String> errors = new MapCompiler(mapper).check(map);
+            if (!errors.isEmpty()) {
+                System.err.println(yaml.getName() + " has " + errors.size() + " problem(s):");
+                for (String error : errors) {
+                    System.err.println("  " + error);
+                }
+                failed = true;
+                continue;
+            }
+
+            ObjectNode snapshot = mapper.createObjectNode();
+            snapshot.put(MapLoader.CHECKSUM_FIELD, MapLoader.checksum(yamlBytes));
+            snapshot.set(MapLoader.MAP_FIELD, map);
+            File out = new File(yaml.getPath() + MapLoader.SNAPSHOT_EXTENSION);
+            MapLoader.createSnapshotMapper().writeValue(out, snapshot);
+            System.out.println("Checked " + yaml.getName() + ", wrote " + out.getName() + " (" + out.length() +
+                    " bytes, yaml was " + yamlBytes.length + ")");
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Check a map against {@link RobotMap}.
+     *
+     * @param map The map, with anchors and merges resolved.
+     * @return A description of every problem found, or an empty list if there are none.
+     */
+    @NotNull
+    public List<String> check(@NotNull JsonNode map) {
+        checkValue(map, config.constructType(RobotMap.class), null, "");
+        for (Map.Entry<String, String> reference : referencedIds.entrySet()) {
+            if (!declaredIds.contains(reference.getKey())) {
+                error(reference.getValue(), "references id \"" + reference.getKey() + "\", which is never declared");
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Check a value against the type it'll be deserialized as.
+     *
+     * @param node     The value.
+     * @param type     The declared type of the value.
+     * @param typeInfo The type info annotation on the property holding the value, or null if there isn't one. On a
+     *                 container, it applies to the contents.
+     * @param path     Where the value is in the map.
+     */
+    private void checkValue(@NotNull JsonNode node, @NotNull JavaType type, @Nullable JsonTypeInfo typeInfo,
+                            @NotNull String path) {
+        if (node.isNull()) {
+            return;
+        }
+        Class<?> raw = type.getRawClass();
+        if (type.isCollectionLikeType() || type.isArrayType()) {
+            if (!node.isArray()) {
+                error(path, "should be a list");
+                return;
+            }
+            for (int i = 0; i < node.size(); i++) {
+                checkValue(node.get(i), type.getContentType(), typeInfo, path + "[" + i + "]");
+            }
+        } else if (type.isMapLikeType()) {
+            if (!node.isObject()) {
+                error(path, "should be a map");
+                return;
+            }
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                checkKey(entry.getKey(), type.getKeyType(), path);
+                checkValue(entry.getValue(), type.getContentType(), typeInfo, path + "." + entry.getKey());
+            }
+        } else if (raw.isPrimitive() || Number.class.isAssignableFrom(raw) || raw == Boolean.class ||
+                raw == String.class || raw == Character.class) {
+            checkScalar(node, raw, path);
+        } else if (raw.isEnum()) {
+            checkEnum(node, raw, path);
+        } else if (raw.getName().startsWith("java.") && !raw.isInterface()) {
+            //Some other JDK class with its own deserializer, so nothing to check.
+        } else {
+            checkObject(node, type, typeInfo, path);
+        }
+    }
+
+    /**
+     * Check a value that will be deserialized as a POJO, which might be polymorphic or a reference to an id.
+     *
+     * @param node     The value.
+     * @param type     The declared type of the value.
+     * @param typeInfo The type info annotation on the property holding the value, or null to use the class's.
+     * @param path     Where the value is in the map.
+     */
+    private void checkObject(@NotNull JsonNode node, @NotNull JavaType type, @Nullable JsonTypeInfo typeInfo,
+                             @NotNull String path) {
+        BeanDescription desc = config.introspect(type);
+        if (config.getAnnotationIntrospector().findDeserializer(desc.getClassInfo()) != null) {
+            //Custom deserializers are on their own.
+            return;
+        }
+        if (typeInfo == null) {
+            typeInfo = desc.getClassInfo().getAnnotation(JsonTypeInfo.class);
+        }
+        //A scalar is a reference to an object declared elsewhere, even if the type is polymorphic.
+        if (node.isValueNode() && desc.getObjectIdInfo() != null) {
+            referencedIds.putIfAbsent(node.asText(), path);
+            return;
+        }
+        if (typeInfo != null && typeInfo.use() == JsonTypeInfo.Id.CLASS &&
+                typeInfo.include() == JsonTypeInfo.As.WRAPPER_OBJECT) {
+            if (!node.isObject() || node.size() != 1) {
+                error(path, "should be a map with a single class name as its key");
+                return;
+            }
+            String className = node.fieldNames().next();
+            Class<?> subclass;
+            try {
+                //Don't initialize the class, since WPILib classes load native code when they're initialized.
+                subclass = Class.forName(className, false, MapCompiler.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                error(path, "uses class " + className + ", which doesn't exist");
+                return;
+            }
+            if (!type.getRawClass().isAssignableFrom(subclass)) {
+                error(path, "uses class " + className + ", which isn't a " + type.getRawClass().getName());
+                return;
+            }
+            JavaType subtype = config.getTypeFactory().constructSpecializedType(type, subclass);
+            BeanDescription subDesc = config.introspect(subtype);
+            JsonNode value = node.get(className);
+            String subPath = path + "." + subclass.getSimpleName();
+            if (value.isValueNode() && subDesc.getObjectIdInfo() != null) {
+                referencedIds.putIfAbsent(value.asText(), subPath);
+            } else {
+                checkProperties(value, subDesc, subPath);
+            }
+        } else if (typeInfo == null) {
+            checkProperties(node, desc, path);
+        }
+        //Other kinds of type info aren't used in the maps, so they're left to Jackson.
+    }
+
+    /**
+     * Check the properties of a value against the creator and setters of its concrete class.
+     *
+     * @param node The value.
+     * @param desc Jackson's description of the class the value will be deserialized as.
+     * @param path Where the value is in the map.
+     */
+    private void checkProperties(@NotNull JsonNode node, @NotNull BeanDescription desc, @NotNull String path) {
+        Class<?> raw = desc.getBeanClass();
+        if (!node.isObject()) {
+            //Jackson can build some classes from a scalar with a single-argument constructor.
+            if (!node.isValueNode()) {
+                error(path, "should be a map of properties for " + raw.getName());
+            }
+            return;
+        }
+        if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers())) {
+            error(path, "can't be deserialized, " + raw.getName() + " is abstract and has no type info");
+            return;
+        }
+
+        AnnotatedWithParams creator = findCreator(desc);
+        if (creator == null && desc.findDefaultConstructor() == null) {
+            error(path, raw.getName() + " has no @JsonCreator or default constructor");
+            return;
+        }
+        if (creator != null) {
+            JsonCreator annotation = creator.getAnnotation(JsonCreator.class);
+            if (annotation != null && annotation.mode() == JsonCreator.Mode.DELEGATING) {
+                //The whole value goes to one argument, so check it as that instead.
+                checkValue(node, creator.getParameterType(0), null, path);
+                return;
+            }
+        }
+
+        Set<String> known = new HashSet<>(desc.getIgnoredPropertyNames());
+        ObjectIdInfo idInfo = desc.getObjectIdInfo();
+        if (idInfo != null) {
+            String idProperty = idInfo.getPropertyName().getSimpleName();
+            known.add(idProperty);
+            if (node.has(idProperty)) {
+                declaredIds.add(node.get(idProperty).asText());
+            }
+        }
+
+        for (BeanPropertyDefinition prop : desc.findProperties()) {
+            if (!prop.couldDeserialize()) {
+                continue;
+            }
+            known.add(prop.getName());
+            JsonNode value = node.get(prop.getName());
+            if (value == null) {
+                if (prop.getConstructorParameter() != null && prop.isRequired()) {
+                    error(path, "is missing required property " + prop.getName() + " of " + raw.getName());
+                }
+                continue;
+            }
+            AnnotatedMember member = prop.getPrimaryMember();
+            checkValue(value, prop.getPrimaryType(), member == null ? null : member.getAnnotation(JsonTypeInfo.class),
+                    path + "." + prop.getName());
+        }
+
+        JsonIgnoreProperties.Value ignorals =
+                config.getAnnotationIntrospector().findPropertyIgnorals(desc.getClassInfo());
+        if ((ignorals != null && ignorals.getIgnoreUnknown()) || desc.findAnySetterAccessor() != null) {
+            return;
+        }
+        for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+            String name = it.next();
+            if (!known.contains(name)) {
+                error(path, "has unknown property " + name + " for " + raw.getName());
+            }
+        }
+    }
+
+    /**
+     * @param desc Jackson's description of a class.
+     * @return The constructor or factory method annotated with {@link JsonCreator}, or null if there isn't one.
+     */
+    @Nullable
+    private static AnnotatedWithParams findCreator(@NotNull BeanDescription desc) {
+        for (AnnotatedWithParams constructor : desc.getConstructors()) {
+            if (constructor.hasAnnotation(JsonCreator.class)) {
+                return constructor;
+            }
+        }
+        for (AnnotatedWithParams factory : desc.getFactoryMethods()) {
+            if (factory.hasAnnotation(JsonCreator.class)) {
+                return factory;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check a scalar value.
+     *
+     * @param node The value.
+     * @param raw  The type it'll be deserialized as.
+     * @param path Where the value is in the map.
+     */
+    private void checkScalar(@NotNull JsonNode node, @NotNull Class<?> raw, @NotNull String path) {
+        if (!node.isValueNode()) {
+            error(path, "should be a single value, not a " + (node.isArray() ? "list" : "map"));
+        } else if (raw == boolean.class || raw == Boolean.class) {
+            if (!node.isBoolean() && !node.asText().equalsIgnoreCase("true") &&
+                    !node.asText().equalsIgnoreCase("false")) {
+                error(path, "should be true or false, not " + node.asText());
+            }
+        } else if (raw != String.class && raw != char.class && raw != Character.class && !node.isNumber()) {
+            try {
+                Double.parseDouble(node.asText());
+            } catch (NumberFormatException e) {
+                error(path, "should be a number, not " + node.asText());
+            }
+        }
+    }
+
+    /**
+     * Check a value that will be deserialized as an enum.
+     *
+     * @param node The value.
+     * @param raw  The enum class.
+     * @param path Where the value is in the map.
+     */
+    private void checkEnum(@NotNull JsonNode node, @NotNull Class<?> raw, @NotNull String path) {
+        //Jackson also reads enums by index, and custom creators can do anything.
+        if (node.isNumber() || findCreator(config.introspect(config.constructType(raw))) != null) {
+            return;
+        }
+        //Get the constant names without initializing the enum, using the names they're renamed to if there are any.
+        List<String> names = new ArrayList<>();
+        for (Field field : raw.getDeclaredFields()) {
+            if (field.isEnumConstant()) {
+                JsonProperty rename = field.getAnnotation(JsonProperty.class);
+                names.add(rename != null && !rename.value().isEmpty() ? rename.value() : field.getName());
+            }
+        }
+        if (!names.contains(node.asText())) {
+            error(path, "should be one of " + names + ", not " + node.asText());
+        }
+    }
+
+    /**
+     * Check a map key.
+     *
+     * @param key     The key.
+     * @param keyType The type it'll be deserialized as.
+     * @param path    Where the map is in the map.
+     */
+    private void checkKey(@NotNull String key, @NotNull JavaType keyType, @NotNull String path) {
+        Class<?> raw = keyType.getRawClass();
+        if (Number.class.isAssignableFrom(raw) || (raw.isPrimitive() && raw != boolean.class)) {
+            try {
+                Double.parseDouble(key);
+            } catch (NumberFormatException e) {
+                error(path, "has key " + key + ", which should be a number");
+            }
+        }
+    }
+
+    /**
+     * Record a problem with the map.
+     *
+     * @param path    Where the problem is in the map.
+     * @param message What the problem is.
+     */
+    private void error(@NotNull String path, @NotNull String message) {
+        errors.add((path.isEmpty() ? "<root>" : path.substring(path.startsWith(".") ? 1 : 0)) + " " + message);
+    }
+}
@@ -0,0 +1,147 @@
+package org.usfirst.frc.team449.robot;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.other.StartupProfiler;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+/**
+ * Reads the yaml map into a Jackson tree. If {@link MapCompiler} has written a Smile snapshot of the map and the yaml
+ * hasn't changed since, the snapshot is read instead, which skips parsing the yaml entirely.
+ */
+public class MapLoader {
+
+    /**
+     * The extension added to a map's filename to get its snapshot's filename.
+     */
+    @NotNull
+    static final String SNAPSHOT_EXTENSION = ".smile";
+
+    /**
+     * The fields in a snapshot for the checksum of the yaml it was made from and the map itself.
+     */
+    @NotNull
+    static final String CHECKSUM_FIELD = "sourceSha256", MAP_FIELD = "map";
+
+    /**
+     * Make constructor private so it can't be called
+     */
+    private MapLoader() {
+    }
+
+    /**
+     * @return A mapper set up to deserialize the map into a {@link RobotMap}.
+     */
+    @NotNull
+    public static ObjectMapper createMapper() {
+        YAMLMapper mapper = new YAMLMapper();
+        //Use a parameter name module so we don't have to specify name for every field.
+        mapper.registerModule(new ParameterNamesModule(JsonCreator.Mode.PROPERTIES));
+        //Add mix-ins
+        mapper.registerModule(new WPIModule());
+        mapper.registerModule(new JavaModule());
+        return mapper;
+    }
+
+    /**
+     * @return A mapper that reads and writes Smile snapshots.
+     */
+    @NotNull
+    static ObjectMapper createSnapshotMapper() {
+        return new ObjectMapper(new SmileFactory());
+    }
+
+    /**
+     * Read a map, from its snapshot if there's an up-to-date one and from the yaml otherwise.
+     *
+     * @param mapper   The mapper to build the tree with.
+     * @param yamlPath The path to the yaml map.
+     * @param profiler The profiler to time reading the map with. Can be null.
+     * @return The map as a Jackson tree, with anchors and merges resolved.
+     * @throws IOException If the yaml can't be read.
+     */
+    @NotNull
+    public static JsonNode load(@NotNull ObjectMapper mapper, @NotNull String yamlPath,
+                                @Nullable StartupProfiler profiler) throws IOException {
+        byte[] yamlBytes = Files.readAllBytes(new File(yamlPath).toPath());
+        File snapshot = new File(yamlPath + SNAPSHOT_EXTENSION);
+        if (snapshot.exists()) {
+            try {
+                JsonNode wrapper = createSnapshotMapper().readTree(snapshot);
+                if (checksum(yamlBytes).equals(wrapper.path(CHECKSUM_FIELD).asText()) && wrapper.has(MAP_FIELD)) {
+                    //Yes this should be a print statement, it's useful to know which file the map came from.
+                    System.out.println("Loaded map from snapshot " + snapshot.getName());
+                    if (profiler != null) {
+                        profiler.endPhase("Snapshot load");
+                    }
+                    return wrapper.get(MAP_FIELD);
+                }
+                System.out.println("Snapshot " + snapshot.getName() + " is out of date, reading yaml instead.");
+            } catch (IOException e) {
+                System.out.println("Snapshot " + snapshot.getName() + " is unreadable, reading yaml instead.");
+                e.printStackTrace();
+            }
+        }
+        return readYaml(mapper, yamlBytes, profiler);
+    }
+
+    /**
+     * Parse a yaml map into a Jackson tree.
+     *
+     * @param mapper    The mapper to build the tree with.
+     * @param yamlBytes The contents of the yaml file.
+     * @param profiler  The profiler to time reading the map with. Can be null.
+     * @return The map as a Jackson tree, with anchors and merges resolved.
+     */
+    @NotNull
+    static JsonNode readYaml(@NotNull ObjectMapper mapper, @NotNull byte[] yamlBytes,
+                             @Nullable StartupProfiler profiler) {
+        //Read the yaml file with SnakeYaml so we can use anchors and merge syntax.
+        Map<?, ?> normalized = (Map<?, ?>) new Yaml().load(new InputStreamReader(new ByteArrayInputStream(yamlBytes),
+                StandardCharsets.UTF_8));
+        if (profiler != null) {
+            profiler.endPhase("YAML load");
+        }
+        //Hand the Map read by SnakeYaml straight to Jackson as a tree instead of writing it out and parsing it again.
+        JsonNode tree = mapper.valueToTree(normalized);
+        if (profiler != null) {
+            profiler.endPhase("Tree building");
+        }
+        return tree;
+    }
+
+    /**
+     * @param bytes The contents of a file.
+     * @return The SHA-256 hash of the contents, in hex.
+     */
+    @NotNull
+    static String checksum(@NotNull byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            //Every JVM is required to have SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+}
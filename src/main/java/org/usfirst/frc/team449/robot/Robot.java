@@ -1,19 +1,20 @@
 package org.usfirst.frc.team449.robot;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
-import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.wpi.first.cameraserver.CameraServer;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.command.Scheduler;
 import org.jetbrains.annotations.NotNull;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmable;
 import org.usfirst.frc.team449.robot.other.Clock;
-import org.yaml.snakeyaml.Yaml;
+import org.usfirst.frc.team449.robot.other.DeviceInitializer;
+import org.usfirst.frc.team449.robot.other.Logger;
+import org.usfirst.frc.team449.robot.other.StartupProfiler;
+import org.usfirst.frc.team449.robot.simulation.Simulation;
 
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.Map;
 
 /**
  * The main class of the robot, constructs all the subsystems and initializes default commands.
@@ -32,6 +33,11 @@ public class Robot extends TimedRobot {
     protected String mapName = "map.yml";
 //    protected String mapName = "test_bed.yml";
 
+    /**
+     * The name of the map to read from when running in simulation.
+     */
+    protected String simMapName = "test_bed.yml";
+
     /**
      * The object constructed directly from the yaml map.
      */
@@ -47,6 +53,11 @@ public class Robot extends TimedRobot {
      */
     protected boolean shouldStartAuto;
 
+    /**
+     * Whether the auto command has done its setup while disabled.
+     */
+    protected boolean autoPreArmed;
+
     /**
      * The method that runs when the robot is turned on. Initializes all subsystems from the map.
      */
@@ -60,20 +71,19 @@ public class Robot extends TimedRobot {
         //Yes this should be a print statement, it's useful to know that robotInit started.
         System.out.println("Started robotInit.");
 
-        Yaml yaml = new Yaml();
+        StartupProfiler profiler = new StartupProfiler();
         try {
-            //Read the yaml file with SnakeYaml so we can use anchors and merge syntax.
-            Map<?, ?> normalized = (Map<?, ?>) yaml.load(new FileReader(RESOURCES_PATH + mapName));
-            YAMLMapper mapper = new YAMLMapper();
-            //Turn the Map read by SnakeYaml into a String so Jackson can read it.
-            String fixed = mapper.writeValueAsString(normalized);
-            //Use a parameter name module so we don't have to specify name for every field.
-            mapper.registerModule(new ParameterNamesModule(JsonCreator.Mode.PROPERTIES));
-            //Add mix-ins
-            mapper.registerModule(new WPIModule());
-            mapper.registerModule(new JavaModule());
-            //Deserialize the map into an object.
-            robotMap = mapper.readValue(fixed, RobotMap.class);
+            //Read the map, from the snapshot made at build time if it's up to date so we don't have to parse yaml.
+            ObjectMapper mapper = MapLoader.createMapper();
+            JsonNode tree = MapLoader.load(mapper, Simulation.resolvePath(RESOURCES_PATH +
+                    (Simulation.isEnabled() ? simMapName : mapName)), profiler);
+            //Deserialize the map into an object. This is where all the devices get constructed, but their
+            //configuration is held until device init, so this is mostly binding.
+            robotMap = mapper.treeToValue(tree, RobotMap.class);
+            profiler.endPhase("Jackson binding and device construction");
+            //Send each device the configuration it was constructed with, all at once, and check that it took.
+            DeviceInitializer.run();
+            profiler.endPhase("Device init");
         } catch (IOException e) {
             //This is either the map file not being in the file system OR it being improperly formatted.
             System.out.println("Config file is bad/nonexistent!");
@@ -83,6 +93,7 @@ public class Robot extends TimedRobot {
         System.out.println(this.robotMap == null);
         //Read sensors
         this.robotMap.getUpdater().run();
+        profiler.endPhase("First update");
 
         shouldStartAuto = this.robotMap.getAutoStartupCommand() != null;
 
@@ -90,6 +101,7 @@ public class Robot extends TimedRobot {
             CameraServer.getInstance().startAutomaticCapture();
         }
 
+        profiler.report();
         robotMap.getLogger().start();
     }
 
@@ -103,6 +115,8 @@ public class Robot extends TimedRobot {
 
         if (this.robotMap.getAutoStartupCommand() != null) {
             this.robotMap.getAutoStartupCommand().cancel();
+            //Don't leave anything pre-armed for an auto that isn't going to run.
+            PreArmable.disarm(this.robotMap.getAutoStartupCommand());
         }
 
         //Run startup command if we start in teleop.
@@ -185,6 +199,8 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void testInit() {
+        PreArmable.disarm(robotMap.getAutoStartupCommand());
+
         //Run startup command if we start in test mode.
         if (!enabled) {
             if (robotMap.getStartupCommand() != null) {
@@ -201,5 +217,15 @@ public class Robot extends TimedRobot {
     public void disabledPeriodic() {
         //Read sensors
         this.robotMap.getUpdater().run();
+
+        //Load the first profile of auto before it starts so the robot moves on the first tick. This runs every tick
+        //so that if the FMS data or a selector switch changes which branch auto will take, the new one gets loaded.
+        if (shouldStartAuto) {
+            boolean armed = PreArmable.preArm(robotMap.getAutoStartupCommand());
+            if (armed != autoPreArmed) {
+                Logger.addEvent(armed ? "Auto pre-armed" : "Auto no longer pre-armed", this.getClass());
+                autoPreArmed = armed;
+            }
+        }
     }
 }
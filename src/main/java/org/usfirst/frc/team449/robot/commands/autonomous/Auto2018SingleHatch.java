@@ -11,6 +11,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.commands.general.ConditionalCommandDigitalInputBased;
 import org.usfirst.frc.team449.robot.commands.limelight.SetTracking;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmable;
 import org.usfirst.frc.team449.robot.jacksonWrappers.MappedDigitalInput;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.SubsystemAHRS;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.commands.SetHeading;
@@ -26,7 +27,13 @@ import org.usfirst.frc.team449.robot.subsystem.singleImplementation.pneumatics.c
  * Run a command to drive to the cargo bay and drop off a hatch, then give control back to the driver.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class Auto2018SingleHatch<T extends Subsystem & SubsystemAHRS & SubsystemMPManualTwoSides> extends CommandGroup {
+public class Auto2018SingleHatch<T extends Subsystem & SubsystemAHRS & SubsystemMPManualTwoSides> extends CommandGroup implements PreArmable {
+
+    /**
+     * The command that drives to whichever side of the cargo ship the robot starts on.
+     */
+    @NotNull
+    private final Command driveCommand;
 
     /**
      * Default constructor.
@@ -61,7 +68,8 @@ public class Auto2018SingleHatch<T extends Subsystem & SubsystemAHRS & Subsystem
 //        addParallel(new SolenoidForward(angularCompliance));
         addParallel(new SolenoidForward(hatchMech));
         addSequential(new SetHeading(drive, 0));
-        addSequential(new ConditionalCommandDigitalInputBased(leftDriveCommand, rightDriveCommand, startingSideSwitch));
+        driveCommand = new ConditionalCommandDigitalInputBased(leftDriveCommand, rightDriveCommand, startingSideSwitch);
+        addSequential(driveCommand);
         addSequential(new SolenoidReverse(hatchMech));
         if (compressor != null) {
             addSequential(new StartCompressor(compressor));
@@ -69,4 +77,22 @@ public class Auto2018SingleHatch<T extends Subsystem & SubsystemAHRS & Subsystem
         addSequential(new SetTracking(false));
         addSequential(driveDefaultCommand);
     }
+
+    /**
+     * Pre-arm the drive command for the side the robot starts on.
+     *
+     * @return true if the drive command is pre-armed, false otherwise.
+     */
+    @Override
+    public boolean preArm() {
+        return PreArmable.preArm(driveCommand);
+    }
+
+    /**
+     * Disarm the drive command.
+     */
+    @Override
+    public void disarm() {
+        PreArmable.disarm(driveCommand);
+    }
 }
@@ -7,6 +7,8 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.command.Command;
 import edu.wpi.first.wpilibj.command.CommandGroup;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmable;
 
 import java.util.List;
 
@@ -14,7 +16,13 @@ import java.util.List;
  * A command group that takes a list of commands and runs them in the order given.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class CommandSequence extends CommandGroup {
+public class CommandSequence extends CommandGroup implements PreArmable {
+
+    /**
+     * The first command in the sequence that can be pre-armed, or null if none can be.
+     */
+    @Nullable
+    private final Command firstPreArmable;
 
     /**
      * Default constructor
@@ -23,8 +31,32 @@ public class CommandSequence extends CommandGroup {
      */
     @JsonCreator
     public CommandSequence(@NotNull @JsonProperty(required = true) List<Command> commandList) {
+        Command firstPreArmable = null;
         for (Command command : commandList) {
             addSequential(command);
+            if (firstPreArmable == null && command instanceof PreArmable) {
+                firstPreArmable = command;
+            }
         }
+        this.firstPreArmable = firstPreArmable;
+    }
+
+    /**
+     * Pre-arm the first command in the sequence that can be. Only the first, because later ones would overwrite the
+     * profiles it loaded.
+     *
+     * @return true if a command is pre-armed, false otherwise.
+     */
+    @Override
+    public boolean preArm() {
+        return PreArmable.preArm(firstPreArmable);
+    }
+
+    /**
+     * Disarm the first command in the sequence that can be pre-armed.
+     */
+    @Override
+    public void disarm() {
+        PreArmable.disarm(firstPreArmable);
     }
 }
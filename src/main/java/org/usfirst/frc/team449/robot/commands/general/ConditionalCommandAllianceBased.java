@@ -6,14 +6,13 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.command.ConditionalCommand;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * A ConditionalCommand that chooses which command to run based off of alliance.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class ConditionalCommandAllianceBased extends ConditionalCommand {
+public class ConditionalCommandAllianceBased extends PreArmableConditionalCommand {
 
     /**
      * Default constructor.
@@ -36,4 +35,14 @@ public class ConditionalCommandAllianceBased extends ConditionalCommand {
     protected boolean condition() {
         return DriverStation.getInstance().getAlliance().equals(DriverStation.Alliance.Red);
     }
+
+    /**
+     * Whether the driver station knows the alliance yet.
+     *
+     * @return true if the condition can be tested, false otherwise.
+     */
+    @Override
+    protected boolean conditionKnown() {
+        return DriverStation.getInstance().getAlliance() != DriverStation.Alliance.Invalid;
+    }
 }
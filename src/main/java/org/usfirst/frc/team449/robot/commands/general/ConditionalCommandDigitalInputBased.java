@@ -6,7 +6,6 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.DigitalInput;
 import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.command.ConditionalCommand;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.jacksonWrappers.MappedDigitalInput;
@@ -15,7 +14,7 @@ import org.usfirst.frc.team449.robot.jacksonWrappers.MappedDigitalInput;
  * A ConditionalCommand that uses a {@link edu.wpi.first.wpilibj.DigitalInput} for determining which command to run.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class ConditionalCommandDigitalInputBased extends ConditionalCommand {
+public class ConditionalCommandDigitalInputBased extends PreArmableConditionalCommand {
 
     /**
      * A digital input for determining which command to run.
@@ -6,14 +6,13 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.command.ConditionalCommand;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * A ConditionalCommand that chooses which command to run based off of if the scale is on the left or the right.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class ConditionalCommandScaleBased extends ConditionalCommand {
+public class ConditionalCommandScaleBased extends PreArmableConditionalCommand {
 
     /**
      * Default constructor.
@@ -36,4 +35,14 @@ public class ConditionalCommandScaleBased extends ConditionalCommand {
     protected boolean condition() {
         return DriverStation.getInstance().getGameSpecificMessage().charAt(1) == 'L';
     }
+
+    /**
+     * Whether the FMS has sent the scale's side yet.
+     *
+     * @return true if the condition can be tested, false otherwise.
+     */
+    @Override
+    protected boolean conditionKnown() {
+        return DriverStation.getInstance().getGameSpecificMessage().length() >= 2;
+    }
 }
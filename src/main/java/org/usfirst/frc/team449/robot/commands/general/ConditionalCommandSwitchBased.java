@@ -5,14 +5,13 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.command.ConditionalCommand;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * A ConditionalCommand that chooses which command to run based off of if the switch is on the left or the right.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class ConditionalCommandSwitchBased extends ConditionalCommand {
+public class ConditionalCommandSwitchBased extends PreArmableConditionalCommand {
 
     /**
      * Default constructor.
@@ -35,4 +34,14 @@ public class ConditionalCommandSwitchBased extends ConditionalCommand {
     protected boolean condition() {
         return DriverStation.getInstance().getGameSpecificMessage().charAt(0) == 'L';
     }
+
+    /**
+     * Whether the FMS has sent the switch's side yet.
+     *
+     * @return true if the condition can be tested, false otherwise.
+     */
+    @Override
+    protected boolean conditionKnown() {
+        return !DriverStation.getInstance().getGameSpecificMessage().isEmpty();
+    }
 }
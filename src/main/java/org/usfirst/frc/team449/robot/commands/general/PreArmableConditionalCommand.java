@@ -0,0 +1,70 @@
+package org.usfirst.frc.team449.robot.commands.general;
+
+import edu.wpi.first.wpilibj.command.Command;
+import edu.wpi.first.wpilibj.command.ConditionalCommand;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmable;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmedBranch;
+
+/**
+ * A ConditionalCommand that pre-arms whichever command its condition currently chooses.
+ */
+public abstract class PreArmableConditionalCommand extends ConditionalCommand implements PreArmable {
+
+    /**
+     * The commands to run if the condition is true or false, respectively. ConditionalCommand doesn't expose its own.
+     */
+    @Nullable
+    private final Command onTrue, onFalse;
+
+    /**
+     * The branch that's pre-armed.
+     */
+    @NotNull
+    private final PreArmedBranch preArmedBranch = new PreArmedBranch();
+
+    /**
+     * Default constructor
+     *
+     * @param onTrue  The Command to execute if the condition is true.
+     * @param onFalse The Command to execute if the condition is false. Can be null to not execute a command.
+     */
+    protected PreArmableConditionalCommand(@NotNull Command onTrue, @Nullable Command onFalse) {
+        super(onTrue, onFalse);
+        this.onTrue = onTrue;
+        this.onFalse = onFalse;
+    }
+
+    /**
+     * Whether the data the condition depends on is known yet.
+     *
+     * @return true if the condition can be tested, false otherwise. Defaults to true.
+     */
+    protected boolean conditionKnown() {
+        return true;
+    }
+
+    /**
+     * Pre-arm the command the condition currently chooses, or disarm the previous choice if the condition can't be
+     * tested yet.
+     *
+     * @return true if the chosen command is pre-armed, false otherwise.
+     */
+    @Override
+    public boolean preArm() {
+        if (!conditionKnown()) {
+            disarm();
+            return false;
+        }
+        return preArmedBranch.preArm(condition() ? onTrue : onFalse);
+    }
+
+    /**
+     * Disarm whichever command was pre-armed.
+     */
+    @Override
+    public void disarm() {
+        preArmedBranch.disarm();
+    }
+}
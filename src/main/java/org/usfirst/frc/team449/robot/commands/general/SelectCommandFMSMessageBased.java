@@ -8,11 +8,25 @@ import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.command.Command;
 import edu.wpi.first.wpilibj.command.SelectCommand;
 import org.jetbrains.annotations.NotNull;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmable;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmedBranch;
 
 import java.util.Map;
 
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class SelectCommandFMSMessageBased extends SelectCommand<String> {
+public class SelectCommandFMSMessageBased extends SelectCommand<String> implements PreArmable {
+
+    /**
+     * The map of selectors to the command that should be run if they're chosen. SelectCommand doesn't expose its own.
+     */
+    @NotNull
+    private final Map<String, Command> commands;
+
+    /**
+     * The branch that's pre-armed.
+     */
+    @NotNull
+    private final PreArmedBranch preArmedBranch = new PreArmedBranch();
 
     /**
      * Creates a new SelectCommand with given map of selectors and m_commands.
@@ -24,6 +38,7 @@ public class SelectCommandFMSMessageBased extends SelectCommand<String> {
     @JsonCreator
     public SelectCommandFMSMessageBased(@NotNull @JsonProperty(required = true) Map<String, Command> commands) {
         super(commands);
+        this.commands = commands;
     }
 
     /**
@@ -35,4 +50,26 @@ public class SelectCommandFMSMessageBased extends SelectCommand<String> {
     protected String selector() {
         return DriverStation.getInstance().getGameSpecificMessage();
     }
+
+    /**
+     * Pre-arm the command for the game-specific message, or disarm the previous one if the FMS hasn't sent it yet.
+     *
+     * @return true if the chosen command is pre-armed, false otherwise.
+     */
+    @Override
+    public boolean preArm() {
+        if (selector().isEmpty()) {
+            disarm();
+            return false;
+        }
+        return preArmedBranch.preArm(commands.get(selector()));
+    }
+
+    /**
+     * Disarm whichever command was pre-armed.
+     */
+    @Override
+    public void disarm() {
+        preArmedBranch.disarm();
+    }
 }
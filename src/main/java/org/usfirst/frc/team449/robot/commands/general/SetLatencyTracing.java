@@ -0,0 +1,64 @@
+package org.usfirst.frc.team449.robot.commands.general;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import edu.wpi.first.wpilibj.command.InstantCommand;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
+import org.usfirst.frc.team449.robot.other.Logger;
+
+/**
+ * Turn tracing the latency from driver input to the motors on or off.
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
+public class SetLatencyTracing extends InstantCommand {
+
+    /**
+     * Whether to turn tracing on, or null to toggle it.
+     */
+    @Nullable
+    private final Boolean enabled;
+
+    /**
+     * Default constructor
+     *
+     * @param enabled Whether to turn tracing on or off. Defaults to toggling it.
+     */
+    @JsonCreator
+    public SetLatencyTracing(@Nullable Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Log on initialization
+     */
+    @Override
+    protected void initialize() {
+        Logger.addEvent("SetLatencyTracing init", this.getClass());
+    }
+
+    /**
+     * Turn tracing on or off.
+     */
+    @Override
+    protected void execute() {
+        LatencyTracer.setEnabled(enabled != null ? enabled : !LatencyTracer.isEnabled());
+    }
+
+    /**
+     * Log when this command ends.
+     */
+    @Override
+    protected void end() {
+        Logger.addEvent("SetLatencyTracing end", this.getClass());
+    }
+
+    /**
+     * Log when interrupted
+     */
+    @Override
+    protected void interrupted() {
+        Logger.addEvent("SetLatencyTracing Interrupted!", this.getClass());
+    }
+}
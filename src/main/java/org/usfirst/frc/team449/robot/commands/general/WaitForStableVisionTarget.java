@@ -0,0 +1,83 @@
+package org.usfirst.frc.team449.robot.commands.general;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import edu.wpi.first.wpilibj.command.Command;
+import org.jetbrains.annotations.NotNull;
+import org.usfirst.frc.team449.robot.components.VisionTargetTracker;
+import org.usfirst.frc.team449.robot.other.Clock;
+import org.usfirst.frc.team449.robot.other.Logger;
+
+/**
+ * Waits until a vision target tracker has a stable estimate, so commands after it don't act on a noisy frame. Also
+ * finishes on timeout, so commands after it should check {@link VisionTargetTracker#isStable()} before using the
+ * estimate.
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
+public class WaitForStableVisionTarget extends Command {
+
+    /**
+     * The tracker to wait on.
+     */
+    @NotNull
+    private final VisionTargetTracker tracker;
+
+    /**
+     * The longest to wait, in milliseconds.
+     */
+    private final long timeout;
+
+    /**
+     * The time this command started running at.
+     */
+    private long startTime;
+
+    /**
+     * Default constructor.
+     *
+     * @param tracker The tracker to wait on.
+     * @param timeout The longest to wait, in seconds.
+     */
+    @JsonCreator
+    public WaitForStableVisionTarget(@NotNull @JsonProperty(required = true) VisionTargetTracker tracker,
+                                     @JsonProperty(required = true) double timeout) {
+        this.tracker = tracker;
+        this.timeout = (long) (timeout * 1000.);
+    }
+
+    /**
+     * Log when this command is initialized and record the start time.
+     */
+    @Override
+    protected void initialize() {
+        startTime = Clock.currentTimeMillis();
+        Logger.addEvent("WaitForStableVisionTarget init.", this.getClass());
+    }
+
+    /**
+     * @return true once the estimate is stable or the timeout has passed, false otherwise.
+     */
+    @Override
+    protected boolean isFinished() {
+        return tracker.isStable() || Clock.currentTimeMillis() - startTime >= timeout;
+    }
+
+    /**
+     * Log whether the estimate converged when this command ends.
+     */
+    @Override
+    protected void end() {
+        Logger.addEvent("WaitForStableVisionTarget end, stable: " + tracker.isStable() + ", confidence: " +
+                tracker.getConfidence(), this.getClass());
+    }
+
+    /**
+     * Log when this command is interrupted.
+     */
+    @Override
+    protected void interrupted() {
+        Logger.addEvent("WaitForStableVisionTarget Interrupted!", this.getClass());
+    }
+}
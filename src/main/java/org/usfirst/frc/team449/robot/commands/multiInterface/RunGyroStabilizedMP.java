@@ -9,6 +9,7 @@ import edu.wpi.first.wpilibj.command.InstantCommand;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmable;
 import org.usfirst.frc.team449.robot.other.BufferTimer;
 import org.usfirst.frc.team449.robot.other.Clock;
 import org.usfirst.frc.team449.robot.other.Logger;
@@ -18,7 +19,7 @@ import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.commands.PIDAngle
 import org.usfirst.frc.team449.robot.subsystem.interfaces.motionProfile.TwoSideMPSubsystem.manual.SubsystemMPManualTwoSides;
 
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class RunGyroStabilizedMP<T extends Subsystem & SubsystemMPManualTwoSides & SubsystemAHRS> extends PIDAngleCommand {
+public class RunGyroStabilizedMP<T extends Subsystem & SubsystemMPManualTwoSides & SubsystemAHRS> extends PIDAngleCommand implements PreArmable {
 
     /**
      * The output of the PID loop. Field to avoid garbage collection.
@@ -140,6 +141,24 @@ public class RunGyroStabilizedMP<T extends Subsystem & SubsystemMPManualTwoSides
                             profileDataRight[0], profileDataRight[1] + output, profileDataRight[2]);
     }
 
+    /**
+     * Configure the subsystem to run points now, while disabled, so the first point doesn't wait on config writes.
+     *
+     * @return true, because the subsystem can always be configured.
+     */
+    @Override
+    public boolean preArm() {
+        subsystem.prepareMPPoints();
+        return true;
+    }
+
+    /**
+     * Do nothing, because the first point configures the subsystem again if anything changed it.
+     */
+    @Override
+    public void disarm() {
+    }
+
     @Override
     protected void end() {
         double leftPos = left.getData()[left.getData().length - 1][0];
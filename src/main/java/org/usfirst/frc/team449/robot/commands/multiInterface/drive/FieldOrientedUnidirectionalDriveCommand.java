@@ -7,6 +7,7 @@ import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.drive.unidirectional.DriveUnidirectional;
 import org.usfirst.frc.team449.robot.oi.fieldoriented.OIFieldOriented;
 import org.usfirst.frc.team449.robot.other.BufferTimer;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 import org.usfirst.frc.team449.robot.other.Logger;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.SubsystemAHRS;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.commands.PIDAngleCommand;
@@ -40,10 +41,10 @@ public class FieldOrientedUnidirectionalDriveCommand<T extends Subsystem & Drive
     private final List<AngularSnapPoint> snapPoints;
 
     /**
-     * The absolute angular setpoint for the robot to go to. Field to avoid garbage collection.
+     * The absolute angular setpoint for the robot to go to, or NaN if there isn't one. Field to avoid garbage
+     * collection.
      */
-    @Nullable
-    private Double theta;
+    private double theta;
 
     /**
      * The output of the PID loop. Field to avoid garbage collection.
@@ -113,9 +114,10 @@ public class FieldOrientedUnidirectionalDriveCommand<T extends Subsystem & Drive
      */
     @Override
     protected void execute() {
+        LatencyTracer.mark(LatencyTracer.Stage.COMMAND);
         theta = oi.getThetaCached();
 
-        if (theta != null) {
+        if (!Double.isNaN(theta)) {
             for (AngularSnapPoint snapPoint : snapPoints) {
                 //See if we should snap
                 if (snapPoint.getLowerBound() < theta && theta < snapPoint.getUpperBound()) {
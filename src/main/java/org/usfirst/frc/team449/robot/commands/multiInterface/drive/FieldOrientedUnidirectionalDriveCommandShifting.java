@@ -10,6 +10,7 @@ import org.usfirst.frc.team449.robot.drive.unidirectional.DriveUnidirectional;
 import org.usfirst.frc.team449.robot.generalInterfaces.shiftable.Shiftable;
 import org.usfirst.frc.team449.robot.oi.fieldoriented.OIFieldOriented;
 import org.usfirst.frc.team449.robot.other.BufferTimer;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 import org.usfirst.frc.team449.robot.other.Logger;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.SubsystemAHRS;
 
@@ -105,6 +106,7 @@ public class FieldOrientedUnidirectionalDriveCommandShifting<T extends Subsystem
      */
     @Override
     protected void execute() {
+        LatencyTracer.mark(LatencyTracer.Stage.COMMAND);
         if (!subsystem.getOverrideAutoshift()) {
             autoshiftComponent.autoshift(oi.getVelCached(), subsystem.getLeftVelCached(),
                     subsystem.getRightVelCached(), gear -> subsystem.setGear(gear));
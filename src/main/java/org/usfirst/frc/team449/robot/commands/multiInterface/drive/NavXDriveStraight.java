@@ -104,9 +104,9 @@ public class NavXDriveStraight<T extends Subsystem & DriveUnidirectional & Subsy
 
         //Set throttle to the specified stick.
         if (useLeft) {
-            subsystem.setOutput(oi.getLeftRightOutputCached()[0] - output, oi.getLeftRightOutputCached()[1] + output);
+            subsystem.setOutput(oi.getLeftOutputCached() - output, oi.getRightOutputCached() + output);
         } else {
-            subsystem.setOutput(oi.getLeftRightOutputCached()[0] - output, oi.getLeftRightOutputCached()[1] + output);
+            subsystem.setOutput(oi.getLeftOutputCached() - output, oi.getRightOutputCached() + output);
         }
     }
 
@@ -10,6 +10,7 @@ import org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.RampC
 import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
 import org.usfirst.frc.team449.robot.oi.unidirectional.OIUnidirectional;
 import org.usfirst.frc.team449.robot.other.BufferTimer;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 import org.usfirst.frc.team449.robot.other.Logger;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.SubsystemAHRS;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.commands.PIDAngleCommand;
@@ -137,6 +138,7 @@ public class UnidirectionalNavXDefaultDrive<T extends Subsystem & DriveUnidirect
      */
     @Override
     protected void execute() {
+        LatencyTracer.mark(LatencyTracer.Stage.COMMAND);
         //If we're driving straight but the driver tries to turn or overrides the AHRS:
         if (drivingStraight && (!oi.commandingStraight() || subsystem.getOverrideGyro())) {
             //Switch to free drive
@@ -155,8 +157,8 @@ public class UnidirectionalNavXDefaultDrive<T extends Subsystem & DriveUnidirect
 
         //Get the outputs
         rawOutput = this.getPIDController().get();
-        leftOutput = oi.getLeftRightOutputCached()[0];
-        rightOutput = oi.getLeftRightOutputCached()[1];
+        leftOutput = oi.getLeftOutputCached();
+        rightOutput = oi.getRightOutputCached();
 
         //Ramp if it exists
         if (leftRamp != null) {
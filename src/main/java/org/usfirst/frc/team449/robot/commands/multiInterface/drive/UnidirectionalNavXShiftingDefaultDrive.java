@@ -11,6 +11,7 @@ import org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.RampC
 import org.usfirst.frc.team449.robot.generalInterfaces.shiftable.Shiftable;
 import org.usfirst.frc.team449.robot.oi.unidirectional.OIUnidirectional;
 import org.usfirst.frc.team449.robot.other.BufferTimer;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 import org.usfirst.frc.team449.robot.other.Logger;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.SubsystemAHRS;
 
@@ -110,9 +111,10 @@ public class UnidirectionalNavXShiftingDefaultDrive<T extends Subsystem & DriveU
      */
     @Override
     public void execute() {
+        LatencyTracer.mark(LatencyTracer.Stage.COMMAND);
         //Auto-shifting
         if (!subsystem.getOverrideAutoshift()) {
-            autoshiftComponent.autoshift(oi.getFwdRotOutputCached()[0], subsystem.getLeftVelCached(),
+            autoshiftComponent.autoshift(oi.getFwdOutputCached(), subsystem.getLeftVelCached(),
                     subsystem.getRightVelCached(), gear -> subsystem.setGear(gear));
         }
 
@@ -2,8 +2,8 @@ package org.usfirst.frc.team449.robot.components;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import edu.wpi.first.networktables.NetworkTableInstance;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.DoubleSupplier;
 public class LimeLightAngularToDistanceComponent implements DoubleSupplier {
@@ -13,16 +13,21 @@ public class LimeLightAngularToDistanceComponent implements DoubleSupplier {
     @NotNull
     DoubleSupplier distanceToTarget;
 
+    @NotNull
+    private final LimeLightClient client;
+
     @JsonCreator
     public LimeLightAngularToDistanceComponent(@JsonProperty(required = true) DoubleSupplier angularInput,
-                                               @JsonProperty(required = true) DoubleSupplier distanceToTarget){
+                                               @JsonProperty(required = true) DoubleSupplier distanceToTarget,
+                                               @Nullable LimeLightClient client){
         this.angularInput = angularInput;
         this.distanceToTarget = distanceToTarget;
+        this.client = client != null ? client : LimeLightClient.getDefault();
     }
 
     @Override
     public double getAsDouble() {
-        double theta = NetworkTableInstance.getDefault().getTable("limelight").getEntry("tx").getDouble(0);
+        double theta = client.getX();
         return distanceToTarget.getAsDouble() * Math.cos(Math.toRadians(theta)) * Math.tan(Math.toRadians(angularInput.getAsDouble()));
     }
 }
@@ -0,0 +1,242 @@
+package org.usfirst.frc.team449.robot.components;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import edu.wpi.first.networktables.EntryListenerFlags;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.NetworkTableValue;
+import edu.wpi.first.wpilibj.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A client for the Limelight's NetworkTable that caches the most recent frame. Entries are read through listeners, so
+ * each value is decoded once when it changes instead of once per component per call, and every getter is an O(1),
+ * allocation-free field read.
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
+public class LimeLightClient {
+
+    /**
+     * The client shared by every Limelight component that isn't given one explicitly.
+     */
+    @Nullable
+    private static LimeLightClient defaultClient;
+
+    /**
+     * The number of elements in the camtran array.
+     */
+    private static final int CAMTRAN_LENGTH = 6;
+
+    /**
+     * The latency, in milliseconds, between the image being captured and the pipeline starting. This isn't included
+     * in tl.
+     */
+    private final double captureLatencyMillis;
+
+    /**
+     * The pose of the camera relative to the target, as [x, y, z, pitch, yaw, roll]. Preallocated so updates don't
+     * allocate.
+     */
+    @NotNull
+    private final double[] camtran;
+
+    /**
+     * Whether the most recent frame has a valid target.
+     */
+    private boolean hasTarget;
+
+    /**
+     * The horizontal and vertical offsets from the crosshair to the target, in degrees.
+     */
+    private double tx, ty;
+
+    /**
+     * The area of the target, in percent of the image.
+     */
+    private double ta;
+
+    /**
+     * The vertical side length of the rough bounding box, in pixels.
+     */
+    private double tvert;
+
+    /**
+     * The pipeline's latency contribution, in milliseconds.
+     */
+    private double tl;
+
+    /**
+     * The FPGA time, in seconds, at which the most recent update was received.
+     */
+    private double receivedTimestamp;
+
+    /**
+     * The number of frames received so far. A new frame is counted each time tl changes.
+     */
+    private long frameCount;
+
+    /**
+     * Default constructor.
+     *
+     * @param tableName            The name of the Limelight's NetworkTable. Defaults to "limelight".
+     * @param captureLatencyMillis The latency, in milliseconds, between the image being captured and the pipeline
+     *                             starting. Defaults to 11, the value given in the Limelight documentation.
+     */
+    @JsonCreator
+    public LimeLightClient(@Nullable String tableName,
+                           @Nullable Double captureLatencyMillis) {
+        this.captureLatencyMillis = captureLatencyMillis != null ? captureLatencyMillis : 11;
+        this.camtran = new double[CAMTRAN_LENGTH];
+
+        NetworkTable table = NetworkTableInstance.getDefault().getTable(tableName != null ? tableName : "limelight");
+        //Immediate so we pick up whatever is already in the table.
+        table.addEntryListener(this::onUpdate,
+                EntryListenerFlags.kImmediate | EntryListenerFlags.kNew | EntryListenerFlags.kUpdate);
+    }
+
+    /**
+     * Get the client shared by all Limelight components that aren't given one, constructing it if necessary.
+     *
+     * @return The client for the "limelight" table.
+     */
+    @NotNull
+    public static synchronized LimeLightClient getDefault() {
+        if (defaultClient == null) {
+            defaultClient = new LimeLightClient(null, null);
+        }
+        return defaultClient;
+    }
+
+    /**
+     * Decode a single entry update into the cached fields. Called on the NetworkTables listener thread.
+     *
+     * @param table The table the entry is in.
+     * @param key   The key of the entry that changed.
+     * @param entry The entry that changed.
+     * @param value The new value.
+     * @param flags The listener flags for this notification.
+     */
+    private synchronized void onUpdate(NetworkTable table, String key, NetworkTableEntry entry,
+                                       NetworkTableValue value, int flags) {
+        switch (key) {
+            case "tv":
+                if (value.isDouble()) {
+                    hasTarget = value.getDouble() != 0;
+                }
+                break;
+            case "tx":
+                if (value.isDouble()) {
+                    tx = value.getDouble();
+                }
+                break;
+            case "ty":
+                if (value.isDouble()) {
+                    ty = value.getDouble();
+                }
+                break;
+            case "ta":
+                if (value.isDouble()) {
+                    ta = value.getDouble();
+                }
+                break;
+            case "tvert":
+                if (value.isDouble()) {
+                    tvert = value.getDouble();
+                }
+                break;
+            case "tl":
+                if (value.isDouble()) {
+                    tl = value.getDouble();
+                    frameCount++;
+                }
+                break;
+            case "camtran":
+                if (value.isDoubleArray()) {
+                    double[] array = value.getDoubleArray();
+                    System.arraycopy(array, 0, camtran, 0, Math.min(array.length, CAMTRAN_LENGTH));
+                }
+                break;
+            default:
+                //Not something we cache, and not a new frame either.
+                return;
+        }
+        receivedTimestamp = Timer.getFPGATimestamp();
+    }
+
+    /**
+     * @return Whether the most recent frame has a valid target.
+     */
+    public synchronized boolean hasTarget() {
+        return hasTarget;
+    }
+
+    /**
+     * @return The horizontal offset from the crosshair to the target, in degrees.
+     */
+    public synchronized double getX() {
+        return tx;
+    }
+
+    /**
+     * @return The vertical offset from the crosshair to the target, in degrees.
+     */
+    public synchronized double getY() {
+        return ty;
+    }
+
+    /**
+     * @return The area of the target, in percent of the image.
+     */
+    public synchronized double getArea() {
+        return ta;
+    }
+
+    /**
+     * @return The vertical side length of the rough bounding box, in pixels.
+     */
+    public synchronized double getVertical() {
+        return tvert;
+    }
+
+    /**
+     * Get an element of the camera's pose relative to the target.
+     *
+     * @param index The index into camtran, i.e. 0 for x through 5 for roll.
+     * @return That element of the most recent camtran.
+     */
+    public synchronized double getCamtran(int index) {
+        return camtran[index];
+    }
+
+    /**
+     * @return The total latency of the most recent frame, in milliseconds, including image capture.
+     */
+    public synchronized double getLatencyMillis() {
+        return tl + captureLatencyMillis;
+    }
+
+    /**
+     * @return The FPGA time, in seconds, at which the most recent update was received.
+     */
+    public synchronized double getReceivedTimestamp() {
+        return receivedTimestamp;
+    }
+
+    /**
+     * @return The FPGA time, in seconds, at which the most recent frame was captured.
+     */
+    public synchronized double getCaptureTimestamp() {
+        return receivedTimestamp - (tl + captureLatencyMillis) / 1000.;
+    }
+
+    /**
+     * @return The number of frames received so far.
+     */
+    public synchronized long getFrameCount() {
+        return frameCount;
+    }
+}
@@ -4,17 +4,19 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
-import edu.wpi.first.networktables.NetworkTable;
-import edu.wpi.first.networktables.NetworkTableEntry;
-import edu.wpi.first.networktables.NetworkTableInstance;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
 import java.util.function.DoubleSupplier;
 
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class LimeLightComponent implements DoubleSupplier {
 
-    @NotNull NetworkTableEntry entry;
-    private final NetworkTableEntry tv;
+    /**
+     * The client holding the most recent frame from the Limelight.
+     */
+    @NotNull
+    private final LimeLightClient client;
     private final ReturnValue value;
     private final double offset;
 
@@ -25,27 +27,16 @@ public class LimeLightComponent implements DoubleSupplier {
     /**
      * Default creator
      * @param value whether to request x distance from center, y distance from center, or the area of vision target
+     * @param offset a constant to add to the value read from the Limelight.
+     * @param client the Limelight client to read from. Defaults to {@link LimeLightClient#getDefault()}.
      */
     @JsonCreator
     public LimeLightComponent(@JsonProperty(required = true) ReturnValue value,
-                              double offset){
-        NetworkTable table = NetworkTableInstance.getDefault().getTable("limelight");
+                              double offset,
+                              @Nullable LimeLightClient client){
         this.value = value;
         this.offset = offset;
-        switch(value) {
-            case x:
-                entry = table.getEntry("tx");
-                break;
-            case y:
-                entry = table.getEntry("ty");
-                break;
-            case area:
-                entry = table.getEntry("ta");
-                break;
-            default:
-                entry = table.getEntry("camtran");
-        }
-        tv = table.getEntry("tv");
+        this.client = client != null ? client : LimeLightClient.getDefault();
     }
 
     /**
@@ -53,25 +44,28 @@ public class LimeLightComponent implements DoubleSupplier {
      */
     @Override
     public double getAsDouble() {
-        if (tv.getDouble(0) == 0){
+        if (!client.hasTarget()){
             return Double.NaN;
         }
-        double[] camtran = entry.getDoubleArray(new double[6]);
         switch(value) {
+            case x:
+                return client.getX() + offset;
+            case y:
+                return client.getY() + offset;
+            case area:
+                return client.getArea() + offset;
             case poseX:
-                return camtran[0] + offset;
+                return client.getCamtran(0) + offset;
             case poseY:
-                return camtran[1] + offset;
+                return client.getCamtran(1) + offset;
             case poseZ:
-                return camtran[2] + offset;
+                return client.getCamtran(2) + offset;
             case pitch:
-                return camtran[3] + offset;
+                return client.getCamtran(3) + offset;
             case yaw:
-                return camtran[4] + offset;
-            case roll:
-                return camtran[5] + offset;
+                return client.getCamtran(4) + offset;
             default:
-                return entry.getDouble(0.0) + offset;
+                return client.getCamtran(5) + offset;
         }
     }
-}
\ No newline at end of file
+}
@@ -4,20 +4,32 @@ package org.usfirst.frc.team449.robot.components;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
-import edu.wpi.first.networktables.NetworkTableInstance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.DoubleSupplier;
 
 public class LimeLightDistanceComponentSimple implements DoubleSupplier {
 
-    @JsonCreator
-    public LimeLightDistanceComponentSimple(){
+    /**
+     * The client holding the most recent frame from the Limelight.
+     */
+    @NotNull
+    private final LimeLightClient client;
 
+    /**
+     * Default creator
+     * @param client the Limelight client to read from. Defaults to {@link LimeLightClient#getDefault()}.
+     */
+    //Properties mode, so a single optional argument isn't read as a delegating creator and {} still gets the default.
+    @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+    public LimeLightDistanceComponentSimple(@Nullable LimeLightClient client){
+        this.client = client != null ? client : LimeLightClient.getDefault();
     }
 
     @Override
     public double getAsDouble() { //Actual target height 5.825572
-        double robotToTargAngle = NetworkTableInstance.getDefault().getTable("limelight").getEntry("tvert").getDouble(0) * (41./320.);
+        double robotToTargAngle = client.getVertical() * (41./320.);
         double distanceToTarg = (Math.sqrt(137.)/2.) / (2. * Math.tan(Math.toRadians(robotToTargAngle / 2.)));
         return distanceToTarg;
     }
@@ -2,7 +2,8 @@ package org.usfirst.frc.team449.robot.components;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import edu.wpi.first.networktables.NetworkTableInstance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.DoubleSupplier;
 
@@ -12,16 +13,24 @@ public class LimeLightDistanceComponentTilted implements DoubleSupplier {
 
     private final double limelightAngleDown;
 
+    /**
+     * The client holding the most recent frame from the Limelight.
+     */
+    @NotNull
+    private final LimeLightClient client;
+
     @JsonCreator
     public LimeLightDistanceComponentTilted(@JsonProperty(required = true) double limelightHeight,
-                                            @JsonProperty(required = true) double limelightAngleDown) {
+                                            @JsonProperty(required = true) double limelightAngleDown,
+                                            @Nullable LimeLightClient client) {
         this.limelightHeight = limelightHeight;
         this.limelightAngleDown = limelightAngleDown;
+        this.client = client != null ? client : LimeLightClient.getDefault();
     }
 
     @Override
     public double getAsDouble() {
-        double robotToTargAngle = NetworkTableInstance.getDefault().getTable("limelight").getEntry("ty").getDouble(0);
+        double robotToTargAngle = client.getY();
         return limelightHeight * Math.tan(Math.toRadians(90 - limelightAngleDown + robotToTargAngle));
     }
 }
@@ -0,0 +1,275 @@
+package org.usfirst.frc.team449.robot.components;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A component that estimates a motor's kV, kA, and intercept voltage online using recursive least squares with a
+ * forgetting factor, so the feedforward can track battery and wear over a day. Forwards and reverse are estimated
+ * separately, each regressing the applied voltage on velocity, acceleration, and the sign of velocity. Each point is a
+ * constant amount of work on fixed-size arrays.
+ */
+public class RLSFeedForwardEstimator {
+
+    /**
+     * The number of parameters estimated in each direction: kV, kA, and intercept voltage.
+     */
+    private static final int NUM_PARAMS = 3;
+
+    /**
+     * Indices of forwards and reverse in the per-direction arrays.
+     */
+    private static final int FWD = 0, REV = 1;
+
+    /**
+     * How much each point is weighted relative to the point after it, from (0, 1].
+     */
+    private final double forgettingFactor;
+
+    /**
+     * The slowest speed, in feet/sec, that points are used at. Static friction makes the model wrong below this.
+     */
+    private final double minSpeed;
+
+    /**
+     * The covariance the parameters start with, and the most the covariance is allowed to grow to while there's
+     * nothing to learn from.
+     */
+    private final double initialCovariance;
+
+    /**
+     * The fewest points in a direction before its estimates can be confident.
+     */
+    private final int minSamples;
+
+    /**
+     * The lowest confidence at which estimates are used in place of the configured gains.
+     */
+    private final double minConfidence;
+
+    /**
+     * The parameter estimates for each direction, as [kV, kA, intercept voltage].
+     */
+    private final double[][] theta = new double[2][NUM_PARAMS];
+
+    /**
+     * The covariance matrix of the parameters for each direction.
+     */
+    private final double[][][] covariance = new double[2][NUM_PARAMS][NUM_PARAMS];
+
+    /**
+     * The exponentially weighted variance of the residuals for each direction, in volts^2.
+     */
+    private final double[] residualVariance = new double[2];
+
+    /**
+     * The number of points used in each direction.
+     */
+    private final int[] numPoints = new int[2];
+
+    /**
+     * The regressors, covariance times the regressors, and the gain for the current point. Fields to avoid garbage
+     * collection.
+     */
+    private final double[] x = new double[NUM_PARAMS], px = new double[NUM_PARAMS], gain = new double[NUM_PARAMS];
+
+    /**
+     * Whether the feedforward should use these estimates instead of its configured gains.
+     */
+    private boolean applied;
+
+    /**
+     * Default constructor.
+     *
+     * @param forgettingFactor  How much each point is weighted relative to the point after it, from (0, 1]. Defaults to
+     *                          0.999, which at 50 points a second remembers about the last 20 seconds of driving.
+     * @param minSpeed          The slowest speed, in feet/sec, that points are used at. Defaults to 0.25.
+     * @param initialCovariance The covariance the parameters start with. Higher means the configured gains are trusted
+     *                          less. Defaults to 100.
+     * @param minSamples        The fewest points in a direction before its estimates can be used. Defaults to 250.
+     * @param minConfidence     The lowest confidence, from [0, 1], at which estimates are used in place of the
+     *                          configured gains. Defaults to 0.9.
+     * @param applied           Whether the feedforward should use these estimates instead of its configured gains once
+     *                          they're confident. Can be changed at runtime. Defaults to false.
+     */
+    @JsonCreator
+    public RLSFeedForwardEstimator(@Nullable Double forgettingFactor,
+                                   @Nullable Double minSpeed,
+                                   @Nullable Double initialCovariance,
+                                   @Nullable Integer minSamples,
+                                   @Nullable Double minConfidence,
+                                   boolean applied) {
+        this.forgettingFactor = forgettingFactor != null ? forgettingFactor : 0.999;
+        this.minSpeed = minSpeed != null ? minSpeed : 0.25;
+        this.initialCovariance = initialCovariance != null ? initialCovariance : 100;
+        this.minSamples = minSamples != null ? minSamples : 250;
+        this.minConfidence = minConfidence != null ? minConfidence : 0.9;
+        this.applied = applied;
+        for (int dir = FWD; dir <= REV; dir++) {
+            for (int i = 0; i < NUM_PARAMS; i++) {
+                covariance[dir][i][i] = this.initialCovariance;
+            }
+        }
+    }
+
+    /**
+     * Start the estimates at the configured gains and forget any points.
+     *
+     * @param kVFwd        The voltage required to run forwards at a steady-state velocity of 1 foot per second.
+     * @param kVRev        The voltage required to run backwards at a steady-state velocity of 1 foot per second.
+     * @param kAFwd        The voltage required to accelerate at one foot per second^2 while going forwards.
+     * @param kARev        The voltage required to accelerate at one foot per second^2 while going in reverse.
+     * @param interceptFwd The voltage required to overcome static friction in the forwards direction.
+     * @param interceptRev The voltage required to overcome static friction in the reverse direction.
+     */
+    public synchronized void seed(double kVFwd, double kVRev, double kAFwd, double kARev, double interceptFwd,
+                                  double interceptRev) {
+        theta[FWD][0] = kVFwd;
+        theta[FWD][1] = kAFwd;
+        theta[FWD][2] = interceptFwd;
+        theta[REV][0] = kVRev;
+        theta[REV][1] = kARev;
+        theta[REV][2] = interceptRev;
+        for (int dir = FWD; dir <= REV; dir++) {
+            for (int i = 0; i < NUM_PARAMS; i++) {
+                for (int j = 0; j < NUM_PARAMS; j++) {
+                    covariance[dir][i][j] = i == j ? initialCovariance : 0;
+                }
+            }
+            residualVariance[dir] = 0;
+            numPoints[dir] = 0;
+        }
+    }
+
+    /**
+     * Update the estimates with what the motor did. Points where the motor is barely moving or isn't being driven are
+     * ignored.
+     *
+     * @param voltage      The voltage applied to the motor, in volts.
+     * @param velocity     The velocity of the mechanism, in feet/sec.
+     * @param acceleration The acceleration of the mechanism, in feet/sec^2.
+     */
+    public synchronized void addPoint(double voltage, double velocity, double acceleration) {
+        if (Math.abs(velocity) < minSpeed || voltage == 0 || Double.isNaN(velocity) || Double.isNaN(acceleration)) {
+            return;
+        }
+        int dir = velocity > 0 ? FWD : REV;
+        double[] params = theta[dir];
+        double[][] p = covariance[dir];
+
+        //The intercept opposes the direction of motion.
+        x[0] = velocity;
+        x[1] = acceleration;
+        x[2] = dir == FWD ? 1 : -1;
+
+        double error = voltage - (params[0] * x[0] + params[1] * x[1] + params[2] * x[2]);
+        double denominator = forgettingFactor;
+        for (int i = 0; i < NUM_PARAMS; i++) {
+            px[i] = p[i][0] * x[0] + p[i][1] * x[1] + p[i][2] * x[2];
+            denominator += x[i] * px[i];
+        }
+        for (int i = 0; i < NUM_PARAMS; i++) {
+            gain[i] = px[i] / denominator;
+            params[i] += gain[i] * error;
+        }
+
+        //Only forget old points while the covariance is bounded, otherwise it winds up when the motion doesn't excite
+        //every parameter, like while cruising at a constant speed.
+        double trace = 0;
+        for (int i = 0; i < NUM_PARAMS; i++) {
+            for (int j = 0; j < NUM_PARAMS; j++) {
+                p[i][j] -= gain[i] * px[j];
+            }
+            trace += p[i][i];
+        }
+        if (trace < NUM_PARAMS * initialCovariance) {
+            for (int i = 0; i < NUM_PARAMS; i++) {
+                for (int j = 0; j < NUM_PARAMS; j++) {
+                    p[i][j] /= forgettingFactor;
+                }
+            }
+        }
+
+        residualVariance[dir] = forgettingFactor * residualVariance[dir] + (1 - forgettingFactor) * error * error;
+        numPoints[dir]++;
+    }
+
+    /**
+     * Calculate the feedforward voltage from the estimates.
+     *
+     * @param velocity     The desired velocity, in feet/sec.
+     * @param acceleration The desired acceleration, in feet/sec^2.
+     * @param forwards     Whether to use the forwards or reverse estimates.
+     * @return The voltage, or NaN if the estimates aren't being applied or aren't confident enough.
+     */
+    public synchronized double calcVoltage(double velocity, double acceleration, boolean forwards) {
+        int dir = forwards ? FWD : REV;
+        if (!applied || getConfidence(forwards) < minConfidence) {
+            return Double.NaN;
+        }
+        return theta[dir][0] * velocity + theta[dir][1] * acceleration + theta[dir][2] * (forwards ? 1 : -1);
+    }
+
+    /**
+     * How sure we are of the kV estimate, which is the one that matters most for feedforward.
+     *
+     * @param forwards Whether to get the confidence in the forwards or reverse estimates.
+     * @return 1 minus the standard error of kV relative to kV, from [0, 1], or 0 if there aren't enough points yet.
+     */
+    public synchronized double getConfidence(boolean forwards) {
+        int dir = forwards ? FWD : REV;
+        if (numPoints[dir] < minSamples || theta[dir][0] == 0) {
+            return 0;
+        }
+        double relativeError = getStandardError(dir, 0) / Math.abs(theta[dir][0]);
+        return Math.max(0, 1 - relativeError);
+    }
+
+    /**
+     * @param dir   The index of the direction.
+     * @param param The index of the parameter.
+     * @return The standard error of that parameter.
+     */
+    private double getStandardError(int dir, int param) {
+        return Math.sqrt(residualVariance[dir] * covariance[dir][param][param]);
+    }
+
+    /**
+     * @param forwards Whether to get the forwards or reverse estimate.
+     * @return The estimated voltage required to run at a steady-state velocity of 1 foot per second.
+     */
+    public synchronized double getkV(boolean forwards) {
+        return theta[forwards ? FWD : REV][0];
+    }
+
+    /**
+     * @param forwards Whether to get the forwards or reverse estimate.
+     * @return The estimated voltage required to accelerate at one foot per second^2.
+     */
+    public synchronized double getkA(boolean forwards) {
+        return theta[forwards ? FWD : REV][1];
+    }
+
+    /**
+     * @param forwards Whether to get the forwards or reverse estimate.
+     * @return The estimated voltage required to overcome static friction.
+     */
+    public synchronized double getInterceptVoltage(boolean forwards) {
+        return theta[forwards ? FWD : REV][2];
+    }
+
+    /**
+     * @return Whether the feedforward uses these estimates instead of its configured gains once they're confident.
+     */
+    public synchronized boolean isApplied() {
+        return applied;
+    }
+
+    /**
+     * @param applied Whether the feedforward should use these estimates instead of its configured gains once they're
+     *                confident.
+     */
+    public synchronized void setApplied(boolean applied) {
+        this.applied = applied;
+    }
+}
@@ -0,0 +1,131 @@
+package org.usfirst.frc.team449.robot.components;
+
+/**
+ * A Ramsete controller for following a path with a differential drive. Given where the robot is and where the path
+ * says it should be, it gives wheel speeds that converge back onto the path, so error from wheel slip is corrected
+ * instead of carried through the rest of the path. Angles are in the pose estimator's frame: heading increases when
+ * the left side moves further than the right, and moving forwards at heading theta changes x by cos(theta) and y by
+ * sin(theta). Nothing is allocated per call, so it's safe to run at a high rate.
+ */
+public class RamseteController {
+
+    /**
+     * How aggressively to converge onto the path, in 1/feet^2. Bigger values correct faster but overshoot more.
+     */
+    private final double b;
+
+    /**
+     * How damped the convergence is, from 0 to 1.
+     */
+    private final double zeta;
+
+    /**
+     * The distance between the left and right wheels, in feet.
+     */
+    private final double trackWidth;
+
+    /**
+     * The outputs from the most recent call to calculate: left and right wheel velocities, in feet/second.
+     */
+    private double leftVel, rightVel;
+
+    /**
+     * The errors from the most recent call to calculate: along and across the robot's heading, in feet, and in
+     * heading, in radians.
+     */
+    private double alongError, crossError, headingError;
+
+    /**
+     * Default constructor.
+     *
+     * @param b          How aggressively to converge onto the path, in 1/feet^2. 0.19, the usual 2 per meter^2
+     *                   converted to feet, is a good start.
+     * @param zeta       How damped the convergence is, from 0 to 1. 0.7 is a good start.
+     * @param trackWidth The distance between the left and right wheels, in feet.
+     */
+    public RamseteController(double b, double zeta, double trackWidth) {
+        this.b = b;
+        this.zeta = zeta;
+        this.trackWidth = trackWidth;
+    }
+
+    /**
+     * Calculate the wheel velocities that move the robot along the path, then read them with
+     * {@link RamseteController#getLeftVel()} and {@link RamseteController#getRightVel()}.
+     *
+     * @param x        The robot's x position, in feet.
+     * @param y        The robot's y position, in feet.
+     * @param theta    The robot's heading, in radians.
+     * @param refX     The path's x position, in feet.
+     * @param refY     The path's y position, in feet.
+     * @param refTheta The path's heading, in radians.
+     * @param refVel   The path's velocity, in feet/second.
+     * @param refOmega The path's turning rate, in radians/second.
+     */
+    public void calculate(double x, double y, double theta,
+                          double refX, double refY, double refTheta, double refVel, double refOmega) {
+        double cos = Math.cos(theta);
+        double sin = Math.sin(theta);
+        double dx = refX - x;
+        double dy = refY - y;
+
+        //Rotate the error into the robot's frame.
+        alongError = cos * dx + sin * dy;
+        crossError = -sin * dx + cos * dy;
+        headingError = Math.IEEEremainder(refTheta - theta, 2 * Math.PI);
+
+        double k = 2 * zeta * Math.sqrt(refOmega * refOmega + b * refVel * refVel);
+        double vel = refVel * Math.cos(headingError) + k * alongError;
+        double omega = refOmega + k * headingError + b * refVel * sinc(headingError) * crossError;
+
+        //Heading increases when the left side goes further than the right.
+        leftVel = vel + omega * trackWidth / 2.;
+        rightVel = vel - omega * trackWidth / 2.;
+    }
+
+    /**
+     * @param x A number.
+     * @return sin(x)/x, or its limit of 1 near 0.
+     */
+    private static double sinc(double x) {
+        if (Math.abs(x) < 1e-9) {
+            return 1. - x * x / 6.;
+        }
+        return Math.sin(x) / x;
+    }
+
+    /**
+     * @return The velocity for the left side of the drive from the last calculation, in feet/second.
+     */
+    public double getLeftVel() {
+        return leftVel;
+    }
+
+    /**
+     * @return The velocity for the right side of the drive from the last calculation, in feet/second.
+     */
+    public double getRightVel() {
+        return rightVel;
+    }
+
+    /**
+     * @return How far ahead of the robot, along its heading, the path was at the last calculation, in feet.
+     */
+    public double getAlongError() {
+        return alongError;
+    }
+
+    /**
+     * @return How far to the side of the robot the path was at the last calculation, in feet.
+     */
+    public double getCrossError() {
+        return crossError;
+    }
+
+    /**
+     * @return How far the path's heading was from the robot's at the last calculation, in radians.
+     */
+    public double getHeadingError() {
+        return headingError;
+    }
+}
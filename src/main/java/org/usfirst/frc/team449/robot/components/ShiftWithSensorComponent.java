@@ -1,7 +1,6 @@
 package org.usfirst.frc.team449.robot.components;
 
 import com.fasterxml.jackson.annotation.*;
-import edu.wpi.first.wpilibj.Notifier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.generalInterfaces.shiftable.Shiftable;
@@ -9,6 +8,7 @@ import org.usfirst.frc.team449.robot.generalInterfaces.simpleMotor.SimpleMotor;
 import org.usfirst.frc.team449.robot.jacksonWrappers.MappedDigitalInput;
 import org.usfirst.frc.team449.robot.jacksonWrappers.MappedDoubleSolenoid;
 import org.usfirst.frc.team449.robot.other.BufferTimer;
+import org.usfirst.frc.team449.robot.other.PeriodicScheduler;
 
 import java.util.List;
 
@@ -45,10 +45,10 @@ public class ShiftWithSensorComponent extends ShiftComponent {
     private final BufferTimer motorDisableTimer;
 
     /**
-     * The Notifier that runs checkToReenable periodically.
+     * The scheduled task that runs checkToReenable periodically.
      */
     @NotNull
-    private final Notifier sensorChecker;
+    private final PeriodicScheduler.Task sensorChecker;
 
     /**
      * The period for the loop that checks the sensors and enables/disables the motors, in seconds.
@@ -94,7 +94,7 @@ public class ShiftWithSensorComponent extends ShiftComponent {
         this.lowGearSensors = lowGearSensors;
         this.motorsToDisable = motorsToDisable;
         this.motorDisableTimer = motorDisableTimer;
-        this.sensorChecker = new Notifier(this::checkToReenable);
+        this.sensorChecker = PeriodicScheduler.createTask("ShiftWithSensorComponent", this::checkToReenable);
         this.sensorChecker.startPeriodic(sensorCheckerPeriodSecs);
         this.sensorCheckerPeriodSecs = sensorCheckerPeriodSecs;
     }
@@ -34,13 +34,13 @@ public class TalonDataComponent implements DoubleSupplier {
     public double getAsDouble() {
         switch(value) {
             case position:
-                return talon.getPositionFeet();
+                return talon.getCachedPositionFeet();
             case velocity:
-                return talon.getVelocity();
+                return talon.getCachedVelocity();
             case current:
-                return talon.getOutputCurrent();
+                return talon.getCachedOutputCurrent();
             case voltage:
-                return talon.getOutputVoltage();
+                return talon.getCachedOutputVoltage();
             default:
                 return 0;
         }
@@ -32,9 +32,9 @@ public class TalonRumbleComponent implements MappedRunnable {
 
     @Override
     public void run() {
-        if (talon.isInhibitedForward() ^ inverted) {
+        if (talon.isCachedInhibitedForward() ^ inverted) {
             joystick.rumble(0, rumbleAmount);
-        } else if (talon.isInhibitedReverse() ^ inverted) {
+        } else if (talon.isCachedInhibitedReverse() ^ inverted) {
             joystick.rumble(rumbleAmount, 0);
         } else {
             joystick.rumble(0, 0);
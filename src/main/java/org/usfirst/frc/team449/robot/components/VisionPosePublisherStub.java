@@ -0,0 +1,79 @@
+package org.usfirst.frc.team449.robot.components;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import edu.wpi.first.wpilibj.Notifier;
+import org.jetbrains.annotations.NotNull;
+import org.usfirst.frc.team449.robot.other.Clock;
+import org.zeromq.ZMQ;
+import proto.Pose;
+
+/**
+ * A stand-in for the coprocessor that publishes a constant {@link Pose.CameraPose} at a fixed rate, so
+ * {@link VisionPoseReceiver} can be tested on the RIO without a camera. Point the receiver at the address this binds.
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
+public class VisionPosePublisherStub {
+
+    /**
+     * The publish socket.
+     */
+    @NotNull
+    private final ZMQ.Socket socket;
+
+    /**
+     * The pose to publish, minus the time stamp. Reused every message.
+     */
+    @NotNull
+    private final Pose.CameraPose.Builder pose;
+
+    /**
+     * The simulated latency between capturing a frame and publishing it, in milliseconds.
+     */
+    private final long latencyMillis;
+
+    /**
+     * The notifier that publishes the pose.
+     */
+    @NotNull
+    private final Notifier notifier;
+
+    /**
+     * Default constructor.
+     *
+     * @param address       The address to bind the publish socket to, e.g. "tcp://*:5556".
+     * @param periodSecs    The time between messages, in seconds. Defaults to 1/30, a typical camera frame rate.
+     * @param latencyMillis The simulated latency between capturing a frame and publishing it, in milliseconds.
+     *                      Defaults to 0.
+     * @param x             The x of the camera relative to the target, in feet.
+     * @param z             The z of the camera relative to the target, in feet.
+     * @param yaw           The yaw of the camera relative to the target, in radians.
+     */
+    @JsonCreator
+    public VisionPosePublisherStub(@NotNull @JsonProperty(required = true) String address,
+                                   double periodSecs,
+                                   long latencyMillis,
+                                   double x,
+                                   double z,
+                                   double yaw) {
+        this.latencyMillis = latencyMillis;
+        this.pose = Pose.CameraPose.newBuilder().setX(x).setY(0).setZ(z).setYaw(yaw).setPitch(0).setRoll(0);
+
+        ZMQ.Context context = ZMQ.context(1);
+        socket = context.socket(ZMQ.PUB);
+        socket.bind(address);
+
+        notifier = new Notifier(this::publish);
+        notifier.startPeriodic(periodSecs != 0 ? periodSecs : 1. / 30.);
+    }
+
+    /**
+     * Publish the pose, stamped with the time it was "captured".
+     */
+    private void publish() {
+        pose.setNavXTime((int) (Clock.currentTimeMillis() - latencyMillis));
+        socket.send(pose.build().toByteArray(), ZMQ.NOBLOCK);
+    }
+}
@@ -0,0 +1,348 @@
+package org.usfirst.frc.team449.robot.components;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
+import org.usfirst.frc.team449.robot.generalInterfaces.poseEstimator.PoseEstimator;
+import org.usfirst.frc.team449.robot.generalInterfaces.updatable.Updatable;
+import org.usfirst.frc.team449.robot.other.Clock;
+import org.zeromq.ZMQ;
+import proto.Pose;
+
+import java.io.IOException;
+
+/**
+ * Receives {@link Pose.CameraPose} messages from the coprocessor and feeds them to a pose estimator as absolute
+ * positions. The socket is conflating, so only the newest message is ever read and a slow loop never works through a
+ * backlog of stale frames.
+ * <p>
+ * Each CameraPose is the pose of the camera relative to a vision target, in the same frame the Jetson uses (x to the
+ * side, z along the camera axis, yaw in radians). navXTime is the robot {@link Clock} time, in milliseconds, at which
+ * the frame was captured.
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
+public class VisionPoseReceiver implements Updatable, Loggable {
+
+    /**
+     * The subscribe socket for receiving poses from the coprocessor.
+     */
+    @NotNull
+    private final ZMQ.Socket socket;
+
+    /**
+     * The pose estimator to give accepted fixes to. Can be null to only receive and log poses.
+     */
+    @Nullable
+    private final PoseEstimator poseEstimator;
+
+    /**
+     * The absolute position of the vision target on the field, in feet, and the heading of a robot squared up to it,
+     * in degrees.
+     */
+    private final double targetX, targetY, targetTheta;
+
+    /**
+     * Constant offsets added to the relative position of the target, in feet, to account for where the camera is
+     * mounted.
+     */
+    private final double xOffset, yOffset;
+
+    /**
+     * The oldest a pose can be, in milliseconds, and still be given to the pose estimator.
+     */
+    private final long maxAgeMillis;
+
+    /**
+     * The buffer messages are received into. Preallocated so receiving doesn't allocate a new array every message.
+     */
+    @NotNull
+    private final byte[] buffer;
+
+    /**
+     * The fields of the most recent well-formed message. Only set once every field has been decoded, so a malformed
+     * message never leaves them half-updated.
+     */
+    private double x, z, yaw;
+    private long frameTime;
+
+    /**
+     * The newest pose that was fresh and in order, transformed to the robot's frame. Relative X and Y are in feet and
+     * relative theta is in degrees.
+     */
+    private double relativeX, relativeY, relativeTheta;
+
+    /**
+     * Whether any pose has been accepted yet.
+     */
+    private boolean hasPose;
+
+    /**
+     * The time the pose in relativeX, relativeY, and relativeTheta was captured, in milliseconds.
+     */
+    private long poseTime;
+
+    /**
+     * The latency of the most recent pose, in milliseconds, from capture to being read on the RIO.
+     */
+    private long latencyMillis;
+
+    /**
+     * The counts of messages received, accepted, and rejected for each reason since the robot started.
+     */
+    private long received, accepted, rejectedMalformed, rejectedStale, rejectedOutOfOrder, rejectedEstimator;
+
+    /**
+     * The number of messages received in the current one-second window, the rate from the last full window, and the
+     * time the current window started.
+     */
+    private int windowCount;
+    private double messagesPerSecond;
+    private long windowStart;
+
+    /**
+     * Default constructor.
+     *
+     * @param address       The address of the coprocessor's publish socket, e.g. "tcp://10.4.49.12:5556".
+     * @param poseEstimator The pose estimator to give accepted fixes to. Can be null to only receive and log poses.
+     * @param targetX       The X position of the vision target on the field, in feet. Defaults to 0.
+     * @param targetY       The Y position of the vision target on the field, in feet. Defaults to 0.
+     * @param targetTheta   The heading of a robot squared up to the vision target, in degrees. Defaults to 0.
+     * @param xOffset       A constant added to the relative X of the target, in feet. Defaults to 0.
+     * @param yOffset       A constant added to the relative Y of the target, in feet. Defaults to 0.
+     * @param maxAgeMillis  The oldest a pose can be, in milliseconds, and still be used. Defaults to 250.
+     * @param maxMessageSize The size of the receive buffer, in bytes. Defaults to 128, which is larger than a
+     *                       CameraPose with every field set.
+     */
+    @JsonCreator
+    public VisionPoseReceiver(@NotNull @JsonProperty(required = true) String address,
+                              @Nullable PoseEstimator poseEstimator,
+                              double targetX,
+                              double targetY,
+                              double targetTheta,
+                              double xOffset,
+                              double yOffset,
+                              @Nullable Long maxAgeMillis,
+                              @Nullable Integer maxMessageSize) {
+        this.poseEstimator = poseEstimator;
+        this.targetX = targetX;
+        this.targetY = targetY;
+        this.targetTheta = targetTheta;
+        this.xOffset = xOffset;
+        this.yOffset = yOffset;
+        this.maxAgeMillis = maxAgeMillis != null ? maxAgeMillis : 250;
+        this.buffer = new byte[maxMessageSize != null ? maxMessageSize : 128];
+
+        ZMQ.Context context = ZMQ.context(1);
+        socket = context.socket(ZMQ.SUB);
+        //Conflate must be set before connecting to take effect.
+        socket.setConflate(true);
+        socket.connect(address);
+        socket.subscribe(new byte[0]);
+    }
+
+    /**
+     * Read the newest pose, if there is one, and give it to the pose estimator if it's valid.
+     */
+    @Override
+    public void update() {
+        long now = Clock.currentTimeMillis();
+        if (now - windowStart >= 1000) {
+            messagesPerSecond = windowCount * 1000. / (now - windowStart);
+            windowCount = 0;
+            windowStart = now;
+        }
+
+        int length = socket.recv(buffer, 0, buffer.length, ZMQ.NOBLOCK);
+        if (length <= 0) {
+            return;
+        }
+        received++;
+        windowCount++;
+
+        //recv silently truncates to the buffer size, so a full buffer means the message may have been cut off.
+        if (length >= buffer.length || !decode(length)) {
+            rejectedMalformed++;
+            return;
+        }
+
+        latencyMillis = now - frameTime;
+        if (latencyMillis < 0 || latencyMillis > maxAgeMillis) {
+            rejectedStale++;
+            return;
+        }
+        if (hasPose && frameTime <= poseTime) {
+            rejectedOutOfOrder++;
+            return;
+        }
+
+        //Not a typo, this is how our coordinate transform works
+        relativeX = -z + xOffset;
+        relativeY = x + yOffset;
+        relativeTheta = -Math.toDegrees(yaw);
+        poseTime = frameTime;
+        hasPose = true;
+        if (poseEstimator == null) {
+            return;
+        }
+
+        //The target is at (relativeX, relativeY) in the robot's frame, so rotate that into the field frame and
+        //subtract it from the target's field position. targetTheta is the heading of a robot squared up to the
+        //target, not the direction the target faces, which is 180 degrees off from it.
+        double robotTheta = targetTheta - relativeTheta;
+        double cos = Math.cos(Math.toRadians(robotTheta));
+        double sin = Math.sin(Math.toRadians(robotTheta));
+        double robotX = targetX - (relativeX * cos - relativeY * sin);
+        double robotY = targetY - (relativeX * sin + relativeY * cos);
+
+        if (poseEstimator.addAbsolutePos(robotX, robotY, frameTime, robotTheta)) {
+            accepted++;
+        } else {
+            rejectedEstimator++;
+        }
+    }
+
+    /**
+     * Decode a CameraPose from the buffer straight into primitive fields, without building a message object. The
+     * fields are only set if the whole message decodes.
+     *
+     * @param length The number of bytes in the buffer to decode.
+     * @return true if the message was well-formed and had every field we need, false otherwise.
+     */
+    private boolean decode(int length) {
+        CodedInputStream input = CodedInputStream.newInstance(buffer, 0, length);
+        double newX = 0, newZ = 0, newYaw = 0;
+        long newFrameTime = 0;
+        boolean hasX = false, hasZ = false, hasYaw = false, hasTime = false;
+        try {
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                switch (WireFormat.getTagFieldNumber(tag)) {
+                    case Pose.CameraPose.X_FIELD_NUMBER:
+                        newX = input.readDouble();
+                        hasX = true;
+                        break;
+                    case Pose.CameraPose.Z_FIELD_NUMBER:
+                        newZ = input.readDouble();
+                        hasZ = true;
+                        break;
+                    case Pose.CameraPose.YAW_FIELD_NUMBER:
+                        newYaw = input.readDouble();
+                        hasYaw = true;
+                        break;
+                    case Pose.CameraPose.NAVXTIME_FIELD_NUMBER:
+                        newFrameTime = input.readInt32();
+                        hasTime = true;
+                        break;
+                    default:
+                        //y, pitch, and roll aren't used for a planar pose.
+                        if (!input.skipField(tag)) {
+                            return false;
+                        }
+                }
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        if (!(hasX && hasZ && hasYaw && hasTime)) {
+            return false;
+        }
+        x = newX;
+        z = newZ;
+        yaw = newYaw;
+        frameTime = newFrameTime;
+        return true;
+    }
+
+    /**
+     * @return true if a pose has been accepted, false otherwise.
+     */
+    public boolean hasPose() {
+        return hasPose;
+    }
+
+    /**
+     * @return The time the most recent accepted pose was captured, in milliseconds since the robot code started. Stale
+     * and out-of-order frames never change it.
+     */
+    public long getPoseTime() {
+        return poseTime;
+    }
+
+    /**
+     * @return The X distance from the robot to the target in the most recent pose, in feet.
+     */
+    public double getRelativeX() {
+        return relativeX;
+    }
+
+    /**
+     * @return The Y distance from the robot to the target in the most recent pose, in feet.
+     */
+    public double getRelativeY() {
+        return relativeY;
+    }
+
+    /**
+     * @return The angle from the robot to the target in the most recent pose, in degrees.
+     */
+    public double getRelativeTheta() {
+        return relativeTheta;
+    }
+
+    /**
+     * Get the headers for the data this subsystem logs every loop.
+     *
+     * @return An N-length array of String labels for data, where N is the length of the Object[] returned by getData().
+     */
+    @NotNull
+    @Override
+    public String[] getHeader() {
+        return new String[]{
+                "messages_per_second",
+                "latency",
+                "received",
+                "accepted",
+                "rejected_malformed",
+                "rejected_stale",
+                "rejected_out_of_order",
+                "rejected_estimator"
+        };
+    }
+
+    /**
+     * Get the data this subsystem logs every loop.
+     *
+     * @return An N-length array of Objects, where N is the number of labels given by getHeader.
+     */
+    @NotNull
+    @Override
+    public Object[] getData() {
+        return new Object[]{
+                messagesPerSecond,
+                latencyMillis,
+                received,
+                accepted,
+                rejectedMalformed,
+                rejectedStale,
+                rejectedOutOfOrder,
+                rejectedEstimator
+        };
+    }
+
+    /**
+     * Get the name of this object.
+     *
+     * @return A string that will identify this object in the log file.
+     */
+    @NotNull
+    @Override
+    public String getLogName() {
+        return "VisionPoseReceiver";
+    }
+}
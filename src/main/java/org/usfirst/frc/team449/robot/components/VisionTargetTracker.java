@@ -0,0 +1,504 @@
+package org.usfirst.frc.team449.robot.components;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
+import org.usfirst.frc.team449.robot.generalInterfaces.poseEstimator.PoseEstimator;
+import org.usfirst.frc.team449.robot.generalInterfaces.updatable.Updatable;
+import org.usfirst.frc.team449.robot.other.Clock;
+import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.SubsystemAHRS;
+
+/**
+ * Accumulates vision frames into a field-frame estimate of where the target is. Each frame is moved into the field
+ * frame using the robot's pose at the time the frame was captured, frames too far from the median of the buffer are
+ * rejected as outliers, and the remaining frames are averaged into a converged target with a confidence between 0 and
+ * 1. Because the estimate is in the field frame, it stays valid while the robot moves.
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
+public class VisionTargetTracker implements Updatable, Loggable {
+
+    /**
+     * The receiver to get frames from.
+     */
+    @NotNull
+    private final VisionPoseReceiver receiver;
+
+    /**
+     * The pose estimator to get the robot's position from.
+     */
+    @NotNull
+    private final PoseEstimator poseEstimator;
+
+    /**
+     * The subsystem to get the robot's heading from.
+     */
+    @NotNull
+    private final SubsystemAHRS ahrs;
+
+    /**
+     * The maximum distance, in feet, and angle, in degrees, a frame can be from the median and still be an inlier.
+     */
+    private final double gateDistance, gateAngle;
+
+    /**
+     * The number of inliers needed, and the minimum confidence, for the estimate to be stable.
+     */
+    private final int minFrames;
+    private final double minConfidence;
+
+    /**
+     * The oldest a frame can be, in milliseconds, and still count towards the estimate.
+     */
+    private final long frameLifetimeMillis;
+
+    /**
+     * Ring buffer of field-frame target samples: X and Y in feet, theta in degrees, and capture time in milliseconds.
+     */
+    @NotNull
+    private final double[] sampleX, sampleY, sampleTheta;
+    @NotNull
+    private final long[] sampleTime;
+
+    /**
+     * Ring buffer of the robot's pose each tick, used to find the pose a frame was captured at. X and Y are in feet,
+     * heading in degrees, and time in milliseconds.
+     */
+    @NotNull
+    private final double[] historyX, historyY, historyHeading;
+    @NotNull
+    private final long[] historyTime;
+
+    /**
+     * Scratch space for finding medians. Preallocated to avoid garbage collection.
+     */
+    @NotNull
+    private final double[] scratch;
+
+    /**
+     * The next index to write and number of valid entries in the sample and history buffers.
+     */
+    private int sampleHead, sampleCount, historyHead, historyCount;
+
+    /**
+     * The capture time of the last frame added, in milliseconds.
+     */
+    private long lastFrameTime;
+
+    /**
+     * The number of frames in a row rejected as outliers. If this fills the buffer the target has probably changed, so
+     * the buffer is cleared.
+     */
+    private int consecutiveRejections;
+
+    /**
+     * The converged field-frame target and the number of inliers it came from.
+     */
+    private double targetX, targetY, targetTheta;
+    private int inliers;
+
+    /**
+     * How much the estimate should be trusted, from 0 to 1.
+     */
+    private double confidence;
+
+    /**
+     * Per-frame variables for update(). Fields to avoid garbage collection.
+     */
+    private double poseX, poseY, poseHeading;
+
+    /**
+     * Default constructor.
+     *
+     * @param receiver            The receiver to get frames from.
+     * @param poseEstimator       The pose estimator to get the robot's position from.
+     * @param ahrs                The subsystem to get the robot's heading from.
+     * @param bufferSize          The number of frames to keep. Defaults to 10.
+     * @param gateDistance        The maximum distance, in feet, a frame can be from the median and still be used.
+     *                            Defaults to 0.5.
+     * @param gateAngle           The maximum angle, in degrees, a frame can be from the median and still be used.
+     *                            Defaults to 10.
+     * @param minFrames           The number of inliers needed for the estimate to be stable. Defaults to half the
+     *                            buffer size.
+     * @param minConfidence       The minimum confidence for the estimate to be stable. Defaults to 0.7.
+     * @param frameLifetimeMillis The oldest a frame can be, in milliseconds, and still be used. Defaults to 1000.
+     * @param historyLength       The number of ticks of robot pose to keep for looking up where a frame was taken.
+     *                            Defaults to 25, half a second at the normal loop rate.
+     */
+    @JsonCreator
+    public VisionTargetTracker(@NotNull @JsonProperty(required = true) VisionPoseReceiver receiver,
+                               @NotNull @JsonProperty(required = true) PoseEstimator poseEstimator,
+                               @NotNull @JsonProperty(required = true) SubsystemAHRS ahrs,
+                               @Nullable Integer bufferSize,
+                               @Nullable Double gateDistance,
+                               @Nullable Double gateAngle,
+                               @Nullable Integer minFrames,
+                               @Nullable Double minConfidence,
+                               @Nullable Long frameLifetimeMillis,
+                               @Nullable Integer historyLength) {
+        this.receiver = receiver;
+        this.poseEstimator = poseEstimator;
+        this.ahrs = ahrs;
+        int size = bufferSize != null ? bufferSize : 10;
+        this.gateDistance = gateDistance != null ? gateDistance : 0.5;
+        this.gateAngle = gateAngle != null ? gateAngle : 10;
+        this.minFrames = minFrames != null ? minFrames : Math.max(1, size / 2);
+        this.minConfidence = minConfidence != null ? minConfidence : 0.7;
+        this.frameLifetimeMillis = frameLifetimeMillis != null ? frameLifetimeMillis : 1000;
+        int history = historyLength != null ? historyLength : 25;
+
+        sampleX = new double[size];
+        sampleY = new double[size];
+        sampleTheta = new double[size];
+        sampleTime = new long[size];
+        scratch = new double[size];
+        historyX = new double[history];
+        historyY = new double[history];
+        historyHeading = new double[history];
+        historyTime = new long[history];
+    }
+
+    /**
+     * Record the robot's pose and add the newest frame, if there is one, to the estimate.
+     */
+    @Override
+    public void update() {
+        long now = Clock.currentTimeMillis();
+
+        //Record the current pose
+        historyX[historyHead] = poseEstimator.getPos()[0];
+        historyY[historyHead] = poseEstimator.getPos()[1];
+        historyHeading[historyHead] = ahrs.getAngularDisplacementCached();
+        historyTime[historyHead] = now;
+        historyHead = (historyHead + 1) % historyTime.length;
+        historyCount = Math.min(historyCount + 1, historyTime.length);
+
+        //Drop expired frames from the oldest end
+        while (sampleCount > 0 && now - sampleTime[oldestSample()] > frameLifetimeMillis) {
+            sampleCount--;
+        }
+
+        long frameTime = receiver.getPoseTime();
+        if (receiver.hasPose() && frameTime != lastFrameTime && now - frameTime <= frameLifetimeMillis &&
+                poseAt(frameTime)) {
+            lastFrameTime = frameTime;
+            addFrame(frameTime);
+        }
+
+        converge();
+    }
+
+    /**
+     * Transform the receiver's newest frame into the field frame and add it to the buffer unless it's an outlier.
+     * Assumes poseX, poseY, and poseHeading hold the robot's pose when the frame was captured.
+     *
+     * @param frameTime The time the frame was captured, in milliseconds.
+     */
+    private void addFrame(long frameTime) {
+        double cos = Math.cos(Math.toRadians(poseHeading));
+        double sin = Math.sin(Math.toRadians(poseHeading));
+        double relX = receiver.getRelativeX();
+        double relY = receiver.getRelativeY();
+        double x = poseX + relX * cos - relY * sin;
+        double y = poseY + relX * sin + relY * cos;
+        double theta = poseHeading + receiver.getRelativeTheta();
+
+        if (sampleCount >= minFrames) {
+            if (Math.hypot(x - median(sampleX), y - median(sampleY)) > gateDistance ||
+                    Math.abs(angleDifference(theta, medianTheta())) > gateAngle) {
+                consecutiveRejections++;
+                //If we keep rejecting everything, the target moved or we're looking at a different one.
+                if (consecutiveRejections >= sampleX.length) {
+                    sampleCount = 0;
+                    consecutiveRejections = 0;
+                }
+                return;
+            }
+        }
+        consecutiveRejections = 0;
+
+        sampleX[sampleHead] = x;
+        sampleY[sampleHead] = y;
+        sampleTheta[sampleHead] = theta;
+        sampleTime[sampleHead] = frameTime;
+        sampleHead = (sampleHead + 1) % sampleX.length;
+        sampleCount = Math.min(sampleCount + 1, sampleX.length);
+    }
+
+    /**
+     * Average the inliers in the buffer into the converged target and calculate the confidence.
+     */
+    private void converge() {
+        if (sampleCount == 0) {
+            inliers = 0;
+            confidence = 0;
+            return;
+        }
+        double medianX = median(sampleX);
+        double medianY = median(sampleY);
+        double medianTheta = medianTheta();
+
+        double sumX = 0, sumY = 0, sumTheta = 0, sumSquaredError = 0;
+        inliers = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            int index = sampleIndex(i);
+            double distance = Math.hypot(sampleX[index] - medianX, sampleY[index] - medianY);
+            double angle = angleDifference(sampleTheta[index], medianTheta);
+            if (distance <= gateDistance && Math.abs(angle) <= gateAngle) {
+                sumX += sampleX[index];
+                sumY += sampleY[index];
+                //Average the angle as an offset from the median so it doesn't break at +/-180.
+                sumTheta += angle;
+                sumSquaredError += distance * distance;
+                inliers++;
+            }
+        }
+        if (inliers == 0) {
+            confidence = 0;
+            return;
+        }
+        targetX = sumX / inliers;
+        targetY = sumY / inliers;
+        targetTheta = medianTheta + sumTheta / inliers;
+
+        //Confidence is highest with a full buffer of inliers that are tightly clustered.
+        double spread = Math.sqrt(sumSquaredError / inliers) / gateDistance;
+        confidence = Math.min(1., inliers / (double) minFrames) * ((double) inliers / sampleCount) *
+                Math.max(0., 1. - spread);
+    }
+
+    /**
+     * Interpolate the robot's pose at a given time from the history, storing it in poseX, poseY, and poseHeading.
+     *
+     * @param time The time, in milliseconds.
+     * @return true if the time is covered by the history, false if it's too old.
+     */
+    private boolean poseAt(long time) {
+        if (historyCount == 0) {
+            return false;
+        }
+        //Walk backwards from the newest entry.
+        int newer = (historyHead - 1 + historyTime.length) % historyTime.length;
+        if (time >= historyTime[newer]) {
+            poseX = historyX[newer];
+            poseY = historyY[newer];
+            poseHeading = historyHeading[newer];
+            return true;
+        }
+        for (int i = 1; i < historyCount; i++) {
+            int older = (newer - 1 + historyTime.length) % historyTime.length;
+            if (historyTime[older] <= time) {
+                double fraction = (double) (time - historyTime[older]) / (historyTime[newer] - historyTime[older]);
+                poseX = historyX[older] + (historyX[newer] - historyX[older]) * fraction;
+                poseY = historyY[older] + (historyY[newer] - historyY[older]) * fraction;
+                poseHeading = historyHeading[older] + (historyHeading[newer] - historyHeading[older]) * fraction;
+                return true;
+            }
+            newer = older;
+        }
+        return false;
+    }
+
+    /**
+     * Find the median of the valid entries of a sample buffer.
+     *
+     * @param samples One of the sample buffers.
+     * @return The median of its valid entries.
+     */
+    private double median(@NotNull double[] samples) {
+        for (int i = 0; i < sampleCount; i++) {
+            insertSorted(i, samples[sampleIndex(i)]);
+        }
+        return sortedMedian();
+    }
+
+    /**
+     * Find the median of the valid headings. Each is taken as an offset from the newest one, so headings either side of
+     * +/-180 are next to each other instead of at opposite ends.
+     *
+     * @return The median of the valid headings, in degrees.
+     */
+    private double medianTheta() {
+        double reference = sampleTheta[sampleIndex(sampleCount - 1)];
+        for (int i = 0; i < sampleCount; i++) {
+            insertSorted(i, angleDifference(sampleTheta[sampleIndex(i)], reference));
+        }
+        return reference + sortedMedian();
+    }
+
+    /**
+     * Insert a value into the first entries of the scratch space, keeping them sorted. Insertion sort, since the buffer
+     * is small.
+     *
+     * @param sorted The number of entries already sorted.
+     * @param value  The value to insert.
+     */
+    private void insertSorted(int sorted, double value) {
+        int j = sorted - 1;
+        while (j >= 0 && scratch[j] > value) {
+            scratch[j + 1] = scratch[j];
+            j--;
+        }
+        scratch[j + 1] = value;
+    }
+
+    /**
+     * @return The median of the first sampleCount entries of the scratch space, which must be sorted.
+     */
+    private double sortedMedian() {
+        if (sampleCount % 2 == 1) {
+            return scratch[sampleCount / 2];
+        } else {
+            return (scratch[sampleCount / 2 - 1] + scratch[sampleCount / 2]) / 2.;
+        }
+    }
+
+    /**
+     * @param i An index from 0 (oldest) to sampleCount - 1 (newest).
+     * @return The index of that sample in the buffers.
+     */
+    private int sampleIndex(int i) {
+        return (oldestSample() + i) % sampleX.length;
+    }
+
+    /**
+     * @return The index of the oldest valid sample in the buffers.
+     */
+    private int oldestSample() {
+        return (sampleHead - sampleCount + sampleX.length) % sampleX.length;
+    }
+
+    /**
+     * @param a An angle, in degrees.
+     * @param b Another angle, in degrees.
+     * @return a - b, wrapped to [-180, 180).
+     */
+    private static double angleDifference(double a, double b) {
+        double difference = (a - b) % 360;
+        if (difference >= 180) {
+            difference -= 360;
+        } else if (difference < -180) {
+            difference += 360;
+        }
+        return difference;
+    }
+
+    /**
+     * @return The time, in milliseconds, that the newest frame was captured.
+     */
+    public long getLastFrameTime() {
+        return lastFrameTime;
+    }
+
+    /**
+     * @return true if there are enough consistent frames for the estimate to be used, false otherwise.
+     */
+    public boolean isStable() {
+        return inliers >= minFrames && confidence >= minConfidence;
+    }
+
+    /**
+     * @return How much the estimate should be trusted, from 0 to 1.
+     */
+    public double getConfidence() {
+        return confidence;
+    }
+
+    /**
+     * @return The X position of the target on the field, in feet.
+     */
+    public double getTargetX() {
+        return targetX;
+    }
+
+    /**
+     * @return The Y position of the target on the field, in feet.
+     */
+    public double getTargetY() {
+        return targetY;
+    }
+
+    /**
+     * @return The direction the robot faces when facing the target, in degrees in the field frame.
+     */
+    public double getTargetTheta() {
+        return targetTheta;
+    }
+
+    /**
+     * @return The X distance from the robot's current position to the target, in feet, in the robot's frame.
+     */
+    public double getRelativeX() {
+        double heading = Math.toRadians(ahrs.getAngularDisplacementCached());
+        return (targetX - poseEstimator.getPos()[0]) * Math.cos(heading) +
+                (targetY - poseEstimator.getPos()[1]) * Math.sin(heading);
+    }
+
+    /**
+     * @return The Y distance from the robot's current position to the target, in feet, in the robot's frame.
+     */
+    public double getRelativeY() {
+        double heading = Math.toRadians(ahrs.getAngularDisplacementCached());
+        return -(targetX - poseEstimator.getPos()[0]) * Math.sin(heading) +
+                (targetY - poseEstimator.getPos()[1]) * Math.cos(heading);
+    }
+
+    /**
+     * @return The angle from the robot's current heading to the target, in degrees.
+     */
+    public double getRelativeTheta() {
+        return angleDifference(targetTheta, ahrs.getAngularDisplacementCached());
+    }
+
+    /**
+     * Get the headers for the data this subsystem logs every loop.
+     *
+     * @return An N-length array of String labels for data, where N is the length of the Object[] returned by getData().
+     */
+    @NotNull
+    @Override
+    public String[] getHeader() {
+        return new String[]{
+                "target_x",
+                "target_y",
+                "target_theta",
+                "frames",
+                "inliers",
+                "confidence",
+                "stable"
+        };
+    }
+
+    /**
+     * Get the data this subsystem logs every loop.
+     *
+     * @return An N-length array of Objects, where N is the number of labels given by getHeader.
+     */
+    @NotNull
+    @Override
+    public Object[] getData() {
+        return new Object[]{
+                targetX,
+                targetY,
+                targetTheta,
+                sampleCount,
+                inliers,
+                confidence,
+                isStable()
+        };
+    }
+
+    /**
+     * Get the name of this object.
+     *
+     * @return A string that will identify this object in the log file.
+     */
+    @NotNull
+    @Override
+    public String getLogName() {
+        return "VisionTargetTracker";
+    }
+}
@@ -8,6 +8,7 @@ import edu.wpi.first.wpilibj.command.Subsystem;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.generalInterfaces.simpleMotor.SimpleMotor;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 
 /**
  * A simple unidirectional drive with no encoders.
@@ -60,6 +61,7 @@ public class DriveUnidirectionalSimple extends Subsystem implements DriveUnidire
     public void setOutput(double left, double right) {
         leftMotor.setVelocity(left);
         rightMotor.setVelocity(right);
+        LatencyTracer.mark(LatencyTracer.Stage.ACTUATOR);
     }
 
     /**
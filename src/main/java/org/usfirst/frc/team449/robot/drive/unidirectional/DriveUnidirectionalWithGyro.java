@@ -10,6 +10,7 @@ import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
 import org.usfirst.frc.team449.robot.jacksonWrappers.FPSTalon;
 import org.usfirst.frc.team449.robot.jacksonWrappers.MappedAHRS;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 import org.usfirst.frc.team449.robot.other.Logger;
 import org.usfirst.frc.team449.robot.other.MotionProfileData;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.SubsystemAHRS;
@@ -48,6 +49,11 @@ public class DriveUnidirectionalWithGyro extends Subsystem implements SubsystemA
      */
     private boolean overrideGyro;
 
+    /**
+     * The distance between the left and right wheels, in feet.
+     */
+    private final double trackWidth;
+
     /**
      * Cached values for various sensor readings.
      */
@@ -60,17 +66,22 @@ public class DriveUnidirectionalWithGyro extends Subsystem implements SubsystemA
      * @param leftMaster  The master talon on the left side of the drive.
      * @param rightMaster The master talon on the right side of the drive.
      * @param ahrs        The NavX gyro for calculating this drive's heading and angular velocity.
+     * @param trackWidth  The distance between the left and right wheels, in feet. Used to simulate the gyro and to
+     *                    turn a turning rate into wheel speeds. Defaults to 2.
      */
     @JsonCreator
     public DriveUnidirectionalWithGyro(@NotNull @JsonProperty(required = true) FPSTalon leftMaster,
                                        @NotNull @JsonProperty(required = true) FPSTalon rightMaster,
-                                       @NotNull @JsonProperty(required = true) MappedAHRS ahrs) {
+                                       @NotNull @JsonProperty(required = true) MappedAHRS ahrs,
+                                       @Nullable Double trackWidth) {
         super();
         //Initialize stuff
         this.rightMaster = rightMaster;
         this.leftMaster = leftMaster;
         this.ahrs = ahrs;
         this.overrideGyro = false;
+        this.trackWidth = trackWidth != null ? trackWidth : 2.;
+        ahrs.simulateDrive(leftMaster, rightMaster, this.trackWidth);
     }
 
     /**
@@ -84,6 +95,25 @@ public class DriveUnidirectionalWithGyro extends Subsystem implements SubsystemA
         //scale by the max speed
         leftMaster.setVelocity(left);
         rightMaster.setVelocity(right);
+        LatencyTracer.mark(LatencyTracer.Stage.ACTUATOR);
+    }
+
+    /**
+     * Set a closed-loop velocity for each side of the drive.
+     *
+     * @param left  The velocity for the left side of the drive, in feet/second.
+     * @param right The velocity for the right side of the drive, in feet/second.
+     */
+    public void setVelocityFPS(double left, double right) {
+        leftMaster.setVelocityFPS(left);
+        rightMaster.setVelocityFPS(right);
+    }
+
+    /**
+     * @return The distance between the left and right wheels, in feet.
+     */
+    public double getTrackWidth() {
+        return trackWidth;
     }
 
     /**
@@ -392,10 +422,51 @@ public class DriveUnidirectionalWithGyro extends Subsystem implements SubsystemA
      * @param right The profile to load into the right side.
      */
     public void loadMotionProfile(@NotNull MotionProfileData left, @NotNull MotionProfileData right) {
+        loadMotionProfile(left, right, false);
+    }
+
+    /**
+     * Loads given profiles into the left and right sides of the drive, leaving them open for more to be appended.
+     *
+     * @param left         The profile to load into the left side.
+     * @param right        The profile to load into the right side.
+     * @param moreToFollow Whether more profiles will be appended with
+     *                     {@link DriveUnidirectionalWithGyro#appendMotionProfile(MotionProfileData, MotionProfileData, boolean)}.
+     */
+    @Override
+    public void loadMotionProfile(@NotNull MotionProfileData left, @NotNull MotionProfileData right,
+                                  boolean moreToFollow) {
         Logger.addEvent("Loading left", this.getClass());
-        leftMaster.loadProfile(left);
+        leftMaster.loadProfile(left, moreToFollow);
         Logger.addEvent("Loading right", this.getClass());
-        rightMaster.loadProfile(right);
+        rightMaster.loadProfile(right, moreToFollow);
+    }
+
+    /**
+     * Add profiles to the end of the ones that are loaded or running, so they run without stopping in between.
+     *
+     * @param left         The profile to append to the left side.
+     * @param right        The profile to append to the right side.
+     * @param moreToFollow Whether more profiles will be appended after these.
+     */
+    @Override
+    public void appendMotionProfile(@NotNull MotionProfileData left, @NotNull MotionProfileData right,
+                                    boolean moreToFollow) {
+        Logger.addEvent("Appending profiles", this.getClass());
+        leftMaster.appendProfile(left, moreToFollow);
+        rightMaster.appendProfile(right, moreToFollow);
+    }
+
+    /**
+     * Whether profiles fit behind the ones already buffered on both sides.
+     *
+     * @param left  The profile to append to the left side.
+     * @param right The profile to append to the right side.
+     * @return true if both masters have room, false otherwise.
+     */
+    @Override
+    public boolean hasRoomToAppend(@NotNull MotionProfileData left, @NotNull MotionProfileData right) {
+        return leftMaster.hasRoomFor(left) && rightMaster.hasRoomFor(right);
     }
 
     /**
@@ -427,6 +498,15 @@ public class DriveUnidirectionalWithGyro extends Subsystem implements SubsystemA
         runMPPoint(pos, vel, accel, pos, vel, accel);
     }
 
+    /**
+     * Configure both masters to run trajectory points.
+     */
+    @Override
+    public void prepareMPPoints() {
+        leftMaster.prepareMPPoints();
+        rightMaster.prepareMPPoints();
+    }
+
     /**
      * Disable the motors.
      */
@@ -469,10 +549,10 @@ public class DriveUnidirectionalWithGyro extends Subsystem implements SubsystemA
      */
     @Override
     public void update() {
-        cachedLeftVel = getLeftVel();
-        cachedLeftPos = getLeftPos();
-        cachedRightVel = getRightVel();
-        cachedRightPos = getRightPos();
+        cachedLeftVel = leftMaster.getCachedVelocity();
+        cachedLeftPos = leftMaster.getCachedPositionFeet();
+        cachedRightVel = rightMaster.getCachedVelocity();
+        cachedRightPos = rightMaster.getCachedPositionFeet();
     }
 
 
@@ -6,10 +6,12 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.components.ShiftComponent;
 import org.usfirst.frc.team449.robot.drive.shifting.DriveShiftable;
 import org.usfirst.frc.team449.robot.jacksonWrappers.FPSTalon;
 import org.usfirst.frc.team449.robot.jacksonWrappers.MappedAHRS;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 
 
 /**
@@ -37,14 +39,17 @@ public class DriveUnidirectionalWithGyroShiftable extends DriveUnidirectionalWit
      * @param ahrs                      The NavX on this drive.
      * @param shiftComponent            The component that controls shifting.
      * @param startingOverrideAutoshift Whether to start with autoshift disabled. Defaults to false.
+     * @param trackWidth                The distance between the left and right wheels, in feet. Only used to simulate
+     *                                  the gyro. Defaults to 2.
      */
     @JsonCreator
     public DriveUnidirectionalWithGyroShiftable(@NotNull @JsonProperty(required = true) FPSTalon leftMaster,
                                                 @NotNull @JsonProperty(required = true) FPSTalon rightMaster,
                                                 @NotNull @JsonProperty(required = true) MappedAHRS ahrs,
                                                 @NotNull @JsonProperty(required = true) ShiftComponent shiftComponent,
-                                                boolean startingOverrideAutoshift) {
-        super(leftMaster, rightMaster, ahrs);
+                                                boolean startingOverrideAutoshift,
+                                                @Nullable Double trackWidth) {
+        super(leftMaster, rightMaster, ahrs, trackWidth);
         //Initialize stuff
         this.shiftComponent = shiftComponent;
 
@@ -85,6 +90,7 @@ public class DriveUnidirectionalWithGyroShiftable extends DriveUnidirectionalWit
         else {
             leftMaster.setGearScaledVelocity(left, gear.HIGH);
             rightMaster.setGearScaledVelocity(right, gear.HIGH);
+            LatencyTracer.mark(LatencyTracer.Stage.ACTUATOR);
         }
     }
 
@@ -66,9 +66,9 @@ public class DriveStraight<T extends Subsystem & DriveUnidirectional> extends Co
     @Override
     protected void execute() {
         if (useLeft) {
-            subsystem.setOutput(oi.getLeftRightOutputCached()[0], oi.getLeftRightOutputCached()[0]);
+            subsystem.setOutput(oi.getLeftOutputCached(), oi.getLeftOutputCached());
         } else {
-            subsystem.setOutput(oi.getLeftRightOutputCached()[1], oi.getLeftRightOutputCached()[1]);
+            subsystem.setOutput(oi.getRightOutputCached(), oi.getRightOutputCached());
         }
     }
 
@@ -0,0 +1,207 @@
+package org.usfirst.frc.team449.robot.drive.unidirectional.commands;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import edu.wpi.first.wpilibj.command.Command;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.components.RamseteController;
+import org.usfirst.frc.team449.robot.drive.unidirectional.DriveUnidirectionalWithGyro;
+import org.usfirst.frc.team449.robot.generalInterfaces.poseEstimator.PoseEstimator;
+import org.usfirst.frc.team449.robot.other.Logger;
+import org.usfirst.frc.team449.robot.other.MotionProfileData;
+import org.usfirst.frc.team449.robot.other.PeriodicScheduler;
+import org.usfirst.frc.team449.robot.other.PoseTrajectory;
+
+/**
+ * Follow the path made by a pair of drive profiles using a {@link RamseteController}, which steers back onto the path
+ * using the pose estimator's position and the gyro's heading instead of just tracking each wheel's distance. The path
+ * starts wherever the robot is when the command starts. The controller runs on the scheduler thread, faster than the
+ * main loop.
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
+public class FollowPoseTrajectory extends Command {
+
+    /**
+     * The drive to execute this command on.
+     */
+    @NotNull
+    private final DriveUnidirectionalWithGyro subsystem;
+
+    /**
+     * The pose estimator to get the robot's position from.
+     */
+    @NotNull
+    private final PoseEstimator poseEstimator;
+
+    /**
+     * The path to follow, relative to where the robot starts.
+     */
+    @NotNull
+    private final PoseTrajectory trajectory;
+
+    /**
+     * The controller that turns path error into wheel velocities.
+     */
+    @NotNull
+    private final RamseteController controller;
+
+    /**
+     * The task that runs the controller.
+     */
+    @NotNull
+    private final PeriodicScheduler.Task task;
+
+    /**
+     * Held while running the controller and while stopping, so no velocity is sent after the drive is stopped.
+     */
+    @NotNull
+    private final Object controllerLock = new Object();
+
+    /**
+     * The robot's position, copied from the pose estimator. Field to avoid garbage collection.
+     */
+    @NotNull
+    private final double[] pos = new double[2];
+
+    /**
+     * How often to run the controller, in seconds.
+     */
+    private final double periodSecs;
+
+    /**
+     * The robot's position, in feet, and heading, in radians, when the command started.
+     */
+    private double startX, startY, startTheta;
+
+    /**
+     * The cosine and sine of the start heading, for moving the path to where the robot started.
+     */
+    private double startCos, startSin;
+
+    /**
+     * When the path started, from {@link System#nanoTime()}.
+     */
+    private long startNanos;
+
+    /**
+     * Whether the controller has reached the end of the path.
+     */
+    private volatile boolean done;
+
+    /**
+     * Default constructor.
+     *
+     * @param subsystem     The drive to execute this command on.
+     * @param poseEstimator The pose estimator to get the robot's position from.
+     * @param left          The profile for the left side of the drive.
+     * @param right         The profile for the right side of the drive.
+     * @param b             How aggressively to converge onto the path, in 1/feet^2. Defaults to 0.19.
+     * @param zeta          How damped the convergence is, from 0 to 1. Defaults to 0.7.
+     * @param periodSecs    How often to run the controller, in seconds. Defaults to 0.01.
+     */
+    @JsonCreator
+    public FollowPoseTrajectory(@NotNull @JsonProperty(required = true) DriveUnidirectionalWithGyro subsystem,
+                                @NotNull @JsonProperty(required = true) PoseEstimator poseEstimator,
+                                @NotNull @JsonProperty(required = true) MotionProfileData left,
+                                @NotNull @JsonProperty(required = true) MotionProfileData right,
+                                @Nullable Double b,
+                                @Nullable Double zeta,
+                                @Nullable Double periodSecs) {
+        requires(subsystem);
+        this.subsystem = subsystem;
+        this.poseEstimator = poseEstimator;
+        this.trajectory = PoseTrajectory.fromProfiles(left, right, subsystem.getTrackWidth());
+        this.controller = new RamseteController(b != null ? b : 0.19, zeta != null ? zeta : 0.7,
+                subsystem.getTrackWidth());
+        this.periodSecs = periodSecs != null ? periodSecs : 0.01;
+        this.task = PeriodicScheduler.createTask("follow_pose_trajectory", this::runController);
+    }
+
+    /**
+     * Record where the robot is and start the controller.
+     */
+    @Override
+    protected void initialize() {
+        Logger.addEvent("FollowPoseTrajectory init", this.getClass());
+        poseEstimator.copyPos(pos);
+        startX = pos[0];
+        startY = pos[1];
+        startTheta = Math.toRadians(subsystem.getAngularDisplacement());
+        startCos = Math.cos(startTheta);
+        startSin = Math.sin(startTheta);
+        done = false;
+        startNanos = System.nanoTime();
+        task.startPeriodic(periodSecs);
+    }
+
+    /**
+     * Run the controller once. Called on the scheduler thread.
+     */
+    private void runController() {
+        synchronized (controllerLock) {
+            //Checked under the lock, so a stop that happened while this waited isn't followed by another velocity.
+            if (done) {
+                return;
+            }
+            trajectory.sample((System.nanoTime() - startNanos) / 1e9);
+
+            //Move the path from its own origin to where the robot started.
+            double pathX = trajectory.getX();
+            double pathY = trajectory.getY();
+            double refX = startX + startCos * pathX - startSin * pathY;
+            double refY = startY + startSin * pathX + startCos * pathY;
+
+            poseEstimator.copyPos(pos);
+            controller.calculate(pos[0], pos[1], Math.toRadians(subsystem.getAngularDisplacement()),
+                    refX, refY, startTheta + trajectory.getTheta(), trajectory.getVel(), trajectory.getOmega());
+            if (trajectory.isDone()) {
+                done = true;
+            } else {
+                subsystem.setVelocityFPS(controller.getLeftVel(), controller.getRightVel());
+            }
+        }
+    }
+
+    /**
+     * Stop the controller and the drive, after any run of the controller in progress finishes.
+     */
+    private void stop() {
+        synchronized (controllerLock) {
+            done = true;
+            task.stop();
+            subsystem.fullStop();
+        }
+    }
+
+    /**
+     * Finish once the controller reaches the end of the path.
+     *
+     * @return true if the end of the path has been reached, false otherwise.
+     */
+    @Override
+    protected boolean isFinished() {
+        return done;
+    }
+
+    /**
+     * Stop the controller and the drive, and log how far off the path the robot ended.
+     */
+    @Override
+    protected void end() {
+        stop();
+        Logger.addEvent("FollowPoseTrajectory end, along error " + controller.getAlongError() + ", cross error " +
+                controller.getCrossError() + ", heading error " + controller.getHeadingError(), this.getClass());
+    }
+
+    /**
+     * Stop the controller and the drive.
+     */
+    @Override
+    protected void interrupted() {
+        stop();
+        Logger.addEvent("FollowPoseTrajectory interrupted!", this.getClass());
+    }
+}
@@ -9,6 +9,7 @@ import edu.wpi.first.wpilibj.command.Subsystem;
 import org.jetbrains.annotations.NotNull;
 import org.usfirst.frc.team449.robot.drive.unidirectional.DriveUnidirectional;
 import org.usfirst.frc.team449.robot.oi.unidirectional.OIUnidirectional;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 import org.usfirst.frc.team449.robot.other.Logger;
 
 /**
@@ -57,7 +58,8 @@ public class SimpleUnidirectionalDrive<T extends Subsystem & DriveUnidirectional
      */
     @Override
     protected void execute() {
-        subsystem.setOutput(oi.getLeftRightOutputCached()[0], oi.getLeftRightOutputCached()[1]);
+        LatencyTracer.mark(LatencyTracer.Stage.COMMAND);
+        subsystem.setOutput(oi.getLeftOutputCached(), oi.getRightOutputCached());
     }
 
     /**
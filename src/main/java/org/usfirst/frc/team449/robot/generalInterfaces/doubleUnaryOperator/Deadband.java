@@ -0,0 +1,41 @@
+package org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A deadband that reads small inputs as 0 and scales the rest so there's no discontinuity.
+ */
+public class Deadband implements DoubleUnaryOperator {
+
+    /**
+     * The value below which the input is considered 0.
+     */
+    private final double deadband;
+
+    /**
+     * Default constructor.
+     *
+     * @param deadband The deadband below which the input will be read as 0, on [0, 1).
+     */
+    @JsonCreator
+    public Deadband(@JsonProperty(required = true) double deadband) {
+        this.deadband = deadband;
+    }
+
+    /**
+     * Deadband the input, scaling so f(deadband) is 0 and f(1) is 1.
+     *
+     * @param input The input, on [-1, 1].
+     * @return The deadbanded input, with the same sign.
+     */
+    @Override
+    public double applyAsDouble(double input) {
+        if (Math.abs(input) < deadband) {
+            return 0;
+        }
+        return Math.signum(input) * (Math.abs(input) - deadband) / (1. - deadband);
+    }
+}
@@ -0,0 +1,38 @@
+package org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * An exponential curve through (0, 0) and (1, 1), mirrored for negative inputs.
+ */
+public class ExponentialCurve implements DoubleUnaryOperator {
+
+    /**
+     * The base that is raised to the power of the input.
+     */
+    private final double base;
+
+    /**
+     * Default constructor.
+     *
+     * @param base The base that is raised to the power of the input. Must be positive and not 1.
+     */
+    @JsonCreator
+    public ExponentialCurve(@JsonProperty(required = true) double base) {
+        this.base = base;
+    }
+
+    /**
+     * Raise the base to the absolute value of the input, adjusting for sign.
+     *
+     * @param input The input, on [-1, 1].
+     * @return The exponentially scaled input, with the same sign.
+     */
+    @Override
+    public double applyAsDouble(double input) {
+        return Math.signum(input) * (Math.pow(base, Math.abs(input)) - 1.) / (base - 1.);
+    }
+}
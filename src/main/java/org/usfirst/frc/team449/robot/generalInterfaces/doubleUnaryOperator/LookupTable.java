@@ -0,0 +1,160 @@
+package org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A function tabulated over a range and evaluated by linear interpolation, so it costs the same no matter how
+ * expensive the original function is. The table is made finer until it's within a given error of the original
+ * everywhere it's checked. The function must be pure, so nothing with state like a {@link RampComponent}.
+ */
+public class LookupTable implements DoubleUnaryOperator {
+
+    /**
+     * The most points a table can have before giving up on meeting the error bound.
+     */
+    private static final int MAX_POINTS = 1 << 16;
+
+    /**
+     * How many points between each pair of table entries to compare against the original function.
+     */
+    private static final int CHECKS_PER_INTERVAL = 8;
+
+    /**
+     * The range the function is tabulated over. Inputs outside it are clamped to it.
+     */
+    private final double min, max;
+
+    /**
+     * The function's value at evenly spaced points from min to max.
+     */
+    @NotNull
+    private final double[] table;
+
+    /**
+     * The number of table entries per unit of input.
+     */
+    private final double pointsPerUnit;
+
+    /**
+     * The largest difference from the original function found when checking the table.
+     */
+    private final double maxError;
+
+    /**
+     * The input's position in the table, and the index of the entry below it. Fields to avoid garbage collection.
+     */
+    private double position;
+    private int index;
+
+    /**
+     * Default constructor.
+     *
+     * @param function      The function to tabulate.
+     * @param min           The lowest input to tabulate.
+     * @param max           The highest input to tabulate.
+     * @param minPoints     The fewest points to put in the table.
+     * @param errorBound    The most the table is allowed to differ from the function.
+     * @throws IllegalArgumentException if the table can't meet the error bound without getting too big, or if the
+     *                                  function isn't finite somewhere in the range, or if the error bound is
+     *                                  negative or NaN.
+     */
+    public LookupTable(@NotNull DoubleUnaryOperator function, double min, double max, int minPoints,
+                       double errorBound) {
+        //Written so NaN fails too, since it compares false with everything and would otherwise pass any bound.
+        if (!(errorBound >= 0)) {
+            throw new IllegalArgumentException("Error bound must be non-negative, was " + errorBound);
+        }
+        this.min = min;
+        this.max = max;
+        int numPoints = Math.max(minPoints, 2);
+        double[] table = tabulate(function, numPoints);
+        double error = checkError(function, table);
+        while (error > errorBound) {
+            if (numPoints * 2 - 1 > MAX_POINTS) {
+                throw new IllegalArgumentException("Can't tabulate function within " + errorBound + " using " +
+                        MAX_POINTS + " points, error was " + error);
+            }
+            //Doubling the intervals keeps every old point, so kinks that landed on a point still do.
+            numPoints = numPoints * 2 - 1;
+            table = tabulate(function, numPoints);
+            error = checkError(function, table);
+        }
+        this.table = table;
+        this.maxError = error;
+        this.pointsPerUnit = (table.length - 1) / (max - min);
+    }
+
+    /**
+     * Evaluate the function at evenly spaced points across the range.
+     *
+     * @param function  The function to tabulate.
+     * @param numPoints The number of points.
+     * @return The function's values, from min to max.
+     */
+    @NotNull
+    private double[] tabulate(@NotNull DoubleUnaryOperator function, int numPoints) {
+        double[] table = new double[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            table[i] = function.applyAsDouble(min + (max - min) * i / (numPoints - 1));
+            if (!Double.isFinite(table[i])) {
+                throw new IllegalArgumentException("Function is " + table[i] + " at " +
+                        (min + (max - min) * i / (numPoints - 1)) + ", can't tabulate it");
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Compare the interpolated table to the function between each pair of entries.
+     *
+     * @param function The original function.
+     * @param table    The table of the function.
+     * @return The largest absolute difference found.
+     */
+    private double checkError(@NotNull DoubleUnaryOperator function, @NotNull double[] table) {
+        double step = (max - min) / (table.length - 1);
+        double error = 0;
+        for (int i = 0; i < table.length - 1; i++) {
+            for (int j = 1; j < CHECKS_PER_INTERVAL; j++) {
+                double t = (double) j / CHECKS_PER_INTERVAL;
+                double interpolated = table[i] + t * (table[i + 1] - table[i]);
+                double value = function.applyAsDouble(min + step * (i + t));
+                if (!Double.isFinite(value)) {
+                    throw new IllegalArgumentException("Function is " + value + " at " + (min + step * (i + t)) +
+                            ", can't tabulate it");
+                }
+                error = Math.max(error, Math.abs(value - interpolated));
+            }
+        }
+        return error;
+    }
+
+    /**
+     * Look up the function's value by interpolating between the nearest table entries.
+     *
+     * @param x The input. Clamped to the tabulated range.
+     * @return The function's approximate value at x.
+     */
+    @Override
+    public double applyAsDouble(double x) {
+        position = (Math.min(Math.max(x, min), max) - min) * pointsPerUnit;
+        index = Math.min((int) position, table.length - 2);
+        return table[index] + (position - index) * (table[index + 1] - table[index]);
+    }
+
+    /**
+     * @return The number of entries in the table.
+     */
+    public int getNumPoints() {
+        return table.length;
+    }
+
+    /**
+     * @return The largest difference from the original function found when checking the table.
+     */
+    public double getMaxError() {
+        return maxError;
+    }
+}
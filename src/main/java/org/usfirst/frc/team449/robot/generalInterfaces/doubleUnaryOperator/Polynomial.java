@@ -6,12 +6,16 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.DoubleUnaryOperator;
 
 /**
- * A polynomial of a single variable.
+ * A polynomial of a single variable. The terms are compiled into arrays when it's constructed, so evaluating it doesn't
+ * box or allocate: non-negative integer powers are evaluated with Horner's method, and only fractional or negative powers
+ * use {@link Math#pow(double, double)}.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
 public class Polynomial implements DoubleUnaryOperator {
@@ -22,6 +26,20 @@ public class Polynomial implements DoubleUnaryOperator {
     @NotNull
     private final Map<Double, Double> powerToCoefficientMap;
 
+    /**
+     * The non-negative integer powers, in ascending order, and their coefficients.
+     */
+    @NotNull
+    private int[] intPowers;
+    @NotNull
+    private double[] intCoefficients;
+
+    /**
+     * The other powers and their coefficients.
+     */
+    @NotNull
+    private double[] powPowers, powCoefficients;
+
     /**
      * The sign of the most recent input. This is a field to avoid garbage collection.
      */
@@ -59,7 +77,68 @@ public class Polynomial implements DoubleUnaryOperator {
         //Scale if scaleCoefficientSumTo isn't null.
         if (scaleCoefficientSumTo != null) {
             scaleCoefficientSum(scaleCoefficientSumTo);
+        } else {
+            compile();
+        }
+    }
+
+    /**
+     * Compile the map of terms into the arrays used to evaluate the polynomial.
+     */
+    private void compile() {
+        Double[] powers = powerToCoefficientMap.keySet().toArray(new Double[0]);
+        Arrays.sort(powers);
+        int numInt = 0;
+        for (Double power : powers) {
+            if (isIntPower(power)) {
+                numInt++;
+            }
+        }
+        int[] intPowers = new int[numInt];
+        double[] intCoefficients = new double[numInt];
+        double[] powPowers = new double[powers.length - numInt];
+        double[] powCoefficients = new double[powers.length - numInt];
+        int intIndex = 0, powIndex = 0;
+        for (Double power : powers) {
+            if (isIntPower(power)) {
+                intPowers[intIndex] = power.intValue();
+                intCoefficients[intIndex++] = powerToCoefficientMap.get(power);
+            } else {
+                powPowers[powIndex] = power;
+                powCoefficients[powIndex++] = powerToCoefficientMap.get(power);
+            }
+        }
+        this.intPowers = intPowers;
+        this.intCoefficients = intCoefficients;
+        this.powPowers = powPowers;
+        this.powCoefficients = powCoefficients;
+    }
+
+    /**
+     * @param power A power of a term.
+     * @return true if the term can be evaluated by multiplication, false if it needs {@link Math#pow(double, double)}.
+     */
+    private static boolean isIntPower(double power) {
+        return power >= 0 && power <= Integer.MAX_VALUE && power == Math.rint(power);
+    }
+
+    /**
+     * Raise a number to a non-negative integer power by repeated squaring.
+     *
+     * @param base     The base.
+     * @param exponent The exponent, which must be non-negative.
+     * @return base^exponent
+     */
+    private static double intPow(double base, int exponent) {
+        double result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result *= base;
+            }
+            base *= base;
+            exponent >>= 1;
         }
+        return result;
     }
 
     /**
@@ -73,8 +152,12 @@ public class Polynomial implements DoubleUnaryOperator {
         sign = Math.signum(x);
         abs = Math.abs(x);
         toRet = 0;
-        for (double power : powerToCoefficientMap.keySet()) {
-            toRet += Math.pow(abs, power) * powerToCoefficientMap.get(power);
+        //Horner's method, from the highest power down, multiplying by the gap between each pair of powers.
+        for (int i = intPowers.length - 1; i >= 0; i--) {
+            toRet = (toRet + intCoefficients[i]) * intPow(abs, i > 0 ? intPowers[i] - intPowers[i - 1] : intPowers[0]);
+        }
+        for (int i = 0; i < powPowers.length; i++) {
+            toRet += Math.pow(abs, powPowers[i]) * powCoefficients[i];
         }
         return toRet * sign;
     }
@@ -93,13 +176,14 @@ public class Polynomial implements DoubleUnaryOperator {
         for (double power : powerToCoefficientMap.keySet()) {
             powerToCoefficientMap.replace(power, powerToCoefficientMap.get(power) * scaleFactor);
         }
+        compile();
     }
 
     /**
-     * @return A map of the powers and coefficients of each term.
+     * @return An unmodifiable map of the powers and coefficients of each term.
      */
     @NotNull
     public Map<Double, Double> getPowerToCoefficientMap() {
-        return powerToCoefficientMap;
+        return Collections.unmodifiableMap(powerToCoefficientMap);
     }
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.other.Clock;
+import org.usfirst.frc.team449.robot.other.Tunables;
 
 import java.util.function.DoubleUnaryOperator;
 
@@ -16,7 +17,13 @@ public class RampComponent implements DoubleUnaryOperator, Cloneable {
     /**
      * The maximum allowed change in the value per second.
      */
-    private final double maxIncreasePerMillis, maxDecreasePerMillis;
+    private double maxIncreasePerMillis, maxDecreasePerMillis;
+
+    /**
+     * The name this ramp's rates are tuned under, or null if they aren't tunable.
+     */
+    @Nullable
+    private final String tuningName;
 
     /**
      * The value most recently returned.
@@ -33,12 +40,23 @@ public class RampComponent implements DoubleUnaryOperator, Cloneable {
      *
      * @param maxIncreasePerSecond The maximum allowed increase in the value per second.
      * @param maxDecreasePerSecond The maximum allowed decrease in the value per second. Should be positive. Defaults to maxIncreasePerSecond.
+     * @param tuningName           The name to make this ramp's rates tunable under with {@link Tunables}. Copies of
+     *                             this ramp share the same tunables. Defaults to null, meaning the rates can't be
+     *                             tuned.
      */
     @JsonCreator
     public RampComponent(@JsonProperty(required = true) double maxIncreasePerSecond,
-                         @Nullable Double maxDecreasePerSecond) {
+                         @Nullable Double maxDecreasePerSecond,
+                         @Nullable String tuningName) {
         this.maxIncreasePerMillis = maxIncreasePerSecond / 1000.;
         this.maxDecreasePerMillis = maxDecreasePerSecond != null ? maxDecreasePerSecond / 1000. : maxIncreasePerMillis;
+        this.tuningName = tuningName;
+        if (tuningName != null) {
+            Tunables.register("ramp/" + tuningName + "/maxIncreasePerSecond", maxIncreasePerMillis * 1000.,
+                    value -> maxIncreasePerMillis = value / 1000.);
+            Tunables.register("ramp/" + tuningName + "/maxDecreasePerSecond", maxDecreasePerMillis * 1000.,
+                    value -> maxDecreasePerMillis = value / 1000.);
+        }
     }
 
     /**
@@ -67,6 +85,6 @@ public class RampComponent implements DoubleUnaryOperator, Cloneable {
     @Override
     @NotNull
     public org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.RampComponent clone() {
-        return new org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.RampComponent(maxIncreasePerMillis * 1000., maxDecreasePerMillis * 1000.);
+        return new org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.RampComponent(maxIncreasePerMillis * 1000., maxDecreasePerMillis * 1000., tuningName);
     }
 }
@@ -2,7 +2,10 @@ package org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.feed
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.components.RLSFeedForwardEstimator;
 import org.usfirst.frc.team449.robot.jacksonWrappers.FPSTalon;
+import org.usfirst.frc.team449.robot.other.Tunables;
 
 import java.util.function.DoubleUnaryOperator;
 
@@ -38,6 +41,32 @@ public abstract class FeedForwardComponent implements DoubleUnaryOperator {
         this.talon = talon;
     }
 
+    /**
+     * Get the estimator that learns this feedforward's gains online, if it has one.
+     *
+     * @return The estimator, or null if this feedforward doesn't adapt.
+     */
+    @Nullable
+    public RLSFeedForwardEstimator getEstimator() {
+        return null;
+    }
+
+    /**
+     * @return true if this feedforward reads the Talon's bus voltage every time it's calculated, false otherwise.
+     */
+    public boolean readsBusVoltage() {
+        return false;
+    }
+
+    /**
+     * Make this feedforward's gains tunable with {@link Tunables}. Does nothing for feedforwards without gains.
+     *
+     * @param prefix The name to put the tunables under.
+     */
+    public void registerTunables(@NotNull String prefix) {
+        //Do nothing
+    }
+
     /**
      * Calculate the voltage for a setpoint in MP mode with a position, velocity, and acceleration setpoint.
      *
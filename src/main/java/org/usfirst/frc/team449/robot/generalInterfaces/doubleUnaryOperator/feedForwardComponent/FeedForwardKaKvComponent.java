@@ -2,7 +2,10 @@ package org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.feed
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.components.RLSFeedForwardEstimator;
+import org.usfirst.frc.team449.robot.other.Tunables;
 
 /**
  * A {@link FeedForwardComponent} for use on a drive characterized in the way described in our white paper.
@@ -10,24 +13,17 @@ import org.jetbrains.annotations.Nullable;
 public class FeedForwardKaKvComponent extends FeedForwardComponent {
 
     /**
-     * The voltage required to run forwards or backwards at a steady-state velocity of 1 foot per second.
+     * The configured gains. Volatile and swapped whole when tuned, since the feedforward is also calculated on
+     * scheduler threads.
      */
-    private final double kVFwd, kVRev;
+    @NotNull
+    private volatile Gains gains;
 
     /**
-     * The voltage required to accelerate the robot at one foot per second^2 while going forwards or backwards.
+     * The estimator that learns the gains online, or null to always use the configured gains.
      */
-    private final double kAFwd, kARev;
-
-    /**
-     * The voltage required to overcome static friction in the forwards or backwards direction.
-     */
-    private final double interceptVoltageFwd, interceptVoltageRev;
-
-    /**
-     * The difference between the current motor position and the desired one. Field to avoid garbage collection.
-     */
-    private double posDifference;
+    @Nullable
+    private final RLSFeedForwardEstimator estimator;
 
     /**
      * Default constructor.
@@ -43,6 +39,9 @@ public class FeedForwardKaKvComponent extends FeedForwardComponent {
      *                            in the drive characterization paper. Defaults to 0.
      * @param interceptVoltageRev The voltage required to overcome static friction in the reverse direction. Vintercept
      *                            in the drive characterization paper. Defaults to interceptVoltageFwd.
+     * @param estimator           The estimator that learns the gains online, starting from the ones given here. Once
+     *                            it's confident and set to be applied, its gains are used instead. Can be null to
+     *                            always use the given gains.
      */
     @JsonCreator
     public FeedForwardKaKvComponent(@JsonProperty(required = true) double kVFwd,
@@ -50,13 +49,21 @@ public class FeedForwardKaKvComponent extends FeedForwardComponent {
                                     double kAFwd,
                                     @Nullable Double kARev,
                                     double interceptVoltageFwd,
-                                    @Nullable Double interceptVoltageRev) {
-        this.kVFwd = kVFwd;
-        this.kVRev = kVRev != null ? kVRev : this.kVFwd;
-        this.kAFwd = kAFwd;
-        this.kARev = kARev != null ? kARev : this.kAFwd;
-        this.interceptVoltageFwd = interceptVoltageFwd;
-        this.interceptVoltageRev = interceptVoltageRev != null ? interceptVoltageRev : this.interceptVoltageFwd;
+                                    @Nullable Double interceptVoltageRev,
+                                    @Nullable RLSFeedForwardEstimator estimator) {
+        Gains gains = new Gains();
+        gains.kVFwd = kVFwd;
+        gains.kVRev = kVRev != null ? kVRev : kVFwd;
+        gains.kAFwd = kAFwd;
+        gains.kARev = kARev != null ? kARev : kAFwd;
+        gains.interceptVoltageFwd = interceptVoltageFwd;
+        gains.interceptVoltageRev = interceptVoltageRev != null ? interceptVoltageRev : interceptVoltageFwd;
+        this.gains = gains;
+        this.estimator = estimator;
+        if (this.estimator != null) {
+            this.estimator.seed(gains.kVFwd, gains.kVRev, gains.kAFwd, gains.kARev, gains.interceptVoltageFwd,
+                    gains.interceptVoltageRev);
+        }
     }
 
     /**
@@ -69,10 +76,20 @@ public class FeedForwardKaKvComponent extends FeedForwardComponent {
      */
     @Override
     public double calcMPVoltage(double positionSetpoint, double velSetpoint, double accelSetpoint) {
+        //Read the gains once so they all come from the same tuning.
+        Gains gains = this.gains;
         if (velSetpoint > 0 || (velSetpoint == 0 && accelSetpoint > 0)) {
-            return velSetpoint * kVFwd + accelSetpoint * kAFwd + interceptVoltageFwd;
+            double estimate = estimate(velSetpoint, accelSetpoint, true);
+            if (!Double.isNaN(estimate)) {
+                return estimate;
+            }
+            return velSetpoint * gains.kVFwd + accelSetpoint * gains.kAFwd + gains.interceptVoltageFwd;
         } else if (velSetpoint < 0 || (velSetpoint == 0 && accelSetpoint < 0)) {
-            return velSetpoint * kVRev + accelSetpoint * kARev - interceptVoltageRev;
+            double estimate = estimate(velSetpoint, accelSetpoint, false);
+            if (!Double.isNaN(estimate)) {
+                return estimate;
+            }
+            return velSetpoint * gains.kVRev + accelSetpoint * gains.kARev - gains.interceptVoltageRev;
         } else {
             return 0;
         }
@@ -86,13 +103,142 @@ public class FeedForwardKaKvComponent extends FeedForwardComponent {
      */
     @Override
     public double applyAsDouble(double operand) {
-        posDifference = talon.getPositionFeet() - operand;
+        double posDifference = talon.getCachedPositionFeet() - operand;
         if (posDifference == 0) {
             return 0;
-        } else if (posDifference > 0) {
-            return interceptVoltageFwd;
-        } else {
-            return -interceptVoltageRev;
+        }
+        double estimate = estimate(0, 0, posDifference > 0);
+        if (!Double.isNaN(estimate)) {
+            return estimate;
+        }
+        return posDifference > 0 ? gains.interceptVoltageFwd : -gains.interceptVoltageRev;
+    }
+
+    /**
+     * Calculate the voltage from the estimated gains. This is called from the main loop and scheduler tasks at once,
+     * so it keeps nothing between calls.
+     *
+     * @param velSetpoint   The desired velocity, in feet/sec.
+     * @param accelSetpoint The desired acceleration, in feet/sec^2.
+     * @param forwards      Whether to use the forwards or reverse gains.
+     * @return The voltage from the estimated gains, or NaN to use the configured ones.
+     */
+    private double estimate(double velSetpoint, double accelSetpoint, boolean forwards) {
+        if (estimator == null) {
+            return Double.NaN;
+        }
+        return estimator.calcVoltage(velSetpoint, accelSetpoint, forwards);
+    }
+
+    /**
+     * Make the configured gains tunable. The feedforward is calculated on the RoboRIO every tick, so a new gain takes
+     * effect on the next setpoint without going over CAN. Edits go into a draft, which is published once per tick.
+     *
+     * @param prefix The name to put the tunables under.
+     */
+    @Override
+    public void registerTunables(@NotNull String prefix) {
+        Gains draft = new Gains(gains);
+        Runnable publish = () -> gains = new Gains(draft);
+        Tunables.register(prefix + "/kVFwd", draft.kVFwd, value -> draft.kVFwd = value, publish);
+        Tunables.register(prefix + "/kVRev", draft.kVRev, value -> draft.kVRev = value, publish);
+        Tunables.register(prefix + "/kAFwd", draft.kAFwd, value -> draft.kAFwd = value, publish);
+        Tunables.register(prefix + "/kARev", draft.kARev, value -> draft.kARev = value, publish);
+        Tunables.register(prefix + "/interceptVoltageFwd", draft.interceptVoltageFwd,
+                value -> draft.interceptVoltageFwd = value, publish);
+        Tunables.register(prefix + "/interceptVoltageRev", draft.interceptVoltageRev,
+                value -> draft.interceptVoltageRev = value, publish);
+    }
+
+    /**
+     * @return The estimator that learns the gains online, or null if this always uses the configured gains.
+     */
+    @Nullable
+    @Override
+    public RLSFeedForwardEstimator getEstimator() {
+        return estimator;
+    }
+
+    /**
+     * @return The voltage required to run forwards at a steady-state velocity of 1 foot per second.
+     */
+    public double getkVFwd() {
+        return gains.kVFwd;
+    }
+
+    /**
+     * @return The voltage required to run backwards at a steady-state velocity of 1 foot per second.
+     */
+    public double getkVRev() {
+        return gains.kVRev;
+    }
+
+    /**
+     * @return The voltage required to accelerate the robot at one foot per second^2 while going forwards.
+     */
+    public double getkAFwd() {
+        return gains.kAFwd;
+    }
+
+    /**
+     * @return The voltage required to accelerate the robot at one foot per second^2 while going in reverse.
+     */
+    public double getkARev() {
+        return gains.kARev;
+    }
+
+    /**
+     * @return The voltage required to overcome static friction in the forwards direction.
+     */
+    public double getInterceptVoltageFwd() {
+        return gains.interceptVoltageFwd;
+    }
+
+    /**
+     * @return The voltage required to overcome static friction in the reverse direction.
+     */
+    public double getInterceptVoltageRev() {
+        return gains.interceptVoltageRev;
+    }
+
+    /**
+     * The configured gains. A published instance is never changed; tuning edits a copy and swaps it in.
+     */
+    private static class Gains {
+
+        /**
+         * The voltage required to run forwards or backwards at a steady-state velocity of 1 foot per second.
+         */
+        private double kVFwd, kVRev;
+
+        /**
+         * The voltage required to accelerate the robot at one foot per second^2 while going forwards or backwards.
+         */
+        private double kAFwd, kARev;
+
+        /**
+         * The voltage required to overcome static friction in the forwards or backwards direction.
+         */
+        private double interceptVoltageFwd, interceptVoltageRev;
+
+        /**
+         * Empty constructor, for setting the gains one at a time.
+         */
+        Gains() {
+        }
+
+        /**
+         * Copy constructor.
+         *
+         * @param other The gains to copy.
+         */
+        Gains(@NotNull Gains other) {
+            kVFwd = other.kVFwd;
+            kVRev = other.kVRev;
+            kAFwd = other.kAFwd;
+            kARev = other.kARev;
+            interceptVoltageFwd = other.interceptVoltageFwd;
+            interceptVoltageRev = other.interceptVoltageRev;
         }
     }
 }
@@ -3,6 +3,7 @@ package org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.feed
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.jetbrains.annotations.NotNull;
+import org.usfirst.frc.team449.robot.jacksonWrappers.FPSTalon;
 
 import java.util.Arrays;
 import java.util.Map;
@@ -17,7 +18,7 @@ public class FeedForwardMPElevatorComponent extends FeedForwardComponent {
      * The upper positions of each elevator stage, in ascending order.
      */
     @NotNull
-    private final Double[] positions;
+    private final double[] positions;
 
     /**
      * The feed forwards at each elevator stage, in ascending order.
@@ -39,14 +40,58 @@ public class FeedForwardMPElevatorComponent extends FeedForwardComponent {
     @JsonCreator
     public FeedForwardMPElevatorComponent(@NotNull @JsonProperty(required = true) Map<Double, FeedForwardComponent> feetToFFComponentMap) {
         //Sort the positions and voltages so we can find the correct voltage to use faster.
-        positions = feetToFFComponentMap.keySet().toArray(new Double[0]);
-        Arrays.sort(positions);
-        feedForwardComponents = new FeedForwardComponent[positions.length];
-        for (int i = 0; i < positions.length; i++) {
-            feedForwardComponents[i] = feetToFFComponentMap.get(positions[i]);
+        Double[] sorted = feetToFFComponentMap.keySet().toArray(new Double[0]);
+        Arrays.sort(sorted);
+        positions = new double[sorted.length];
+        feedForwardComponents = new FeedForwardComponent[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            positions[i] = sorted[i];
+            feedForwardComponents[i] = feetToFFComponentMap.get(sorted[i]);
         }
     }
 
+    /**
+     * Set the talon for this and each stage's component.
+     *
+     * @param talon The talon this is controlling.
+     */
+    @Override
+    public void setTalon(@NotNull FPSTalon talon) {
+        super.setTalon(talon);
+        for (FeedForwardComponent component : feedForwardComponents) {
+            component.setTalon(talon);
+        }
+    }
+
+    /**
+     * @return true if any stage's component reads the bus voltage, false otherwise.
+     */
+    @Override
+    public boolean readsBusVoltage() {
+        for (FeedForwardComponent component : feedForwardComponents) {
+            if (component.readsBusVoltage()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Find the stage a position is in with a binary search.
+     *
+     * @param position The position, in feet.
+     * @return The index of the first stage whose upper position is at or above the given one, or -1 if it's above the
+     * top stage.
+     */
+    private int findStage(double position) {
+        int index = Arrays.binarySearch(positions, position);
+        if (index < 0) {
+            //binarySearch returns -(insertion point) - 1, and the insertion point is the first stage above this one.
+            index = -index - 1;
+        }
+        return index < positions.length ? index : -1;
+    }
+
     /**
      * Calculate the voltage for a setpoint in MP mode with a position, velocity, and acceleration setpoint.
      *
@@ -58,12 +103,10 @@ public class FeedForwardMPElevatorComponent extends FeedForwardComponent {
     @Override
     public double calcMPVoltage(double positionSetpoint, double velSetpoint, double accelSetpoint) {
         //Find the appropriate component
-        for (int i = 0; i < positions.length; i++) {
-            if (positionSetpoint <= positions[i]) {
-                return (feedForwardComponents[i].calcMPVoltage(positionSetpoint, velSetpoint, accelSetpoint));
-            }
+        int stage = findStage(positionSetpoint);
+        if (stage >= 0) {
+            return feedForwardComponents[stage].calcMPVoltage(positionSetpoint, velSetpoint, accelSetpoint);
         }
-        System.out.println("Catch case!");
         //Catch case.
         return 0;
     }
@@ -76,12 +119,11 @@ public class FeedForwardMPElevatorComponent extends FeedForwardComponent {
      */
     @Override
     public double applyAsDouble(double operand) {
-        pos = talon.getPositionFeet();
+        pos = talon.getCachedPositionFeet();
         //Find the appropriate component
-        for (int i = 0; i < positions.length; i++) {
-            if (pos <= positions[i]) {
-                return (feedForwardComponents[i].applyAsDouble(operand));
-            }
+        int stage = findStage(pos);
+        if (stage >= 0) {
+            return feedForwardComponents[stage].applyAsDouble(operand);
         }
         //Catch case.
         return 0;
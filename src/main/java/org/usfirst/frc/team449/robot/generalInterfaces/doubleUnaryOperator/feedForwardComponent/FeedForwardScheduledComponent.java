@@ -0,0 +1,196 @@
+package org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.feedForwardComponent;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A gain-scheduled {@link FeedForwardComponent}. kV, kA, and intercept voltage are characterized at several values of
+ * some variable, like the height of an elevator, and linearly interpolated between them, so the gains change smoothly
+ * instead of stepping at each boundary. Outside the characterized range, the nearest gains are used.
+ */
+public class FeedForwardScheduledComponent extends FeedForwardComponent {
+
+    /**
+     * The variable the gains are scheduled on.
+     */
+    @NotNull
+    private final ScheduleVariable scheduleOn;
+
+    /**
+     * The values of the schedule variable the gains were characterized at, in ascending order.
+     */
+    @NotNull
+    private final double[] keys;
+
+    /**
+     * The gains at each key, in the same order as keys.
+     */
+    @NotNull
+    private final double[] kVFwd, kVRev, kAFwd, kARev, interceptFwd, interceptRev;
+
+    /**
+     * Default constructor.
+     *
+     * @param scheduleOn The variable to schedule the gains on.
+     * @param gains      A map of values of that variable to the gains characterized there. Positions are in feet and
+     *                   voltages in volts.
+     */
+    @JsonCreator
+    public FeedForwardScheduledComponent(@NotNull @JsonProperty(required = true) ScheduleVariable scheduleOn,
+                                         @NotNull @JsonProperty(required = true)
+                                                 Map<Double, FeedForwardKaKvComponent> gains) {
+        if (gains.isEmpty()) {
+            throw new IllegalArgumentException("Gain schedule needs at least one entry!");
+        }
+        this.scheduleOn = scheduleOn;
+        Double[] sorted = gains.keySet().toArray(new Double[0]);
+        Arrays.sort(sorted);
+        keys = new double[sorted.length];
+        kVFwd = new double[sorted.length];
+        kVRev = new double[sorted.length];
+        kAFwd = new double[sorted.length];
+        kARev = new double[sorted.length];
+        interceptFwd = new double[sorted.length];
+        interceptRev = new double[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            FeedForwardKaKvComponent entry = gains.get(sorted[i]);
+            keys[i] = sorted[i];
+            kVFwd[i] = entry.getkVFwd();
+            kVRev[i] = entry.getkVRev();
+            kAFwd[i] = entry.getkAFwd();
+            kARev[i] = entry.getkARev();
+            interceptFwd[i] = entry.getInterceptVoltageFwd();
+            interceptRev[i] = entry.getInterceptVoltageRev();
+        }
+    }
+
+    /**
+     * Find where a value of the schedule variable falls among the keys. The feedforward is calculated from the main
+     * loop and scheduler tasks at once, so this and {@link FeedForwardScheduledComponent#gainAt(double[], double)}
+     * keep nothing between calls.
+     *
+     * @param key The value of the schedule variable.
+     * @return The index of the key, with a fractional part for how far it is towards the next key. Clamped to the
+     * first and last keys.
+     */
+    private double scheduleIndex(double key) {
+        int hi = Arrays.binarySearch(keys, key);
+        if (hi >= 0) {
+            //Exact match.
+            return hi;
+        }
+        //binarySearch returns -(insertion point) - 1, and the insertion point is the first key greater than this one.
+        hi = -hi - 1;
+        if (hi == 0) {
+            return 0;
+        } else if (hi == keys.length) {
+            return keys.length - 1;
+        } else {
+            return hi - 1 + (key - keys[hi - 1]) / (keys[hi] - keys[hi - 1]);
+        }
+    }
+
+    /**
+     * Interpolate a gain at a point in the schedule.
+     *
+     * @param gains The gain at each key.
+     * @param index The index from {@link FeedForwardScheduledComponent#scheduleIndex(double)}.
+     * @return The gain linearly interpolated between the keys on either side of the index.
+     */
+    private static double gainAt(@NotNull double[] gains, double index) {
+        int lo = (int) index;
+        if (lo == gains.length - 1) {
+            return gains[lo];
+        }
+        return gains[lo] + (index - lo) * (gains[lo + 1] - gains[lo]);
+    }
+
+    /**
+     * Get the current value of the schedule variable.
+     *
+     * @param position The absolute position to use if scheduling on position, in feet.
+     * @return The value of the schedule variable.
+     */
+    private double getKey(double position) {
+        switch (scheduleOn) {
+            case GEAR:
+                return talon.getGear();
+            case BATTERY_VOLTAGE:
+                return talon.getCachedBatteryVoltage();
+            default:
+                return position;
+        }
+    }
+
+    /**
+     * @return true if the gains are scheduled on battery voltage, false otherwise.
+     */
+    @Override
+    public boolean readsBusVoltage() {
+        return scheduleOn == ScheduleVariable.BATTERY_VOLTAGE;
+    }
+
+    /**
+     * Calculate the voltage for a setpoint in MP mode with a position, velocity, and acceleration setpoint.
+     *
+     * @param positionSetpoint The desired absolute position, in feet.
+     * @param velSetpoint      The desired velocity, in feet/sec.
+     * @param accelSetpoint    The desired acceleration, in feet/sec^2.
+     * @return The voltage, from [-12, 12], needed to achieve that velocity and acceleration.
+     */
+    @Override
+    public double calcMPVoltage(double positionSetpoint, double velSetpoint, double accelSetpoint) {
+        if (velSetpoint > 0 || (velSetpoint == 0 && accelSetpoint > 0)) {
+            double index = scheduleIndex(getKey(positionSetpoint));
+            return velSetpoint * gainAt(kVFwd, index) + accelSetpoint * gainAt(kAFwd, index) +
+                    gainAt(interceptFwd, index);
+        } else if (velSetpoint < 0 || (velSetpoint == 0 && accelSetpoint < 0)) {
+            double index = scheduleIndex(getKey(positionSetpoint));
+            return velSetpoint * gainAt(kVRev, index) + accelSetpoint * gainAt(kARev, index) -
+                    gainAt(interceptRev, index);
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Calculate the voltage to use as a feedforward for the given position.
+     *
+     * @param operand the setpoint, in feet.
+     * @return the feedforward voltage to use for that input.
+     */
+    @Override
+    public double applyAsDouble(double operand) {
+        double position = talon.getCachedPositionFeet();
+        double posDifference = position - operand;
+        if (posDifference == 0) {
+            return 0;
+        } else if (posDifference > 0) {
+            return gainAt(interceptFwd, scheduleIndex(getKey(position)));
+        } else {
+            return -gainAt(interceptRev, scheduleIndex(getKey(position)));
+        }
+    }
+
+    /**
+     * The variables gains can be scheduled on.
+     */
+    public enum ScheduleVariable {
+        /**
+         * The position of the mechanism, in feet.
+         */
+        POSITION,
+        /**
+         * The gear number the Talon is in.
+         */
+        GEAR,
+        /**
+         * The battery voltage, in volts.
+         */
+        BATTERY_VOLTAGE
+    }
+}
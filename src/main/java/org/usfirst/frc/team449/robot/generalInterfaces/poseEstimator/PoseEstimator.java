@@ -17,4 +17,25 @@ public interface PoseEstimator extends MappedRunnable {
      */
     @NotNull
     double[] getPos();
+
+    /**
+     * Copy the current absolute position of the robot, so that both coordinates are from the same update even when
+     * called from another thread.
+     *
+     * @param pos An array of at least 2 elements to copy the x,y position into, in feet.
+     */
+    void copyPos(@NotNull double[] pos);
+
+    /**
+     * Add an absolute position at the given time stamp, using an angle measured to verify that the absolute position is
+     * correct.
+     *
+     * @param x     The absolute x, in feet
+     * @param y     The absolute y, in feet
+     * @param time  The time, in milleseconds after the robot code started, that the absolute position was recorded
+     * @param angle The absolute angle, in degrees.
+     * @return true if the absolute position was the most recent received and the angle was correct enough to be used,
+     * false otherwise.
+     */
+    boolean addAbsolutePos(double x, double y, long time, double angle);
 }
@@ -37,7 +37,7 @@ public class UnidirectionalPoseEstimator<T extends SubsystemAHRS & DriveUnidirec
     private final double startingPitch;
 
     /**
-     * A list of all the gyro angles recorded, in order from oldest to newest and in degrees.
+     * A list of all the gyro angles recorded, in order from oldest to newest and in radians.
      */
     @NotNull
     private List<Double> angles;
@@ -249,9 +249,10 @@ public class UnidirectionalPoseEstimator<T extends SubsystemAHRS & DriveUnidirec
      * @return true if the absolute position was the most recent received and the angle was correct enough to be used,
      * false otherwise.
      */
+    @Override
     public synchronized boolean addAbsolutePos(double x, double y, long time, double angle) {
-        //Ignore it if it's older than the existing absolute position
-        if (time < absolutePosTime) {
+        //Ignore it if it's older than the existing absolute position, or if there's no history to check it against
+        if (time < absolutePosTime || angles.isEmpty()) {
             return false;
         }
 
@@ -263,6 +264,9 @@ public class UnidirectionalPoseEstimator<T extends SubsystemAHRS & DriveUnidirec
         if (firstKeepableIndex == 0) {
             //If the absolute position is from before the first angle was recorded, just use the first angle.
             angleAtTime = angles.get(0);
+        } else if (firstKeepableIndex == angles.size()) {
+            //If the absolute position is from after the last angle was recorded, just use the last angle.
+            angleAtTime = angles.get(angles.size() - 1);
         } else {
             //Calculate the angle at the time by assuming constant angular velocity over the interval.
             angleAtTime = (angles.get(firstKeepableIndex - 1) * (time - times.get(firstKeepableIndex - 1)) +
@@ -271,7 +275,8 @@ public class UnidirectionalPoseEstimator<T extends SubsystemAHRS & DriveUnidirec
         }
 
         //If the angle from the gyro and from the absolute position are too different, don't use the absolute position.
-        if (Math.abs(angleAtTime - angle) > absolutePosAngleTolerance) {
+        //The recorded angles are in radians.
+        if (Math.abs(Math.toDegrees(angleAtTime) - angle) > absolutePosAngleTolerance) {
             return false;
         } else {
             //Otherwise, use it.
@@ -291,6 +296,18 @@ public class UnidirectionalPoseEstimator<T extends SubsystemAHRS & DriveUnidirec
         return currentPos;
     }
 
+    /**
+     * Copy the current absolute position of the robot, so that both coordinates are from the same update even when
+     * called from another thread.
+     *
+     * @param pos An array of at least 2 elements to copy the x,y position into, in feet.
+     */
+    @Override
+    public synchronized void copyPos(@NotNull double[] pos) {
+        pos[0] = currentPos[0];
+        pos[1] = currentPos[1];
+    }
+
     /**
      * An internal helper method that adds an absolute position given a first keepable index.
      *
@@ -309,15 +326,18 @@ public class UnidirectionalPoseEstimator<T extends SubsystemAHRS & DriveUnidirec
 
         //The "first keepable" vector starts before the absolute position is measured and ends after it, so we have to
         //add the part that comes after to the position.
-        if (firstKeepableIndex > 0) { //This if is just to prevent IndexOutOfBounds on times.get(firstKeepableIndex - 1)
+        //This if is just to prevent IndexOutOfBounds on times.get(firstKeepableIndex - 1) and on positions newer than
+        //every recorded vector, which run() accounts for instead.
+        if (firstKeepableIndex > 0 && firstKeepableIndex < vectors.size()) {
             this.currentPos[0] += vectors.get(firstKeepableIndex)[0] * (times.get(firstKeepableIndex) - time) /
                     (times.get(firstKeepableIndex) - times.get(firstKeepableIndex - 1));
             this.currentPos[1] += vectors.get(firstKeepableIndex)[1] * (times.get(firstKeepableIndex) - time) /
                     (times.get(firstKeepableIndex) - times.get(firstKeepableIndex - 1));
         }
 
-        //Trim vectors to only be the relevant vectors.
-        vectors = vectors.subList(firstKeepableIndex, vectors.size());
+        //Trim vectors to only be the relevant vectors. Removed in place, because keeping a subList view would keep
+        //the old vectors in memory and nest another view every time.
+        vectors.subList(0, firstKeepableIndex).clear();
 
         //Add all the vectors that come after the absolutePos to the position. Loop starts at index 1 because index 0,
         //the firstKeepableIndex, we already accounted for above.
@@ -327,8 +347,8 @@ public class UnidirectionalPoseEstimator<T extends SubsystemAHRS & DriveUnidirec
         }
 
         //Trim other lists
-        times = times.subList(firstKeepableIndex, times.size());
-        angles = angles.subList(firstKeepableIndex, angles.size());
+        times.subList(0, firstKeepableIndex).clear();
+        angles.subList(0, firstKeepableIndex).clear();
     }
 
     /**
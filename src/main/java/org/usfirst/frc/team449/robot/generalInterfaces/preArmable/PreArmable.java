@@ -0,0 +1,46 @@
+package org.usfirst.frc.team449.robot.generalInterfaces.preArmable;
+
+import edu.wpi.first.wpilibj.command.Command;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An interface for a command that can do its slow setup, like streaming a profile to the Talons, while the robot is
+ * disabled, so it can start moving on the first tick it's enabled.
+ */
+public interface PreArmable {
+
+    /**
+     * Pre-arm a command if it can be.
+     *
+     * @param command The command to pre-arm. Can be null.
+     * @return true if the command is pre-armed, false if it can't be or there's nothing to pre-arm.
+     */
+    static boolean preArm(@Nullable Command command) {
+        return command instanceof PreArmable && ((PreArmable) command).preArm();
+    }
+
+    /**
+     * Disarm a command if it can be pre-armed.
+     *
+     * @param command The command to disarm. Can be null.
+     */
+    static void disarm(@Nullable Command command) {
+        if (command instanceof PreArmable) {
+            ((PreArmable) command).disarm();
+        }
+    }
+
+    /**
+     * Do the setup for the first time this command runs. Called every tick while disabled, so it should do nothing if
+     * it's already armed.
+     *
+     * @return true if this is armed, false if it can't be yet, e.g. because the FMS data it depends on isn't known.
+     */
+    boolean preArm();
+
+    /**
+     * Forget about any setup done by {@link PreArmable#preArm()}, because this command isn't going to be the next to
+     * use it.
+     */
+    void disarm();
+}
@@ -0,0 +1,39 @@
+package org.usfirst.frc.team449.robot.generalInterfaces.preArmable;
+
+import edu.wpi.first.wpilibj.command.Command;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps track of which of a command's branches is pre-armed, so that when the choice changes while disabled, e.g.
+ * because the FMS data arrived or a switch was flipped, the old branch is disarmed before the new one is armed.
+ */
+public class PreArmedBranch {
+
+    /**
+     * The branch that was pre-armed most recently, or null if none is.
+     */
+    @Nullable
+    private Command armed;
+
+    /**
+     * Pre-arm the chosen branch, disarming the previously armed one if it's different.
+     *
+     * @param chosen The branch that will run. Can be null if no branch will run.
+     * @return true if the chosen branch is pre-armed, false otherwise.
+     */
+    public boolean preArm(@Nullable Command chosen) {
+        if (armed != null && armed != chosen) {
+            PreArmable.disarm(armed);
+        }
+        armed = chosen;
+        return PreArmable.preArm(chosen);
+    }
+
+    /**
+     * Disarm whichever branch is pre-armed.
+     */
+    public void disarm() {
+        PreArmable.disarm(armed);
+        armed = null;
+    }
+}
@@ -1,25 +1,29 @@
 package org.usfirst.frc.team449.robot.jacksonWrappers;
 
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.motion.MotionProfileStatus;
 import com.ctre.phoenix.motion.SetValueMotionProfile;
 import com.ctre.phoenix.motion.TrajectoryPoint;
 import com.ctre.phoenix.motorcontrol.*;
-import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
-import edu.wpi.first.wpilibj.Notifier;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.components.RLSFeedForwardEstimator;
 import org.usfirst.frc.team449.robot.components.RunningLinRegComponent;
 import org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.feedForwardComponent.FeedForwardComponent;
 import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
 import org.usfirst.frc.team449.robot.generalInterfaces.shiftable.Shiftable;
 import org.usfirst.frc.team449.robot.generalInterfaces.simpleMotor.SimpleMotor;
+import org.usfirst.frc.team449.robot.generalInterfaces.updatable.Updatable;
+import org.usfirst.frc.team449.robot.other.Clock;
 import org.usfirst.frc.team449.robot.other.Logger;
 import org.usfirst.frc.team449.robot.other.MotionProfileData;
+import org.usfirst.frc.team449.robot.other.PeriodicScheduler;
+import org.usfirst.frc.team449.robot.other.Tunables;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -27,19 +31,26 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Component wrapper on the CTRE {@link TalonSRX}, with unit conversions to/from FPS built in. Every non-unit-conversion
- * in this class takes arguments in post-gearing FPS.
+ * Component wrapper on the CTRE {@link com.ctre.phoenix.motorcontrol.can.TalonSRX}, with unit conversions to/from FPS
+ * built in. Every non-unit-conversion in this class takes arguments in post-gearing FPS.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
+public class FPSTalon implements SimpleMotor, Shiftable, Loggable, Updatable {
 
     Faults faults = new Faults();
 
     /**
-     * The CTRE CAN Talon SRX that this class is a wrapper on
+     * The CTRE CAN Talon SRX that this class is a wrapper on, or a simulated one when running in simulation.
      */
     @NotNull
-    protected final TalonSRX canTalon;
+    protected final TalonDevice canTalon;
+    /**
+     * Shadow registers for canTalon's config parameters, so redundant config writes aren't sent over CAN. Setpoints are
+     * given from both the main loop and scheduler tasks, so anything that puts gains in slot 0 and then sets an output
+     * holds this object's lock throughout, the same one every write to it takes.
+     */
+    @NotNull
+    protected final TalonConfigShadow configShadow;
     /**
      * The PDP this Talon is connected to.
      */
@@ -69,9 +80,10 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
     @NotNull
     private final MotionProfileStatus motionProfileStatus;
     /**
-     * A notifier that moves points from the API-level buffer to the talon-level one.
+     * A scheduled task that moves points from the API-level buffer to the talon-level one.
      */
-    private final Notifier bottomBufferLoader;
+    @NotNull
+    private final PeriodicScheduler.Task bottomBufferLoader;
     /**
      * The period for bottomBufferLoader, in seconds.
      */
@@ -96,12 +108,13 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
      */
     private final boolean fwdLimitSwitchNormallyOpen, revLimitSwitchNormallyOpen;
     /**
-     * A notifier that updates the motion magic feedforward based on the current setpoint.
+     * A scheduled task that updates the motion magic feedforward based on the current setpoint.
      */
-    private final Notifier motionMagicNotifier;
+    @NotNull
+    private final PeriodicScheduler.Task motionMagicNotifier;
 
     /**
-     * The period for the {@link Notifier} that updates the feedforward based on the current motion magic velocity setpoint.
+     * The period for the task that updates the feedforward based on the current motion magic velocity setpoint.
      */
     private final double updateMMPeriodSecs;
     /**
@@ -123,7 +136,111 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
      */
     private double nativeSetpoint;
 
-    private boolean velocityPIDSet;
+    /**
+     * Whether slot 0 has the velocity gains rather than the position gains. Only changed while holding the
+     * configShadow lock.
+     */
+    private volatile boolean velocityPIDSet;
+
+    /**
+     * The {@link Clock} time, in milliseconds, that the cached status values were read at, or -1 if never.
+     */
+    private volatile long cacheTimeMillis = -1;
+
+    /**
+     * Status values read once per tick by {@link FPSTalon#update()}. Velocity is in FPS, position in feet, and error
+     * in FPS or feet depending on the control mode; all three are NaN if no encoder CPR was given. Volatile because
+     * scheduler tasks read them too, and a plain double can be read half-written on the RoboRIO.
+     */
+    private volatile double cachedVelocity, cachedPosition, cachedError, cachedOutputVoltage, cachedBatteryVoltage,
+            cachedOutputCurrent;
+
+    /**
+     * The control mode read by {@link FPSTalon#update()}.
+     */
+    @NotNull
+    private volatile ControlMode cachedControlMode = ControlMode.Disabled;
+
+    /**
+     * The limit switch states and limit faults read by {@link FPSTalon#update()}.
+     */
+    private volatile boolean cachedFwdLimitSwitch, cachedRevLimitSwitch, cachedInhibitedForward, cachedInhibitedReverse;
+
+    /**
+     * The acceleration between the last two ticks, in feet/sec^2, or NaN if it couldn't be measured.
+     */
+    private volatile double cachedAcceleration = Double.NaN;
+
+    /**
+     * The manager that sets this Talon's status frame periods based on how it's being used.
+     */
+    @NotNull
+    private final TalonStatusFrameManager statusFrames;
+
+    /**
+     * The logger's loop time, in milliseconds, or 0 if this Talon isn't being logged, and the time this Talon was last
+     * logged. We don't use {@link Clock} because the logger is a separate thread.
+     */
+    private volatile int loggingPeriodMillis;
+    private volatile long lastLoggedTimeMillis;
+
+    /**
+     * Whether a profile is being streamed to the Talon but it hasn't been put in motion profile mode yet.
+     */
+    private boolean profileLoading;
+
+    /**
+     * The shortest period for bottomBufferLoader, in seconds.
+     */
+    private static final double MIN_FEED_PERIOD_SECS = 0.001;
+
+    /**
+     * The number of points the API-level motion profile buffer holds.
+     */
+    private static final int TOP_BUFFER_SIZE = 2048;
+
+    /**
+     * The longest time between ticks, in milliseconds, that acceleration is measured over.
+     */
+    private static final long MAX_ACCEL_DT_MILLIS = 100;
+
+    /**
+     * The MP status read when checking the health of the buffers. Separate from motionProfileStatus because it's read
+     * on the scheduler thread. Field to avoid garbage collection.
+     */
+    @NotNull
+    private final MotionProfileStatus bufferStatus = new MotionProfileStatus();
+
+    /**
+     * The current period for bottomBufferLoader, in seconds. Starts at updaterProcessPeriodSecs for each profile and
+     * adapts to keep the bottom-level buffer between minNumPointsInBottomBuffer and twice that.
+     */
+    private volatile double feedPeriodSecs;
+
+    /**
+     * The number of times the bottom-level buffer has run dry since the last profile was loaded.
+     */
+    private volatile int mpUnderruns;
+
+    /**
+     * The fewest points in the bottom-level buffer while the current profile ran, or -1 if it hasn't run yet.
+     */
+    private volatile int mpMinBottomBuffer = -1;
+
+    /**
+     * How long the points in the bottom-level buffer will last, in milliseconds.
+     */
+    private volatile int mpTimeToDrainMillis;
+
+    /**
+     * The position, in feet, that the last profile pushed to the Talon ends at. The next chained profile starts here.
+     */
+    private double chainEndFeet;
+
+    /**
+     * Whether the last profile pushed to the Talon is waiting for another to be appended to it.
+     */
+    private boolean chainOpen;
 
     /**
      * Default constructor.
@@ -167,14 +284,18 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
      *                                   Defaults to the lowest gear.
      * @param minNumPointsInBottomBuffer The minimum number of points that must be in the bottom-level MP buffer before
      *                                   starting a profile. Defaults to 20.
-     * @param updaterProcessPeriodSecs   The period for the {@link Notifier} that moves points between the MP buffers, in
+     * @param updaterProcessPeriodSecs   The period for the task that moves points between the MP buffers, in
      *                                   seconds. Defaults to 0.005.
-     * @param updateMMPeriodSecs         The period for the {@link Notifier} that updates the feedforward based on the current motion magic velocity setpoint. Defaults to 0.05.
+     * @param updateMMPeriodSecs         The period for the task that updates the feedforward based on the current motion magic velocity setpoint. Defaults to 0.05.
      * @param statusFrameRatesMillis     The update rates, in millis, for each of the Talon status frames.
      * @param controlFrameRatesMillis    The update rate, in milliseconds, for each of the control frame.
-     * @param slaveTalons                The other {@link TalonSRX}s that are slaved to this one.
+     * @param slaveTalons                The other Talons that are slaved to this one.
      * @param slaveVictors               The {@link com.ctre.phoenix.motorcontrol.can.VictorSPX}s that are slaved to
      *                                   this Talon.
+     * @param tunable                    Whether to publish the gains, ramp rate, motion magic limits, and feedforward
+     *                                   of each gear to {@link Tunables} so they can be changed without redeploying,
+     *                                   along with a switch for using learned feedforward gains if any gear learns
+     *                                   them. Defaults to false.
      */
     @JsonCreator
     public FPSTalon(@JsonProperty(required = true) int port,
@@ -205,15 +326,19 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
                     @Nullable Map<StatusFrameEnhanced, Integer> statusFrameRatesMillis,
                     @Nullable Map<ControlFrame, Integer> controlFrameRatesMillis,
                     @Nullable List<SlaveTalon> slaveTalons,
-                    @Nullable List<SlaveVictor> slaveVictors) {
+                    @Nullable List<SlaveVictor> slaveVictors,
+                    boolean tunable) {
         //Instantiate the base CANTalon this is a wrapper on.
-        canTalon = new TalonSRX(port);
+        canTalon = TalonDevice.create(port);
+        configShadow = new TalonConfigShadow(canTalon);
         //Set the name to the given one or to talon_portnum
         this.name = name != null ? name : ("talon_" + port);
-        //Set this to false because we only use reverseOutput for slaves.
-        canTalon.setInverted(reverseOutput);
-        //Set brake mode
-        canTalon.setNeutralMode(enableBrakeMode ? NeutralMode.Brake : NeutralMode.Coast);
+        configShadow.setup(timeoutMs -> {
+            //Set this to false because we only use reverseOutput for slaves.
+            canTalon.setInverted(reverseOutput);
+            //Set brake mode
+            canTalon.setNeutralMode(enableBrakeMode ? NeutralMode.Brake : NeutralMode.Coast);
+        });
         //Reset the position
         resetPosition();
 
@@ -226,11 +351,6 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
                 canTalon.setControlFramePeriod(controlFrame, controlFrameRatesMillis.get(controlFrame));
             }
         }
-        if (statusFrameRatesMillis != null) {
-            for (StatusFrameEnhanced statusFrame : statusFrameRatesMillis.keySet()) {
-                canTalon.setStatusFramePeriod(statusFrame, statusFrameRatesMillis.get(statusFrame), 0);
-            }
-        }
 
         //Set fields
         this.feetPerRotation = feetPerRotation != null ? feetPerRotation : 1;
@@ -274,95 +394,98 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
         currentGearSettings = this.perGearSettings.get(currentGear);
 
         //Only enable the limit switches if it was specified if they're normally open or closed.
-        if (fwdLimitSwitchNormallyOpen != null) {
-            if (remoteLimitSwitchID != null) {
-                canTalon.configForwardLimitSwitchSource(RemoteLimitSwitchSource.RemoteTalonSRX,
-                        fwdLimitSwitchNormallyOpen ? LimitSwitchNormal.NormallyOpen : LimitSwitchNormal.NormallyClosed,
-                        remoteLimitSwitchID, 0);
+        this.fwdLimitSwitchNormallyOpen = fwdLimitSwitchNormallyOpen != null ? fwdLimitSwitchNormallyOpen : true;
+        this.revLimitSwitchNormallyOpen = revLimitSwitchNormallyOpen != null ? revLimitSwitchNormallyOpen : true;
+        configShadow.setup(timeoutMs -> {
+            if (fwdLimitSwitchNormallyOpen != null) {
+                if (remoteLimitSwitchID != null) {
+                    canTalon.configForwardLimitSwitchSource(RemoteLimitSwitchSource.RemoteTalonSRX,
+                            fwdLimitSwitchNormallyOpen ? LimitSwitchNormal.NormallyOpen :
+                                    LimitSwitchNormal.NormallyClosed, remoteLimitSwitchID, timeoutMs);
+                } else {
+                    canTalon.configForwardLimitSwitchSource(LimitSwitchSource.FeedbackConnector,
+                            fwdLimitSwitchNormallyOpen ? LimitSwitchNormal.NormallyOpen :
+                                    LimitSwitchNormal.NormallyClosed, timeoutMs);
+                }
             } else {
-                canTalon.configForwardLimitSwitchSource(LimitSwitchSource.FeedbackConnector,
-                        fwdLimitSwitchNormallyOpen ? LimitSwitchNormal.NormallyOpen :
-                                LimitSwitchNormal.NormallyClosed, 0);
+                canTalon.configForwardLimitSwitchSource(LimitSwitchSource.Deactivated, LimitSwitchNormal.Disabled,
+                        timeoutMs);
             }
-            this.fwdLimitSwitchNormallyOpen = fwdLimitSwitchNormallyOpen;
-        } else {
-            canTalon.configForwardLimitSwitchSource(LimitSwitchSource.Deactivated, LimitSwitchNormal.Disabled, 0);
-            this.fwdLimitSwitchNormallyOpen = true;
-        }
-        if (revLimitSwitchNormallyOpen != null) {
-            if (remoteLimitSwitchID != null) {
-                canTalon.configReverseLimitSwitchSource(RemoteLimitSwitchSource.RemoteTalonSRX,
-                        revLimitSwitchNormallyOpen ? LimitSwitchNormal.NormallyOpen : LimitSwitchNormal.NormallyClosed,
-                        remoteLimitSwitchID, 0);
+            if (revLimitSwitchNormallyOpen != null) {
+                if (remoteLimitSwitchID != null) {
+                    canTalon.configReverseLimitSwitchSource(RemoteLimitSwitchSource.RemoteTalonSRX,
+                            revLimitSwitchNormallyOpen ? LimitSwitchNormal.NormallyOpen :
+                                    LimitSwitchNormal.NormallyClosed, remoteLimitSwitchID, timeoutMs);
+                } else {
+                    canTalon.configReverseLimitSwitchSource(LimitSwitchSource.FeedbackConnector,
+                            revLimitSwitchNormallyOpen ? LimitSwitchNormal.NormallyOpen :
+                                    LimitSwitchNormal.NormallyClosed, timeoutMs);
+                }
             } else {
-                canTalon.configReverseLimitSwitchSource(LimitSwitchSource.FeedbackConnector,
-                        revLimitSwitchNormallyOpen ? LimitSwitchNormal.NormallyOpen :
-                                LimitSwitchNormal.NormallyClosed, 0);
+                canTalon.configReverseLimitSwitchSource(LimitSwitchSource.Deactivated, LimitSwitchNormal.Disabled,
+                        timeoutMs);
             }
-            this.revLimitSwitchNormallyOpen = revLimitSwitchNormallyOpen;
-        } else {
-            canTalon.configReverseLimitSwitchSource(LimitSwitchSource.Deactivated, LimitSwitchNormal.Disabled, 0);
-            this.revLimitSwitchNormallyOpen = true;
-        }
+        });
+
+        //postEncoderGearing defaults to 1. Set before the soft limits, which are converted with it.
+        this.postEncoderGearing = postEncoderGearing != null ? postEncoderGearing : 1.;
 
         //Set up the feedback device if it exists.
         if (feedbackDevice != null) {
-            //CTRE encoder use RPM instead of native units, and can be used as QuadEncoders, so we switch them to avoid
-            //having to support RPM.
-            if (feedbackDevice.equals(FeedbackDevice.CTRE_MagEncoder_Absolute) ||
-                    feedbackDevice.equals(FeedbackDevice.CTRE_MagEncoder_Relative)) {
-                canTalon.configSelectedFeedbackSensor(FeedbackDevice.QuadEncoder, 0, 0);
-            } else {
-                canTalon.configSelectedFeedbackSensor(feedbackDevice, 0, 0);
-            }
             this.encoderCPR = encoderCPR;
-            canTalon.setSensorPhase(reverseSensor);
-
-            //Only enable the software limits if they were given a value and there's an encoder.
-            if (fwdSoftLimit != null) {
-                canTalon.configForwardSoftLimitEnable(true, 0);
-                canTalon.configForwardSoftLimitThreshold(feetToEncoder(fwdSoftLimit).intValue(), 0);
-            } else {
-                canTalon.configForwardSoftLimitEnable(false, 0);
-            }
-            if (revSoftLimit != null) {
-                canTalon.configReverseSoftLimitEnable(true, 0);
-                canTalon.configReverseSoftLimitThreshold(feetToEncoder(revSoftLimit).intValue(), 0);
-            } else {
-                canTalon.configReverseSoftLimitEnable(false, 0);
-            }
+            configShadow.setup(timeoutMs -> {
+                //CTRE encoder use RPM instead of native units, and can be used as QuadEncoders, so we switch them to
+                //avoid having to support RPM.
+                if (feedbackDevice.equals(FeedbackDevice.CTRE_MagEncoder_Absolute) ||
+                        feedbackDevice.equals(FeedbackDevice.CTRE_MagEncoder_Relative)) {
+                    canTalon.configSelectedFeedbackSensor(FeedbackDevice.QuadEncoder, 0, timeoutMs);
+                } else {
+                    canTalon.configSelectedFeedbackSensor(feedbackDevice, 0, timeoutMs);
+                }
+                canTalon.setSensorPhase(reverseSensor);
+
+                //Only enable the software limits if they were given a value and there's an encoder.
+                if (fwdSoftLimit != null) {
+                    canTalon.configForwardSoftLimitEnable(true, timeoutMs);
+                    canTalon.configForwardSoftLimitThreshold(feetToEncoder(fwdSoftLimit).intValue(), timeoutMs);
+                } else {
+                    canTalon.configForwardSoftLimitEnable(false, timeoutMs);
+                }
+                if (revSoftLimit != null) {
+                    canTalon.configReverseSoftLimitEnable(true, timeoutMs);
+                    canTalon.configReverseSoftLimitThreshold(feetToEncoder(revSoftLimit).intValue(), timeoutMs);
+                } else {
+                    canTalon.configReverseSoftLimitEnable(false, timeoutMs);
+                }
+            });
         } else {
             this.encoderCPR = null;
 //            canTalon.configSelectedFeedbackSensor(FeedbackDevice.None, 0, 0); Uncomment this if FeedbackDevice.None
 // is re-added in a future release.
         }
 
-        //postEncoderGearing defaults to 1
-        this.postEncoderGearing = postEncoderGearing != null ? postEncoderGearing : 1.;
-
         //Set up gear-based settings.
         setGear(currentGear);
 
-        //Set the current limit if it was given
+        //Set the current limit if it was given, and disable current limiting if we don't have one. Enable or disable
+        //voltage comp.
+        configShadow.setup(timeoutMs -> {
+            canTalon.enableCurrentLimit(currentLimit != null);
+            canTalon.enableVoltageCompensation(enableVoltageComp);
+        });
         if (currentLimit != null) {
-            canTalon.configContinuousCurrentLimit(currentLimit, 0);
-            canTalon.configPeakCurrentDuration(0, 0);
-            canTalon.configPeakCurrentLimit(0, 0); // No duration
-            canTalon.enableCurrentLimit(true);
-        } else {
-            //If we don't have a current limit, disable current limiting.
-            canTalon.enableCurrentLimit(false);
+            configShadow.configContinuousCurrentLimit(currentLimit, 0);
+            configShadow.configPeakCurrentDuration(0, 0);
+            configShadow.configPeakCurrentLimit(0, 0); // No duration
         }
-
-        //Enable or disable voltage comp
-        canTalon.enableVoltageCompensation(enableVoltageComp);
-        canTalon.configVoltageCompSaturation(12, 0);
+        configShadow.configVoltageCompSaturation(12, 0);
         int notNullVoltageCompSamples = voltageCompSamples != null ? voltageCompSamples : 32;
-        canTalon.configVoltageMeasurementFilter(notNullVoltageCompSamples, 0);
+        configShadow.configVoltageMeasurementFilter(notNullVoltageCompSamples, 0);
 
-        //Set up MP notifier
-        bottomBufferLoader = new Notifier(this::processMotionProfileBuffer);
-        motionMagicNotifier = new Notifier(this::updateMotionMagicSetpoint);
+        //Set up the MP and motion magic tasks on the shared scheduler thread
+        bottomBufferLoader = PeriodicScheduler.createTask(this.name + "_bottomBufferLoader",
+                this::processMotionProfileBuffer);
+        motionMagicNotifier = PeriodicScheduler.createTask(this.name + "_motionMagic", this::updateMotionMagicSetpoint);
 
         //Use slot 0
         canTalon.selectProfileSlot(0, 0);
@@ -378,14 +501,52 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
         if (slaveVictors != null) {
             //Set up slaves.
             for (SlaveVictor slave : slaveVictors) {
-                slave.setMaster(canTalon, enableBrakeMode,
-                        enableVoltageComp ? notNullVoltageCompSamples : null);
+                //Victors can only follow a real Talon.
+                if (canTalon instanceof IMotorController) {
+                    slave.setMaster((IMotorController) canTalon, enableBrakeMode,
+                            enableVoltageComp ? notNullVoltageCompSamples : null);
+                }
             }
         }
 
-        velocityPIDSet = false;
-        setVelocityPID();
-        // velocityPIDSet is now true
+        synchronized (configShadow) {
+            setVelocityPID();
+        }
+
+        if (tunable) {
+            for (PerGearSettings settings : this.perGearSettings.values()) {
+                int gear = settings.getGear();
+                settings.registerTunables(this.name + "/gear" + gear, () -> refreshGains(gear));
+            }
+            boolean learns = false, applied = false;
+            for (PerGearSettings settings : this.perGearSettings.values()) {
+                RLSFeedForwardEstimator estimator = settings.getFeedForwardComponent().getEstimator();
+                if (estimator != null) {
+                    learns = true;
+                    applied |= estimator.isApplied();
+                }
+            }
+            if (learns) {
+                //Nonzero to use the learned feedforward gains.
+                Tunables.register(this.name + "/adaptiveFeedForward", applied ? 1 : 0,
+                        value -> setAdaptiveFeedForward(value != 0));
+            }
+        }
+
+        //Set status frame rates based on usage, with any given rates taking precedence.
+        boolean hasFollowers = (slaveTalons != null && !slaveTalons.isEmpty()) ||
+                (slaveVictors != null && !slaveVictors.isEmpty());
+        int controlPeriodMillis = controlFrameRatesMillis != null &&
+                controlFrameRatesMillis.containsKey(ControlFrame.Control_3_General) ?
+                controlFrameRatesMillis.get(ControlFrame.Control_3_General) : 10;
+        statusFrames = new TalonStatusFrameManager(canTalon, this.encoderCPR != null, hasFollowers, false,
+                statusFrameRatesMillis, controlPeriodMillis);
+        boolean ffReadsBusVoltage = false;
+        for (PerGearSettings settings : this.perGearSettings.values()) {
+            ffReadsBusVoltage |= settings.getFeedForwardComponent().readsBusVoltage();
+        }
+        statusFrames.setBusVoltageUse(ffReadsBusVoltage, PDP != null && voltagePerCurrentLinReg != null);
+        statusFrames.tune(ControlMode.Disabled, 0, false);
     }
 
     /**
@@ -420,40 +581,68 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
      */
     @Override
     public void setGear(int gear) {
-        //Set the current gear
-        currentGearSettings = perGearSettings.get(gear);
+        synchronized (configShadow) {
+            //Set the current gear
+            currentGearSettings = perGearSettings.get(gear);
+            configGear();
+
+            //Set PID stuff
+            //Slot 0 velocity gains. We don't set F yet because that changes based on setpoint.
+            setVelocityPID();
+        }
+
+        //We set the MP gains when loading a profile so no need to do it here.
+    }
 
+    /**
+     * Send the output limits, ramp rate, and motion magic limits of the current gear to the Talon.
+     */
+    private void configGear() {
         //Set max voltage
-        canTalon.configPeakOutputForward(currentGearSettings.getFwdPeakOutputVoltage() / 12., 0);
-        canTalon.configPeakOutputReverse(currentGearSettings.getRevPeakOutputVoltage() / 12., 0);
+        configShadow.configPeakOutputForward(currentGearSettings.getFwdPeakOutputVoltage() / 12., 0);
+        configShadow.configPeakOutputReverse(currentGearSettings.getRevPeakOutputVoltage() / 12., 0);
 
         //Set min voltage
-        canTalon.configNominalOutputForward(currentGearSettings.getFwdNominalOutputVoltage() / 12., 0);
-        canTalon.configNominalOutputReverse(currentGearSettings.getRevNominalOutputVoltage() / 12., 0);
+        configShadow.configNominalOutputForward(currentGearSettings.getFwdNominalOutputVoltage() / 12., 0);
+        configShadow.configNominalOutputReverse(currentGearSettings.getRevNominalOutputVoltage() / 12., 0);
 
-        if (currentGearSettings.getRampRate() != null) {
+        PerGearSettings.Gains gains = currentGearSettings.getGains();
+        if (gains.rampRate != null) {
             //Set ramp rate, converting from volts/sec to seconds until 12 volts.
-            canTalon.configClosedloopRamp(1 / (currentGearSettings.getRampRate() / 12.), 0);
-            canTalon.configOpenloopRamp(1 / (currentGearSettings.getRampRate() / 12.), 0);
+            configShadow.configClosedloopRamp(1 / (gains.rampRate / 12.), 0);
+            configShadow.configOpenloopRamp(1 / (gains.rampRate / 12.), 0);
         } else {
-            canTalon.configClosedloopRamp(0, 0);
-            canTalon.configOpenloopRamp(0, 0);
+            configShadow.configClosedloopRamp(0, 0);
+            configShadow.configOpenloopRamp(0, 0);
         }
 
         //Set motion magic stuff
-        if (currentGearSettings.motionMagicMaxVel != null) {
-            canTalon.configMotionCruiseVelocity(FPSToEncoder(currentGearSettings.getMotionMagicMaxVel()).intValue(), 0);
+        if (gains.motionMagicMaxVel != null) {
+            configShadow.configMotionCruiseVelocity(FPSToEncoder(gains.motionMagicMaxVel).intValue(), 0);
             //We can convert accel the same way we do vel because both are per second.
-            canTalon.configMotionAcceleration(FPSToEncoder(currentGearSettings.getMotionMagicMaxAccel()).intValue(), 0);
+            configShadow.configMotionAcceleration(FPSToEncoder(gains.motionMagicMaxAccel).intValue(), 0);
         }
 
-        //Set PID stuff
-        //Slot 0 velocity gains. We don't set F yet because that changes based on setpoint.
-        canTalon.config_kP(0, currentGearSettings.getkP(), 0);
-        canTalon.config_kI(0, currentGearSettings.getkI(), 0);
-        canTalon.config_kD(0, currentGearSettings.getkD(), 0);
+        //Model this gear if we're simulating.
+        canTalon.setPlantModel(currentGearSettings.getFeedForwardComponent(), currentGearSettings.getMaxSpeed(),
+                encoderCPR != null ? feetToEncoder(1.) : 1.);
+    }
 
-        //We set the MP gains when loading a profile so no need to do it here.
+    /**
+     * Set whether the feedforward in every gear uses the gains it has learned online instead of its configured ones,
+     * once it's confident in them. Does nothing for gears whose feedforward doesn't learn. Switched from the
+     * adaptiveFeedForward tunable when this Talon is tunable.
+     *
+     * @param adaptive true to use the learned gains, false to use the configured gains.
+     */
+    public void setAdaptiveFeedForward(boolean adaptive) {
+        for (PerGearSettings settings : perGearSettings.values()) {
+            RLSFeedForwardEstimator estimator = settings.getFeedForwardComponent().getEstimator();
+            if (estimator != null) {
+                estimator.setApplied(adaptive);
+            }
+        }
+        Logger.addEvent((adaptive ? "Using" : "Not using") + " learned feedforward gains", this.getClass());
     }
 
     /**
@@ -546,22 +735,49 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
         return (RPS / 10) * (encoderCPR * 4); //4 edges per count, and 10 100ms per second.
     }
 
-    private void setVelocityPID(){
-        if (!velocityPIDSet) {
-            canTalon.config_kP(0, currentGearSettings.getkP());
-            canTalon.config_kI(0, currentGearSettings.getkI());
-            canTalon.config_kD(0, currentGearSettings.getkD());
-            velocityPIDSet = true;
+    /**
+     * Resend the settings of a gear after one of them was tuned. Only the current gear's settings are on the Talon, and
+     * the config shadow skips anything that didn't change, so this only goes over CAN for values that actually did.
+     * Motion profile gains take effect when the next profile is loaded.
+     *
+     * @param gear The gear that was tuned.
+     */
+    private void refreshGains(int gear) {
+        synchronized (configShadow) {
+            if (currentGearSettings.getGear() != gear) {
+                return;
+            }
+            configGear();
+            if (velocityPIDSet) {
+                setVelocityPID();
+            } else {
+                setPositionPID();
+            }
         }
     }
 
+    /**
+     * Put the velocity gains in slot 0. The config shadow skips the writes if they're already there. Callers hold the
+     * configShadow lock.
+     */
+    private void setVelocityPID(){
+        PerGearSettings.Gains gains = currentGearSettings.getGains();
+        configShadow.config_kP(0, gains.kP, 0);
+        configShadow.config_kI(0, gains.kI, 0);
+        configShadow.config_kD(0, gains.kD, 0);
+        velocityPIDSet = true;
+    }
+
+    /**
+     * Put the position gains in slot 0. The config shadow skips the writes if they're already there. Callers hold the
+     * configShadow lock.
+     */
     private void setPositionPID(){
-        if (velocityPIDSet) {
-            canTalon.config_kP(0, currentGearSettings.getPosKP());
-            canTalon.config_kI(0, currentGearSettings.getPosKI());
-            canTalon.config_kD(0, currentGearSettings.getPosKD());
-            velocityPIDSet = false;
-        }
+        PerGearSettings.Gains gains = currentGearSettings.getGains();
+        configShadow.config_kP(0, gains.posKP, 0);
+        configShadow.config_kI(0, gains.posKI, 0);
+        configShadow.config_kD(0, gains.posKD, 0);
+        velocityPIDSet = false;
     }
 
     /**
@@ -570,17 +786,19 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
      * @param feet An absolute position setpoint, in feet.
      */
     public void setPositionSetpoint(double feet) {
-        setpoint = feet;
-        nativeSetpoint = feetToEncoder(feet);
-        setPositionPID();
-        canTalon.config_kF(0, 0);
-        if (currentGearSettings.getMotionMagicMaxVel() != null) {
-            motionMagicNotifier.stop();
-            canTalon.set(ControlMode.MotionMagic, nativeSetpoint);
-            motionMagicNotifier.startPeriodic(updateMMPeriodSecs);
-        } else {
-            canTalon.set(ControlMode.Position, nativeSetpoint, DemandType.ArbitraryFeedForward,
-                    currentGearSettings.getFeedForwardComponent().applyAsDouble(feet) / 12.);
+        synchronized (configShadow) {
+            setpoint = feet;
+            nativeSetpoint = feetToEncoder(feet);
+            setPositionPID();
+            configShadow.config_kF(0, 0, 0);
+            if (currentGearSettings.getMotionMagicMaxVel() != null) {
+                motionMagicNotifier.stop();
+                canTalon.set(ControlMode.MotionMagic, nativeSetpoint);
+                motionMagicNotifier.startPeriodic(updateMMPeriodSecs);
+            } else {
+                canTalon.set(ControlMode.Position, nativeSetpoint, DemandType.ArbitraryFeedForward,
+                        currentGearSettings.getFeedForwardComponent().applyAsDouble(feet) / 12.);
+            }
         }
     }
 
@@ -589,14 +807,20 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
             motionMagicNotifier.stop();
         } else {
             nativeSetpoint = feetToEncoder(setpoint);
+            //The active trajectory point is in native units, and the feedforward takes feet and FPS. Native velocity is
+            //per 100ms.
+            double nativeToFeet = postEncoderGearing * feetPerRotation / (encoderCPR * 4);
             //TODO check that this actually works
             canTalon.set(ControlMode.MotionMagic, nativeSetpoint, DemandType.ArbitraryFeedForward,
-                    currentGearSettings.getFeedForwardComponent().calcMPVoltage(canTalon.getActiveTrajectoryPosition(), canTalon.getActiveTrajectoryVelocity(), 0) / 12.);
+                    currentGearSettings.getFeedForwardComponent().calcMPVoltage(
+                            canTalon.getActiveTrajectoryPosition() * nativeToFeet,
+                            canTalon.getActiveTrajectoryVelocity() * nativeToFeet * 10, 0) / 12.);
         }
     }
 
     /**
-     * Get the velocity of the CANTalon in FPS.
+     * Get the velocity of the CANTalon in FPS. This reads the Talon directly; use {@link FPSTalon#getCachedVelocity()}
+     * in the control loop.
      *
      * @return The CANTalon's velocity in FPS, or null if no encoder CPR was given.
      */
@@ -624,17 +848,21 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
      *
      * @param velocity velocity setpoint in FPS.
      */
-    protected void setVelocityFPS(double velocity) {
-        nativeSetpoint = FPSToEncoder(velocity);
-        setpoint = velocity;
-        setVelocityPID();
-        canTalon.config_kF(0, 0, 0);
-        canTalon.set(ControlMode.Velocity, nativeSetpoint, DemandType.ArbitraryFeedForward,
-                currentGearSettings.getFeedForwardComponent().calcVelVoltage(getPositionFeet(), velocity) / 12.);
+    public void setVelocityFPS(double velocity) {
+        synchronized (configShadow) {
+            nativeSetpoint = FPSToEncoder(velocity);
+            setpoint = velocity;
+            setVelocityPID();
+            configShadow.config_kF(0, 0, 0);
+            //This gets called from scheduler tasks between ticks, so read the position now instead of using the cache.
+            canTalon.set(ControlMode.Velocity, nativeSetpoint, DemandType.ArbitraryFeedForward,
+                    currentGearSettings.getFeedForwardComponent().calcVelVoltage(readPositionFeet(), velocity) / 12.);
+        }
     }
 
     /**
-     * Get the current closed-loop velocity error in FPS. WARNING: will give garbage if not in velocity mode.
+     * Get the current closed-loop velocity error in FPS. WARNING: will give garbage if not in velocity mode. This
+     * reads the Talon directly; use {@link FPSTalon#getCachedError()} in the control loop.
      *
      * @return The closed-loop error in FPS, or null if no encoder CPR was given.
      */
@@ -734,6 +962,8 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
     }
 
     /**
+     * This reads the Talon directly; use {@link FPSTalon#getCachedPositionFeet()} in the control loop.
+     *
      * @return the position of the talon in feet, or null of inches per rotation wasn't given.
      */
     public Double getPositionFeet() {
@@ -753,7 +983,7 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
      * @return True if the forwards limit switch is closed, false if it's open or doesn't exist.
      */
     public boolean getFwdLimitSwitch() {
-        return fwdLimitSwitchNormallyOpen == canTalon.getSensorCollection().isFwdLimitSwitchClosed();
+        return fwdLimitSwitchNormallyOpen == canTalon.isFwdLimitSwitchClosed();
     }
 
     /**
@@ -762,7 +992,7 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
      * @return True if the reverse limit switch is closed, false if it's open or doesn't exist.
      */
     public boolean getRevLimitSwitch() {
-        return revLimitSwitchNormallyOpen == canTalon.getSensorCollection().isRevLimitSwitchClosed();
+        return revLimitSwitchNormallyOpen == canTalon.isRevLimitSwitchClosed();
     }
 
     public boolean isInhibitedForward() {
@@ -824,46 +1054,127 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
      * Disables the talon and loads the given profile into the talon.
      *
      * @param data The profile to load.
+     * @return true if the profile was loaded, false if the Talon rejected a point and the talon was left disabled.
+     */
+    public boolean loadProfile(MotionProfileData data) {
+        return loadProfile(data, false);
+    }
+
+    /**
+     * Disables the talon and loads the given profile into the talon.
+     *
+     * @param data         The profile to load.
+     * @param moreToFollow Whether another profile will be appended with {@link FPSTalon#appendProfile}, in which case
+     *                     the last point isn't marked as the end of the profile.
+     * @return true if the profile was loaded, false if the Talon rejected a point and the talon was left disabled.
      */
-    public void loadProfile(MotionProfileData data) {
+    public boolean loadProfile(MotionProfileData data, boolean moreToFollow) {
         bottomBufferLoader.stop();
         setpoint = SetValueMotionProfile.Disable.value;
         canTalon.set(ControlMode.MotionProfile, SetValueMotionProfile.Disable.value);
         //Reset the Talon
         clearMP();
 
+        //Speed up the buffer status frame before streaming points
+        profileLoading = true;
+        statusFrames.tune(ControlMode.MotionProfile, loggingPeriodMillis, true);
+
         //Set proper PID constants
+        PerGearSettings.Gains gains = currentGearSettings.getGains();
         if (data.isBackwards()) {
             if (data.isVelocityOnly()) {
-                canTalon.config_kP(1, 0, 0);
-                canTalon.config_kI(1, 0, 0);
-                canTalon.config_kD(1, 0, 0);
+                configShadow.config_kP(1, 0, 0);
+                configShadow.config_kI(1, 0, 0);
+                configShadow.config_kD(1, 0, 0);
             } else {
-                canTalon.config_kP(1, currentGearSettings.getMotionProfilePRev(), 0);
-                canTalon.config_kI(1, currentGearSettings.getMotionProfileIRev(), 0);
-                canTalon.config_kD(1, currentGearSettings.getMotionProfileDRev(), 0);
+                configShadow.config_kP(1, gains.motionProfilePRev, 0);
+                configShadow.config_kI(1, gains.motionProfileIRev, 0);
+                configShadow.config_kD(1, gains.motionProfileDRev, 0);
             }
         } else {
             if (data.isVelocityOnly()) {
-                canTalon.config_kP(1, 0, 0);
-                canTalon.config_kI(1, 0, 0);
-                canTalon.config_kD(1, 0, 0);
+                configShadow.config_kP(1, 0, 0);
+                configShadow.config_kI(1, 0, 0);
+                configShadow.config_kD(1, 0, 0);
             } else {
-                canTalon.config_kP(1, currentGearSettings.getMotionProfilePFwd(), 0);
-                canTalon.config_kI(1, currentGearSettings.getMotionProfileIFwd(), 0);
-                canTalon.config_kD(1, currentGearSettings.getMotionProfileDFwd(), 0);
+                configShadow.config_kP(1, gains.motionProfilePFwd, 0);
+                configShadow.config_kI(1, gains.motionProfileIFwd, 0);
+                configShadow.config_kD(1, gains.motionProfileDFwd, 0);
             }
         }
 
-        canTalon.config_kF(1, 1023. / 12., 0);
+        configShadow.config_kF(1, 1023. / 12., 0);
 
         //Only call position getter once
         double startPosition = data.resetPosition() ? 0 : getPositionFeet();
 
         //Set point time
-        canTalon.configMotionProfileTrajectoryPeriod(data.getPointTimeMillis(), 0);
+        configShadow.configMotionProfileTrajectoryPeriod(data.getPointTimeMillis(), 0);
 
         //Load in profiles
+        if (!pushProfilePoints(data, startPosition, data.resetPosition(), moreToFollow)) {
+            //Don't leave a profile with no last point in the buffer for something to start.
+            clearMP();
+            profileLoading = false;
+            return false;
+        }
+        mpUnderruns = 0;
+        mpMinBottomBuffer = -1;
+        feedPeriodSecs = updaterProcessPeriodSecs;
+        bottomBufferLoader.startPeriodic(feedPeriodSecs);
+        return true;
+    }
+
+    /**
+     * Add a profile to the end of the one that's loaded or running, without clearing the buffers, so the Talon goes
+     * straight from the last point of one into the first point of the next. The new profile's positions are relative
+     * to where the previous one ends. The previous profile must have been loaded with moreToFollow set and must be
+     * able to chain into this one, as determined by {@link MotionProfileData#canChainTo(MotionProfileData)}.
+     *
+     * @param data         The profile to append.
+     * @param moreToFollow Whether another profile will be appended after this one.
+     * @return true if the profile was appended, false if the Talon rejected a point, in which case the running profile
+     * is stopped and the talon is left disabled, since it would otherwise run off the end of the partial profile.
+     */
+    public boolean appendProfile(MotionProfileData data, boolean moreToFollow) {
+        if (!chainOpen) {
+            throw new IllegalStateException("Can't append a profile to " + name + ", the loaded profile is already " +
+                    "marked as the last one.");
+        }
+        if (!pushProfilePoints(data, chainEndFeet, false, moreToFollow)) {
+            bottomBufferLoader.stop();
+            setpoint = SetValueMotionProfile.Disable.value;
+            canTalon.set(ControlMode.MotionProfile, SetValueMotionProfile.Disable.value);
+            clearMP();
+            return false;
+        }
+        //The loader stops when the top buffer empties, so start it again in case it already did.
+        bottomBufferLoader.startPeriodic(feedPeriodSecs);
+        return true;
+    }
+
+    /**
+     * Whether a profile fits in the top buffer behind the points that are already in it.
+     *
+     * @param data The profile to append.
+     * @return true if there's room for every point of the profile, false otherwise.
+     */
+    public boolean hasRoomFor(MotionProfileData data) {
+        return canTalon.getMotionProfileTopLevelBufferCount() + data.getData().length <= TOP_BUFFER_SIZE;
+    }
+
+    /**
+     * Push the points of a profile into the top buffer, stopping and logging if the Talon rejects one. The chain is
+     * only left open for another profile if every point was pushed.
+     *
+     * @param data          The profile to push.
+     * @param startPosition The position, in feet, the profile's positions are relative to.
+     * @param zeroFirst     Whether the first point should zero the encoder.
+     * @param moreToFollow  Whether another profile will follow this one, so its last point isn't the end.
+     * @return true if every point was pushed, false if the Talon rejected one.
+     */
+    private boolean pushProfilePoints(MotionProfileData data, double startPosition, boolean zeroFirst,
+                                   boolean moreToFollow) {
         for (int i = 0; i < data.getData().length; ++i) {
             TrajectoryPoint point = new TrajectoryPoint();
             //Have to set this so the Talon doesn't throw a null pointer. May be fixed in a future release.
@@ -875,8 +1186,9 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
             // Set all the fields of the profile point
             point.position = feetToEncoder(startPosition + data.getData()[i][0]);
 
-            point.velocity = currentGearSettings.getFeedForwardComponent().calcMPVoltage(data.getData()[i][0],
-                    data.getData()[i][1], data.getData()[i][2]);;
+            //Gains can be scheduled on position, so give the feedforward the absolute position, not the relative one.
+            point.velocity = currentGearSettings.getFeedForwardComponent().calcMPVoltage(
+                    startPosition + data.getData()[i][0], data.getData()[i][1], data.getData()[i][2]);
 
             //Doing vel+accel shouldn't lead to impossible setpoints, so if it does, we log so we know to change
             // either the profile or kA.
@@ -886,12 +1198,32 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
                 Logger.addEvent("Point " + Arrays.toString(data.getData()[i]) + " has an unattainable " +
                         "velocity+acceleration setpoint!", this.getClass());
             }
-            point.zeroPos = i == 0 && data.resetPosition(); // If it's the first point, set the encoder position to 0.
-            point.isLastPoint = (i + 1) == data.getData().length; // If it's the last point, isLastPoint = true
+            point.zeroPos = i == 0 && zeroFirst; // If it's the first point, set the encoder position to 0.
+            // If it's the last point and nothing is being chained after it, isLastPoint = true
+            point.isLastPoint = (i + 1) == data.getData().length && !moreToFollow;
             // Send the point to the Talon's buffer
-            canTalon.pushMotionProfileTrajectory(point);
+            ErrorCode error = canTalon.pushMotionProfileTrajectory(point);
+            if (error != ErrorCode.OK) {
+                Logger.addEvent("Pushing point " + i + " of " + data.getData().length + " to " + name +
+                        " failed with " + error + "!", this.getClass());
+                chainOpen = false;
+                return false;
+            }
+        }
+        chainEndFeet = startPosition + data.getData()[data.getData().length - 1][0];
+        chainOpen = moreToFollow;
+        return true;
+    }
+
+    /**
+     * Put the position gains {@link FPSTalon#executeMPPoint} uses in slot 0 now, so the first point doesn't wait on
+     * config writes.
+     */
+    public void prepareMPPoints() {
+        synchronized (configShadow) {
+            setPositionPID();
+            configShadow.config_kF(0, 0, 0);
         }
-        bottomBufferLoader.startPeriodic(updaterProcessPeriodSecs);
     }
 
     /**
@@ -901,21 +1233,199 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
      * @param acc The desired velocity in feet/second^2.
      */
     public void executeMPPoint(double pos, double vel, double acc) {
-        setpoint = pos;
-        setPositionPID();
-        canTalon.config_kF(0, 0);
-        canTalon.set(ControlMode.Position, feetToEncoder(pos), DemandType.ArbitraryFeedForward,
-                currentGearSettings.getFeedForwardComponent().calcMPVoltage(pos, vel, acc) / 12.);
+        synchronized (configShadow) {
+            setpoint = pos;
+            setPositionPID();
+            configShadow.config_kF(0, 0, 0);
+            canTalon.set(ControlMode.Position, feetToEncoder(pos), DemandType.ArbitraryFeedForward,
+                    currentGearSettings.getFeedForwardComponent().calcMPVoltage(pos, vel, acc) / 12.);
+        }
     }
 
     /**
-     * Process the motion profile buffer and stop when the top buffer is empty.
+     * Process the motion profile buffer and stop when the top buffer is empty. While there are points left to send,
+     * the feed period is halved whenever the bottom buffer is below its target range and doubled, up to the duration
+     * of a point, whenever it's above it.
      */
     protected void processMotionProfileBuffer() {
         canTalon.processMotionProfileBuffer();
+        checkBufferHealth();
         if (canTalon.getMotionProfileTopLevelBufferCount() == 0) {
             bottomBufferLoader.stop();
+            return;
+        }
+        double newPeriod = feedPeriodSecs;
+        if (bufferStatus.btmBufferCnt < minNumPointsInBottomBuffer) {
+            newPeriod = Math.max(feedPeriodSecs / 2., MIN_FEED_PERIOD_SECS);
+        } else if (bufferStatus.btmBufferCnt > 2 * minNumPointsInBottomBuffer) {
+            //Feeding once per point keeps the buffer level, so there's no reason to go slower.
+            newPeriod = Math.min(feedPeriodSecs * 2., Math.max(bufferStatus.timeDurMs / 1000., MIN_FEED_PERIOD_SECS));
+        }
+        if (newPeriod != feedPeriodSecs) {
+            feedPeriodSecs = newPeriod;
+            bottomBufferLoader.startPeriodic(feedPeriodSecs);
+        }
+    }
+
+    /**
+     * Read the MP buffer status and update the buffer health metrics. Underruns are counted and cleared so the next
+     * one can be seen.
+     */
+    private synchronized void checkBufferHealth() {
+        canTalon.getMotionProfileStatus(bufferStatus);
+        if (bufferStatus.hasUnderrun) {
+            mpUnderruns++;
+            canTalon.clearMotionProfileHasUnderrun(0);
+        }
+        if (bufferStatus.outputEnable == SetValueMotionProfile.Enable && !bufferStatus.isLast &&
+                (mpMinBottomBuffer == -1 || bufferStatus.btmBufferCnt < mpMinBottomBuffer)) {
+            mpMinBottomBuffer = bufferStatus.btmBufferCnt;
         }
+        mpTimeToDrainMillis = bufferStatus.btmBufferCnt * bufferStatus.timeDurMs;
+    }
+
+    /**
+     * Read all the status values this Talon reports into the cache. Only the updater should call this, once per tick;
+     * it also teaches the feedforward and retunes status frames, so the cached getters only ever read what it left.
+     * Talons whose cached values are used must be in the updater's list.
+     */
+    @Override
+    public synchronized void update() {
+        long lastCacheTimeMillis = cacheTimeMillis;
+        double lastVelocity = cachedVelocity;
+        cacheTimeMillis = Clock.currentTimeMillis();
+        cachedControlMode = canTalon.getControlMode();
+        cachedOutputVoltage = canTalon.getMotorOutputVoltage();
+        cachedBatteryVoltage = canTalon.getBusVoltage();
+        cachedOutputCurrent = canTalon.getOutputCurrent();
+        if (encoderCPR == null) {
+            cachedVelocity = Double.NaN;
+            cachedPosition = Double.NaN;
+            cachedError = Double.NaN;
+        } else {
+            double nativeToFeet = postEncoderGearing * feetPerRotation / (encoderCPR * 4);
+            cachedPosition = readPositionFeet();
+            //Native velocity is per 100ms
+            cachedVelocity = canTalon.getSelectedSensorVelocity(0) * nativeToFeet * 10;
+            cachedError = canTalon.getClosedLoopError(0) * nativeToFeet *
+                    (cachedControlMode == ControlMode.Velocity ? 10 : 1);
+        }
+        cachedFwdLimitSwitch = fwdLimitSwitchNormallyOpen == canTalon.isFwdLimitSwitchClosed();
+        cachedRevLimitSwitch = revLimitSwitchNormallyOpen == canTalon.isRevLimitSwitchClosed();
+        canTalon.getFaults(faults);
+        cachedInhibitedForward = faults.ForwardLimitSwitch;
+        cachedInhibitedReverse = faults.ReverseLimitSwitch;
+
+        //Differentiate velocity over consecutive ticks, and teach the feedforward what the voltage we gave did.
+        long dtMillis = cacheTimeMillis - lastCacheTimeMillis;
+        cachedAcceleration = lastCacheTimeMillis >= 0 && dtMillis > 0 && dtMillis <= MAX_ACCEL_DT_MILLIS ?
+                (cachedVelocity - lastVelocity) * 1000. / dtMillis : Double.NaN;
+        RLSFeedForwardEstimator estimator = currentGearSettings.getFeedForwardComponent().getEstimator();
+        if (estimator != null && !cachedInhibitedForward && !cachedInhibitedReverse) {
+            estimator.addPoint(cachedOutputVoltage, cachedVelocity, cachedAcceleration);
+        }
+
+        //Retune status frames if how we're being used changed. Once in MP mode, the mode itself keeps the buffer frame
+        //fast, and if we haven't been logged in a while, we're not being logged anymore.
+        if (cachedControlMode == ControlMode.MotionProfile) {
+            profileLoading = false;
+            //Catch underruns after the last point has been sent and the loader has stopped.
+            checkBufferHealth();
+        }
+        if (System.currentTimeMillis() - lastLoggedTimeMillis > 1000) {
+            loggingPeriodMillis = 0;
+        }
+        statusFrames.tune(cachedControlMode, loggingPeriodMillis, profileLoading);
+    }
+
+    /**
+     * Read the position from the Talon without boxing it.
+     *
+     * @return The position in feet, or NaN if no encoder CPR was given.
+     */
+    private double readPositionFeet() {
+        if (encoderCPR == null) {
+            return Double.NaN;
+        }
+        return canTalon.getSelectedSensorPosition(0) * postEncoderGearing * feetPerRotation / (encoderCPR * 4);
+    }
+
+    /**
+     * @return The velocity read this tick, in FPS, or NaN if no encoder CPR was given.
+     */
+    public double getCachedVelocity() {
+        return cachedVelocity;
+    }
+
+    /**
+     * @return How often the Talon sends its position, in milliseconds. Reading it more often gives the same value.
+     */
+    public int getFeedbackPeriodMillis() {
+        return statusFrames.getFeedbackPeriodMillis();
+    }
+
+    /**
+     * @return The position read this tick, in feet, or NaN if no encoder CPR was given.
+     */
+    public double getCachedPositionFeet() {
+        return cachedPosition;
+    }
+
+    /**
+     * @return The closed-loop error read this tick, in FPS in velocity mode and feet otherwise, or NaN if no encoder
+     * CPR was given.
+     */
+    public double getCachedError() {
+        return cachedError;
+    }
+
+    /**
+     * @return The output voltage read this tick, in volts.
+     */
+    public double getCachedOutputVoltage() {
+        return cachedOutputVoltage;
+    }
+
+    /**
+     * @return The bus voltage read this tick, in volts.
+     */
+    public double getCachedBatteryVoltage() {
+        return cachedBatteryVoltage;
+    }
+
+    /**
+     * @return The output current read this tick, in amps.
+     */
+    public double getCachedOutputCurrent() {
+        return cachedOutputCurrent;
+    }
+
+    /**
+     * @return Whether the forwards limit switch was closed this tick.
+     */
+    public boolean getCachedFwdLimitSwitch() {
+        return cachedFwdLimitSwitch;
+    }
+
+    /**
+     * @return Whether the reverse limit switch was closed this tick.
+     */
+    public boolean getCachedRevLimitSwitch() {
+        return cachedRevLimitSwitch;
+    }
+
+    /**
+     * @return Whether forwards motion was inhibited by a limit this tick.
+     */
+    public boolean isCachedInhibitedForward() {
+        return cachedInhibitedForward;
+    }
+
+    /**
+     * @return Whether reverse motion was inhibited by a limit this tick.
+     */
+    public boolean isCachedInhibitedReverse() {
+        return cachedInhibitedReverse;
     }
 
     /**
@@ -937,7 +1447,21 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
                 "control_mode",
                 "gear",
                 "resistance",
-                "velocity_PID"
+                "velocity_PID",
+                "configs_sent",
+                "configs_suppressed",
+                "mp_underruns",
+                "mp_min_bottom_buffer",
+                "mp_time_to_drain",
+                "mp_feed_period",
+                "ff_kV_fwd",
+                "ff_kA_fwd",
+                "ff_intercept_fwd",
+                "ff_confidence_fwd",
+                "ff_kV_rev",
+                "ff_kA_rev",
+                "ff_intercept_rev",
+                "ff_confidence_rev"
         };
     }
 
@@ -949,21 +1473,39 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
     @Nullable
     @Override
     public Object[] getData() {
+        //Use the configured period rather than timing calls, which jitter and would retune status frames every time.
+        loggingPeriodMillis = Logger.getLoopTimeMillis();
+        lastLoggedTimeMillis = System.currentTimeMillis();
         if (voltagePerCurrentLinReg != null && PDP != null) {
-            voltagePerCurrentLinReg.addPoint(getOutputCurrent(), PDP.getVoltage() - getBatteryVoltage());
+            voltagePerCurrentLinReg.addPoint(getCachedOutputCurrent(), PDP.getVoltage() - getCachedBatteryVoltage());
         }
+        RLSFeedForwardEstimator estimator = currentGearSettings.getFeedForwardComponent().getEstimator();
         return new Object[]{
-                getVelocity(),
-                getPositionFeet(),
+                getCachedVelocity(),
+                getCachedPositionFeet(),
                 getSetpoint(),
-                getError(),
-                getBatteryVoltage(),
-                getOutputVoltage(),
-                getOutputCurrent(),
-                getControlMode(),
+                getCachedError(),
+                getCachedBatteryVoltage(),
+                getCachedOutputVoltage(),
+                getCachedOutputCurrent(),
+                cachedControlMode,
                 getGear(),
                 (voltagePerCurrentLinReg != null && PDP != null) ? -voltagePerCurrentLinReg.getSlope() : null,
-                velocityPIDSet
+                velocityPIDSet,
+                configShadow.getSent(),
+                configShadow.getSuppressed(),
+                mpUnderruns,
+                mpMinBottomBuffer,
+                mpTimeToDrainMillis,
+                feedPeriodSecs,
+                estimator != null ? estimator.getkV(true) : null,
+                estimator != null ? estimator.getkA(true) : null,
+                estimator != null ? estimator.getInterceptVoltage(true) : null,
+                estimator != null ? estimator.getConfidence(true) : null,
+                estimator != null ? estimator.getkV(false) : null,
+                estimator != null ? estimator.getkA(false) : null,
+                estimator != null ? estimator.getInterceptVoltage(false) : null,
+                estimator != null ? estimator.getConfidence(false) : null
         };
     }
 
@@ -998,38 +1540,12 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
          */
         private final double fwdNominalOutputVoltage, revNominalOutputVoltage;
 
-        /**
-         * The ramp rate, in volts/sec. null means no ramp rate.
-         */
-        @Nullable
-        private final Double rampRate;
-
         /**
          * The maximum speed of the motor in this gear, in FPS. Used for throttle scaling.
          */
         @Nullable
         private final Double maxSpeed;
 
-        /**
-         * The PID constants for the motor in this gear. Ignored if maxSpeed is null.
-         */
-        private final double kP, kI, kD;
-
-        /**
-         * The position PID constants for the motor in this gear.
-         */
-        private final double posKP, posKI, posKD;
-
-        /**
-         * The forwards PID constants for motion profiles in this gear. Ignored if maxSpeed is null.
-         */
-        private final double motionProfilePFwd, motionProfileIFwd, motionProfileDFwd;
-
-        /**
-         * The reverse PID constants for motion profiles in this gear. Ignored if maxSpeed is null.
-         */
-        private final double motionProfilePRev, motionProfileIRev, motionProfileDRev;
-
         /**
          * The component for calculating feedforwards in closed-loop control modes. Ignored if maxSpeed is null.
          */
@@ -1037,15 +1553,11 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
         private final FeedForwardComponent feedForwardComponent;
 
         /**
-         * The maximum velocity for motion magic mode, in FPS. Can be null to not use motion magic.
-         */
-        @Nullable
-        private final Double motionMagicMaxVel;
-
-        /**
-         * The maximum acceleration for motion magic mode, in FPS per second.
+         * The gains, ramp rate, and motion magic limits. Volatile and swapped whole when tuned, since velocity
+         * setpoints are also given from scheduler threads.
          */
-        private final double motionMagicMaxAccel;
+        @NotNull
+        private volatile Gains gains;
 
         /**
          * Default constructor.
@@ -1127,24 +1639,26 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
             this.fwdNominalOutputVoltage = fwdNominalOutputVoltage != null ? fwdNominalOutputVoltage : 0;
             this.revNominalOutputVoltage = revNominalOutputVoltage != null ? revNominalOutputVoltage :
                     -this.fwdNominalOutputVoltage;
-            this.rampRate = rampRate;
-            this.kP = kP;
-            this.kI = kI;
-            this.kD = kD;
-            this.posKP = posKP;
-            this.posKI = posKI;
-            this.posKD = posKD;
-            this.motionProfilePFwd = motionProfilePFwd;
-            this.motionProfileIFwd = motionProfileIFwd;
-            this.motionProfileDFwd = motionProfileDFwd;
-            this.motionProfilePRev = motionProfilePRev != null ? motionProfilePRev : this.motionProfilePFwd;
-            this.motionProfileIRev = motionProfileIRev != null ? motionProfileIRev : this.motionProfileIFwd;
-            this.motionProfileDRev = motionProfileDRev != null ? motionProfileDRev : this.motionProfileDFwd;
             this.feedForwardComponent = feedForwardComponent != null ? feedForwardComponent :
                     FeedForwardComponent.getZeroFeedForward();
             this.maxSpeed = maxSpeed;
-            this.motionMagicMaxVel = motionMagicMaxVel;
-            this.motionMagicMaxAccel = motionMagicMaxAccel;
+            Gains gains = new Gains();
+            gains.rampRate = rampRate;
+            gains.kP = kP;
+            gains.kI = kI;
+            gains.kD = kD;
+            gains.posKP = posKP;
+            gains.posKI = posKI;
+            gains.posKD = posKD;
+            gains.motionProfilePFwd = motionProfilePFwd;
+            gains.motionProfileIFwd = motionProfileIFwd;
+            gains.motionProfileDFwd = motionProfileDFwd;
+            gains.motionProfilePRev = motionProfilePRev != null ? motionProfilePRev : motionProfilePFwd;
+            gains.motionProfileIRev = motionProfileIRev != null ? motionProfileIRev : motionProfileIFwd;
+            gains.motionProfileDRev = motionProfileDRev != null ? motionProfileDRev : motionProfileDFwd;
+            gains.motionMagicMaxVel = motionMagicMaxVel;
+            gains.motionMagicMaxAccel = motionMagicMaxAccel;
+            this.gains = gains;
         }
 
         /**
@@ -1154,6 +1668,58 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
             this(0, null, null, null, null, null, null, null, 0, 0, 0, 0, 0,0, 0, 0, 0, null, null, null, null, null, 0);
         }
 
+        /**
+         * Make the gains, ramp rate, and motion magic limits of this gear tunable.
+         *
+         * @param prefix   The name to put the tunables under.
+         * @param onChange What to call after any of them change.
+         */
+        void registerTunables(@NotNull String prefix, @NotNull Runnable onChange) {
+            //Edits go into a draft, which is published and sent to the Talon once per tick however many changed.
+            Gains draft = new Gains(gains);
+            Runnable publish = () -> {
+                gains = new Gains(draft);
+                onChange.run();
+            };
+            Tunables.register(prefix + "/kP", draft.kP, value -> draft.kP = value, publish);
+            Tunables.register(prefix + "/kI", draft.kI, value -> draft.kI = value, publish);
+            Tunables.register(prefix + "/kD", draft.kD, value -> draft.kD = value, publish);
+            Tunables.register(prefix + "/posKP", draft.posKP, value -> draft.posKP = value, publish);
+            Tunables.register(prefix + "/posKI", draft.posKI, value -> draft.posKI = value, publish);
+            Tunables.register(prefix + "/posKD", draft.posKD, value -> draft.posKD = value, publish);
+            Tunables.register(prefix + "/motionProfilePFwd", draft.motionProfilePFwd,
+                    value -> draft.motionProfilePFwd = value, publish);
+            Tunables.register(prefix + "/motionProfileIFwd", draft.motionProfileIFwd,
+                    value -> draft.motionProfileIFwd = value, publish);
+            Tunables.register(prefix + "/motionProfileDFwd", draft.motionProfileDFwd,
+                    value -> draft.motionProfileDFwd = value, publish);
+            Tunables.register(prefix + "/motionProfilePRev", draft.motionProfilePRev,
+                    value -> draft.motionProfilePRev = value, publish);
+            Tunables.register(prefix + "/motionProfileIRev", draft.motionProfileIRev,
+                    value -> draft.motionProfileIRev = value, publish);
+            Tunables.register(prefix + "/motionProfileDRev", draft.motionProfileDRev,
+                    value -> draft.motionProfileDRev = value, publish);
+            //Only tune these if they're in use, since null means something different from any number.
+            if (draft.rampRate != null) {
+                Tunables.register(prefix + "/rampRate", draft.rampRate, value -> draft.rampRate = value, publish);
+            }
+            if (draft.motionMagicMaxVel != null) {
+                Tunables.register(prefix + "/motionMagicMaxVel", draft.motionMagicMaxVel,
+                        value -> draft.motionMagicMaxVel = value, publish);
+                Tunables.register(prefix + "/motionMagicMaxAccel", draft.motionMagicMaxAccel,
+                        value -> draft.motionMagicMaxAccel = value, publish);
+            }
+            feedForwardComponent.registerTunables(prefix + "/feedForward");
+        }
+
+        /**
+         * @return The gains, ramp rate, and motion magic limits, all from the same tuning.
+         */
+        @NotNull
+        Gains getGains() {
+            return gains;
+        }
+
         /**
          * @return The gear number this is the settings for.
          */
@@ -1196,7 +1762,7 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
          */
         @Nullable
         public Double getRampRate() {
-            return rampRate;
+            return gains.rampRate;
         }
 
         /**
@@ -1211,75 +1777,75 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
          * @return The proportional PID constant for the motor in this gear.
          */
         public double getkP() {
-            return kP;
+            return gains.kP;
         }
 
         /**
          * @return The integral PID constant for the motor in this gear.
          */
         public double getkI() {
-            return kI;
+            return gains.kI;
         }
 
         /**
          * @return The derivative PID constant for the motor in this gear.
          */
         public double getkD() {
-            return kD;
+            return gains.kD;
         }
 
         public double getPosKP() {
-            return posKP;
+            return gains.posKP;
         }
 
         public double getPosKI() {
-            return posKI;
+            return gains.posKI;
         }
 
         public double getPosKD() {
-            return posKD;
+            return gains.posKD;
         }
 
         /**
          * @return The proportional PID constant for motion profiles in this gear.
          */
         public double getMotionProfilePFwd() {
-            return motionProfilePFwd;
+            return gains.motionProfilePFwd;
         }
 
         /**
          * @return The integral PID constant for motion profiles in this gear.
          */
         public double getMotionProfileIFwd() {
-            return motionProfileIFwd;
+            return gains.motionProfileIFwd;
         }
 
         /**
          * @return The derivative PID constant for motion profiles in this gear.
          */
         public double getMotionProfileDFwd() {
-            return motionProfileDFwd;
+            return gains.motionProfileDFwd;
         }
 
         /**
          * @return The proportional PID constant for reverse motion profiles in this gear.
          */
         public double getMotionProfilePRev() {
-            return motionProfilePRev;
+            return gains.motionProfilePRev;
         }
 
         /**
          * @return The integral PID constant for reverse motion profiles in this gear.
          */
         public double getMotionProfileIRev() {
-            return motionProfileIRev;
+            return gains.motionProfileIRev;
         }
 
         /**
          * @return The derivative PID constant for reverse motion profiles in this gear.
          */
         public double getMotionProfileDRev() {
-            return motionProfileDRev;
+            return gains.motionProfileDRev;
         }
 
         /**
@@ -1295,14 +1861,86 @@ public class FPSTalon implements SimpleMotor, Shiftable, Loggable {
          */
         @Nullable
         public Double getMotionMagicMaxVel() {
-            return motionMagicMaxVel;
+            return gains.motionMagicMaxVel;
         }
 
         /**
          * @return The maximum acceleration for motion magic mode, in FPS per second.
          */
         public double getMotionMagicMaxAccel() {
-            return motionMagicMaxAccel;
+            return gains.motionMagicMaxAccel;
+        }
+
+        /**
+         * The tunable settings of a gear. A published instance is never changed; tuning edits a copy and swaps it in.
+         */
+        static class Gains {
+
+            /**
+             * The ramp rate, in volts/sec. null means no ramp rate.
+             */
+            @Nullable
+            private Double rampRate;
+
+            /**
+             * The PID constants for the motor in this gear. Ignored if maxSpeed is null.
+             */
+            private double kP, kI, kD;
+
+            /**
+             * The position PID constants for the motor in this gear.
+             */
+            private double posKP, posKI, posKD;
+
+            /**
+             * The forwards PID constants for motion profiles in this gear. Ignored if maxSpeed is null.
+             */
+            private double motionProfilePFwd, motionProfileIFwd, motionProfileDFwd;
+
+            /**
+             * The reverse PID constants for motion profiles in this gear. Ignored if maxSpeed is null.
+             */
+            private double motionProfilePRev, motionProfileIRev, motionProfileDRev;
+
+            /**
+             * The maximum velocity for motion magic mode, in FPS. Can be null to not use motion magic.
+             */
+            @Nullable
+            private Double motionMagicMaxVel;
+
+            /**
+             * The maximum acceleration for motion magic mode, in FPS per second.
+             */
+            private double motionMagicMaxAccel;
+
+            /**
+             * Empty constructor, for setting the values one at a time.
+             */
+            Gains() {
+            }
+
+            /**
+             * Copy constructor.
+             *
+             * @param other The settings to copy.
+             */
+            Gains(@NotNull Gains other) {
+                rampRate = other.rampRate;
+                kP = other.kP;
+                kI = other.kI;
+                kD = other.kD;
+                posKP = other.posKP;
+                posKI = other.posKI;
+                posKD = other.posKD;
+                motionProfilePFwd = other.motionProfilePFwd;
+                motionProfileIFwd = other.motionProfileIFwd;
+                motionProfileDFwd = other.motionProfileDFwd;
+                motionProfilePRev = other.motionProfilePRev;
+                motionProfileIRev = other.motionProfileIRev;
+                motionProfileDRev = other.motionProfileDRev;
+                motionMagicMaxVel = other.motionMagicMaxVel;
+                motionMagicMaxAccel = other.motionMagicMaxAccel;
+            }
         }
     }
 }
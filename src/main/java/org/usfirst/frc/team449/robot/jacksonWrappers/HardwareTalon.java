@@ -0,0 +1,34 @@
+package org.usfirst.frc.team449.robot.jacksonWrappers;
+
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+
+/**
+ * A real {@link TalonSRX} on the CAN bus. Everything but the limit switch reads is inherited from the CTRE class.
+ */
+class HardwareTalon extends TalonSRX implements TalonDevice {
+
+    /**
+     * Default constructor.
+     *
+     * @param port The CAN ID of the Talon.
+     */
+    HardwareTalon(int port) {
+        super(port);
+    }
+
+    /**
+     * @return Whether the forward limit switch is closed.
+     */
+    @Override
+    public boolean isFwdLimitSwitchClosed() {
+        return getSensorCollection().isFwdLimitSwitchClosed();
+    }
+
+    /**
+     * @return Whether the reverse limit switch is closed.
+     */
+    @Override
+    public boolean isRevLimitSwitchClosed() {
+        return getSensorCollection().isRevLimitSwitchClosed();
+    }
+}
@@ -9,8 +9,12 @@ import edu.wpi.first.wpilibj.SPI;
 import edu.wpi.first.wpilibj.SerialPort;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
 import org.usfirst.frc.team449.robot.generalInterfaces.updatable.Updatable;
+import org.usfirst.frc.team449.robot.simulation.SimGyro;
+import org.usfirst.frc.team449.robot.simulation.SimTalon;
+import org.usfirst.frc.team449.robot.simulation.Simulation;
 
 import static com.kauailabs.navx.frc.AHRS.SerialDataType.kProcessedData;
 
@@ -21,10 +25,17 @@ import static com.kauailabs.navx.frc.AHRS.SerialDataType.kProcessedData;
 public class MappedAHRS implements Loggable, Updatable {
 
     /**
-     * The AHRS this class is a wrapper on.
+     * The AHRS this class is a wrapper on, or null when running in simulation.
      */
+    @Nullable
     protected final AHRS ahrs;
 
+    /**
+     * The simulated gyro used instead of the AHRS when running in simulation, or null on the robot.
+     */
+    @Nullable
+    private final SimGyro simGyro;
+
     /**
      * A multiplier for the yaw angle. -1 to invert, 1 to not.
      */
@@ -54,12 +65,18 @@ public class MappedAHRS implements Loggable, Updatable {
     @JsonCreator
     public MappedAHRS(@JsonProperty(required = true) SerialPort.Port port,
                       Boolean invertYaw) {
-        if (port.equals(SerialPort.Port.kMXP)) {
-            this.ahrs = new AHRS(SPI.Port.kMXP);
+        if (Simulation.isEnabled()) {
+            this.ahrs = null;
+            this.simGyro = new SimGyro();
         } else {
-            this.ahrs = new AHRS(port, kProcessedData, (byte) 100);
+            if (port.equals(SerialPort.Port.kMXP)) {
+                this.ahrs = new AHRS(SPI.Port.kMXP);
+            } else {
+                this.ahrs = new AHRS(port, kProcessedData, (byte) 100);
+            }
+            ahrs.reset();
+            this.simGyro = null;
         }
-        ahrs.reset();
         if (invertYaw == null || invertYaw) {
             this.invertYaw = -1;
         } else {
@@ -85,7 +102,7 @@ public class MappedAHRS implements Loggable, Updatable {
      * @return The heading, in degrees from [-180, 180]
      */
     public double getHeading() {
-        toRet = invertYaw * ahrs.getFusedHeading() - offsetAngle;
+        toRet = invertYaw * (ahrs != null ? ahrs.getFusedHeading() : simGyro.getFusedHeading()) - offsetAngle;
         while (toRet > 180) {
             toRet -= 360;
         }
@@ -111,7 +128,7 @@ public class MappedAHRS implements Loggable, Updatable {
      * @return The angular displacement, in degrees.
      */
     public double getAngularDisplacement() {
-        return ahrs.getAngle() * invertYaw;
+        return (ahrs != null ? ahrs.getAngle() : simGyro.getAngle()) * invertYaw;
     }
 
     /**
@@ -120,7 +137,7 @@ public class MappedAHRS implements Loggable, Updatable {
      * @return The angular yaw velocity, in degrees/sec.
      */
     public double getAngularVelocity() {
-        return ahrs.getRate() * invertYaw;
+        return (ahrs != null ? ahrs.getRate() : simGyro.getRate()) * invertYaw;
     }
 
     /**
@@ -129,7 +146,7 @@ public class MappedAHRS implements Loggable, Updatable {
      * @return Linear X acceleration, in feet/(sec^2)
      */
     public double getXAccel() {
-        return gsToFeetPerSecondSquared(ahrs.getWorldLinearAccelX());
+        return gsToFeetPerSecondSquared(ahrs != null ? ahrs.getWorldLinearAccelX() : simGyro.getWorldLinearAccelX());
     }
 
     /**
@@ -138,7 +155,7 @@ public class MappedAHRS implements Loggable, Updatable {
      * @return Linear Y acceleration, in feet/(sec^2)
      */
     public double getYAccel() {
-        return gsToFeetPerSecondSquared(ahrs.getWorldLinearAccelY());
+        return gsToFeetPerSecondSquared(ahrs != null ? ahrs.getWorldLinearAccelY() : simGyro.getWorldLinearAccelY());
     }
 
     /**
@@ -147,7 +164,21 @@ public class MappedAHRS implements Loggable, Updatable {
      * @return The pitch, in degrees from [-180, 180]
      */
     public double getPitch() {
-        return ahrs.getPitch();
+        //The simulated robot is always flat.
+        return ahrs != null ? ahrs.getPitch() : 0;
+    }
+
+    /**
+     * When simulating, have the simulated gyro measure the turning of a differential drive. Does nothing on the robot.
+     *
+     * @param left       The master Talon on the left side of the drive.
+     * @param right      The master Talon on the right side of the drive.
+     * @param trackWidth The distance between the left and right wheels, in feet.
+     */
+    public void simulateDrive(@NotNull FPSTalon left, @NotNull FPSTalon right, double trackWidth) {
+        if (simGyro != null && left.canTalon instanceof SimTalon && right.canTalon instanceof SimTalon) {
+            simGyro.attachDrive((SimTalon) left.canTalon, (SimTalon) right.canTalon, trackWidth);
+        }
     }
 
     /**
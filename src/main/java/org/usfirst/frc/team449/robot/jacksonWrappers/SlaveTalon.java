@@ -1,24 +1,35 @@
 package org.usfirst.frc.team449.robot.jacksonWrappers;
 
 import com.ctre.phoenix.motorcontrol.*;
-import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.components.RunningLinRegComponent;
 import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
+import org.usfirst.frc.team449.robot.other.Logger;
 
 /**
- * A {@link TalonSRX} that will be slaved to another TalonSRX or a {@link com.ctre.phoenix.motorcontrol.can.VictorSPX}.
+ * A {@link com.ctre.phoenix.motorcontrol.can.TalonSRX} that will be slaved to another TalonSRX or a
+ * {@link com.ctre.phoenix.motorcontrol.can.VictorSPX}.
  */
 public class SlaveTalon implements Loggable {
 
     /**
-     * The TalonSRX this object wraps.
+     * The TalonSRX this object wraps, or a simulated one when running in simulation.
      */
     @NotNull
-    private final TalonSRX talonSRX;
+    private final TalonDevice talonSRX;
+    /**
+     * Shadow registers for talonSRX's config parameters, so redundant config writes aren't sent over CAN.
+     */
+    @NotNull
+    private final TalonConfigShadow configShadow;
+    /**
+     * The manager that sets this Talon's status frame periods based on how it's being used.
+     */
+    @NotNull
+    private final TalonStatusFrameManager statusFrames;
     /**
      * The PDP this talon runs on. Used for resistance logging purposes.
      */
@@ -40,33 +51,28 @@ public class SlaveTalon implements Loggable {
     @JsonCreator
     public SlaveTalon(@JsonProperty(required = true) int port,
                       InvertType invertType) {
-        this.talonSRX = new TalonSRX(port);
+        this.talonSRX = TalonDevice.create(port);
+        this.configShadow = new TalonConfigShadow(talonSRX);
         //this.talonSRX.setInverted(inverted);
 
         //Turn off features we don't want a slave to have
-        talonSRX.setInverted(invertType == null ? InvertType.FollowMaster : invertType);
-        talonSRX.configForwardLimitSwitchSource(LimitSwitchSource.Deactivated, LimitSwitchNormal.Disabled, 0);
-        talonSRX.configReverseLimitSwitchSource(LimitSwitchSource.Deactivated, LimitSwitchNormal.Disabled, 0);
-        talonSRX.configForwardSoftLimitEnable(false, 0);
-        talonSRX.configReverseSoftLimitEnable(false, 0);
-        talonSRX.configPeakOutputForward(1, 0);
-        talonSRX.enableVoltageCompensation(true);
-        talonSRX.configVoltageCompSaturation(12, 0);
-        talonSRX.configVoltageMeasurementFilter(32, 0);
+        configShadow.setup(timeoutMs -> {
+            talonSRX.setInverted(invertType == null ? InvertType.FollowMaster : invertType);
+            talonSRX.configForwardLimitSwitchSource(LimitSwitchSource.Deactivated, LimitSwitchNormal.Disabled,
+                    timeoutMs);
+            talonSRX.configReverseLimitSwitchSource(LimitSwitchSource.Deactivated, LimitSwitchNormal.Disabled,
+                    timeoutMs);
+            talonSRX.configForwardSoftLimitEnable(false, timeoutMs);
+            talonSRX.configReverseSoftLimitEnable(false, timeoutMs);
+            talonSRX.enableVoltageCompensation(true);
+        });
+        configShadow.configPeakOutputForward(1, 0);
+        configShadow.configVoltageCompSaturation(12, 0);
+        configShadow.configVoltageMeasurementFilter(32, 0);
 
-        //Slow down frames so we don't overload the CAN bus
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 100, 0);
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_6_Misc, 100, 0);
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_7_CommStatus, 100, 0);
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_9_MotProfBuffer, 100, 0);
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_10_MotionMagic, 100, 0);
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 100, 0);
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 100, 0);
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 100, 0);
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_15_FirmareApiStatus, 100, 0);
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 100, 0);
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 100, 0);
-        talonSRX.setStatusFramePeriod(StatusFrameEnhanced.Status_11_UartGadgeteer, 100, 0);
+        //Slow down frames so we don't overload the CAN bus. Nothing reads a slave until it's logged.
+        statusFrames = new TalonStatusFrameManager(talonSRX, false, false, true, null, 10);
+        statusFrames.tune(ControlMode.Follower, 0, false);
     }
 
     /**
@@ -81,27 +87,22 @@ public class SlaveTalon implements Loggable {
      */
     public void setMaster(int port, boolean brakeMode, @Nullable Integer currentLimit,
                           @Nullable Integer voltageCompSamples, @Nullable PDP PDP, @Nullable RunningLinRegComponent linRegComponent) {
-        //Brake mode doesn't automatically follow master
-        this.talonSRX.setNeutralMode(brakeMode ? NeutralMode.Brake : NeutralMode.Coast);
+        configShadow.setup(timeoutMs -> {
+            //Brake mode doesn't automatically follow master
+            talonSRX.setNeutralMode(brakeMode ? NeutralMode.Brake : NeutralMode.Coast);
+            //Current limiting and voltage comp might not automatically follow master, set them just to be safe
+            talonSRX.enableCurrentLimit(currentLimit != null);
+            talonSRX.enableVoltageCompensation(voltageCompSamples != null);
+        });
 
-        //Current limiting might not automatically follow master, set it just to be safe
         if (currentLimit != null) {
-            talonSRX.configContinuousCurrentLimit(currentLimit, 0);
-            talonSRX.configPeakCurrentDuration(0, 0);
-            talonSRX.configPeakCurrentLimit(0, 0); // No duration
-            talonSRX.enableCurrentLimit(true);
-        } else {
-            //If we don't have a current limit, disable current limiting.
-            talonSRX.enableCurrentLimit(false);
+            configShadow.configContinuousCurrentLimit(currentLimit, 0);
+            configShadow.configPeakCurrentDuration(0, 0);
+            configShadow.configPeakCurrentLimit(0, 0); // No duration
         }
-
-        //Voltage comp might not follow master either
         if (voltageCompSamples != null) {
-            talonSRX.enableVoltageCompensation(true);
-            talonSRX.configVoltageCompSaturation(12, 0);
-            talonSRX.configVoltageMeasurementFilter(voltageCompSamples, 0);
-        } else {
-            talonSRX.enableVoltageCompensation(false);
+            configShadow.configVoltageCompSaturation(12, 0);
+            configShadow.configVoltageMeasurementFilter(voltageCompSamples, 0);
         }
 
         //Follow the leader
@@ -110,6 +111,8 @@ public class SlaveTalon implements Loggable {
         //Resistance logging
         this.PDP = PDP;
         this.linRegComponent = linRegComponent;
+        statusFrames.setBusVoltageUse(false, PDP != null && linRegComponent != null);
+        statusFrames.tune(ControlMode.Follower, 0, false);
     }
 
     /**
@@ -123,7 +126,9 @@ public class SlaveTalon implements Loggable {
         return new String[]{
                 "current",
                 "voltage",
-                "resistance"
+                "resistance",
+                "configs_sent",
+                "configs_suppressed"
         };
     }
 
@@ -135,13 +140,18 @@ public class SlaveTalon implements Loggable {
     @Nullable
     @Override
     public Object[] getData() {
+        //Speed up the frames we log to the logging rate.
+        //Use the configured period rather than timing calls, which jitter and would retune status frames every time.
+        statusFrames.tune(ControlMode.Follower, Logger.getLoopTimeMillis(), false);
         if (linRegComponent != null && PDP != null) {
             linRegComponent.addPoint(talonSRX.getOutputCurrent(), PDP.getVoltage() - talonSRX.getBusVoltage());
         }
         return new Object[]{
                 talonSRX.getOutputCurrent(),
                 talonSRX.getMotorOutputVoltage(),
-                (linRegComponent != null && PDP != null) ? -linRegComponent.getSlope() : null
+                (linRegComponent != null && PDP != null) ? -linRegComponent.getSlope() : null,
+                configShadow.getSent(),
+                configShadow.getSuppressed()
         };
     }
 
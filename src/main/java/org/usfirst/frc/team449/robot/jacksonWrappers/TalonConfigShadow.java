@@ -0,0 +1,442 @@
+package org.usfirst.frc.team449.robot.jacksonWrappers;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.ParamEnum;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.other.DeviceInitializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Shadow registers for the config parameters of a {@link TalonDevice}. Every config call is a blocking CAN transaction,
+ * so this remembers the last value successfully written to each parameter and skips writes that wouldn't change
+ * anything. Writes that fail aren't remembered, so they're retried the next time.
+ * <p>
+ * While the map is loading, writes are held instead of sent, so the Talon's whole configuration can be sent, read back
+ * and checked by {@link DeviceInitializer} in parallel with every other Talon's. Setup calls that aren't shadowed, like
+ * limit switch sources and sensor selection, are held along with them.
+ * </p>
+ * <p>
+ * Writes come from the main loop, scheduler tasks and the initializer thread, so each one is synchronized on this
+ * object. Callers that make several writes which have to land together, like a set of gains, hold the same lock across
+ * all of them.
+ * </p>
+ */
+class TalonConfigShadow {
+
+    /**
+     * The number of PIDF slots on a Talon.
+     */
+    private static final int NUM_SLOTS = 4;
+
+    /**
+     * Indices into the shadow array. PIDF gains take one index per slot.
+     */
+    private static final int KP = 0, KI = KP + NUM_SLOTS, KD = KI + NUM_SLOTS, KF = KD + NUM_SLOTS,
+            PEAK_OUTPUT_FWD = KF + NUM_SLOTS, PEAK_OUTPUT_REV = PEAK_OUTPUT_FWD + 1,
+            NOMINAL_OUTPUT_FWD = PEAK_OUTPUT_REV + 1, NOMINAL_OUTPUT_REV = NOMINAL_OUTPUT_FWD + 1,
+            CLOSED_LOOP_RAMP = NOMINAL_OUTPUT_REV + 1, OPEN_LOOP_RAMP = CLOSED_LOOP_RAMP + 1,
+            MOTION_CRUISE_VELOCITY = OPEN_LOOP_RAMP + 1, MOTION_ACCELERATION = MOTION_CRUISE_VELOCITY + 1,
+            MOTION_PROFILE_TRAJECTORY_PERIOD = MOTION_ACCELERATION + 1,
+            VOLTAGE_COMP_SATURATION = MOTION_PROFILE_TRAJECTORY_PERIOD + 1,
+            VOLTAGE_MEASUREMENT_FILTER = VOLTAGE_COMP_SATURATION + 1,
+            CONTINUOUS_CURRENT_LIMIT = VOLTAGE_MEASUREMENT_FILTER + 1,
+            PEAK_CURRENT_LIMIT = CONTINUOUS_CURRENT_LIMIT + 1, PEAK_CURRENT_DURATION = PEAK_CURRENT_LIMIT + 1,
+            NUM_PARAMS = PEAK_CURRENT_DURATION + 1;
+
+    /**
+     * How long to wait for each config write and read to be acknowledged during initialization, in milliseconds.
+     */
+    private static final int INIT_TIMEOUT_MS = 30;
+
+    /**
+     * How far a read-back value can be from the written one and still match, since the Talon stores most parameters
+     * in fixed point.
+     */
+    private static final double ABSOLUTE_TOLERANCE = 2e-3, RELATIVE_TOLERANCE = 1e-3;
+
+    /**
+     * The Talon parameter each index is stored in, and its name for reporting.
+     */
+    @NotNull
+    private static final ParamEnum[] PARAMS = new ParamEnum[NUM_PARAMS];
+    @NotNull
+    private static final String[] NAMES = new String[NUM_PARAMS];
+
+    static {
+        for (int slot = 0; slot < NUM_SLOTS; slot++) {
+            describe(KP + slot, ParamEnum.eProfileParamSlot_P, "kP" + slot);
+            describe(KI + slot, ParamEnum.eProfileParamSlot_I, "kI" + slot);
+            describe(KD + slot, ParamEnum.eProfileParamSlot_D, "kD" + slot);
+            describe(KF + slot, ParamEnum.eProfileParamSlot_F, "kF" + slot);
+        }
+        describe(PEAK_OUTPUT_FWD, ParamEnum.ePeakPosOutput, "peakOutputFwd");
+        describe(PEAK_OUTPUT_REV, ParamEnum.ePeakNegOutput, "peakOutputRev");
+        describe(NOMINAL_OUTPUT_FWD, ParamEnum.eNominalPosOutput, "nominalOutputFwd");
+        describe(NOMINAL_OUTPUT_REV, ParamEnum.eNominalNegOutput, "nominalOutputRev");
+        describe(CLOSED_LOOP_RAMP, ParamEnum.eClosedloopRamp, "closedLoopRamp");
+        describe(OPEN_LOOP_RAMP, ParamEnum.eOpenloopRamp, "openLoopRamp");
+        describe(MOTION_CRUISE_VELOCITY, ParamEnum.eMotMag_VelCruise, "motionCruiseVelocity");
+        describe(MOTION_ACCELERATION, ParamEnum.eMotMag_Accel, "motionAcceleration");
+        //The trajectory period isn't readable, so it's written but not verified.
+        describe(MOTION_PROFILE_TRAJECTORY_PERIOD, null, "motionProfileTrajectoryPeriod");
+        describe(VOLTAGE_COMP_SATURATION, ParamEnum.eNominalBatteryVoltage, "voltageCompSaturation");
+        describe(VOLTAGE_MEASUREMENT_FILTER, ParamEnum.eBatteryVoltageFilterSize, "voltageMeasurementFilter");
+        describe(CONTINUOUS_CURRENT_LIMIT, ParamEnum.eContinuousCurrentLimitAmps, "continuousCurrentLimit");
+        describe(PEAK_CURRENT_LIMIT, ParamEnum.ePeakCurrentLimitAmps, "peakCurrentLimit");
+        describe(PEAK_CURRENT_DURATION, ParamEnum.ePeakCurrentLimitMs, "peakCurrentDuration");
+    }
+
+    /**
+     * The Talon to write configs to.
+     */
+    @NotNull
+    private final TalonDevice talon;
+
+    /**
+     * The last value successfully written to each parameter, or NaN if it's unknown.
+     */
+    @NotNull
+    private final double[] shadow;
+
+    /**
+     * The values waiting to be written to each parameter during initialization, or NaN if there isn't one.
+     */
+    @NotNull
+    private final double[] pending;
+
+    /**
+     * The setup calls held for {@link DeviceInitializer} to make, in the order they were given.
+     */
+    @NotNull
+    private final List<IntConsumer> setup;
+
+    /**
+     * Whether writes are being held for {@link DeviceInitializer} to send.
+     */
+    private boolean deferred;
+
+    /**
+     * The number of config writes sent to the Talon and skipped because they wouldn't change anything.
+     */
+    private long sent, suppressed;
+
+    /**
+     * Default constructor. Writes are held until {@link DeviceInitializer} runs if it hasn't yet, and sent immediately
+     * otherwise.
+     *
+     * @param talon The Talon to write configs to.
+     */
+    TalonConfigShadow(@NotNull TalonDevice talon) {
+        this.talon = talon;
+        this.shadow = new double[NUM_PARAMS];
+        this.pending = new double[NUM_PARAMS];
+        this.setup = new ArrayList<>();
+        //NaN never equals anything, so the first write to every parameter is always sent.
+        Arrays.fill(shadow, Double.NaN);
+        Arrays.fill(pending, Double.NaN);
+        this.deferred = DeviceInitializer.register("talon_" + talon.getDeviceID(), this::initialize);
+    }
+
+    /**
+     * Set the Talon parameter and name for an index.
+     *
+     * @param index The index of the parameter.
+     * @param param The Talon parameter, or null if it can't be read back.
+     * @param name  The name of the parameter.
+     */
+    private static void describe(int index, @Nullable ParamEnum param, @NotNull String name) {
+        PARAMS[index] = param;
+        NAMES[index] = name;
+    }
+
+    /**
+     * @param index The index of a parameter.
+     * @return The ordinal to read or write the parameter with, which is the slot for PIDF gains.
+     */
+    private static int ordinal(int index) {
+        return index < PEAK_OUTPUT_FWD ? index % NUM_SLOTS : 0;
+    }
+
+    /**
+     * Write a value to a parameter, unless it wouldn't change anything. While deferred, the value is held instead.
+     *
+     * @param index     The index of the parameter.
+     * @param value     The value to write.
+     * @param timeoutMs How long to wait for the write to be acknowledged, or 0 to not wait.
+     * @return The result of the write, or OK if it was skipped or held.
+     */
+    @NotNull
+    private synchronized ErrorCode write(int index, double value, int timeoutMs) {
+        if (deferred) {
+            pending[index] = value;
+            return ErrorCode.OK;
+        }
+        if (shadow[index] == value) {
+            suppressed++;
+            return ErrorCode.OK;
+        }
+        return send(index, value, timeoutMs);
+    }
+
+    /**
+     * Make setup calls on the Talon that aren't config parameters this shadows, like limit switch sources, soft limits,
+     * inversion, and sensor selection. While deferred, they're held and made on the initializer's thread before any
+     * held parameter is sent, so they don't block the map from loading.
+     *
+     * @param calls The calls to make on the Talon, given the timeout to use for any that take one: long enough to be
+     *              acknowledged on the initializer's thread, and 0 to not wait otherwise.
+     */
+    synchronized void setup(@NotNull IntConsumer calls) {
+        if (deferred) {
+            setup.add(calls);
+        } else {
+            calls.accept(0);
+        }
+    }
+
+    /**
+     * Send a value to the Talon and update the shadow. Writes that fail aren't remembered, so they're retried the
+     * next time.
+     *
+     * @param index     The index of the parameter.
+     * @param value     The value to write.
+     * @param timeoutMs How long to wait for the write to be acknowledged, or 0 to not wait.
+     * @return The result of the write.
+     */
+    @NotNull
+    private ErrorCode send(int index, double value, int timeoutMs) {
+        sent++;
+        ErrorCode result;
+        int slot = ordinal(index);
+        if (index < KI) {
+            result = talon.config_kP(slot, value, timeoutMs);
+        } else if (index < KD) {
+            result = talon.config_kI(slot, value, timeoutMs);
+        } else if (index < KF) {
+            result = talon.config_kD(slot, value, timeoutMs);
+        } else if (index < PEAK_OUTPUT_FWD) {
+            result = talon.config_kF(slot, value, timeoutMs);
+        } else {
+            switch (index) {
+                case PEAK_OUTPUT_FWD:
+                    result = talon.configPeakOutputForward(value, timeoutMs);
+                    break;
+                case PEAK_OUTPUT_REV:
+                    result = talon.configPeakOutputReverse(value, timeoutMs);
+                    break;
+                case NOMINAL_OUTPUT_FWD:
+                    result = talon.configNominalOutputForward(value, timeoutMs);
+                    break;
+                case NOMINAL_OUTPUT_REV:
+                    result = talon.configNominalOutputReverse(value, timeoutMs);
+                    break;
+                case CLOSED_LOOP_RAMP:
+                    result = talon.configClosedloopRamp(value, timeoutMs);
+                    break;
+                case OPEN_LOOP_RAMP:
+                    result = talon.configOpenloopRamp(value, timeoutMs);
+                    break;
+                case MOTION_CRUISE_VELOCITY:
+                    result = talon.configMotionCruiseVelocity((int) value, timeoutMs);
+                    break;
+                case MOTION_ACCELERATION:
+                    result = talon.configMotionAcceleration((int) value, timeoutMs);
+                    break;
+                case MOTION_PROFILE_TRAJECTORY_PERIOD:
+                    result = talon.configMotionProfileTrajectoryPeriod((int) value, timeoutMs);
+                    break;
+                case VOLTAGE_COMP_SATURATION:
+                    result = talon.configVoltageCompSaturation(value, timeoutMs);
+                    break;
+                case VOLTAGE_MEASUREMENT_FILTER:
+                    result = talon.configVoltageMeasurementFilter((int) value, timeoutMs);
+                    break;
+                case CONTINUOUS_CURRENT_LIMIT:
+                    result = talon.configContinuousCurrentLimit((int) value, timeoutMs);
+                    break;
+                case PEAK_CURRENT_LIMIT:
+                    result = talon.configPeakCurrentLimit((int) value, timeoutMs);
+                    break;
+                default:
+                    result = talon.configPeakCurrentDuration((int) value, timeoutMs);
+                    break;
+            }
+        }
+        shadow[index] = result == ErrorCode.OK ? value : Double.NaN;
+        return result;
+    }
+
+    /**
+     * Make every held setup call, then send every held value, waiting for each to be acknowledged, then read them all
+     * back and resend any that don't match once. Called by {@link DeviceInitializer} on its own thread, after which
+     * setup calls and writes are made immediately.
+     *
+     * @return The parameters that still don't match, or null if they all do.
+     */
+    @Nullable
+    private synchronized String initialize() {
+        deferred = false;
+        for (IntConsumer calls : setup) {
+            calls.accept(INIT_TIMEOUT_MS);
+        }
+        setup.clear();
+        for (int i = 0; i < NUM_PARAMS; i++) {
+            if (!Double.isNaN(pending[i])) {
+                send(i, pending[i], INIT_TIMEOUT_MS);
+            }
+        }
+        List<Integer> mismatched = verify();
+        if (!mismatched.isEmpty()) {
+            for (int i : mismatched) {
+                send(i, pending[i], INIT_TIMEOUT_MS);
+            }
+            mismatched = verify();
+        }
+        String result = null;
+        if (!mismatched.isEmpty()) {
+            StringBuilder problem = new StringBuilder("didn't take config");
+            for (int i : mismatched) {
+                problem.append(' ').append(NAMES[i]).append('=').append(pending[i]);
+                //Forget the value so the next write to this parameter is sent.
+                shadow[i] = Double.NaN;
+            }
+            result = problem.toString();
+        }
+        Arrays.fill(pending, Double.NaN);
+        return result;
+    }
+
+    /**
+     * Read back every held value and compare it to what was written.
+     *
+     * @return The indices of the parameters that failed to write or read back differently.
+     */
+    @NotNull
+    private List<Integer> verify() {
+        List<Integer> mismatched = new ArrayList<>();
+        for (int i = 0; i < NUM_PARAMS; i++) {
+            if (Double.isNaN(pending[i])) {
+                continue;
+            }
+            if (Double.isNaN(shadow[i])) {
+                //The write itself failed.
+                mismatched.add(i);
+            } else if (PARAMS[i] != null) {
+                double actual = talon.configGetParameter(PARAMS[i], ordinal(i), INIT_TIMEOUT_MS);
+                if (Math.abs(actual - pending[i]) > ABSOLUTE_TOLERANCE + RELATIVE_TOLERANCE * Math.abs(pending[i])) {
+                    mismatched.add(i);
+                }
+            }
+        }
+        return mismatched;
+    }
+
+    @NotNull
+    ErrorCode config_kP(int slot, double value, int timeoutMs) {
+        return write(KP + slot, value, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode config_kI(int slot, double value, int timeoutMs) {
+        return write(KI + slot, value, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode config_kD(int slot, double value, int timeoutMs) {
+        return write(KD + slot, value, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode config_kF(int slot, double value, int timeoutMs) {
+        return write(KF + slot, value, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configPeakOutputForward(double value, int timeoutMs) {
+        return write(PEAK_OUTPUT_FWD, value, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configPeakOutputReverse(double value, int timeoutMs) {
+        return write(PEAK_OUTPUT_REV, value, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configNominalOutputForward(double value, int timeoutMs) {
+        return write(NOMINAL_OUTPUT_FWD, value, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configNominalOutputReverse(double value, int timeoutMs) {
+        return write(NOMINAL_OUTPUT_REV, value, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configClosedloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+        return write(CLOSED_LOOP_RAMP, secondsFromNeutralToFull, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configOpenloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+        return write(OPEN_LOOP_RAMP, secondsFromNeutralToFull, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configMotionCruiseVelocity(int sensorUnitsPer100ms, int timeoutMs) {
+        return write(MOTION_CRUISE_VELOCITY, sensorUnitsPer100ms, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configMotionAcceleration(int sensorUnitsPer100msPerSec, int timeoutMs) {
+        return write(MOTION_ACCELERATION, sensorUnitsPer100msPerSec, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configMotionProfileTrajectoryPeriod(int baseTrajDurationMs, int timeoutMs) {
+        return write(MOTION_PROFILE_TRAJECTORY_PERIOD, baseTrajDurationMs, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configVoltageCompSaturation(double voltage, int timeoutMs) {
+        return write(VOLTAGE_COMP_SATURATION, voltage, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configVoltageMeasurementFilter(int filterWindowSamples, int timeoutMs) {
+        return write(VOLTAGE_MEASUREMENT_FILTER, filterWindowSamples, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configContinuousCurrentLimit(int amps, int timeoutMs) {
+        return write(CONTINUOUS_CURRENT_LIMIT, amps, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configPeakCurrentLimit(int amps, int timeoutMs) {
+        return write(PEAK_CURRENT_LIMIT, amps, timeoutMs);
+    }
+
+    @NotNull
+    ErrorCode configPeakCurrentDuration(int milliseconds, int timeoutMs) {
+        return write(PEAK_CURRENT_DURATION, milliseconds, timeoutMs);
+    }
+
+    /**
+     * @return The number of config writes sent to the Talon.
+     */
+    synchronized long getSent() {
+        return sent;
+    }
+
+    /**
+     * @return The number of config writes skipped because they wouldn't change anything.
+     */
+    synchronized long getSuppressed() {
+        return suppressed;
+    }
+}
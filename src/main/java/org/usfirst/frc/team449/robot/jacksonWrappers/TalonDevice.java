@@ -0,0 +1,524 @@
+package org.usfirst.frc.team449.robot.jacksonWrappers;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.ParamEnum;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.feedForwardComponent.FeedForwardComponent;
+import org.usfirst.frc.team449.robot.simulation.SimTalon;
+import org.usfirst.frc.team449.robot.simulation.Simulation;
+
+/**
+ * The parts of a Talon SRX that our wrappers use. Method signatures match
+ * {@link com.ctre.phoenix.motorcontrol.can.TalonSRX} so the hardware implementation is just the CTRE class, and a
+ * simulated implementation can stand in for it when there's no CAN bus.
+ */
+public interface TalonDevice {
+
+    /**
+     * Create the Talon for the given CAN ID: the real one on the robot, or a simulated one when running in simulation.
+     *
+     * @param port The CAN ID of the Talon.
+     * @return The Talon.
+     */
+    @NotNull
+    static TalonDevice create(int port) {
+        return Simulation.isEnabled() ? new SimTalon(port) : new HardwareTalon(port);
+    }
+
+    /**
+     * Tell a simulated Talon what it's driving so it can model it. Does nothing on a real Talon.
+     *
+     * @param feedForward   The feedforward for the current gear, used as the model of the motor and gearbox.
+     * @param maxSpeed      The max speed for the current gear, in feet/sec, used when the feedforward doesn't describe
+     *                      the motor. Can be null.
+     * @param nativePerFoot The number of encoder ticks per foot of travel.
+     */
+    default void setPlantModel(@NotNull FeedForwardComponent feedForward, @Nullable Double maxSpeed,
+                               double nativePerFoot) {
+    }
+
+    /**
+     * @return Whether the forward limit switch is closed.
+     */
+    boolean isFwdLimitSwitchClosed();
+
+    /**
+     * @return Whether the reverse limit switch is closed.
+     */
+    boolean isRevLimitSwitchClosed();
+
+    /**
+     * @return The CAN ID of the Talon.
+     */
+    int getDeviceID();
+
+    /**
+     * Set the output of the Talon.
+     *
+     * @param mode        The control mode to run in.
+     * @param outputValue The setpoint, in the units of the control mode: percent output, native sensor units, or the
+     *                    master's CAN ID when following.
+     */
+    void set(ControlMode mode, double outputValue);
+
+    /**
+     * Set the output of the Talon with a second demand added to it.
+     *
+     * @param mode        The control mode to run in.
+     * @param demand0     The setpoint, in the units of the control mode.
+     * @param demand1Type What the second demand is, e.g. an arbitrary feedforward.
+     * @param demand1     The second demand, e.g. a feedforward in percent output.
+     */
+    void set(ControlMode mode, double demand0, DemandType demand1Type, double demand1);
+
+    /**
+     * @return The control mode the Talon is running in.
+     */
+    ControlMode getControlMode();
+
+    /**
+     * Set whether the motor output is inverted.
+     *
+     * @param invert Whether to invert the output.
+     */
+    void setInverted(boolean invert);
+
+    /**
+     * Set whether the motor output is inverted, or whether to match or oppose the master's inversion.
+     *
+     * @param invertType How to invert the output.
+     */
+    void setInverted(InvertType invertType);
+
+    /**
+     * Set whether the motor brakes or coasts when given no output.
+     *
+     * @param neutralMode Brake or coast.
+     */
+    void setNeutralMode(NeutralMode neutralMode);
+
+    /**
+     * Set whether the sensor reads in the opposite direction from the motor output.
+     *
+     * @param phaseSensor Whether to flip the sensor's direction.
+     */
+    void setSensorPhase(boolean phaseSensor);
+
+    /**
+     * Choose which gain slot the closed loop uses.
+     *
+     * @param slotIdx The gain slot to use.
+     * @param pidIdx  The PID loop to use it in. 0 is the primary loop.
+     */
+    void selectProfileSlot(int slotIdx, int pidIdx);
+
+    /**
+     * Turn the configured current limit on or off.
+     *
+     * @param enable Whether to limit current.
+     */
+    void enableCurrentLimit(boolean enable);
+
+    /**
+     * Turn voltage compensation on or off. Output is scaled to the configured saturation voltage when it's on.
+     *
+     * @param enable Whether to compensate for battery voltage.
+     */
+    void enableVoltageCompensation(boolean enable);
+
+    /**
+     * Set how often the RIO sends a control frame to the Talon.
+     *
+     * @param frame    The control frame.
+     * @param periodMs The period, in milliseconds.
+     * @return The error code from the Talon.
+     */
+    ErrorCode setControlFramePeriod(ControlFrame frame, int periodMs);
+
+    /**
+     * Set how often the Talon sends a status frame.
+     *
+     * @param frame     The status frame.
+     * @param periodMs  The period, in milliseconds.
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode setStatusFramePeriod(StatusFrameEnhanced frame, int periodMs, int timeoutMs);
+
+    /**
+     * Choose which sensor a PID loop uses.
+     *
+     * @param feedbackDevice The sensor.
+     * @param pidIdx         The PID loop. 0 is the primary loop.
+     * @param timeoutMs      How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configSelectedFeedbackSensor(FeedbackDevice feedbackDevice, int pidIdx, int timeoutMs);
+
+    /**
+     * Configure the forward limit switch as one wired to this Talon, or turn it off.
+     *
+     * @param type              Where the switch is wired.
+     * @param normalOpenOrClose Whether the switch is normally open, normally closed, or disabled.
+     * @param timeoutMs         How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configForwardLimitSwitchSource(LimitSwitchSource type, LimitSwitchNormal normalOpenOrClose,
+                                             int timeoutMs);
+
+    /**
+     * Configure the forward limit switch as one wired to another CAN device.
+     *
+     * @param type              Which kind of device the switch is wired to.
+     * @param normalOpenOrClose Whether the switch is normally open, normally closed, or disabled.
+     * @param deviceID          The CAN ID of the device the switch is wired to.
+     * @param timeoutMs         How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configForwardLimitSwitchSource(RemoteLimitSwitchSource type, LimitSwitchNormal normalOpenOrClose,
+                                             int deviceID, int timeoutMs);
+
+    /**
+     * Configure the reverse limit switch as one wired to this Talon, or turn it off.
+     *
+     * @param type              Where the switch is wired.
+     * @param normalOpenOrClose Whether the switch is normally open, normally closed, or disabled.
+     * @param timeoutMs         How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configReverseLimitSwitchSource(LimitSwitchSource type, LimitSwitchNormal normalOpenOrClose,
+                                             int timeoutMs);
+
+    /**
+     * Configure the reverse limit switch as one wired to another CAN device.
+     *
+     * @param type              Which kind of device the switch is wired to.
+     * @param normalOpenOrClose Whether the switch is normally open, normally closed, or disabled.
+     * @param deviceID          The CAN ID of the device the switch is wired to.
+     * @param timeoutMs         How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configReverseLimitSwitchSource(RemoteLimitSwitchSource type, LimitSwitchNormal normalOpenOrClose,
+                                             int deviceID, int timeoutMs);
+
+    /**
+     * Turn the forward soft limit on or off.
+     *
+     * @param enable    Whether to stop forward motion past the threshold.
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configForwardSoftLimitEnable(boolean enable, int timeoutMs);
+
+    /**
+     * Set the forward soft limit.
+     *
+     * @param forwardSensorLimit The limit, in native sensor units.
+     * @param timeoutMs          How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configForwardSoftLimitThreshold(int forwardSensorLimit, int timeoutMs);
+
+    /**
+     * Turn the reverse soft limit on or off.
+     *
+     * @param enable    Whether to stop reverse motion past the threshold.
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configReverseSoftLimitEnable(boolean enable, int timeoutMs);
+
+    /**
+     * Set the reverse soft limit.
+     *
+     * @param reverseSensorLimit The limit, in native sensor units.
+     * @param timeoutMs          How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configReverseSoftLimitThreshold(int reverseSensorLimit, int timeoutMs);
+
+    /**
+     * Set the proportional gain of a gain slot.
+     *
+     * @param slotIdx   The gain slot.
+     * @param value     The gain, in 1023ths of full output per native unit of error.
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode config_kP(int slotIdx, double value, int timeoutMs);
+
+    /**
+     * Set the integral gain of a gain slot.
+     *
+     * @param slotIdx   The gain slot.
+     * @param value     The gain, in 1023ths of full output per native unit of accumulated error.
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode config_kI(int slotIdx, double value, int timeoutMs);
+
+    /**
+     * Set the derivative gain of a gain slot.
+     *
+     * @param slotIdx   The gain slot.
+     * @param value     The gain, in 1023ths of full output per native unit of change in error.
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode config_kD(int slotIdx, double value, int timeoutMs);
+
+    /**
+     * Set the feedforward gain of a gain slot.
+     *
+     * @param slotIdx   The gain slot.
+     * @param value     The gain, in 1023ths of full output per native unit of setpoint.
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode config_kF(int slotIdx, double value, int timeoutMs);
+
+    /**
+     * Set the largest forward output the Talon will give.
+     *
+     * @param percentOut The max output, from 0 to 1.
+     * @param timeoutMs  How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configPeakOutputForward(double percentOut, int timeoutMs);
+
+    /**
+     * Set the largest reverse output the Talon will give.
+     *
+     * @param percentOut The max output, from -1 to 0.
+     * @param timeoutMs  How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configPeakOutputReverse(double percentOut, int timeoutMs);
+
+    /**
+     * Set the smallest forward output the Talon will give when not in neutral.
+     *
+     * @param percentOut The min output, from 0 to 1.
+     * @param timeoutMs  How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configNominalOutputForward(double percentOut, int timeoutMs);
+
+    /**
+     * Set the smallest reverse output the Talon will give when not in neutral.
+     *
+     * @param percentOut The min output, from -1 to 0.
+     * @param timeoutMs  How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configNominalOutputReverse(double percentOut, int timeoutMs);
+
+    /**
+     * Set the output ramp for closed-loop modes.
+     *
+     * @param secondsFromNeutralToFull How long going from no output to full output should take, in seconds. 0
+     *                                 turns the ramp off.
+     * @param timeoutMs                How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configClosedloopRamp(double secondsFromNeutralToFull, int timeoutMs);
+
+    /**
+     * Set the output ramp for open-loop modes.
+     *
+     * @param secondsFromNeutralToFull How long going from no output to full output should take, in seconds. 0
+     *                                 turns the ramp off.
+     * @param timeoutMs                How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configOpenloopRamp(double secondsFromNeutralToFull, int timeoutMs);
+
+    /**
+     * Set the cruise velocity for motion magic.
+     *
+     * @param sensorUnitsPer100ms The velocity, in native units per 100ms.
+     * @param timeoutMs           How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configMotionCruiseVelocity(int sensorUnitsPer100ms, int timeoutMs);
+
+    /**
+     * Set the acceleration for motion magic.
+     *
+     * @param sensorUnitsPer100msPerSec The acceleration, in native units per 100ms per second.
+     * @param timeoutMs                 How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configMotionAcceleration(int sensorUnitsPer100msPerSec, int timeoutMs);
+
+    /**
+     * Set the base duration of motion profile points, which each point's own duration is added to.
+     *
+     * @param baseTrajDurationMs The base duration, in milliseconds.
+     * @param timeoutMs          How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configMotionProfileTrajectoryPeriod(int baseTrajDurationMs, int timeoutMs);
+
+    /**
+     * Set the voltage that full output is scaled to when voltage compensation is on.
+     *
+     * @param voltage   The saturation voltage, in volts.
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configVoltageCompSaturation(double voltage, int timeoutMs);
+
+    /**
+     * Set how many samples of bus voltage are averaged for voltage compensation.
+     *
+     * @param filterWindowSamples The number of samples.
+     * @param timeoutMs           How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configVoltageMeasurementFilter(int filterWindowSamples, int timeoutMs);
+
+    /**
+     * Set the current the Talon limits to once the peak limit has been exceeded for the peak duration.
+     *
+     * @param amps      The continuous current limit, in amps.
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configContinuousCurrentLimit(int amps, int timeoutMs);
+
+    /**
+     * Set the current the Talon allows for up to the peak duration.
+     *
+     * @param amps      The peak current limit, in amps.
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configPeakCurrentLimit(int amps, int timeoutMs);
+
+    /**
+     * Set how long the current can stay above the peak limit before it's limited to the continuous limit.
+     *
+     * @param milliseconds The peak duration, in milliseconds.
+     * @param timeoutMs    How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode configPeakCurrentDuration(int milliseconds, int timeoutMs);
+
+    /**
+     * Read a configuration parameter back from the Talon.
+     *
+     * @param paramEnum The parameter.
+     * @param ordinal   Which instance of the parameter, e.g. the gain slot.
+     * @param timeoutMs How long to wait for the Talon to answer, in milliseconds.
+     * @return The value of the parameter.
+     */
+    double configGetParameter(ParamEnum paramEnum, int ordinal, int timeoutMs);
+
+    /**
+     * @param pidIdx The PID loop whose sensor to read. 0 is the primary loop.
+     * @return The sensor position, in native units.
+     */
+    int getSelectedSensorPosition(int pidIdx);
+
+    /**
+     * @param pidIdx The PID loop whose sensor to read. 0 is the primary loop.
+     * @return The sensor velocity, in native units per 100ms.
+     */
+    int getSelectedSensorVelocity(int pidIdx);
+
+    /**
+     * Overwrite the sensor position, e.g. to zero it.
+     *
+     * @param sensorPos The new position, in native units.
+     * @param pidIdx    The PID loop whose sensor to set. 0 is the primary loop.
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode setSelectedSensorPosition(int sensorPos, int pidIdx, int timeoutMs);
+
+    /**
+     * @param pidIdx The PID loop. 0 is the primary loop.
+     * @return The closed-loop error, in native units, or native units per 100ms in velocity mode.
+     */
+    int getClosedLoopError(int pidIdx);
+
+    /**
+     * @return The voltage the Talon is giving the motor, in volts.
+     */
+    double getMotorOutputVoltage();
+
+    /**
+     * @return The voltage at the Talon's input, in volts.
+     */
+    double getBusVoltage();
+
+    /**
+     * @return The current through the motor, in amps.
+     */
+    double getOutputCurrent();
+
+    /**
+     * Read the Talon's active faults.
+     *
+     * @param toFill The faults object to fill in, so none is allocated.
+     * @return The error code from the Talon.
+     */
+    ErrorCode getFaults(Faults toFill);
+
+    /**
+     * @return The position of the motion profile point being run, in native units.
+     */
+    int getActiveTrajectoryPosition();
+
+    /**
+     * @return The velocity of the motion profile point being run, in native units per 100ms.
+     */
+    int getActiveTrajectoryVelocity();
+
+    /**
+     * Read the state of the motion profile buffers.
+     *
+     * @param statusToFill The status object to fill in, so none is allocated.
+     * @return The error code from the Talon.
+     */
+    ErrorCode getMotionProfileStatus(MotionProfileStatus statusToFill);
+
+    /**
+     * Clear the flag set when the bottom motion profile buffer ran out of points.
+     *
+     * @param timeoutMs How long to wait for the Talon to confirm, in milliseconds. 0 doesn't wait.
+     * @return The error code from the Talon.
+     */
+    ErrorCode clearMotionProfileHasUnderrun(int timeoutMs);
+
+    /**
+     * Empty both motion profile buffers.
+     *
+     * @return The error code from the Talon.
+     */
+    ErrorCode clearMotionProfileTrajectories();
+
+    /**
+     * Add a point to the top motion profile buffer, which is on the RIO.
+     *
+     * @param trajPt The point to add.
+     * @return The error code, which isn't OK if the top buffer is full.
+     */
+    ErrorCode pushMotionProfileTrajectory(TrajectoryPoint trajPt);
+
+    /**
+     * Move points from the top motion profile buffer on the RIO to the bottom one on the Talon. Has to be called
+     * faster than the points run for the profile to play smoothly.
+     */
+    void processMotionProfileBuffer();
+
+    /**
+     * @return The number of points in the top motion profile buffer.
+     */
+    int getMotionProfileTopLevelBufferCount();
+}
@@ -0,0 +1,310 @@
+package org.usfirst.frc.team449.robot.jacksonWrappers;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
+import org.usfirst.frc.team449.robot.other.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sets a Talon's status frame periods from what's actually read from it: frames nobody reads are slowed to the
+ * maximum period, frames read every tick are sent every tick, and frames only read for logging are sent at the logging
+ * rate. Periods are retuned whenever the control mode or logging rate changes, and the frame rates of every managed
+ * Talon are summed into an estimate of CAN bus load.
+ */
+class TalonStatusFrameManager {
+
+    /**
+     * The longest period a status frame can have, in milliseconds. Used for frames nobody reads.
+     */
+    private static final int UNUSED_PERIOD_MILLIS = 255;
+
+    /**
+     * The period, in milliseconds, for frames that are read every tick of the main loop.
+     */
+    private static final int LOOP_PERIOD_MILLIS = 20;
+
+    /**
+     * The period, in milliseconds, for frames the Talon itself or a notifier needs faster than the main loop.
+     */
+    private static final int FAST_PERIOD_MILLIS = 10;
+
+    /**
+     * The approximate size of a CAN frame with an 8-byte payload, including worst-case bit stuffing, and the bit rate of
+     * the bus.
+     */
+    private static final double BITS_PER_FRAME = 150, BUS_BITS_PER_SECOND = 1e6;
+
+    /**
+     * The status frames that are managed. Listed explicitly because the enum has aliases for some frames.
+     */
+    private static final StatusFrameEnhanced[] FRAMES = {
+            StatusFrameEnhanced.Status_1_General,
+            StatusFrameEnhanced.Status_2_Feedback0,
+            StatusFrameEnhanced.Status_3_Quadrature,
+            StatusFrameEnhanced.Status_4_AinTempVbat,
+            StatusFrameEnhanced.Status_6_Misc,
+            StatusFrameEnhanced.Status_7_CommStatus,
+            StatusFrameEnhanced.Status_8_PulseWidth,
+            StatusFrameEnhanced.Status_9_MotProfBuffer,
+            StatusFrameEnhanced.Status_10_MotionMagic,
+            StatusFrameEnhanced.Status_11_UartGadgeteer,
+            StatusFrameEnhanced.Status_12_Feedback1,
+            StatusFrameEnhanced.Status_13_Base_PIDF0,
+            StatusFrameEnhanced.Status_14_Turn_PIDF1,
+            StatusFrameEnhanced.Status_15_FirmareApiStatus
+    };
+
+    /**
+     * Every manager constructed, for estimating bus load.
+     */
+    private static final List<TalonStatusFrameManager> managers = new ArrayList<>();
+
+    /**
+     * The Talon whose frames are managed.
+     */
+    @NotNull
+    private final TalonDevice talon;
+
+    /**
+     * Whether the Talon has an encoder that's read every tick, whether other motor controllers follow it, and whether
+     * it's itself a follower.
+     */
+    private final boolean hasEncoder, hasFollowers, isFollower;
+
+    /**
+     * Periods given in the map, which always take precedence over the calculated ones. Can be null.
+     */
+    @Nullable
+    private final Map<StatusFrameEnhanced, Integer> overrides;
+
+    /**
+     * The period of the control frame sent to this Talon, in milliseconds.
+     */
+    private final int controlPeriodMillis;
+
+    /**
+     * The period last successfully set for each status frame, in the same order as FRAMES. 0 if never set.
+     */
+    @NotNull
+    private final int[] periods;
+
+    /**
+     * The inputs the periods were last tuned for.
+     */
+    @Nullable
+    private ControlMode tunedMode;
+    private int tunedLoggingPeriod = -1;
+    private boolean tunedProfileLoading;
+
+    /**
+     * Whether the bus voltage is read every tick, and whether it's read alongside the output current to estimate
+     * resistance.
+     */
+    private boolean busVoltageEveryTick, busVoltageWithCurrent;
+
+    /**
+     * Default constructor.
+     *
+     * @param talon               The Talon whose frames are managed.
+     * @param hasEncoder          Whether the Talon has an encoder that's read every tick.
+     * @param hasFollowers        Whether other motor controllers follow this Talon, which they do using its general
+     *                            status frame.
+     * @param isFollower          Whether this Talon is itself a follower.
+     * @param overrides           Periods that always take precedence over the calculated ones. Can be null.
+     * @param controlPeriodMillis The period of the control frame sent to this Talon, in milliseconds.
+     */
+    TalonStatusFrameManager(@NotNull TalonDevice talon, boolean hasEncoder, boolean hasFollowers, boolean isFollower,
+                            @Nullable Map<StatusFrameEnhanced, Integer> overrides, int controlPeriodMillis) {
+        this.talon = talon;
+        this.hasEncoder = hasEncoder;
+        this.hasFollowers = hasFollowers;
+        this.isFollower = isFollower;
+        this.overrides = overrides;
+        this.controlPeriodMillis = controlPeriodMillis;
+        this.periods = new int[FRAMES.length];
+        synchronized (managers) {
+            if (managers.isEmpty()) {
+                Logger.addLoggable(new BusLoad());
+            }
+            managers.add(this);
+        }
+    }
+
+    /**
+     * Say how the bus voltage is read, so its frame isn't slowed to the logging rate when something needs it fresher.
+     * Takes effect at the next {@link TalonStatusFrameManager#tune}.
+     *
+     * @param everyTick   Whether the bus voltage is read every tick, like by a feedforward scheduled on it.
+     * @param withCurrent Whether the bus voltage is paired with the output current to estimate resistance.
+     */
+    synchronized void setBusVoltageUse(boolean everyTick, boolean withCurrent) {
+        busVoltageEveryTick = everyTick;
+        busVoltageWithCurrent = withCurrent;
+        //Force a retune.
+        tunedMode = null;
+    }
+
+    /**
+     * Set the status frame periods for how the Talon is currently being used, if that's changed since the last call.
+     *
+     * @param mode                The Talon's current control mode.
+     * @param loggingPeriodMillis How often, in milliseconds, the Talon's data is logged, or 0 if it isn't.
+     * @param profileLoading      Whether a motion profile is being streamed to the Talon.
+     */
+    synchronized void tune(@NotNull ControlMode mode, int loggingPeriodMillis, boolean profileLoading) {
+        if (mode == tunedMode && loggingPeriodMillis == tunedLoggingPeriod && profileLoading == tunedProfileLoading) {
+            return;
+        }
+        tunedMode = mode;
+        tunedLoggingPeriod = loggingPeriodMillis;
+        tunedProfileLoading = profileLoading;
+
+        int logged = loggingPeriodMillis > 0 ? Math.min(Math.max(loggingPeriodMillis, LOOP_PERIOD_MILLIS),
+                UNUSED_PERIOD_MILLIS) : UNUSED_PERIOD_MILLIS;
+        boolean closedLoop = mode == ControlMode.Velocity || mode == ControlMode.Position ||
+                mode == ControlMode.MotionMagic || mode == ControlMode.MotionProfile;
+        boolean onboardProfile = mode == ControlMode.MotionMagic || mode == ControlMode.MotionProfile;
+        int feedback = hasEncoder && !isFollower ? LOOP_PERIOD_MILLIS : logged;
+
+        for (int i = 0; i < FRAMES.length; i++) {
+            StatusFrameEnhanced frame = FRAMES[i];
+            int period;
+            switch (frame) {
+                case Status_1_General:
+                    //Applied output, limit switches, and faults. Followers read this to follow.
+                    period = hasFollowers ? FAST_PERIOD_MILLIS : (isFollower ? logged : Math.min(logged,
+                            LOOP_PERIOD_MILLIS));
+                    break;
+                case Status_2_Feedback0:
+                    //Selected sensor position and velocity, and output current.
+                    period = feedback;
+                    break;
+                case Status_4_AinTempVbat:
+                    //Bus voltage. Keep it as fresh as the current it's paired with for resistance, so the two aren't
+                    //from different moments, and send it every tick if a feedforward schedules on it.
+                    period = busVoltageEveryTick ? LOOP_PERIOD_MILLIS : (busVoltageWithCurrent ? feedback : logged);
+                    break;
+                case Status_13_Base_PIDF0:
+                    //Closed-loop error, which position subsystems poll every tick.
+                    period = closedLoop ? LOOP_PERIOD_MILLIS : UNUSED_PERIOD_MILLIS;
+                    break;
+                case Status_10_MotionMagic:
+                    //Active trajectory point, read by the motion magic feedforward notifier and profile checks.
+                    period = onboardProfile ? FAST_PERIOD_MILLIS : UNUSED_PERIOD_MILLIS;
+                    break;
+                case Status_9_MotProfBuffer:
+                    //Buffer counts, read while streaming a profile and while it runs.
+                    period = profileLoading || mode == ControlMode.MotionProfile ? FAST_PERIOD_MILLIS :
+                            UNUSED_PERIOD_MILLIS;
+                    break;
+                default:
+                    //Auxiliary sensors and PID, raw quadrature, pulse width, and misc frames aren't read anywhere.
+                    period = UNUSED_PERIOD_MILLIS;
+            }
+            if (overrides != null && overrides.containsKey(frame)) {
+                period = overrides.get(frame);
+            }
+            if (periods[i] != period && talon.setStatusFramePeriod(frame, period, 0) == ErrorCode.OK) {
+                periods[i] = period;
+            }
+        }
+    }
+
+    /**
+     * @return The period the selected sensor's position and velocity are sent at, in milliseconds.
+     */
+    synchronized int getFeedbackPeriodMillis() {
+        for (int i = 0; i < FRAMES.length; i++) {
+            if (FRAMES[i] == StatusFrameEnhanced.Status_2_Feedback0) {
+                //Never set means it's at its unknown factory default, so assume the slowest.
+                return periods[i] > 0 ? periods[i] : UNUSED_PERIOD_MILLIS;
+            }
+        }
+        return UNUSED_PERIOD_MILLIS;
+    }
+
+    /**
+     * @return The number of frames per second this Talon sends and receives.
+     */
+    synchronized double getFramesPerSecond() {
+        double framesPerSecond = 1000. / controlPeriodMillis;
+        for (int period : periods) {
+            //Frames that were never set are at their unknown factory default, so count them as the slowest.
+            framesPerSecond += 1000. / (period > 0 ? period : UNUSED_PERIOD_MILLIS);
+        }
+        return framesPerSecond;
+    }
+
+    /**
+     * @return The estimated fraction of the CAN bus used by all managed Talons.
+     */
+    static double getEstimatedBusLoad() {
+        return getTotalFramesPerSecond() * BITS_PER_FRAME / BUS_BITS_PER_SECOND;
+    }
+
+    /**
+     * @return The total frames per second sent and received by all managed Talons.
+     */
+    private static double getTotalFramesPerSecond() {
+        double total = 0;
+        synchronized (managers) {
+            for (TalonStatusFrameManager manager : managers) {
+                total += manager.getFramesPerSecond();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Logs the estimated CAN bus load from all managed Talons.
+     */
+    private static class BusLoad implements Loggable {
+
+        /**
+         * Get the headers for the data this subsystem logs every loop.
+         *
+         * @return An N-length array of String labels for data, where N is the length of the Object[] returned by
+         * getData().
+         */
+        @NotNull
+        @Override
+        public String[] getHeader() {
+            return new String[]{
+                    "talon_frames_per_second",
+                    "estimated_load"
+            };
+        }
+
+        /**
+         * Get the data this subsystem logs every loop.
+         *
+         * @return An N-length array of Objects, where N is the number of labels given by getHeader.
+         */
+        @NotNull
+        @Override
+        public Object[] getData() {
+            return new Object[]{
+                    getTotalFramesPerSecond(),
+                    getEstimatedBusLoad()
+            };
+        }
+
+        /**
+         * Get the name of this object.
+         *
+         * @return A string that will identify this object in the log file.
+         */
+        @NotNull
+        @Override
+        public String getLogName() {
+            return "CANBus";
+        }
+    }
+}
@@ -2,11 +2,11 @@ package org.usfirst.frc.team449.robot.oi.fieldoriented;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.oi.OI;
 
 /**
- * An OI that gives an absolute heading, relative to the field, and a velocity.
+ * An OI that gives an absolute heading, relative to the field, and a velocity. Subclasses calculate both once per tick
+ * in {@link #update()}.
  */
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT, property = "@class")
 public abstract class OIFieldOriented implements OI {
@@ -14,38 +14,20 @@ public abstract class OIFieldOriented implements OI {
     /**
      * The cached linear velocity.
      */
-    private double cachedVel;
+    protected double cachedVel;
 
     /**
-     * The cached angular setpoint.
+     * The cached angular setpoint, or NaN if there isn't one.
      */
-    @Nullable
-    private Double cachedTheta;
-
-    /**
-     * Get the absolute angle for the robot to move towards.
-     *
-     * @return An angular setpoint for the robot in degrees, where 0 is pointing at the other alliance's driver station
-     * and 90 is pointing at the left wall when looking out from the driver station. Returns null if vel is 0.
-     */
-    @Nullable
-    public abstract Double getTheta();
-
-    /**
-     * Get the velocity for the robot to go at.
-     *
-     * @return A velocity from [-1, 1].
-     */
-    public abstract double getVel();
+    protected double cachedTheta = Double.NaN;
 
     /**
      * Get the cached absolute angle for the robot to move towards.
      *
      * @return An angular setpoint for the robot in degrees, where 0 is pointing at the other alliance's driver station
-     * and 90 is pointing at the left wall when looking out from the driver station. Returns null if vel is 0.
+     * and 90 is pointing at the left wall when looking out from the driver station. Returns NaN if vel is 0.
      */
-    @Nullable
-    public Double getThetaCached() {
+    public double getThetaCached() {
         return cachedTheta;
     }
 
@@ -58,15 +40,6 @@ public abstract class OIFieldOriented implements OI {
         return cachedVel;
     }
 
-    /**
-     * Updates all cached values with current ones.
-     */
-    @Override
-    public void update() {
-        cachedVel = getVel();
-        cachedTheta = getTheta();
-    }
-
     /**
      * Get the headers for the data this subsystem logs every loop.
      *
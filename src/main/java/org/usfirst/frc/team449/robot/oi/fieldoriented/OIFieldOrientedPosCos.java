@@ -5,8 +5,8 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.oi.throttles.Throttle;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 
 /**
  * A field-oriented OI that always points the robot an angle where cosine is positive, i.e. always pointing away from
@@ -31,16 +31,6 @@ public class OIFieldOrientedPosCos extends OIFieldOriented {
      * The radius, from [0,1], within which the joystick is considered to be "at rest."
      */
     private final double rDeadband;
-    /**
-     * The theta value calculated the last time calcValues was called.
-     */
-    @Nullable
-    private Double theta;
-    /**
-     * The velocity value calculated the last time calcValues was called.
-     */
-    private double vel;
-
     /**
      * Variables for the outputs of the x and y throttles. Fields to avoid garbage collection.
      */
@@ -59,57 +49,39 @@ public class OIFieldOrientedPosCos extends OIFieldOriented {
                                  double rDeadband) {
         this.xThrottle = xThrottle;
         this.yThrottle = yThrottle;
+        //Time how long driver input takes to reach the drive.
+        xThrottle.traceLatency();
+        yThrottle.traceLatency();
         this.rDeadband = rDeadband;
     }
 
     /**
-     * Calculate the theta and vel values, can be called multiple times per tic but will only execute logic once.
+     * Read the throttles and calculate the cached theta and vel values.
      */
-    private void calcValues() {
-        x = xThrottle.getValue();
-        y = yThrottle.getValue();
-        vel = Math.sqrt(Math.pow(x, 2) + Math.pow(y, 2));
+    @Override
+    public void update() {
+        xThrottle.update();
+        yThrottle.update();
+        x = xThrottle.getValueCached();
+        y = yThrottle.getValueCached();
+        cachedVel = Math.sqrt(x * x + y * y);
 
-        //0,0ish has no angle so null
-        if (vel < rDeadband) {
-            theta = null;
-            vel = 0;
+        //0,0ish has no angle so NaN
+        if (cachedVel < rDeadband) {
+            cachedTheta = Double.NaN;
+            cachedVel = 0;
         } else {
             //Use atan2 to get angle from -180 to 180
-            theta = Math.toDegrees(Math.atan2(y, x));
-            if (theta > 90) {
-                vel *= -1;
-                theta -= 180;
-            } else if (theta < -90) {
-                vel *= -1;
-                theta += 180;
+            cachedTheta = Math.toDegrees(Math.atan2(y, x));
+            if (cachedTheta > 90) {
+                cachedVel *= -1;
+                cachedTheta -= 180;
+            } else if (cachedTheta < -90) {
+                cachedVel *= -1;
+                cachedTheta += 180;
             }
         }
-    }
-
-
-    /**
-     * Get the absolute angle for the robot to move towards.
-     *
-     * @return An angular setpoint for the robot in degrees, where 0 is pointing at the other alliance's driver station
-     * and 90 is pointing at the left wall when looking out from the driver station.
-     */
-    @Override
-    @Nullable
-    public Double getTheta() {
-        calcValues();
-        return theta;
-    }
-
-    /**
-     * Get the velocity for the robot to go at.
-     *
-     * @return A velocity from [-1, 1].
-     */
-    @Override
-    public double getVel() {
-        calcValues();
-        return vel;
+        LatencyTracer.mark(LatencyTracer.Stage.OI);
     }
 
     /**
@@ -23,4 +23,10 @@ public interface Throttle extends Updatable, Loggable {
      * @return The output from [-1, 1].
      */
     double getValueCached();
+
+    /**
+     * Start a {@link org.usfirst.frc.team449.robot.other.LatencyTracer} sample whenever this throttle's joystick is
+     * read. Called by drive OIs, so throttles for other mechanisms don't start samples.
+     */
+    void traceLatency();
 }
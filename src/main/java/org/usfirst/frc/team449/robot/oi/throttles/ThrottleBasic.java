@@ -9,6 +9,7 @@ import edu.wpi.first.wpilibj.PIDSource;
 import edu.wpi.first.wpilibj.PIDSourceType;
 import org.jetbrains.annotations.NotNull;
 import org.usfirst.frc.team449.robot.jacksonWrappers.MappedJoystick;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 
 /**
  * A class representing a single axis on a joystick.
@@ -37,6 +38,11 @@ public class ThrottleBasic implements Throttle, PIDSource {
      */
     protected double cachedOutput;
 
+    /**
+     * Whether reading the joystick starts a latency sample.
+     */
+    private boolean traced;
+
     /**
      * Default constructor.
      *
@@ -59,6 +65,9 @@ public class ThrottleBasic implements Throttle, PIDSource {
      * @return The raw joystick output, on [-1, 1].
      */
     public double getValue() {
+        if (traced) {
+            LatencyTracer.mark(LatencyTracer.Stage.INPUT);
+        }
         return (inverted ? -1 : 1) * stick.getRawAxis(axis);
     }
 
@@ -72,6 +81,15 @@ public class ThrottleBasic implements Throttle, PIDSource {
         return cachedOutput;
     }
 
+    /**
+     * Start a latency sample whenever the joystick is read.
+     */
+    @Override
+    public void traceLatency() {
+        traced = true;
+        LatencyTracer.register();
+    }
+
     /**
      * Updates all cached values with current ones.
      */
@@ -107,6 +125,9 @@ public class ThrottleBasic implements Throttle, PIDSource {
      */
     @Override
     public double pidGet() {
+        if (traced) {
+            LatencyTracer.mark(LatencyTracer.Stage.INPUT);
+        }
         return (inverted ? -1 : 1) * stick.getRawAxis(axis);
     }
 
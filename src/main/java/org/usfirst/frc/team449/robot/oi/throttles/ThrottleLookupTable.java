@@ -0,0 +1,74 @@
+package org.usfirst.frc.team449.robot.oi.throttles;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.LookupTable;
+import org.usfirst.frc.team449.robot.jacksonWrappers.MappedJoystick;
+import org.usfirst.frc.team449.robot.other.Logger;
+
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A smoothed throttle shaped by a chain of stages, like a deadband followed by a polynomial. The chain is compiled
+ * into a lookup table when the map is loaded, so shaping costs the same no matter how many stages there are.
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
+public class ThrottleLookupTable extends ThrottleDeadbanded {
+
+    /**
+     * The compiled chain of stages.
+     */
+    @NotNull
+    private final LookupTable table;
+
+    /**
+     * Default constructor.
+     *
+     * @param stick             The Joystick object being used
+     * @param axis              The axis being used. 0 is X, 1 is Y, 2 is Z.
+     * @param smoothingTimeSecs How many seconds of input to take into account when smoothing. Defaults to 0.02.
+     * @param inverted          Whether or not to invert the joystick input. Defaults to false.
+     * @param stages            The stages to shape the smoothed input with, applied in order, e.g.
+     *                          {@link org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.Deadband},
+     *                          {@link org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.ExponentialCurve},
+     *                          or {@link org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.Polynomial}.
+     *                          They must not have state.
+     * @param minPoints         The fewest points to tabulate the stages at over [-1, 1]. Odd numbers put a point at
+     *                          0. Defaults to 201.
+     * @param maxError          The most the table is allowed to differ from evaluating the stages directly. Defaults
+     *                          to 0.001.
+     */
+    @JsonCreator
+    public ThrottleLookupTable(@NotNull @JsonProperty(required = true) MappedJoystick stick,
+                               @JsonProperty(required = true) int axis,
+                               @Nullable Double smoothingTimeSecs,
+                               boolean inverted,
+                               @NotNull @JsonProperty(required = true) List<DoubleUnaryOperator> stages,
+                               @Nullable Integer minPoints,
+                               @Nullable Double maxError) {
+        super(stick, axis, 0, smoothingTimeSecs, inverted);
+        DoubleUnaryOperator chain = DoubleUnaryOperator.identity();
+        for (DoubleUnaryOperator stage : stages) {
+            chain = chain.andThen(stage);
+        }
+        this.table = new LookupTable(chain, -1, 1, minPoints != null ? minPoints : 201,
+                maxError != null ? maxError : 0.001);
+        Logger.addEvent("Compiled " + stages.size() + " throttle stages into " + table.getNumPoints() +
+                " points, max error " + table.getMaxError(), this.getClass());
+    }
+
+    /**
+     * Looks up the shaped value of the smoothed joystick output.
+     *
+     * @return The processed value of the joystick
+     */
+    @Override
+    public double getValue() {
+        return table.applyAsDouble(super.getValue());
+    }
+}
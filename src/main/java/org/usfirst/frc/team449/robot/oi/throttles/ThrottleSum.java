@@ -38,6 +38,16 @@ public class ThrottleSum implements Throttle {
         this.throttles = throttles;
     }
 
+    /**
+     * Start a latency sample whenever any of the summed throttles is read.
+     */
+    @Override
+    public void traceLatency() {
+        for (Throttle throttle : throttles) {
+            throttle.traceLatency();
+        }
+    }
+
     /**
      * Sums the throttles and returns their output
      *
@@ -33,14 +33,10 @@ public class OIOutreach implements OIUnidirectional {
     private final Button button;
 
     /**
-     * The cached outputs for the left and right sides of the drive.
+     * The OI whose outputs are being used this tick.
      */
-    private double[] cachedLeftRightOutput;
-
-    /**
-     * The cached forwards and rotational outputs.
-     */
-    private double[] cachedFwdRotOutput;
+    @NotNull
+    private OIUnidirectional activeOI;
 
     /**
      * The data to log. Field to avoid garbage collection.
@@ -54,58 +50,47 @@ public class OIOutreach implements OIUnidirectional {
         this.overridingOI = overridingOI;
         this.overridenOI = overridenOI;
         this.button = button;
+        this.activeOI = overridenOI;
     }
 
     /**
-     * The output to be given to the left and right sides of the drive.
+     * The cached output to be given to the left side of the drive.
      *
-     * @return An array of length 2, where the 1st element is the output for the left and the second for the right, both
-     * from [-1, 1].
+     * @return The output for the left side, from [-1, 1].
      */
     @Override
-    public double[] getLeftRightOutput() {
-        if (!Arrays.equals(overridingOI.getLeftRightOutput(), new double[]{0, 0}) || button.get()) {
-            return overridingOI.getLeftRightOutput();
-        } else {
-            return overridenOI.getLeftRightOutput();
-        }
+    public double getLeftOutputCached() {
+        return activeOI.getLeftOutputCached();
     }
 
     /**
-     * The cached output to be given to the left and right sides of the drive.
+     * The cached output to be given to the right side of the drive.
      *
-     * @return An array of length 2, where the 1st element is the output for the left and the second for the right, both
-     * from [-1, 1].
+     * @return The output for the right side, from [-1, 1].
      */
     @Override
-    public double[] getLeftRightOutputCached() {
-        return cachedLeftRightOutput;
+    public double getRightOutputCached() {
+        return activeOI.getRightOutputCached();
     }
 
     /**
-     * The forwards and rotational movement given to the drive.
+     * The cached forwards movement given to the drive.
      *
-     * @return An array of length 2, where the first element is the forwards output and the second is the rotational,
-     * both from [-1, 1]
+     * @return The forwards output, from [-1, 1].
      */
     @Override
-    public double[] getFwdRotOutput() {
-        if (!Arrays.equals(overridingOI.getLeftRightOutput(), new double[]{0, 0}) || button.get()) {
-            return overridingOI.getFwdRotOutput();
-        } else {
-            return overridenOI.getFwdRotOutput();
-        }
+    public double getFwdOutputCached() {
+        return activeOI.getFwdOutputCached();
     }
 
     /**
-     * The cached forwards and rotational movement given to the drive.
+     * The cached rotational movement given to the drive.
      *
-     * @return An array of length 2, where the first element is the forwards output and the second is the rotational,
-     * both from [-1, 1]
+     * @return The rotational output, from [-1, 1].
      */
     @Override
-    public double[] getFwdRotOutputCached() {
-        return cachedFwdRotOutput;
+    public double getRotOutputCached() {
+        return activeOI.getRotOutputCached();
     }
 
     /**
@@ -115,7 +100,7 @@ public class OIOutreach implements OIUnidirectional {
      */
     @Override
     public boolean commandingStraight() {
-        return getLeftRightOutputCached()[0] == getLeftRightOutputCached()[1];
+        return getLeftOutputCached() == getRightOutputCached();
     }
 
     /**
@@ -125,8 +110,12 @@ public class OIOutreach implements OIUnidirectional {
     public void update() {
         overridenOI.update();
         overridingOI.update();
-        cachedLeftRightOutput = getLeftRightOutput();
-        cachedFwdRotOutput = getFwdRotOutput();
+        //The overriding OI takes over if it has any input or the button is pressed.
+        if (overridingOI.getLeftOutputCached() != 0 || overridingOI.getRightOutputCached() != 0 || button.get()) {
+            activeOI = overridingOI;
+        } else {
+            activeOI = overridenOI;
+        }
     }
 
     /**
@@ -5,42 +5,39 @@ import org.usfirst.frc.team449.robot.oi.OI;
 
 /**
  * An OI to control a robot with a unidirectional drive that has a left and right side (e.g. not meccanum, swerve, or
- * holonomic)
+ * holonomic). Outputs are calculated once per tick in {@link #update()}, so reading them doesn't allocate or touch the
+ * joysticks.
  */
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT, property = "@class")
 public interface OIUnidirectional extends OI {
 
     /**
-     * The output to be given to the left and right sides of the drive.
+     * The cached output to be given to the left side of the drive.
      *
-     * @return An array of length 2, where the 1st element is the output for the left and the second for the right, both
-     * from [-1, 1].
+     * @return The output for the left side, from [-1, 1].
      */
-    double[] getLeftRightOutput();
+    double getLeftOutputCached();
 
     /**
-     * The cached output to be given to the left and right sides of the drive.
+     * The cached output to be given to the right side of the drive.
      *
-     * @return An array of length 2, where the 1st element is the output for the left and the second for the right, both
-     * from [-1, 1].
+     * @return The output for the right side, from [-1, 1].
      */
-    double[] getLeftRightOutputCached();
+    double getRightOutputCached();
 
     /**
-     * The forwards and rotational movement given to the drive.
+     * The cached forwards movement given to the drive.
      *
-     * @return An array of length 2, where the first element is the forwards output and the second is the rotational,
-     * both from [-1, 1]
+     * @return The forwards output, from [-1, 1].
      */
-    double[] getFwdRotOutput();
+    double getFwdOutputCached();
 
     /**
-     * The cached forwards and rotational movement given to the drive.
+     * The cached rotational movement given to the drive.
      *
-     * @return An array of length 2, where the first element is the forwards output and the second is the rotational,
-     * both from [-1, 1]
+     * @return The rotational output, from [-1, 1].
      */
-    double[] getFwdRotOutputCached();
+    double getRotOutputCached();
 
     /**
      * Whether the driver is trying to drive straight.
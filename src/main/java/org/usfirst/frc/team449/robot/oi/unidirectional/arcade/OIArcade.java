@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.jetbrains.annotations.NotNull;
 import org.usfirst.frc.team449.robot.oi.unidirectional.OIUnidirectional;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 
 /**
  * An arcade-style dual joystick OI.
@@ -16,13 +17,13 @@ public abstract class OIArcade implements OIUnidirectional {
      */
     private final boolean rescaleOutputs;
     /**
-     * Cached forwards and rotational output.
+     * Cached forwards and rotational output, set by {@link #updateFwdRot()}.
      */
-    private double[] fwdRotOutputCached;
+    protected double fwdOutputCached, rotOutputCached;
     /**
      * Cached left-right output values
      */
-    private double[] leftRightOutputCached;
+    private double leftOutputCached, rightOutputCached;
     /**
      * Unscaled, unclipped values for left and right output. Fields to avoid garbage collection.
      */
@@ -39,6 +40,11 @@ public abstract class OIArcade implements OIUnidirectional {
         this.rescaleOutputs = rescaleOutputs;
     }
 
+    /**
+     * Read the throttles and set fwdOutputCached and rotOutputCached. Called once per tick by {@link #update()}.
+     */
+    protected abstract void updateFwdRot();
+
     /**
      * Whether the driver is trying to drive straight.
      *
@@ -46,61 +52,47 @@ public abstract class OIArcade implements OIUnidirectional {
      */
     @Override
     public boolean commandingStraight() {
-        return getFwdRotOutputCached()[1] == 0;
+        return rotOutputCached == 0;
     }
 
     /**
-     * The output to be given to the left and right sides of the drive.
+     * The cached output to be given to the left side of the drive.
      *
-     * @return An array of length 2, where the 1st element is the output for the left and the second for the right, both
-     * from [-1, 1].
+     * @return The output for the left side, from [-1, 1].
      */
-    public double[] getLeftRightOutput() {
-        fwdRotOutputCached = getFwdRotOutput();
-        tmpLeft = fwdRotOutputCached[0] + fwdRotOutputCached[1];
-        tmpRight = fwdRotOutputCached[0] - fwdRotOutputCached[1];
-        //If left is too large
-        if (Math.abs(tmpLeft) > 1) {
-            if (rescaleOutputs) {
-                //Rescale right, return left clipped to [-1, 1]
-                return new double[]{Math.signum(tmpLeft), tmpRight / Math.abs(tmpLeft)};
-            } else {
-                //Return left clipped to [-1, 1], don't change right
-                return new double[]{Math.signum(tmpLeft), tmpRight};
-            }
-        } else if (Math.abs(tmpRight) > 1) { //If right is too large
-            if (rescaleOutputs) {
-                //Rescale left, return right clipped to [-1, 1]
-                return new double[]{tmpLeft / Math.abs(tmpRight), Math.signum(tmpRight)};
-            } else {
-                //Return right clipped to [-1, 1], don't change left
-                return new double[]{tmpLeft, Math.signum(tmpRight)};
-            }
-        } else {
-            //Return unaltered if nothing is too large
-            return new double[]{tmpLeft, tmpRight};
-        }
+    @Override
+    public double getLeftOutputCached() {
+        return leftOutputCached;
     }
 
     /**
-     * The cached output to be given to the left and right sides of the drive.
+     * The cached output to be given to the right side of the drive.
      *
-     * @return An array of length 2, where the 1st element is the output for the left and the second for the right, both
-     * from [-1, 1].
+     * @return The output for the right side, from [-1, 1].
      */
-    public double[] getLeftRightOutputCached() {
-        return leftRightOutputCached;
+    @Override
+    public double getRightOutputCached() {
+        return rightOutputCached;
     }
 
     /**
-     * The cached forwards and rotational movement given to the drive.
+     * The cached forwards movement given to the drive.
      *
-     * @return An array of length 2, where the first element is the forwards output and the second is the rotational,
-     * both from [-1, 1]
+     * @return The forwards output, from [-1, 1].
      */
     @Override
-    public double[] getFwdRotOutputCached() {
-        return fwdRotOutputCached;
+    public double getFwdOutputCached() {
+        return fwdOutputCached;
+    }
+
+    /**
+     * The cached rotational movement given to the drive.
+     *
+     * @return The rotational output, from [-1, 1].
+     */
+    @Override
+    public double getRotOutputCached() {
+        return rotOutputCached;
     }
 
     /**
@@ -108,8 +100,24 @@ public abstract class OIArcade implements OIUnidirectional {
      */
     @Override
     public void update() {
-        fwdRotOutputCached = getFwdRotOutput();
-        leftRightOutputCached = getLeftRightOutput();
+        updateFwdRot();
+        tmpLeft = fwdOutputCached + rotOutputCached;
+        tmpRight = fwdOutputCached - rotOutputCached;
+        //If left is too large
+        if (Math.abs(tmpLeft) > 1) {
+            //Rescale right if we're rescaling, and clip left to [-1, 1]
+            rightOutputCached = rescaleOutputs ? tmpRight / Math.abs(tmpLeft) : tmpRight;
+            leftOutputCached = Math.signum(tmpLeft);
+        } else if (Math.abs(tmpRight) > 1) { //If right is too large
+            //Rescale left if we're rescaling, and clip right to [-1, 1]
+            leftOutputCached = rescaleOutputs ? tmpLeft / Math.abs(tmpRight) : tmpLeft;
+            rightOutputCached = Math.signum(tmpRight);
+        } else {
+            //Use unaltered if nothing is too large
+            leftOutputCached = tmpLeft;
+            rightOutputCached = tmpRight;
+        }
+        LatencyTracer.mark(LatencyTracer.Stage.OI);
     }
 
     /**
@@ -138,11 +146,11 @@ public abstract class OIArcade implements OIUnidirectional {
     @Override
     public Object[] getData() {
         return new Object[]{
-                getLeftRightOutputCached()[0],
-                getLeftRightOutputCached()[1],
+                getLeftOutputCached(),
+                getRightOutputCached(),
                 commandingStraight(),
-                getFwdRotOutputCached()[0],
-                getFwdRotOutputCached()[1]
+                getFwdOutputCached(),
+                getRotOutputCached()
         };
     }
 }
@@ -40,17 +40,20 @@ public class OIArcadeSimple extends OIArcade {
         super(rescaleOutputs);
         this.rotThrottle = rotThrottle;
         this.velThrottle = velThrottle;
+        //Time how long driver input takes to reach the drive.
+        rotThrottle.traceLatency();
+        velThrottle.traceLatency();
     }
 
     /**
-     * The forwards and rotational movement given to the drive.
-     *
-     * @return An array of length 2, where the first element is the forwards output and the second is the rotational,
-     * both from [-1, 1]
+     * Read the throttles and set the cached forwards and rotational output.
      */
     @Override
-    public double[] getFwdRotOutput() {
-        return new double[]{velThrottle.getValue(), rotThrottle.getValue()};
+    protected void updateFwdRot() {
+        velThrottle.update();
+        rotThrottle.update();
+        fwdOutputCached = velThrottle.getValueCached();
+        rotOutputCached = rotThrottle.getValueCached();
     }
 
     /**
@@ -55,9 +55,9 @@ public class OIArcadeWithDPad extends OIArcade implements Loggable {
     private final double turnInPlaceRotScale;
 
     /**
-     * Forwards output. Field to avoid garbage collection.
+     * The D-pad's angle, in degrees, or -1 if it isn't pressed. Field to avoid garbage collection.
      */
-    private double fwd;
+    private int pov;
 
     /**
      * Default constructor
@@ -88,31 +88,35 @@ public class OIArcadeWithDPad extends OIArcade implements Loggable {
         this.dPadShift = (invertDPad ? -1 : 1) * dPadShift;
         this.rotThrottle = rotThrottle;
         this.fwdThrottle = fwdThrottle;
+        //Time how long driver input takes to reach the drive.
+        rotThrottle.traceLatency();
+        fwdThrottle.traceLatency();
         this.gamepad = gamepad;
         this.scaleRotByFwdPoly = scaleRotByFwdPoly;
         this.turnInPlaceRotScale = turnInPlaceRotScale;
     }
 
     /**
-     * The forwards and rotational movement given to the drive.
-     *
-     * @return An array of length 2, where the first element is the forwards output and the second is the rotational,
-     * both from [-1, 1]
+     * Read the throttles and D-pad and set the cached forwards and rotational output.
      */
     @Override
-    public double[] getFwdRotOutput() {
-        fwd = fwdThrottle.getValue();
+    protected void updateFwdRot() {
+        fwdThrottle.update();
+        rotThrottle.update();
+        fwdOutputCached = fwdThrottle.getValueCached();
+
+        pov = gamepad != null ? gamepad.getPOV() : -1;
 
         //If the gamepad is being pushed to the left or right
-        if (gamepad != null && !(gamepad.getPOV() == -1 || gamepad.getPOV() % 180 == 0)) {
+        if (!(pov == -1 || pov % 180 == 0)) {
             //Output the shift value
-            return new double[]{fwd, gamepad.getPOV() < 180 ? dPadShift : -dPadShift};
-        } else if (fwd == 0) { //Turning in place
-            return new double[]{fwd, rotThrottle.getValue() * turnInPlaceRotScale};
+            rotOutputCached = pov < 180 ? dPadShift : -dPadShift;
+        } else if (fwdOutputCached == 0) { //Turning in place
+            rotOutputCached = rotThrottle.getValueCached() * turnInPlaceRotScale;
         } else if (scaleRotByFwdPoly != null) { //If we're using Cheezy Drive
-            return new double[]{fwd, rotThrottle.getValue() * scaleRotByFwdPoly.applyAsDouble(Math.abs(fwd))};
+            rotOutputCached = rotThrottle.getValueCached() * scaleRotByFwdPoly.applyAsDouble(Math.abs(fwdOutputCached));
         } else { //Plain and simple
-            return new double[]{fwd, rotThrottle.getValue()};
+            rotOutputCached = rotThrottle.getValueCached();
         }
     }
 
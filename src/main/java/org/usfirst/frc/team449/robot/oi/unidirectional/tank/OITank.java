@@ -3,6 +3,7 @@ package org.usfirst.frc.team449.robot.oi.unidirectional.tank;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.jetbrains.annotations.NotNull;
 import org.usfirst.frc.team449.robot.oi.unidirectional.OIUnidirectional;
+import org.usfirst.frc.team449.robot.other.LatencyTracer;
 
 /**
  * A tank-style dual joystick OI.
@@ -11,72 +12,58 @@ import org.usfirst.frc.team449.robot.oi.unidirectional.OIUnidirectional;
 public abstract class OITank implements OIUnidirectional {
 
     /**
-     * Cached left and right output.
+     * Cached left and right output, set by {@link #updateLeftRight()}.
      */
-    private double[] leftRightOutputCached;
+    protected double leftOutputCached, rightOutputCached;
 
     /**
      * Cached forwards and rotational output.
      */
-    private double[] fwdRotOutputCached;
+    private double fwdOutputCached, rotOutputCached;
 
     /**
-     * Get the throttle for the left side of the drive.
-     *
-     * @return percent of max speed for left motor cluster from [-1.0, 1.0]
-     */
-    public abstract double getLeftThrottle();
-
-    /**
-     * Get the throttle for the right side of the drive.
-     *
-     * @return percent of max speed for right motor cluster from [-1.0, 1.0]
+     * Read the throttles and set leftOutputCached and rightOutputCached. Called once per tick by {@link #update()}.
      */
-    public abstract double getRightThrottle();
+    protected abstract void updateLeftRight();
 
     /**
-     * The output to be given to the left and right sides of the drive.
+     * The cached output to be given to the left side of the drive.
      *
-     * @return An array of length 2, where the 1st element is the output for the left and the second for the right, both
-     * from [-1, 1].
+     * @return The output for the left side, from [-1, 1].
      */
     @Override
-    public double[] getLeftRightOutput() {
-        return new double[]{getLeftThrottle(), getRightThrottle()};
+    public double getLeftOutputCached() {
+        return leftOutputCached;
     }
 
     /**
-     * The cached output to be given to the left and right sides of the drive.
+     * The cached output to be given to the right side of the drive.
      *
-     * @return An array of length 2, where the 1st element is the output for the left and the second for the right, both
-     * from [-1, 1].
+     * @return The output for the right side, from [-1, 1].
      */
     @Override
-    public double[] getLeftRightOutputCached() {
-        return leftRightOutputCached;
+    public double getRightOutputCached() {
+        return rightOutputCached;
     }
 
     /**
-     * The forwards and rotational movement given to the drive.
+     * The cached forwards movement given to the drive.
      *
-     * @return An array of length 2, where the first element is the forwards output and the second is the rotational,
-     * both from [-1, 1]
+     * @return The forwards output, from [-1, 1].
      */
     @Override
-    public double[] getFwdRotOutput() {
-        return new double[]{(getLeftThrottle() + getRightThrottle()) / 2.,
-                (getLeftThrottle() - getRightThrottle()) / 2.};
+    public double getFwdOutputCached() {
+        return fwdOutputCached;
     }
 
     /**
-     * The cached forwards and rotational movement given to the drive.
+     * The cached rotational movement given to the drive.
      *
-     * @return An array of length 2, where the first element is the forwards output and the second is the rotational,
-     * both from [-1, 1]
+     * @return The rotational output, from [-1, 1].
      */
     @Override
-    public double[] getFwdRotOutputCached() {
-        return fwdRotOutputCached;
+    public double getRotOutputCached() {
+        return rotOutputCached;
     }
 
     /**
@@ -84,8 +71,10 @@ public abstract class OITank implements OIUnidirectional {
      */
     @Override
     public void update() {
-        leftRightOutputCached = getLeftRightOutput();
-        fwdRotOutputCached = getFwdRotOutput();
+        updateLeftRight();
+        fwdOutputCached = (leftOutputCached + rightOutputCached) / 2.;
+        rotOutputCached = (leftOutputCached - rightOutputCached) / 2.;
+        LatencyTracer.mark(LatencyTracer.Stage.OI);
     }
 
     /**
@@ -112,8 +101,8 @@ public abstract class OITank implements OIUnidirectional {
     @Override
     public Object[] getData() {
         return new Object[]{
-                getLeftRightOutputCached()[0],
-                getLeftRightOutputCached()[1],
+                getLeftOutputCached(),
+                getRightOutputCached(),
                 commandingStraight()
         };
     }
@@ -31,6 +31,11 @@ public class OITankSimple extends OITank {
      */
     private final double commandingStraightTolerance;
 
+    /**
+     * The left and right throttle values, before being averaged. Fields to avoid garbage collection.
+     */
+    private double left, right;
+
     /**
      * Default constructor
      *
@@ -45,35 +50,29 @@ public class OITankSimple extends OITank {
                         double commandingStraightTolerance) {
         this.leftThrottle = leftThrottle;
         this.rightThrottle = rightThrottle;
+        //Time how long driver input takes to reach the drive.
+        leftThrottle.traceLatency();
+        rightThrottle.traceLatency();
         this.commandingStraightTolerance = commandingStraightTolerance;
     }
 
     /**
-     * Get the throttle for the left side of the drive.
-     *
-     * @return percent of max speed for left motor cluster from [-1.0, 1.0]
-     */
-    @Override
-    public double getLeftThrottle() {
-        //If the driver is trying to drive straight, use the average of the two sticks.
-        if (commandingStraight()) {
-            return (leftThrottle.getValue() + rightThrottle.getValue()) / 2.;
-        }
-        return leftThrottle.getValue();
-    }
-
-    /**
-     * Get the throttle for the right side of the drive.
-     *
-     * @return percent of max speed for right motor cluster from [-1.0, 1.0]
+     * Read the throttles and set the cached left and right output.
      */
     @Override
-    public double getRightThrottle() {
-        //If the driver is trying to drive straight, use the average of the two sticks.
+    protected void updateLeftRight() {
+        leftThrottle.update();
+        rightThrottle.update();
+        left = leftThrottle.getValueCached();
+        right = rightThrottle.getValueCached();
+        //If the driver was trying to drive straight last tick, use the average of the two sticks.
         if (commandingStraight()) {
-            return (leftThrottle.getValue() + rightThrottle.getValue()) / 2.;
+            leftOutputCached = (left + right) / 2.;
+            rightOutputCached = leftOutputCached;
+        } else {
+            leftOutputCached = left;
+            rightOutputCached = right;
         }
-        return rightThrottle.getValue();
     }
 
     /**
@@ -83,7 +82,7 @@ public class OITankSimple extends OITank {
      */
     @Override
     public boolean commandingStraight() {
-        return Math.abs(getLeftRightOutputCached()[0] - getLeftRightOutputCached()[1]) <= commandingStraightTolerance;
+        return Math.abs(leftOutputCached - rightOutputCached) <= commandingStraightTolerance;
     }
 
     /**
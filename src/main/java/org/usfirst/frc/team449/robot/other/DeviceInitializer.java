@@ -0,0 +1,144 @@
+package org.usfirst.frc.team449.robot.other;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Configures devices in parallel after the map is loaded. Devices register while they're constructed and hold their
+ * configuration until then, so each device's blocking config writes and read-backs happen on its own thread and boot
+ * time scales with the slowest device instead of the number of devices.
+ */
+public class DeviceInitializer {
+
+    /**
+     * The most devices to configure at once.
+     */
+    private static final int MAX_THREADS = 8;
+
+    /**
+     * Configures a device and checks that it took the configuration.
+     */
+    @FunctionalInterface
+    public interface Task {
+
+        /**
+         * Send the device its configuration and read it back. Runs on its own thread, so it must not touch any other
+         * device.
+         *
+         * @return A description of anything that didn't verify, or null if the device is configured correctly.
+         */
+        @Nullable
+        String initialize();
+    }
+
+    /**
+     * The names of the devices waiting to be initialized.
+     */
+    @NotNull
+    private static final List<String> names = new ArrayList<>();
+
+    /**
+     * The tasks that initialize each device, in the same order as names.
+     */
+    @NotNull
+    private static final List<Task> tasks = new ArrayList<>();
+
+    /**
+     * Whether devices have already been initialized.
+     */
+    private static boolean done;
+
+    /**
+     * Make constructor private so it can't be called
+     */
+    private DeviceInitializer() {
+    }
+
+    /**
+     * Add a device to be initialized once the map is loaded.
+     *
+     * @param name The name of the device, for reporting.
+     * @param task The task that initializes it.
+     * @return true if the device will be initialized later, false if initialization has already run, in which case
+     * the device should configure itself immediately.
+     */
+    public static synchronized boolean register(@NotNull String name, @NotNull Task task) {
+        if (done) {
+            return false;
+        }
+        names.add(name);
+        tasks.add(task);
+        return true;
+    }
+
+    /**
+     * Initialize every registered device, in parallel, and report how long each took. Blocks until they're all done.
+     * Devices constructed after this configure themselves immediately.
+     */
+    public static synchronized void run() {
+        done = true;
+        if (tasks.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(tasks.size(), MAX_THREADS), runnable -> {
+            Thread thread = new Thread(runnable, "deviceInit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long startNanos = System.nanoTime();
+        List<Future<String>> results = new ArrayList<>(tasks.size());
+        long[] durations = new long[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            int index = i;
+            results.add(executor.submit(() -> {
+                long taskStart = System.nanoTime();
+                try {
+                    return task.initialize();
+                } finally {
+                    durations[index] = System.nanoTime() - taskStart;
+                }
+            }));
+        }
+
+        StringBuilder report = new StringBuilder();
+        long slowest = 0;
+        int failures = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            String problem;
+            try {
+                problem = results.get(i).get();
+            } catch (ExecutionException e) {
+                problem = "threw " + e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                problem = "was interrupted";
+            }
+            slowest = Math.max(slowest, durations[i]);
+            report.append("\n  ").append(names.get(i)).append(": ")
+                    .append(String.format("%.1f", durations[i] / 1e6)).append(" ms");
+            if (problem != null) {
+                failures++;
+                report.append(", ").append(problem);
+                Logger.addEvent(names.get(i) + " " + problem, DeviceInitializer.class);
+            }
+        }
+        executor.shutdown();
+
+        String summary = "Initialized " + tasks.size() + " devices in " +
+                String.format("%.1f", (System.nanoTime() - startNanos) / 1e6) + " ms, slowest took " +
+                String.format("%.1f", slowest / 1e6) + " ms, " + failures + " didn't verify";
+        Logger.addEvent(summary, DeviceInitializer.class);
+        //Yes this should be a print statement, it's useful to see which devices are slow or misconfigured on boot.
+        System.out.println(summary + ":" + report);
+        names.clear();
+        tasks.clear();
+    }
+}
@@ -0,0 +1,327 @@
+package org.usfirst.frc.team449.robot.other;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
+
+/**
+ * Measures how long it takes driver input to reach the drive motors. A sample starts when a drive throttle's joystick is
+ * read, is stamped as it passes through the OI and the drive command, and ends when the drive is given its output.
+ * Everything in that path runs on the main thread in the same tick, so the sample in flight is the one being handled.
+ * The time spent in each stage is recorded in histograms, which are logged and cleared each time the logger runs,
+ * along with the numbers of the samples that finished since then.
+ */
+public class LatencyTracer {
+
+    /**
+     * The points in the control path that samples are stamped at, in order.
+     */
+    public enum Stage {
+        /**
+         * A drive throttle's joystick axis is read.
+         */
+        INPUT,
+        /**
+         * The OI has calculated its outputs.
+         */
+        OI,
+        /**
+         * A drive command has started acting on the OI's outputs.
+         */
+        COMMAND,
+        /**
+         * The drive has been given its output.
+         */
+        ACTUATOR
+    }
+
+    /**
+     * The stages, cached to avoid allocating a new array every call to {@link Stage#values()}.
+     */
+    private static final Stage[] STAGES = Stage.values();
+
+    /**
+     * Whether samples are being traced.
+     */
+    private static volatile boolean enabled;
+
+    /**
+     * The lock for the sample in flight and the histograms.
+     */
+    private static final Object lock = new Object();
+
+    /**
+     * When the sample in flight was stamped at each stage, in nanoseconds, or 0 if it hasn't reached that stage.
+     */
+    private static final long[] stampNanos = new long[STAGES.length];
+
+    /**
+     * The time spent between each stage and the stage after it, indexed by the later stage, and the total time. The
+     * histogram at index 0 is the total, since nothing comes before {@link Stage#INPUT}.
+     */
+    private static final Histogram[] histograms = new Histogram[STAGES.length];
+
+    /**
+     * The {@link Clock} tick the sample in flight started on, or -1 if there isn't a sample in flight.
+     */
+    private static long sampleTickMillis = -1;
+
+    /**
+     * The number of the sample in flight, or of the last sample if none is in flight.
+     */
+    private static long sampleId;
+
+    /**
+     * The numbers of the first and last samples finished since the tracer was last logged, or -1 if none have.
+     */
+    private static long firstFinishedId = -1, lastFinishedId = -1;
+
+    /**
+     * Whether the tracer has been added to the logger.
+     */
+    private static boolean registered;
+
+    static {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Make constructor private so it can't be called
+     */
+    private LatencyTracer() {
+    }
+
+    /**
+     * Add the tracer to the logger. Called when anything that samples input is constructed, since that happens while
+     * the map is loaded and before the Logger is constructed.
+     */
+    public static void register() {
+        synchronized (lock) {
+            if (!registered) {
+                Logger.addLoggable(new Metrics());
+                registered = true;
+            }
+        }
+    }
+
+    /**
+     * @return Whether samples are being traced.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start or stop tracing samples.
+     *
+     * @param enabled true to trace samples, false to stop.
+     */
+    public static void setEnabled(boolean enabled) {
+        synchronized (lock) {
+            LatencyTracer.enabled = enabled;
+            sampleTickMillis = -1;
+        }
+        Logger.addEvent((enabled ? "Started" : "Stopped") + " latency tracing", LatencyTracer.class);
+    }
+
+    /**
+     * Stamp the sample in flight at a stage. Reading input starts a new sample unless one has already started this
+     * tick, and each stage only keeps its first stamp, so the sample measures from the earliest input to the first
+     * motor. Does nothing if tracing is off.
+     *
+     * @param stage The stage the sample has reached.
+     */
+    public static void mark(@NotNull Stage stage) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (lock) {
+            if (stage == Stage.INPUT) {
+                if (sampleTickMillis != Clock.currentTimeMillis()) {
+                    //Start a new sample, dropping the last one if it never reached a motor.
+                    sampleTickMillis = Clock.currentTimeMillis();
+                    sampleId++;
+                    for (int i = 0; i < stampNanos.length; i++) {
+                        stampNanos[i] = 0;
+                    }
+                    stampNanos[Stage.INPUT.ordinal()] = now;
+                }
+            } else if (sampleTickMillis != -1 && stampNanos[stage.ordinal()] == 0) {
+                stampNanos[stage.ordinal()] = now;
+                if (stage == Stage.ACTUATOR) {
+                    finishSample();
+                }
+            }
+        }
+    }
+
+    /**
+     * Record the time between each stage the sample in flight reached and the total, then end the sample.
+     */
+    private static void finishSample() {
+        int last = Stage.INPUT.ordinal();
+        for (int i = last + 1; i < STAGES.length; i++) {
+            //Skip stages this sample didn't pass through.
+            if (stampNanos[i] != 0) {
+                histograms[i].add(stampNanos[i] - stampNanos[last]);
+                last = i;
+            }
+        }
+        histograms[0].add(stampNanos[Stage.ACTUATOR.ordinal()] - stampNanos[Stage.INPUT.ordinal()]);
+        if (firstFinishedId == -1) {
+            firstFinishedId = sampleId;
+        }
+        lastFinishedId = sampleId;
+        sampleTickMillis = -1;
+    }
+
+    /**
+     * A histogram of durations with power-of-two microsecond buckets, so adding to it is constant time and it never
+     * allocates.
+     */
+    private static class Histogram {
+
+        /**
+         * The number of buckets. The last one holds anything over about 8 seconds.
+         */
+        private static final int NUM_BUCKETS = 24;
+
+        /**
+         * The number of durations in each bucket. Bucket i holds durations from 2^(i-1) up to 2^i microseconds.
+         */
+        private final long[] buckets = new long[NUM_BUCKETS];
+
+        /**
+         * The number of durations added, and the longest one, in nanoseconds.
+         */
+        private long count, maxNanos;
+
+        /**
+         * Add a duration.
+         *
+         * @param nanos The duration, in nanoseconds.
+         */
+        void add(long nanos) {
+            long micros = Math.max(nanos / 1000, 0);
+            buckets[Math.min(64 - Long.numberOfLeadingZeros(micros), NUM_BUCKETS - 1)]++;
+            count++;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        /**
+         * Estimate a percentile as the upper edge of the bucket it falls in.
+         *
+         * @param fraction The percentile, from (0, 1].
+         * @return The duration, in milliseconds, or null if nothing has been added.
+         */
+        @Nullable
+        Double percentileMillis(double fraction) {
+            if (count == 0) {
+                return null;
+            }
+            long rank = (long) Math.ceil(fraction * count);
+            long seen = 0;
+            for (int i = 0; i < NUM_BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    //Don't report more than the longest duration actually seen.
+                    return Math.min((1L << i) / 1000., maxNanos / 1e6);
+                }
+            }
+            return maxNanos / 1e6;
+        }
+
+        /**
+         * @return The longest duration, in milliseconds, or null if nothing has been added.
+         */
+        @Nullable
+        Double maxMillis() {
+            return count == 0 ? null : maxNanos / 1e6;
+        }
+
+        /**
+         * Empty the histogram.
+         */
+        void clear() {
+            for (int i = 0; i < NUM_BUCKETS; i++) {
+                buckets[i] = 0;
+            }
+            count = 0;
+            maxNanos = 0;
+        }
+    }
+
+    /**
+     * Logs the latency of each stage since the last time it was logged.
+     */
+    private static class Metrics implements Loggable {
+
+        /**
+         * The names of each histogram in the log.
+         */
+        private static final String[] NAMES = {"total", "input_to_oi", "oi_to_command", "command_to_actuator"};
+
+        /**
+         * Get the headers for the data this subsystem logs every loop.
+         *
+         * @return An N-length array of String labels for data, where N is the length of the Object[] returned by
+         * getData().
+         */
+        @NotNull
+        @Override
+        public String[] getHeader() {
+            String[] header = new String[4 + NAMES.length * 3];
+            header[0] = "enabled";
+            header[1] = "samples";
+            header[2] = "first_sample_id";
+            header[3] = "last_sample_id";
+            for (int i = 0; i < NAMES.length; i++) {
+                header[4 + i * 3] = NAMES[i] + "_p50_ms";
+                header[5 + i * 3] = NAMES[i] + "_p99_ms";
+                header[6 + i * 3] = NAMES[i] + "_max_ms";
+            }
+            return header;
+        }
+
+        /**
+         * Get the data this subsystem logs every loop.
+         *
+         * @return An N-length array of Objects, where N is the number of labels given by getHeader.
+         */
+        @NotNull
+        @Override
+        public Object[] getData() {
+            Object[] data = new Object[4 + NAMES.length * 3];
+            synchronized (lock) {
+                data[0] = enabled;
+                data[1] = histograms[0].count;
+                //Gaps between one row's last id and the next row's first are samples that never reached the drive.
+                data[2] = firstFinishedId != -1 ? firstFinishedId : null;
+                data[3] = lastFinishedId != -1 ? lastFinishedId : null;
+                firstFinishedId = -1;
+                lastFinishedId = -1;
+                for (int i = 0; i < NAMES.length; i++) {
+                    data[4 + i * 3] = histograms[i].percentileMillis(0.5);
+                    data[5 + i * 3] = histograms[i].percentileMillis(0.99);
+                    data[6 + i * 3] = histograms[i].maxMillis();
+                    histograms[i].clear();
+                }
+            }
+            return data;
+        }
+
+        /**
+         * Get the name of this object.
+         *
+         * @return A string that will identify this object in the log file.
+         */
+        @NotNull
+        @Override
+        public String getLogName() {
+            return "LatencyTracer";
+        }
+    }
+}
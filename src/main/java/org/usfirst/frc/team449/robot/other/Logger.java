@@ -9,6 +9,7 @@ import edu.wpi.first.wpilibj.Sendable;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import org.jetbrains.annotations.NotNull;
 import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
+import org.usfirst.frc.team449.robot.simulation.Simulation;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -33,6 +34,11 @@ public class Logger implements Runnable {
      */
     private static List<Loggable> addedLoggables = new ArrayList<>();
 
+    /**
+     * The loop time of the most recently constructed Logger in milliseconds, or 0 if none has been constructed.
+     */
+    private static volatile int configuredLoopTimeMillis;
+
     /**
      * The file path for the event log.
      */
@@ -123,9 +129,10 @@ public class Logger implements Runnable {
         //Set up the file names, using a time stamp to avoid overwriting old log files.
         String timeStamp = new SimpleDateFormat("yyyy.MM.dd.HH.mm.ss").format(new Date());
         startTime = System.currentTimeMillis();
-        this.eventLogFilename = eventLogFilename + timeStamp + ".csv";
-        this.telemetryLogFilename = telemetryLogFilename + timeStamp + ".csv";
+        this.eventLogFilename = Simulation.resolvePath(eventLogFilename + timeStamp + ".csv");
+        this.telemetryLogFilename = Simulation.resolvePath(telemetryLogFilename + timeStamp + ".csv");
         this.loopTimeMillis = loopTimeMillis;
+        configuredLoopTimeMillis = loopTimeMillis;
         this.notifier = new Notifier(this);
 
         //Set up the list of loggables.
@@ -180,6 +187,15 @@ public class Logger implements Runnable {
         events.add(new LogEvent(message, caller));
     }
 
+    /**
+     * Get how often loggables are logged. Use this instead of timing calls to getData, which jitter with the notifier.
+     *
+     * @return The loop time of the logging loop in milliseconds, or 0 if no Logger has been constructed.
+     */
+    public static int getLoopTimeMillis() {
+        return configuredLoopTimeMillis;
+    }
+
     /**
      * Add a loggable to be logged. This must be called before a Logger is constructed, and so should be called in the
      * constructor of a Loggable.
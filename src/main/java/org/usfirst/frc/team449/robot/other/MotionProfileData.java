@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import org.jetbrains.annotations.NotNull;
+import org.usfirst.frc.team449.robot.simulation.Simulation;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -136,7 +137,7 @@ public class MotionProfileData {
      */
     private void readFile(@NotNull String filename) throws IOException {
         //Instantiate the reader
-        BufferedReader br = new BufferedReader(new FileReader(filename));
+        BufferedReader br = new BufferedReader(new FileReader(Simulation.resolvePath(filename)));
         int numLines = Integer.parseInt(br.readLine());
 
         //Instantiate data
@@ -207,4 +208,16 @@ public class MotionProfileData {
     public boolean resetPosition() {
         return resetPosition;
     }
+
+    /**
+     * Whether another profile can be run directly after this one without stopping to reload. The Talon runs every
+     * point at the same period and with the same gains, so those need to match.
+     *
+     * @param next The profile to run after this one.
+     * @return true if the profiles have the same point time, direction, and control mode, false otherwise.
+     */
+    public boolean canChainTo(@NotNull MotionProfileData next) {
+        return pointTimeMillis == next.pointTimeMillis && backwards == next.backwards &&
+                velocityOnly == next.velocityOnly;
+    }
 }
@@ -0,0 +1,308 @@
+package org.usfirst.frc.team449.robot.other;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.loggable.Loggable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single thread that runs all the small periodic background jobs, like moving motion profile points between buffers,
+ * instead of giving each one its own {@link edu.wpi.first.wpilibj.Notifier}. Tasks are run at a fixed rate: each run is
+ * scheduled one period after the last one was due, not after it finished. If a task falls more than a period behind, the
+ * missed runs are skipped and counted as overruns rather than run back-to-back. A task that throws is stopped and
+ * logged, and the rest keep running.
+ */
+public class PeriodicScheduler {
+
+    /**
+     * All tasks ever created. Only tasks that have been started are run.
+     */
+    @NotNull
+    private static final List<Task> tasks = new ArrayList<>();
+
+    /**
+     * The lock the scheduler thread waits on. Starting a task notifies it so it can recompute when to wake.
+     */
+    @NotNull
+    private static final Object lock = new Object();
+
+    /**
+     * The thread that runs the tasks, or null if no task has been created yet.
+     */
+    @Nullable
+    private static Thread thread;
+
+    /**
+     * Make constructor private so it can't be called
+     */
+    private PeriodicScheduler() {
+    }
+
+    /**
+     * Create a task run by the shared scheduler thread. The task doesn't run until it's started.
+     *
+     * @param name     The name of the task, used for logging.
+     * @param runnable The code to run periodically.
+     * @return The task, which can be started and stopped like a Notifier.
+     */
+    @NotNull
+    public static Task createTask(@NotNull String name, @NotNull Runnable runnable) {
+        Task task = new Task(name, runnable);
+        synchronized (lock) {
+            if (thread == null) {
+                //Add this before the Logger is constructed, which happens after the map is deserialized.
+                Logger.addLoggable(new Metrics());
+                thread = new Thread(PeriodicScheduler::runLoop, "PeriodicScheduler");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MAX_PRIORITY);
+                thread.start();
+            }
+            tasks.add(task);
+        }
+        return task;
+    }
+
+    /**
+     * @return true if called from within a task, false otherwise.
+     */
+    public static boolean isSchedulerThread() {
+        synchronized (lock) {
+            return Thread.currentThread() == thread;
+        }
+    }
+
+    /**
+     * Run tasks as they come due, forever.
+     */
+    private static void runLoop() {
+        Task next;
+        long generation;
+        while (true) {
+            synchronized (lock) {
+                next = null;
+                for (Task task : tasks) {
+                    if (task.running && (next == null || task.nextRunNanos < next.nextRunNanos)) {
+                        next = task;
+                    }
+                }
+                long waitNanos = next == null ? Long.MAX_VALUE : next.nextRunNanos - System.nanoTime();
+                if (waitNanos > 0) {
+                    try {
+                        if (next == null) {
+                            lock.wait();
+                        } else {
+                            lock.wait(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    //A task may have been started or stopped while waiting, so look again.
+                    continue;
+                }
+                generation = next.generation;
+            }
+
+            long start = System.nanoTime();
+            long lateNanos = start - next.nextRunNanos;
+            boolean failed = false;
+            try {
+                next.runnable.run();
+            } catch (RuntimeException e) {
+                //Don't let one broken task kill the thread and every other task with it.
+                Logger.addEvent("Task " + next.name + " threw " + e + ", stopping it", PeriodicScheduler.class);
+                failed = true;
+            }
+            long end = System.nanoTime();
+
+            synchronized (lock) {
+                if (failed && next.generation == generation) {
+                    next.running = false;
+                    next.generation++;
+                }
+                //Only reschedule if the task wasn't stopped or restarted while it ran.
+                if (next.generation == generation) {
+                    next.nextRunNanos += next.periodNanos;
+                    if (end > next.nextRunNanos) {
+                        //Skip the runs we've missed instead of running them back-to-back.
+                        long missed = (end - next.nextRunNanos) / next.periodNanos + 1;
+                        next.nextRunNanos += missed * next.periodNanos;
+                        next.overruns += missed;
+                    }
+                }
+                next.runs++;
+                next.maxLateNanos = Math.max(next.maxLateNanos, lateNanos);
+                next.maxRunNanos = Math.max(next.maxRunNanos, end - start);
+            }
+        }
+    }
+
+    /**
+     * A job run periodically by the scheduler thread.
+     */
+    public static class Task {
+
+        /**
+         * The name of the task, used for logging.
+         */
+        @NotNull
+        private final String name;
+
+        /**
+         * The code to run periodically.
+         */
+        @NotNull
+        private final Runnable runnable;
+
+        /**
+         * Whether the task is currently scheduled.
+         */
+        private boolean running;
+
+        /**
+         * Incremented every time the task is started or stopped, so a run that's in progress when that happens isn't
+         * rescheduled with the old period.
+         */
+        private long generation;
+
+        /**
+         * The period of the task and the {@link System#nanoTime()} it's next due at, in nanoseconds.
+         */
+        private long periodNanos, nextRunNanos;
+
+        /**
+         * The number of times the task has run and the number of runs skipped because it fell behind.
+         */
+        private long runs, overruns;
+
+        /**
+         * The most a run has started after it was due and the longest a run has taken, in nanoseconds.
+         */
+        private long maxLateNanos, maxRunNanos;
+
+        /**
+         * Default constructor.
+         *
+         * @param name     The name of the task, used for logging.
+         * @param runnable The code to run periodically.
+         */
+        private Task(@NotNull String name, @NotNull Runnable runnable) {
+            this.name = name;
+            this.runnable = runnable;
+        }
+
+        /**
+         * Run the task periodically, starting one period from now. Restarts it if it's already running.
+         *
+         * @param periodSecs The period of the task, in seconds.
+         */
+        public void startPeriodic(double periodSecs) {
+            synchronized (lock) {
+                periodNanos = Math.max((long) (periodSecs * 1e9), 1);
+                nextRunNanos = System.nanoTime() + periodNanos;
+                running = true;
+                generation++;
+                lock.notifyAll();
+            }
+        }
+
+        /**
+         * Stop running the task. Safe to call from within the task itself.
+         */
+        public void stop() {
+            synchronized (lock) {
+                running = false;
+                generation++;
+            }
+        }
+
+        /**
+         * @return The name of the task.
+         */
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The number of runs skipped because the task fell more than a period behind.
+         */
+        public long getOverruns() {
+            synchronized (lock) {
+                return overruns;
+            }
+        }
+    }
+
+    /**
+     * Logs the scheduler's load and timing across all tasks.
+     */
+    private static class Metrics implements Loggable {
+
+        /**
+         * Get the headers for the data this subsystem logs every loop.
+         *
+         * @return An N-length array of String labels for data, where N is the length of the Object[] returned by
+         * getData().
+         */
+        @NotNull
+        @Override
+        public String[] getHeader() {
+            return new String[]{
+                    "running_tasks",
+                    "runs",
+                    "overruns",
+                    "max_late_millis",
+                    "max_run_millis",
+                    "most_overrun_task"
+            };
+        }
+
+        /**
+         * Get the data this subsystem logs every loop.
+         *
+         * @return An N-length array of Objects, where N is the number of labels given by getHeader.
+         */
+        @NotNull
+        @Override
+        public Object[] getData() {
+            int running = 0;
+            long runs = 0, overruns = 0, maxLate = 0, maxRun = 0;
+            Task mostOverrun = null;
+            synchronized (lock) {
+                for (Task task : tasks) {
+                    if (task.running) {
+                        running++;
+                    }
+                    runs += task.runs;
+                    overruns += task.overruns;
+                    maxLate = Math.max(maxLate, task.maxLateNanos);
+                    maxRun = Math.max(maxRun, task.maxRunNanos);
+                    if (task.overruns > 0 && (mostOverrun == null || task.overruns > mostOverrun.overruns)) {
+                        mostOverrun = task;
+                    }
+                }
+            }
+            return new Object[]{
+                    running,
+                    runs,
+                    overruns,
+                    maxLate / 1e6,
+                    maxRun / 1e6,
+                    mostOverrun != null ? mostOverrun.name : ""
+            };
+        }
+
+        /**
+         * Get the name of this object.
+         *
+         * @return A string that will identify this object in the log file.
+         */
+        @NotNull
+        @Override
+        public String getLogName() {
+            return "PeriodicScheduler";
+        }
+    }
+}
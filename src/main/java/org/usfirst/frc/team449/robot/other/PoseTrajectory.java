@@ -0,0 +1,196 @@
+package org.usfirst.frc.team449.robot.other;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A path for the center of a differential drive, given as x, y, heading, velocity, and turning rate at evenly spaced
+ * times. Positions are relative to where the path starts, with the robot at the origin facing along the x axis, and
+ * use the same frame as the pose estimator. Sampling between points interpolates and doesn't allocate.
+ */
+public class PoseTrajectory {
+
+    /**
+     * The position of each point, in feet.
+     */
+    @NotNull
+    private final double[] x, y;
+
+    /**
+     * The heading of each point, in radians.
+     */
+    @NotNull
+    private final double[] theta;
+
+    /**
+     * The velocity of each point, in feet/second.
+     */
+    @NotNull
+    private final double[] vel;
+
+    /**
+     * The turning rate of each point, in radians/second.
+     */
+    @NotNull
+    private final double[] omega;
+
+    /**
+     * The time between points, in seconds.
+     */
+    private final double dt;
+
+    /**
+     * The index of the point at or before the last sampled time.
+     */
+    private int index;
+
+    /**
+     * How far the last sampled time was between the point at index and the one after it, from 0 to 1.
+     */
+    private double frac;
+
+    /**
+     * Default constructor.
+     *
+     * @param x     The x position of each point, in feet.
+     * @param y     The y position of each point, in feet.
+     * @param theta The heading of each point, in radians.
+     * @param vel   The velocity of each point, in feet/second.
+     * @param omega The turning rate of each point, in radians/second.
+     * @param dt    The time between points, in seconds.
+     */
+    public PoseTrajectory(@NotNull double[] x, @NotNull double[] y, @NotNull double[] theta, @NotNull double[] vel,
+                          @NotNull double[] omega, double dt) {
+        if (x.length == 0 || y.length != x.length || theta.length != x.length || vel.length != x.length ||
+                omega.length != x.length) {
+            throw new IllegalArgumentException("Every array must have the same, nonzero, number of points!");
+        }
+        this.x = x;
+        this.y = y;
+        this.theta = theta;
+        this.vel = vel;
+        this.omega = omega;
+        this.dt = dt;
+    }
+
+    /**
+     * Build the path the center of the drive follows when each side runs its profile. The heading is taken from the
+     * difference between the sides rather than the profile's angle column so it's in the same frame as the pose
+     * estimator regardless of how the profile was generated.
+     *
+     * @param left       The profile for the left side.
+     * @param right      The profile for the right side. Must have the same number of points and point time as left.
+     * @param trackWidth The distance between the left and right wheels, in feet.
+     * @return The path of the center of the drive.
+     */
+    @NotNull
+    public static PoseTrajectory fromProfiles(@NotNull MotionProfileData left, @NotNull MotionProfileData right,
+                                              double trackWidth) {
+        double[][] leftData = left.getData();
+        double[][] rightData = right.getData();
+        if (leftData.length != rightData.length || left.getPointTimeMillis() != right.getPointTimeMillis()) {
+            throw new IllegalArgumentException("left and right must have the same number of points and point time!");
+        }
+        int n = leftData.length;
+        double[] x = new double[n], y = new double[n], theta = new double[n], vel = new double[n],
+                omega = new double[n];
+
+        //The profiles don't have to start at 0, so measure everything from their first point.
+        double leftStart = n > 0 ? leftData[0][0] : 0;
+        double rightStart = n > 0 ? rightData[0][0] : 0;
+        double lastDist = 0;
+        for (int i = 0; i < n; i++) {
+            double leftPos = leftData[i][0] - leftStart;
+            double rightPos = rightData[i][0] - rightStart;
+            double dist = (leftPos + rightPos) / 2.;
+            theta[i] = (leftPos - rightPos) / trackWidth;
+            vel[i] = (leftData[i][1] + rightData[i][1]) / 2.;
+            omega[i] = (leftData[i][1] - rightData[i][1]) / trackWidth;
+            if (i > 0) {
+                //Move along the average of the headings at each end of the step.
+                double heading = (theta[i - 1] + theta[i]) / 2.;
+                x[i] = x[i - 1] + (dist - lastDist) * Math.cos(heading);
+                y[i] = y[i - 1] + (dist - lastDist) * Math.sin(heading);
+            }
+            lastDist = dist;
+        }
+        return new PoseTrajectory(x, y, theta, vel, omega, left.getPointTimeMillis() / 1000.);
+    }
+
+    /**
+     * Move to the given time on the path. The getters then return the path's values at that time.
+     *
+     * @param time The time since the path started, in seconds. Times past the end hold the last point.
+     */
+    public void sample(double time) {
+        double point = Math.max(time, 0) / dt;
+        if (point >= x.length - 1) {
+            index = x.length - 1;
+            frac = 0;
+        } else {
+            index = (int) point;
+            frac = point - index;
+        }
+    }
+
+    /**
+     * Linearly interpolate between the point at the sampled index and the one after it.
+     *
+     * @param values The value of each point.
+     * @return The value at the sampled time.
+     */
+    private double interpolate(@NotNull double[] values) {
+        if (frac == 0) {
+            return values[index];
+        }
+        return values[index] + (values[index + 1] - values[index]) * frac;
+    }
+
+    /**
+     * @return The x position at the sampled time, in feet.
+     */
+    public double getX() {
+        return interpolate(x);
+    }
+
+    /**
+     * @return The y position at the sampled time, in feet.
+     */
+    public double getY() {
+        return interpolate(y);
+    }
+
+    /**
+     * @return The heading at the sampled time, in radians.
+     */
+    public double getTheta() {
+        return interpolate(theta);
+    }
+
+    /**
+     * @return The velocity at the sampled time, in feet/second. 0 past the end of the path.
+     */
+    public double getVel() {
+        return isDone() ? 0 : interpolate(vel);
+    }
+
+    /**
+     * @return The turning rate at the sampled time, in radians/second. 0 past the end of the path.
+     */
+    public double getOmega() {
+        return isDone() ? 0 : interpolate(omega);
+    }
+
+    /**
+     * @return Whether the sampled time is at or past the end of the path.
+     */
+    public boolean isDone() {
+        return index == x.length - 1;
+    }
+
+    /**
+     * @return How long the path takes, in seconds.
+     */
+    public double getDuration() {
+        return (x.length - 1) * dt;
+    }
+}
@@ -0,0 +1,77 @@
+package org.usfirst.frc.team449.robot.other;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times the phases of robot startup, so we know what's making boot slow. Each phase is timed from the end of the last
+ * one, so call {@link StartupProfiler#endPhase(String)} right after each phase finishes.
+ */
+public class StartupProfiler {
+
+    /**
+     * The names of the phases that have finished, in order.
+     */
+    @NotNull
+    private final List<String> phases;
+
+    /**
+     * How long each finished phase took, in nanoseconds, in the same order as phases.
+     */
+    @NotNull
+    private final List<Long> durations;
+
+    /**
+     * When profiling started and when the last phase ended, in nanoseconds.
+     */
+    private final long startNanos;
+    private long lastNanos;
+
+    /**
+     * Default constructor. Starts timing the first phase.
+     */
+    public StartupProfiler() {
+        phases = new ArrayList<>();
+        durations = new ArrayList<>();
+        startNanos = System.nanoTime();
+        lastNanos = startNanos;
+    }
+
+    /**
+     * Record that a phase just finished and start timing the next one.
+     *
+     * @param phase The name of the phase that finished.
+     */
+    public void endPhase(@NotNull String phase) {
+        long now = System.nanoTime();
+        phases.add(phase);
+        durations.add(now - lastNanos);
+        lastNanos = now;
+    }
+
+    /**
+     * Print how long each phase took and the total, and add them to the event log.
+     */
+    public void report() {
+        StringBuilder report = new StringBuilder("Startup took ").append(formatMillis(lastNanos - startNanos))
+                .append(" ms:");
+        for (int i = 0; i < phases.size(); i++) {
+            report.append("\n  ").append(phases.get(i)).append(": ").append(formatMillis(durations.get(i)))
+                    .append(" ms");
+            Logger.addEvent(phases.get(i) + " took " + formatMillis(durations.get(i)) + " ms", this.getClass());
+        }
+        //Yes this should be a print statement, the log isn't running yet and boot time is worth seeing on the console.
+        System.out.println(report);
+    }
+
+    /**
+     * @param nanos A duration, in nanoseconds.
+     * @return The duration in milliseconds, to one decimal place.
+     */
+    @NotNull
+    private static String formatMillis(long nanos) {
+        return String.format("%.1f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,170 @@
+package org.usfirst.frc.team449.robot.other;
+
+import edu.wpi.first.networktables.EntryListenerFlags;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A registry of numbers that can be changed while the robot is running, for tuning without redeploying. Each one is
+ * published under the Tunables NetworkTable, so it can be edited from a dashboard. Edits arrive on the NetworkTables
+ * thread and are held until {@link Tunables#apply()} is called by the {@link Updater}, so every edit made since the
+ * last tick takes effect at once, between ticks, on the main thread. Tunables that make up one setting, like the gains
+ * of a controller, can share a callback that's run once after all of a tick's edits to them have been applied.
+ */
+public class Tunables {
+
+    /**
+     * The name of the table the tunables are published in.
+     */
+    @NotNull
+    private static final String TABLE_NAME = "Tunables";
+
+    /**
+     * The current value of each tunable, by name.
+     */
+    @NotNull
+    private static final Map<String, Double> values = new HashMap<>();
+
+    /**
+     * What to call when each tunable changes, by name. Several objects can share a tunable.
+     */
+    @NotNull
+    private static final Map<String, List<DoubleConsumer>> listeners = new HashMap<>();
+
+    /**
+     * What to call after each tunable has been changed along with any others in the same tick, by name.
+     */
+    @NotNull
+    private static final Map<String, List<Runnable>> afterApplyCallbacks = new HashMap<>();
+
+    /**
+     * The edits received since the last time they were applied, by name. Guarded by itself.
+     */
+    @NotNull
+    private static final Map<String, Double> pending = new HashMap<>();
+
+    /**
+     * Whether there are edits waiting to be applied, so ticks without edits don't have to lock.
+     */
+    private static volatile boolean hasPending;
+
+    /**
+     * The table the tunables are published in. Created when the first tunable is registered.
+     */
+    private static NetworkTable table;
+
+    /**
+     * Make constructor private so it can't be called
+     */
+    private Tunables() {
+    }
+
+    /**
+     * Make a number tunable. If something has already registered the same name, the listener is added to it and
+     * called with the current value if that differs from the given one.
+     *
+     * @param name     The name of the tunable. Slashes put it in a subtable.
+     * @param initial  The value the number starts with.
+     * @param listener What to call with the new value when it's changed.
+     */
+    public static void register(@NotNull String name, double initial, @NotNull DoubleConsumer listener) {
+        register(name, initial, listener, null);
+    }
+
+    /**
+     * Make a number tunable, with a callback that's run once per tick after every edit made that tick has been given
+     * to its listener. Give several tunables the same callback to have it run once no matter how many of them changed.
+     * If something has already registered the same name, the listener is added to it and, if the current value differs
+     * from the given one, called with it followed by the callback.
+     *
+     * @param name       The name of the tunable. Slashes put it in a subtable.
+     * @param initial    The value the number starts with.
+     * @param listener   What to call with the new value when it's changed.
+     * @param afterApply What to call once this tick's edits have been applied. Can be null.
+     */
+    public static synchronized void register(@NotNull String name, double initial, @NotNull DoubleConsumer listener,
+                                             @Nullable Runnable afterApply) {
+        if (listeners.containsKey(name)) {
+            listeners.get(name).add(listener);
+            if (afterApply != null) {
+                afterApplyCallbacks.get(name).add(afterApply);
+            }
+            if (values.get(name) != initial) {
+                listener.accept(values.get(name));
+                if (afterApply != null) {
+                    afterApply.run();
+                }
+            }
+            return;
+        }
+        List<DoubleConsumer> nameListeners = new ArrayList<>();
+        nameListeners.add(listener);
+        listeners.put(name, nameListeners);
+        List<Runnable> nameCallbacks = new ArrayList<>();
+        if (afterApply != null) {
+            nameCallbacks.add(afterApply);
+        }
+        afterApplyCallbacks.put(name, nameCallbacks);
+        values.put(name, initial);
+
+        if (table == null) {
+            table = NetworkTableInstance.getDefault().getTable(TABLE_NAME);
+        }
+        NetworkTableEntry entry = table.getEntry(name);
+        entry.setDouble(initial);
+        //Local writes, like the one above, don't notify, so this only hears edits from a dashboard.
+        entry.addListener(notification -> {
+            if (notification.value.isDouble()) {
+                synchronized (pending) {
+                    pending.put(name, notification.value.getDouble());
+                    hasPending = true;
+                }
+            }
+        }, EntryListenerFlags.kUpdate);
+    }
+
+    /**
+     * Apply every edit received since the last call. Should be called once per tick, before anything reads the
+     * tunables.
+     */
+    public static void apply() {
+        if (!hasPending) {
+            return;
+        }
+        synchronized (Tunables.class) {
+            //Ordered and without duplicates, so a callback shared by several edited tunables runs once.
+            Set<Runnable> toRun = new LinkedHashSet<>();
+            synchronized (pending) {
+                for (Map.Entry<String, Double> edit : pending.entrySet()) {
+                    String name = edit.getKey();
+                    double value = edit.getValue();
+                    if (values.get(name) == value) {
+                        continue;
+                    }
+                    Logger.addEvent("Tuned " + name + " from " + values.get(name) + " to " + value, Tunables.class);
+                    values.put(name, value);
+                    for (DoubleConsumer listener : listeners.get(name)) {
+                        listener.accept(value);
+                    }
+                    toRun.addAll(afterApplyCallbacks.get(name));
+                }
+                pending.clear();
+                hasPending = false;
+            }
+            for (Runnable callback : toRun) {
+                callback.run();
+            }
+        }
+    }
+}
@@ -36,6 +36,8 @@ public class Updater implements MappedRunnable {
     @Override
     public void run() {
         Clock.updateTime();
+        //Apply any live edits between ticks so nothing sees a half-applied change.
+        Tunables.apply();
         for (Updatable updatable : updatables) {
             updatable.update();
         }
@@ -0,0 +1,117 @@
+package org.usfirst.frc.team449.robot.simulation;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A simulated navX. The yaw is integrated from the wheel speeds of a simulated differential drive, and follows the navX's
+ * conventions: degrees, clockwise positive.
+ */
+public class SimGyro implements Simulation.Steppable {
+
+    /**
+     * Acceleration due to gravity, in feet/sec^2.
+     */
+    private static final double G = 32.17;
+
+    /**
+     * The drive's left and right sides, or null if this gyro hasn't been attached to a drive.
+     */
+    @Nullable
+    private SimTalon left, right;
+
+    /**
+     * The distance between the left and right wheels, in feet.
+     */
+    private double trackWidth;
+
+    /**
+     * The total yaw, in degrees, and the yaw rate, in degrees/sec.
+     */
+    private double angle, rate;
+
+    /**
+     * The field-relative acceleration, in gs.
+     */
+    private double worldAccelX, worldAccelY;
+
+    /**
+     * Default constructor.
+     */
+    public SimGyro() {
+        Simulation.register(this);
+    }
+
+    /**
+     * Integrate the yaw from a differential drive's wheel speeds.
+     *
+     * @param left       The simulated Talon driving the left side.
+     * @param right      The simulated Talon driving the right side.
+     * @param trackWidth The distance between the left and right wheels, in feet.
+     */
+    public synchronized void attachDrive(@Nullable SimTalon left, @Nullable SimTalon right, double trackWidth) {
+        this.left = left;
+        this.right = right;
+        this.trackWidth = trackWidth;
+    }
+
+    /**
+     * Advance the yaw by the drive's turn rate.
+     *
+     * @param dt The time since the last step, in seconds.
+     */
+    @Override
+    public synchronized void step(double dt) {
+        if (left == null || right == null || trackWidth <= 0) {
+            return;
+        }
+        //Counter-clockwise is positive in the kinematics, but clockwise is positive on the navX.
+        rate = -Math.toDegrees((right.getMechanismVelocity() - left.getMechanismVelocity()) / trackWidth);
+        angle += rate * dt;
+        double accel = (left.getMechanismAcceleration() + right.getMechanismAcceleration()) / 2. / G;
+        //The heading is measured clockwise from the field's x axis.
+        worldAccelX = accel * Math.cos(Math.toRadians(-angle));
+        worldAccelY = accel * Math.sin(Math.toRadians(-angle));
+    }
+
+    /**
+     * Zero the yaw.
+     */
+    public synchronized void reset() {
+        angle = 0;
+    }
+
+    /**
+     * @return The total yaw, in degrees, clockwise positive.
+     */
+    public synchronized double getAngle() {
+        return angle;
+    }
+
+    /**
+     * @return The yaw, in degrees from [0, 360).
+     */
+    public synchronized double getFusedHeading() {
+        return ((angle % 360) + 360) % 360;
+    }
+
+    /**
+     * @return The yaw rate, in degrees/sec.
+     */
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    /**
+     * @return The field-relative X acceleration, in gs.
+     */
+    public synchronized double getWorldLinearAccelX() {
+        return worldAccelX;
+    }
+
+    /**
+     * @return The field-relative Y acceleration, in gs.
+     */
+    public synchronized double getWorldLinearAccelY() {
+        return worldAccelY;
+    }
+}
@@ -0,0 +1,907 @@
+package org.usfirst.frc.team449.robot.simulation;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.ParamEnum;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.feedForwardComponent.FeedForwardComponent;
+import org.usfirst.frc.team449.robot.generalInterfaces.doubleUnaryOperator.feedForwardComponent.FeedForwardKaKvComponent;
+import org.usfirst.frc.team449.robot.jacksonWrappers.TalonDevice;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A simulated Talon SRX driving a DC motor and gearbox. The mechanism is modeled from the characterized feedforward,
+ * V = kV * v + kA * a + Vintercept * sign(v), solved for acceleration, and the Talon's velocity, position, motion magic,
+ * and motion profile modes are run on the simulated sensor the way the firmware runs them, using the same gains and
+ * native units.
+ *
+ * Positive output always moves the mechanism in the positive sensor direction, because inversion and sensor phase only
+ * matter for how the real thing is wired. A follower doesn't simulate anything; it reports its master's output.
+ */
+public class SimTalon implements TalonDevice, Simulation.Steppable {
+
+    /**
+     * Every simulated Talon by CAN ID, so followers can find their master.
+     */
+    @NotNull
+    private static final Map<Integer, SimTalon> talons = new HashMap<>();
+
+    /**
+     * The simulated battery voltage.
+     */
+    private static final double BUS_VOLTAGE = 12;
+
+    /**
+     * A rough resistance of the motors, in ohms, used to estimate current.
+     */
+    private static final double RESISTANCE = 0.1;
+
+    /**
+     * The time constant of the mechanism, in seconds, used when the feedforward has no kA.
+     */
+    private static final double FALLBACK_TIME_CONSTANT = 0.05;
+
+    /**
+     * The size of the API-level and firmware-level motion profile buffers, in points.
+     */
+    private static final int TOP_BUFFER_SIZE = 2048, BOTTOM_BUFFER_SIZE = 128;
+
+    /**
+     * The number of PIDF slots.
+     */
+    private static final int NUM_SLOTS = 4;
+
+    /**
+     * This Talon's CAN ID.
+     */
+    private final int deviceID;
+
+    /**
+     * The PIDF gains for each slot.
+     */
+    @NotNull
+    private final double[] kP = new double[NUM_SLOTS], kI = new double[NUM_SLOTS], kD = new double[NUM_SLOTS],
+            kF = new double[NUM_SLOTS];
+
+    /**
+     * The motion profile points in the API-level and firmware-level buffers.
+     */
+    @NotNull
+    private final ArrayDeque<TrajectoryPoint> topBuffer = new ArrayDeque<>(), bottomBuffer = new ArrayDeque<>();
+
+    /**
+     * The model of the mechanism: the voltage per foot/sec, voltage per foot/sec^2, and voltage to overcome static
+     * friction, forwards and in reverse.
+     */
+    private double kVFwd = 1, kVRev = 1, kAFwd, kARev, interceptFwd, interceptRev;
+
+    /**
+     * The number of encoder ticks per foot.
+     */
+    private double nativePerFoot = 1;
+
+    /**
+     * The position, velocity, and acceleration of the mechanism, in feet, feet/sec, and feet/sec^2.
+     */
+    private double position, velocity, acceleration;
+
+    /**
+     * The difference between the sensor reading and the mechanism's position, in native units.
+     */
+    private double sensorOffset;
+
+    /**
+     * The output after ramping, from [-1, 1], and the current drawn, in amps.
+     */
+    private double appliedOutput, current;
+
+    /**
+     * The current control mode and its demands.
+     */
+    @NotNull
+    private ControlMode mode = ControlMode.Disabled;
+    private double demand0, demand1;
+    @NotNull
+    private DemandType demand1Type = DemandType.Neutral;
+
+    /**
+     * How a follower is inverted relative to its master.
+     */
+    @NotNull
+    private InvertType invertType = InvertType.None;
+
+    /**
+     * The selected PIDF slot for non-profile closed-loop modes.
+     */
+    private int slot;
+
+    /**
+     * Output limits and ramps.
+     */
+    private double peakFwd = 1, peakRev = -1, nominalFwd, nominalRev, closedLoopRamp, openLoopRamp;
+
+    /**
+     * Voltage compensation settings.
+     */
+    private boolean voltageCompEnabled;
+    private double voltageCompSaturation = 12;
+    private int voltageFilterSamples = 32;
+
+    /**
+     * Current limiting settings.
+     */
+    private boolean currentLimitEnabled;
+    private int continuousCurrentLimit, peakCurrentLimit, peakCurrentDuration;
+
+    /**
+     * Soft limit settings, in native units.
+     */
+    private boolean fwdSoftLimitEnabled, revSoftLimitEnabled;
+    private int fwdSoftLimit, revSoftLimit;
+
+    /**
+     * Whether each soft limit is currently stopping the output.
+     */
+    private boolean fwdSoftLimitHit, revSoftLimitHit;
+
+    /**
+     * The closed-loop error, in native units, and its integral and last value for the I and D terms.
+     */
+    private double closedLoopError, integral, lastError;
+
+    /**
+     * Motion magic cruise velocity and acceleration, in native units per 100 ms and per 100 ms per second.
+     */
+    private int cruiseVelocity, motionAcceleration;
+
+    /**
+     * The current point of the motion magic trajectory, in native units and native units per 100 ms.
+     */
+    private double trajectoryPosition, trajectoryVelocity;
+
+    /**
+     * The base duration of each motion profile point, in milliseconds.
+     */
+    private int trajectoryPeriodMillis;
+
+    /**
+     * The motion profile point being run, or null if there isn't one.
+     */
+    @Nullable
+    private TrajectoryPoint activePoint;
+
+    /**
+     * How long the active point has been run for, in milliseconds.
+     */
+    private double activePointMillis;
+
+    /**
+     * Whether the profile has ever run out of points, and whether it's out of points now.
+     */
+    private boolean hasUnderrun, isUnderrun;
+
+    /**
+     * Default constructor.
+     *
+     * @param deviceID The CAN ID of the simulated Talon.
+     */
+    public SimTalon(int deviceID) {
+        this.deviceID = deviceID;
+        synchronized (talons) {
+            talons.put(deviceID, this);
+        }
+        Simulation.register(this);
+    }
+
+    /**
+     * Use the given feedforward as the model of the mechanism. A {@link FeedForwardKaKvComponent} is used directly;
+     * anything else is modeled as a motor that reaches maxSpeed at 12 volts.
+     *
+     * @param feedForward   The feedforward for the current gear.
+     * @param maxSpeed      The max speed for the current gear, in feet/sec. Can be null.
+     * @param nativePerFoot The number of encoder ticks per foot of travel.
+     */
+    @Override
+    public synchronized void setPlantModel(@NotNull FeedForwardComponent feedForward, @Nullable Double maxSpeed,
+                                           double nativePerFoot) {
+        //Keep the sensor reading continuous across a change in units.
+        double sensor = getSensorPosition();
+        this.nativePerFoot = nativePerFoot;
+        sensorOffset = sensor - position * nativePerFoot;
+        if (feedForward instanceof FeedForwardKaKvComponent) {
+            FeedForwardKaKvComponent kaKv = (FeedForwardKaKvComponent) feedForward;
+            kVFwd = kaKv.getkVFwd();
+            kVRev = kaKv.getkVRev();
+            kAFwd = kaKv.getkAFwd();
+            kARev = kaKv.getkARev();
+            interceptFwd = kaKv.getInterceptVoltageFwd();
+            interceptRev = kaKv.getInterceptVoltageRev();
+        } else {
+            kVFwd = kVRev = 12. / (maxSpeed != null ? maxSpeed : 10.);
+            kAFwd = kARev = interceptFwd = interceptRev = 0;
+        }
+    }
+
+    /**
+     * Advance the controller and mechanism.
+     *
+     * @param dt The time since the last step, in seconds.
+     */
+    @Override
+    public synchronized void step(double dt) {
+        if (mode == ControlMode.Follower) {
+            return;
+        }
+        double dtMillis = dt * 1000.;
+        double target = calculateOutput(dtMillis);
+
+        //Clamp to the soft limits and peak outputs.
+        double sensor = getSensorPosition();
+        fwdSoftLimitHit = fwdSoftLimitEnabled && sensor >= fwdSoftLimit && target > 0;
+        revSoftLimitHit = revSoftLimitEnabled && sensor <= revSoftLimit && target < 0;
+        if (fwdSoftLimitHit || revSoftLimitHit) {
+            target = 0;
+        }
+        target = Math.max(Math.min(target, peakFwd), -Math.abs(peakRev));
+
+        //Ramp towards the target.
+        double ramp = isClosedLoop() ? closedLoopRamp : openLoopRamp;
+        if (ramp > 0) {
+            double maxChange = dt / ramp;
+            appliedOutput += Math.max(Math.min(target - appliedOutput, maxChange), -maxChange);
+        } else {
+            appliedOutput = target;
+        }
+
+        //Limit current by lowering the voltage.
+        double voltage = appliedOutput * (voltageCompEnabled ? voltageCompSaturation : BUS_VOLTAGE);
+        double backEMF = (velocity >= 0 ? kVFwd : kVRev) * velocity;
+        current = (voltage - backEMF) / RESISTANCE;
+        if (currentLimitEnabled && continuousCurrentLimit > 0 && Math.abs(current) > continuousCurrentLimit) {
+            current = Math.signum(current) * continuousCurrentLimit;
+            voltage = backEMF + current * RESISTANCE;
+            appliedOutput = voltage / (voltageCompEnabled ? voltageCompSaturation : BUS_VOLTAGE);
+        }
+
+        stepMechanism(voltage, dt);
+    }
+
+    /**
+     * Run the control loop for the current mode.
+     *
+     * @param dtMillis The time since the last step, in milliseconds.
+     * @return The output, from [-1, 1], before limits and ramping.
+     */
+    private double calculateOutput(double dtMillis) {
+        double output;
+        if (mode == ControlMode.PercentOutput) {
+            output = demand0;
+        } else if (mode == ControlMode.Velocity) {
+            output = runPID(slot, demand0, getSensorVelocity(), kF[slot] * demand0, dtMillis);
+        } else if (mode == ControlMode.Position) {
+            output = runPID(slot, demand0, getSensorPosition(), kF[slot] * demand0, dtMillis);
+        } else if (mode == ControlMode.MotionMagic) {
+            stepMotionMagic(dtMillis / 1000.);
+            output = runPID(slot, trajectoryPosition, getSensorPosition(), kF[slot] * trajectoryVelocity, dtMillis);
+        } else if (mode == ControlMode.MotionProfile) {
+            output = stepMotionProfile(dtMillis);
+        } else {
+            return 0;
+        }
+        if (demand1Type == DemandType.ArbitraryFeedForward) {
+            output += demand1;
+        }
+        //The nominal output is the smallest output used in closed-loop.
+        if (isClosedLoop() && output != 0) {
+            output = output > 0 ? Math.max(output, nominalFwd) : Math.min(output, -Math.abs(nominalRev));
+        }
+        return output;
+    }
+
+    /**
+     * Run the PIDF loop the way the firmware does, in native units with gains scaled so 1023 is full output.
+     *
+     * @param slot        The gain slot to use.
+     * @param target      The setpoint, in native units.
+     * @param measurement The sensor reading, in native units.
+     * @param feedForward The F term, already multiplied by kF.
+     * @param dtMillis    The time since the last step, in milliseconds.
+     * @return The output, from [-1, 1].
+     */
+    private double runPID(int slot, double target, double measurement, double feedForward, double dtMillis) {
+        closedLoopError = target - measurement;
+        //The firmware runs the loop every millisecond, so scale the I and D terms to match.
+        integral += closedLoopError * dtMillis;
+        double derivative = dtMillis > 0 ? (closedLoopError - lastError) / dtMillis : 0;
+        lastError = closedLoopError;
+        return (kP[slot] * closedLoopError + kI[slot] * integral + kD[slot] * derivative + feedForward) / 1023.;
+    }
+
+    /**
+     * Advance the motion magic trajectory towards the setpoint with a trapezoidal profile.
+     *
+     * @param dt The time since the last step, in seconds.
+     */
+    private void stepMotionMagic(double dt) {
+        //Work in native units per second so the acceleration units match.
+        double vel = trajectoryVelocity * 10, cruise = cruiseVelocity * 10, accel = motionAcceleration * 10;
+        double distance = demand0 - trajectoryPosition;
+        if (accel <= 0 || cruise <= 0) {
+            trajectoryPosition = demand0;
+            trajectoryVelocity = 0;
+            return;
+        }
+        if (Math.abs(distance) <= Math.abs(vel * dt) && Math.abs(vel) <= accel * dt) {
+            trajectoryPosition = demand0;
+            trajectoryVelocity = 0;
+            return;
+        }
+        boolean movingTowards = Math.signum(vel) == Math.signum(distance);
+        if (movingTowards && vel * vel / (2 * accel) >= Math.abs(distance)) {
+            vel -= Math.signum(vel) * accel * dt;
+        } else {
+            double desired = Math.signum(distance) * cruise;
+            vel += Math.max(Math.min(desired - vel, accel * dt), -accel * dt);
+        }
+        trajectoryPosition += vel * dt;
+        trajectoryVelocity = vel / 10;
+    }
+
+    /**
+     * Advance the motion profile and run the control loop on the active point.
+     *
+     * @param dtMillis The time since the last step, in milliseconds.
+     * @return The output, from [-1, 1].
+     */
+    private double stepMotionProfile(double dtMillis) {
+        int setValue = (int) demand0;
+        if (setValue == SetValueMotionProfile.Disable.value) {
+            return 0;
+        }
+        if (setValue == SetValueMotionProfile.Enable.value) {
+            activePointMillis += dtMillis;
+            if (activePoint == null || (activePointMillis >= trajectoryPeriodMillis + activePoint.timeDur &&
+                    !activePoint.isLastPoint)) {
+                TrajectoryPoint next = bottomBuffer.poll();
+                if (next != null) {
+                    activePoint = next;
+                    activePointMillis = 0;
+                    isUnderrun = false;
+                    if (next.zeroPos) {
+                        sensorOffset = -position * nativePerFoot;
+                    }
+                } else if (activePoint != null) {
+                    hasUnderrun = isUnderrun = true;
+                }
+            }
+        }
+        if (activePoint == null) {
+            return 0;
+        }
+        //Hold servos to the active point without its velocity.
+        double pointVelocity = setValue == SetValueMotionProfile.Hold.value ? 0 : activePoint.velocity;
+        int pointSlot = activePoint.profileSlotSelect0;
+        return runPID(pointSlot, activePoint.position, getSensorPosition(), kF[pointSlot] * pointVelocity, dtMillis);
+    }
+
+    /**
+     * Advance the mechanism given the voltage applied to it.
+     *
+     * @param voltage The voltage applied.
+     * @param dt      The time since the last step, in seconds.
+     */
+    private void stepMechanism(double voltage, double dt) {
+        boolean fwd = velocity > 0 || (velocity == 0 && voltage > 0);
+        double kV = fwd ? kVFwd : kVRev;
+        double kA = fwd ? kAFwd : kARev;
+        double intercept = fwd ? interceptFwd : interceptRev;
+        if (kA <= 0) {
+            kA = kV * FALLBACK_TIME_CONSTANT;
+        }
+        //Static friction holds the mechanism still until the voltage overcomes it.
+        if (velocity == 0 && Math.abs(voltage) <= intercept) {
+            acceleration = 0;
+            return;
+        }
+        acceleration = (voltage - (fwd ? intercept : -intercept) - kV * velocity) / kA;
+        double newVelocity = velocity + acceleration * dt;
+        //Friction stops the mechanism rather than reversing it.
+        if (Math.signum(newVelocity) != Math.signum(velocity) && velocity != 0 && Math.abs(voltage) <= intercept) {
+            newVelocity = 0;
+        }
+        position += (velocity + newVelocity) / 2 * dt;
+        velocity = newVelocity;
+    }
+
+    /**
+     * @return Whether the current mode uses the closed-loop ramp and nominal output.
+     */
+    private boolean isClosedLoop() {
+        return mode == ControlMode.Velocity || mode == ControlMode.Position || mode == ControlMode.MotionMagic ||
+                mode == ControlMode.MotionProfile;
+    }
+
+    /**
+     * @return The sensor position, in native units.
+     */
+    private double getSensorPosition() {
+        return position * nativePerFoot + sensorOffset;
+    }
+
+    /**
+     * @return The sensor velocity, in native units per 100 ms.
+     */
+    private double getSensorVelocity() {
+        return velocity * nativePerFoot / 10.;
+    }
+
+    /**
+     * @return The master this Talon is following, or null if it isn't following a simulated Talon.
+     */
+    @Nullable
+    private SimTalon getMaster() {
+        if (mode != ControlMode.Follower) {
+            return null;
+        }
+        synchronized (talons) {
+            return talons.get((int) demand0);
+        }
+    }
+
+    /**
+     * @return The number of Talons following this one.
+     */
+    private int getNumFollowers() {
+        int followers = 0;
+        synchronized (talons) {
+            for (SimTalon talon : talons.values()) {
+                if (talon != this && talon.getMaster() == this) {
+                    followers++;
+                }
+            }
+        }
+        return followers;
+    }
+
+    /**
+     * @return The velocity of the mechanism, in feet/sec.
+     */
+    public synchronized double getMechanismVelocity() {
+        return velocity;
+    }
+
+    /**
+     * @return The acceleration of the mechanism, in feet/sec^2.
+     */
+    public synchronized double getMechanismAcceleration() {
+        return acceleration;
+    }
+
+    @Override
+    public boolean isFwdLimitSwitchClosed() {
+        return false;
+    }
+
+    @Override
+    public boolean isRevLimitSwitchClosed() {
+        return false;
+    }
+
+    @Override
+    public int getDeviceID() {
+        return deviceID;
+    }
+
+    @Override
+    public void set(ControlMode mode, double outputValue) {
+        set(mode, outputValue, DemandType.Neutral, 0);
+    }
+
+    @Override
+    public synchronized void set(ControlMode mode, double demand0, DemandType demand1Type, double demand1) {
+        if (mode != this.mode) {
+            integral = 0;
+            lastError = 0;
+            if (mode == ControlMode.MotionMagic) {
+                //Start the trajectory from where the mechanism is.
+                trajectoryPosition = getSensorPosition();
+                trajectoryVelocity = getSensorVelocity();
+            }
+        }
+        this.mode = mode;
+        this.demand0 = demand0;
+        this.demand1Type = demand1Type;
+        this.demand1 = demand1;
+    }
+
+    @Override
+    public synchronized ControlMode getControlMode() {
+        return mode;
+    }
+
+    @Override
+    public void setInverted(boolean invert) {
+        //Inversion doesn't change the simulated mechanism.
+    }
+
+    @Override
+    public synchronized void setInverted(InvertType invertType) {
+        this.invertType = invertType;
+    }
+
+    @Override
+    public void setNeutralMode(NeutralMode neutralMode) {
+        //Friction stops the simulated mechanism either way.
+    }
+
+    @Override
+    public void setSensorPhase(boolean phaseSensor) {
+        //The simulated sensor is always in phase.
+    }
+
+    @Override
+    public synchronized void selectProfileSlot(int slotIdx, int pidIdx) {
+        slot = slotIdx;
+    }
+
+    @Override
+    public synchronized void enableCurrentLimit(boolean enable) {
+        currentLimitEnabled = enable;
+    }
+
+    @Override
+    public synchronized void enableVoltageCompensation(boolean enable) {
+        voltageCompEnabled = enable;
+    }
+
+    @Override
+    public ErrorCode setControlFramePeriod(ControlFrame frame, int periodMs) {
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public ErrorCode setStatusFramePeriod(StatusFrameEnhanced frame, int periodMs, int timeoutMs) {
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public ErrorCode configSelectedFeedbackSensor(FeedbackDevice feedbackDevice, int pidIdx, int timeoutMs) {
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public ErrorCode configForwardLimitSwitchSource(LimitSwitchSource type, LimitSwitchNormal normalOpenOrClose,
+                                                    int timeoutMs) {
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public ErrorCode configForwardLimitSwitchSource(RemoteLimitSwitchSource type, LimitSwitchNormal normalOpenOrClose,
+                                                    int deviceID, int timeoutMs) {
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public ErrorCode configReverseLimitSwitchSource(LimitSwitchSource type, LimitSwitchNormal normalOpenOrClose,
+                                                    int timeoutMs) {
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public ErrorCode configReverseLimitSwitchSource(RemoteLimitSwitchSource type, LimitSwitchNormal normalOpenOrClose,
+                                                    int deviceID, int timeoutMs) {
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configForwardSoftLimitEnable(boolean enable, int timeoutMs) {
+        fwdSoftLimitEnabled = enable;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configForwardSoftLimitThreshold(int forwardSensorLimit, int timeoutMs) {
+        fwdSoftLimit = forwardSensorLimit;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configReverseSoftLimitEnable(boolean enable, int timeoutMs) {
+        revSoftLimitEnabled = enable;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configReverseSoftLimitThreshold(int reverseSensorLimit, int timeoutMs) {
+        revSoftLimit = reverseSensorLimit;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode config_kP(int slotIdx, double value, int timeoutMs) {
+        kP[slotIdx] = value;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode config_kI(int slotIdx, double value, int timeoutMs) {
+        kI[slotIdx] = value;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode config_kD(int slotIdx, double value, int timeoutMs) {
+        kD[slotIdx] = value;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode config_kF(int slotIdx, double value, int timeoutMs) {
+        kF[slotIdx] = value;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configPeakOutputForward(double percentOut, int timeoutMs) {
+        peakFwd = percentOut;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configPeakOutputReverse(double percentOut, int timeoutMs) {
+        peakRev = percentOut;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configNominalOutputForward(double percentOut, int timeoutMs) {
+        nominalFwd = percentOut;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configNominalOutputReverse(double percentOut, int timeoutMs) {
+        nominalRev = percentOut;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configClosedloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+        closedLoopRamp = secondsFromNeutralToFull;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configOpenloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+        openLoopRamp = secondsFromNeutralToFull;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configMotionCruiseVelocity(int sensorUnitsPer100ms, int timeoutMs) {
+        cruiseVelocity = sensorUnitsPer100ms;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configMotionAcceleration(int sensorUnitsPer100msPerSec, int timeoutMs) {
+        motionAcceleration = sensorUnitsPer100msPerSec;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configMotionProfileTrajectoryPeriod(int baseTrajDurationMs, int timeoutMs) {
+        trajectoryPeriodMillis = baseTrajDurationMs;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configVoltageCompSaturation(double voltage, int timeoutMs) {
+        voltageCompSaturation = voltage;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configVoltageMeasurementFilter(int filterWindowSamples, int timeoutMs) {
+        voltageFilterSamples = filterWindowSamples;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configContinuousCurrentLimit(int amps, int timeoutMs) {
+        continuousCurrentLimit = amps;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configPeakCurrentLimit(int amps, int timeoutMs) {
+        //Only the continuous limit is simulated, but the peak is stored so it can be read back.
+        peakCurrentLimit = amps;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode configPeakCurrentDuration(int milliseconds, int timeoutMs) {
+        peakCurrentDuration = milliseconds;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized double configGetParameter(ParamEnum paramEnum, int ordinal, int timeoutMs) {
+        switch (paramEnum) {
+            case eProfileParamSlot_P:
+                return kP[ordinal];
+            case eProfileParamSlot_I:
+                return kI[ordinal];
+            case eProfileParamSlot_D:
+                return kD[ordinal];
+            case eProfileParamSlot_F:
+                return kF[ordinal];
+            case ePeakPosOutput:
+                return peakFwd;
+            case ePeakNegOutput:
+                return peakRev;
+            case eNominalPosOutput:
+                return nominalFwd;
+            case eNominalNegOutput:
+                return nominalRev;
+            case eClosedloopRamp:
+                return closedLoopRamp;
+            case eOpenloopRamp:
+                return openLoopRamp;
+            case eMotMag_VelCruise:
+                return cruiseVelocity;
+            case eMotMag_Accel:
+                return motionAcceleration;
+            case eNominalBatteryVoltage:
+                return voltageCompSaturation;
+            case eBatteryVoltageFilterSize:
+                return voltageFilterSamples;
+            case eContinuousCurrentLimitAmps:
+                return continuousCurrentLimit;
+            case ePeakCurrentLimitAmps:
+                return peakCurrentLimit;
+            case ePeakCurrentLimitMs:
+                return peakCurrentDuration;
+            default:
+                //Nothing else is simulated.
+                return 0;
+        }
+    }
+
+    @Override
+    public synchronized int getSelectedSensorPosition(int pidIdx) {
+        return (int) getSensorPosition();
+    }
+
+    @Override
+    public synchronized int getSelectedSensorVelocity(int pidIdx) {
+        return (int) getSensorVelocity();
+    }
+
+    @Override
+    public synchronized ErrorCode setSelectedSensorPosition(int sensorPos, int pidIdx, int timeoutMs) {
+        sensorOffset = sensorPos - position * nativePerFoot;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized int getClosedLoopError(int pidIdx) {
+        return (int) closedLoopError;
+    }
+
+    @Override
+    public double getMotorOutputVoltage() {
+        SimTalon master = getMaster();
+        if (master != null) {
+            return (invertType == InvertType.OpposeMaster ? -1 : 1) * master.getMotorOutputVoltage();
+        }
+        synchronized (this) {
+            return appliedOutput * (voltageCompEnabled ? voltageCompSaturation : BUS_VOLTAGE);
+        }
+    }
+
+    @Override
+    public double getBusVoltage() {
+        return BUS_VOLTAGE;
+    }
+
+    @Override
+    public double getOutputCurrent() {
+        SimTalon master = getMaster();
+        if (master != null) {
+            return master.getOutputCurrent();
+        }
+        double total;
+        synchronized (this) {
+            total = Math.abs(current);
+        }
+        //The model is of the whole gearbox, so split the current between every motor in it.
+        return total / (1 + getNumFollowers());
+    }
+
+    @Override
+    public synchronized ErrorCode getFaults(Faults toFill) {
+        toFill.ForwardLimitSwitch = false;
+        toFill.ReverseLimitSwitch = false;
+        toFill.ForwardSoftLimit = fwdSoftLimitHit;
+        toFill.ReverseSoftLimit = revSoftLimitHit;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized int getActiveTrajectoryPosition() {
+        if (mode == ControlMode.MotionProfile) {
+            return activePoint != null ? (int) activePoint.position : 0;
+        }
+        return (int) trajectoryPosition;
+    }
+
+    @Override
+    public synchronized int getActiveTrajectoryVelocity() {
+        if (mode == ControlMode.MotionProfile) {
+            return activePoint != null ? (int) activePoint.velocity : 0;
+        }
+        return (int) trajectoryVelocity;
+    }
+
+    @Override
+    public synchronized ErrorCode getMotionProfileStatus(MotionProfileStatus statusToFill) {
+        statusToFill.topBufferRem = TOP_BUFFER_SIZE - topBuffer.size();
+        statusToFill.topBufferCnt = topBuffer.size();
+        statusToFill.btmBufferCnt = bottomBuffer.size();
+        statusToFill.hasUnderrun = hasUnderrun;
+        statusToFill.isUnderrun = isUnderrun;
+        statusToFill.activePointValid = activePoint != null;
+        statusToFill.isLast = activePoint != null && activePoint.isLastPoint;
+        statusToFill.profileSlotSelect0 = activePoint != null ? activePoint.profileSlotSelect0 : 0;
+        statusToFill.outputEnable = mode == ControlMode.MotionProfile ?
+                SetValueMotionProfile.valueOf((int) demand0) : SetValueMotionProfile.Disable;
+        statusToFill.timeDurMs = trajectoryPeriodMillis + (activePoint != null ? activePoint.timeDur : 0);
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode clearMotionProfileHasUnderrun(int timeoutMs) {
+        hasUnderrun = false;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode clearMotionProfileTrajectories() {
+        topBuffer.clear();
+        bottomBuffer.clear();
+        activePoint = null;
+        isUnderrun = false;
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized ErrorCode pushMotionProfileTrajectory(TrajectoryPoint trajPt) {
+        if (topBuffer.size() >= TOP_BUFFER_SIZE) {
+            return ErrorCode.BufferFull;
+        }
+        topBuffer.add(trajPt);
+        return ErrorCode.OK;
+    }
+
+    @Override
+    public synchronized void processMotionProfileBuffer() {
+        //The API sends one point over CAN per call.
+        if (!topBuffer.isEmpty() && bottomBuffer.size() < BOTTOM_BUFFER_SIZE) {
+            bottomBuffer.add(topBuffer.poll());
+        }
+    }
+
+    @Override
+    public synchronized int getMotionProfileTopLevelBufferCount() {
+        return topBuffer.size();
+    }
+}
@@ -0,0 +1,133 @@
+package org.usfirst.frc.team449.robot.simulation;
+
+import edu.wpi.first.wpilibj.RobotBase;
+import org.jetbrains.annotations.NotNull;
+import org.usfirst.frc.team449.robot.other.PeriodicScheduler;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Global state for running the robot code on a desktop: whether we're simulating, where files live, and the loop that
+ * steps the simulated devices.
+ */
+public class Simulation {
+
+    /**
+     * The period of the physics loop, in seconds.
+     */
+    private static final double STEP_PERIOD_SECS = 0.005;
+
+    /**
+     * The longest step the physics will take, in seconds, so a stall in the JVM doesn't launch the robot.
+     */
+    private static final double MAX_STEP_SECS = 0.05;
+
+    /**
+     * The directory resources are deployed to on the RIO, and where they are in the project.
+     */
+    private static final String RIO_RESOURCES = "/home/lvuser/449_resources/", LOCAL_RESOURCES = "src/main/resources/";
+
+    /**
+     * The home directory on the RIO, and where files written there go in simulation.
+     */
+    private static final String RIO_HOME = "/home/lvuser/", LOCAL_HOME = "build/sim/";
+
+    /**
+     * Whether the code is running in simulation.
+     */
+    private static final boolean enabled = RobotBase.isSimulation();
+
+    /**
+     * Everything stepped by the physics loop, in the order they're stepped.
+     */
+    @NotNull
+    private static final List<Steppable> steppables = new ArrayList<>();
+
+    /**
+     * The {@link System#nanoTime()} of the last physics step, or 0 if the loop hasn't run.
+     */
+    private static long lastStepNanos;
+
+    /**
+     * Make constructor private so it can't be called
+     */
+    private Simulation() {
+    }
+
+    /**
+     * @return true if the code is running in simulation instead of on a RIO, false otherwise.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Map a path on the RIO to the equivalent on the desktop when simulating. Resources are read from the project's
+     * resources folder, and anything else under the home directory, like logs, goes in the build directory.
+     *
+     * @param path A path on the RIO.
+     * @return The same path when not simulating, or where that file lives on the desktop when simulating.
+     */
+    @NotNull
+    public static String resolvePath(@NotNull String path) {
+        if (!enabled) {
+            return path;
+        }
+        String resolved;
+        if (path.startsWith(RIO_RESOURCES)) {
+            resolved = LOCAL_RESOURCES + path.substring(RIO_RESOURCES.length());
+        } else if (path.startsWith(RIO_HOME)) {
+            resolved = LOCAL_HOME + path.substring(RIO_HOME.length());
+        } else {
+            return path;
+        }
+        File parent = new File(resolved).getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        return resolved;
+    }
+
+    /**
+     * Add something to step every tick of the physics loop, starting the loop if it isn't already running.
+     *
+     * @param steppable The thing to step. Things are stepped in the order they're added.
+     */
+    static void register(@NotNull Steppable steppable) {
+        synchronized (steppables) {
+            if (steppables.isEmpty()) {
+                PeriodicScheduler.createTask("simulation", Simulation::step).startPeriodic(STEP_PERIOD_SECS);
+            }
+            steppables.add(steppable);
+        }
+    }
+
+    /**
+     * Advance everything by the time since the last step.
+     */
+    private static void step() {
+        long now = System.nanoTime();
+        double dt = lastStepNanos == 0 ? STEP_PERIOD_SECS : Math.min((now - lastStepNanos) / 1e9, MAX_STEP_SECS);
+        lastStepNanos = now;
+        synchronized (steppables) {
+            for (Steppable steppable : steppables) {
+                steppable.step(dt);
+            }
+        }
+    }
+
+    /**
+     * A simulated device that's advanced in time by the physics loop.
+     */
+    interface Steppable {
+
+        /**
+         * Advance the simulation.
+         *
+         * @param dt The time since the last step, in seconds.
+         */
+        void step(double dt);
+    }
+}
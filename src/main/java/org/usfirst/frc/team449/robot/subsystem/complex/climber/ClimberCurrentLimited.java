@@ -129,7 +129,7 @@ public class ClimberCurrentLimited extends Subsystem implements SubsystemBinaryM
      */
     @Override
     public boolean isConditionTrue() {
-        return powerLimitTimer.get(Math.abs(canTalonSRX.getOutputCurrent() * canTalonSRX.getOutputVoltage()) > maxPower);
+        return powerLimitTimer.get(Math.abs(canTalonSRX.getCachedOutputCurrent() * canTalonSRX.getCachedOutputVoltage()) > maxPower);
     }
 
     /**
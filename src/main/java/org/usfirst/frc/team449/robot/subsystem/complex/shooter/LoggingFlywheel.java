@@ -105,11 +105,11 @@ public class LoggingFlywheel extends Subsystem implements Loggable, SubsystemFly
     @NotNull
     @Override
     public Object[] getData() {
-        return new Object[]{shooterTalon.getVelocity(),
+        return new Object[]{shooterTalon.getCachedVelocity(),
                 shooterTalon.getSetpoint(),
-                shooterTalon.getError(),
-                shooterTalon.getOutputVoltage(),
-                shooterTalon.getOutputCurrent()};
+                shooterTalon.getCachedError(),
+                shooterTalon.getCachedOutputVoltage(),
+                shooterTalon.getCachedOutputCurrent()};
     }
 
     /**
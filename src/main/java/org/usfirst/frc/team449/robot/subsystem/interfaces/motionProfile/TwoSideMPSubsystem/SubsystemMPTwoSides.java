@@ -18,4 +18,34 @@ public interface SubsystemMPTwoSides extends SubsystemMP {
      * @param right The profile to load into the right side.
      */
     void loadMotionProfile(@NotNull MotionProfileData left, @NotNull MotionProfileData right);
+
+    /**
+     * Loads given profiles into the left and right sides of the drive, leaving them open for more to be appended.
+     *
+     * @param left         The profile to load into the left side.
+     * @param right        The profile to load into the right side.
+     * @param moreToFollow Whether more profiles will be appended with
+     *                     {@link SubsystemMPTwoSides#appendMotionProfile(MotionProfileData, MotionProfileData, boolean)}.
+     */
+    void loadMotionProfile(@NotNull MotionProfileData left, @NotNull MotionProfileData right, boolean moreToFollow);
+
+    /**
+     * Add profiles to the end of the ones that are loaded or running, so they run without stopping in between. The
+     * new profiles start where the previous ones end.
+     *
+     * @param left         The profile to append to the left side.
+     * @param right        The profile to append to the right side.
+     * @param moreToFollow Whether more profiles will be appended after these.
+     */
+    void appendMotionProfile(@NotNull MotionProfileData left, @NotNull MotionProfileData right, boolean moreToFollow);
+
+    /**
+     * Whether profiles fit behind the ones already buffered, so they can be appended without any points being
+     * rejected.
+     *
+     * @param left  The profile to append to the left side.
+     * @param right The profile to append to the right side.
+     * @return true if both sides have room, false otherwise.
+     */
+    boolean hasRoomToAppend(@NotNull MotionProfileData left, @NotNull MotionProfileData right);
 }
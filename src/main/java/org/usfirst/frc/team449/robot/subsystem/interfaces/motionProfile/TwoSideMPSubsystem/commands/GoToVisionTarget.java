@@ -9,7 +9,13 @@ import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.command.CommandGroup;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.commands.general.ConditionalCommandFunctional;
+import org.usfirst.frc.team449.robot.commands.general.WaitForStableVisionTarget;
 import org.usfirst.frc.team449.robot.components.PathRequester;
+import org.usfirst.frc.team449.robot.components.VisionPoseReceiver;
+import org.usfirst.frc.team449.robot.components.VisionTargetTracker;
+import org.usfirst.frc.team449.robot.other.Logger;
 import org.usfirst.frc.team449.robot.other.Waypoint;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.AHRS.SubsystemAHRS;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.motionProfile.TwoSideMPSubsystem.SubsystemMPTwoSides;
@@ -31,6 +37,18 @@ public class GoToVisionTarget<T extends Subsystem & SubsystemMPTwoSides & Subsys
      */
     private final NetworkTable table;
 
+    /**
+     * The receiver for poses from the coprocessor. If null, poses are read from the table instead.
+     */
+    @Nullable
+    private final VisionPoseReceiver visionPoseReceiver;
+
+    /**
+     * The tracker for a multi-frame estimate of the target. If not null, this is used instead of the receiver or table.
+     */
+    @Nullable
+    private final VisionTargetTracker visionTargetTracker;
+
     private final double xOffset, yOffset;
 
     /**
@@ -42,6 +60,14 @@ public class GoToVisionTarget<T extends Subsystem & SubsystemMPTwoSides & Subsys
      * @param maxAccel      The maximum acceleration, in feet/(second^2)
      * @param maxJerk       The maximum jerk, in feet/(second^3)
      * @param deltaTime     The time between setpoints in the profile, in seconds.
+     * @param xOffset       A constant added to the X distance read from the table, in feet.
+     * @param yOffset       A constant added to the Y distance read from the table, in feet.
+     * @param visionPoseReceiver The receiver for poses from the coprocessor, which applies its own offsets. If null,
+     *                           poses are read from the jetson-vision table instead.
+     * @param visionTargetTracker The tracker for a multi-frame estimate of the target. If given, the path is only
+     *                            requested once the estimate is stable, and not at all if it doesn't become stable
+     *                            in time. It's used instead of the receiver or table.
+     * @param stableTimeout The longest to wait for the tracker's estimate to be stable, in seconds. Defaults to 1.
      */
     @JsonCreator
     public GoToVisionTarget(@NotNull @JsonProperty(required = true) T subsystem,
@@ -51,7 +77,10 @@ public class GoToVisionTarget<T extends Subsystem & SubsystemMPTwoSides & Subsys
                             @JsonProperty(required = true) double maxJerk,
                             @JsonProperty(required = true) double deltaTime,
                             double xOffset,
-                            double yOffset) {
+                            double yOffset,
+                            @Nullable VisionPoseReceiver visionPoseReceiver,
+                            @Nullable VisionTargetTracker visionTargetTracker,
+                            @Nullable Double stableTimeout) {
         this.subsystem = subsystem;
         requires(subsystem);
         this.table = NetworkTableInstance.getDefault().getTable("SmartDashboard").getSubTable("jetson-vision");
@@ -59,9 +88,18 @@ public class GoToVisionTarget<T extends Subsystem & SubsystemMPTwoSides & Subsys
                 false);
         GoToPositionRelative goToPositionRelative = new GoToPositionRelative<>(getPath, subsystem);
         goToPositionRelative.setWaypoints(this::getWaypoints);
-        addSequential(goToPositionRelative);
+        if (visionTargetTracker != null) {
+            addSequential(new WaitForStableVisionTarget(visionTargetTracker,
+                    stableTimeout != null ? stableTimeout : 1));
+            //If the wait timed out, there's no estimate worth driving to.
+            addSequential(new ConditionalCommandFunctional(goToPositionRelative, null, visionTargetTracker::isStable));
+        } else {
+            addSequential(goToPositionRelative);
+        }
         this.xOffset = xOffset;
         this.yOffset = yOffset;
+        this.visionPoseReceiver = visionPoseReceiver;
+        this.visionTargetTracker = visionTargetTracker;
     }
 
     /**
@@ -69,12 +107,9 @@ public class GoToVisionTarget<T extends Subsystem & SubsystemMPTwoSides & Subsys
      */
     @NotNull
     private Waypoint[] getWaypoints() {
-        System.out.println("X: " + getX());
-        System.out.println("Y: " + getY());
-        System.out.println("THETA: " + getTheta());
         Waypoint[] toRet = new Waypoint[1];
-//        toRet[0] = new Waypoint(0,0,0);
         toRet[0] = new Waypoint(getX(), getY(), getTheta());
+        Logger.addEvent("Vision target at " + toRet[0], this.getClass());
         return toRet;
     }
 
@@ -82,6 +117,12 @@ public class GoToVisionTarget<T extends Subsystem & SubsystemMPTwoSides & Subsys
      * @return The relative X distance to the setpoint, in feet.
      */
     private double getX() {
+        if (visionTargetTracker != null) {
+            return visionTargetTracker.getRelativeX();
+        }
+        if (visionPoseReceiver != null) {
+            return visionPoseReceiver.getRelativeX();
+        }
         //Not a typo, this is how our coordinate transform works
         return -table.getEntry("z").getDouble(0) + xOffset;
     }
@@ -90,6 +131,12 @@ public class GoToVisionTarget<T extends Subsystem & SubsystemMPTwoSides & Subsys
      * @return The relative Y distance to the setpoint, in feet.
      */
     private double getY() {
+        if (visionTargetTracker != null) {
+            return visionTargetTracker.getRelativeY();
+        }
+        if (visionPoseReceiver != null) {
+            return visionPoseReceiver.getRelativeY();
+        }
         //Not a typo, this is how our coordinate transform works
         return table.getEntry("x").getDouble(0) + yOffset;
     }
@@ -98,6 +145,12 @@ public class GoToVisionTarget<T extends Subsystem & SubsystemMPTwoSides & Subsys
      * @return The relative angular distance to the setpoint, in degrees.
      */
     private double getTheta() {
+        if (visionTargetTracker != null) {
+            return visionTargetTracker.getRelativeTheta();
+        }
+        if (visionPoseReceiver != null) {
+            return visionPoseReceiver.getRelativeTheta();
+        }
         return -Math.toDegrees(table.getEntry("yaw").getDouble(0));
     }
 }
@@ -8,6 +8,7 @@ import edu.wpi.first.wpilibj.command.InstantCommand;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmable;
 import org.usfirst.frc.team449.robot.other.Logger;
 import org.usfirst.frc.team449.robot.other.MotionProfileData;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.motionProfile.TwoSideMPSubsystem.SubsystemMPTwoSides;
@@ -18,7 +19,7 @@ import java.util.function.Supplier;
  * Loads the given profiles into the subsystem, but doesn't run it.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class LoadProfileTwoSides<T extends Subsystem & SubsystemMPTwoSides> extends InstantCommand {
+public class LoadProfileTwoSides<T extends Subsystem & SubsystemMPTwoSides> extends InstantCommand implements PreArmable {
 
     /**
      * The subsystem to execute this command on.
@@ -38,6 +39,11 @@ public class LoadProfileTwoSides<T extends Subsystem & SubsystemMPTwoSides> exte
     @Nullable
     private final Supplier<MotionProfileData> leftSupplier, rightSupplier;
 
+    /**
+     * Whether the profile was already loaded while disabled, so it shouldn't be loaded again when this runs.
+     */
+    private boolean preArmed;
+
     /**
      * Default constructor
      *
@@ -83,10 +89,48 @@ public class LoadProfileTwoSides<T extends Subsystem & SubsystemMPTwoSides> exte
     }
 
     /**
-     * Load the profiles.
+     * Load the profiles, unless they were already loaded while disabled.
      */
     @Override
     protected void execute() {
+        if (preArmed) {
+            preArmed = false;
+        } else {
+            load();
+        }
+    }
+
+    /**
+     * Load the profiles into the Talons now, while disabled, so they're already buffered when this runs. Not done for
+     * a supplier, because it may give different profiles by the time this runs.
+     *
+     * @return true if the profiles are loaded, false if they come from a supplier.
+     */
+    @Override
+    public boolean preArm() {
+        if (left == null) {
+            return false;
+        }
+        if (!preArmed) {
+            load();
+            preArmed = true;
+            Logger.addEvent("LoadProfileTwoSides pre-armed.", this.getClass());
+        }
+        return true;
+    }
+
+    /**
+     * Load the profiles when this runs instead of using the ones loaded while disabled.
+     */
+    @Override
+    public void disarm() {
+        preArmed = false;
+    }
+
+    /**
+     * Send the profiles to the subsystem.
+     */
+    private void load() {
         if (left != null) {
             subsystem.loadMotionProfile(left, right);
         } else {
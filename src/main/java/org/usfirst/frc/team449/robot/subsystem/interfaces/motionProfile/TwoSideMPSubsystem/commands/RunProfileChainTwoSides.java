@@ -0,0 +1,182 @@
+package org.usfirst.frc.team449.robot.subsystem.interfaces.motionProfile.TwoSideMPSubsystem.commands;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import edu.wpi.first.wpilibj.command.Command;
+import edu.wpi.first.wpilibj.command.Subsystem;
+import org.jetbrains.annotations.NotNull;
+import org.usfirst.frc.team449.robot.other.Clock;
+import org.usfirst.frc.team449.robot.other.Logger;
+import org.usfirst.frc.team449.robot.other.MotionProfileData;
+import org.usfirst.frc.team449.robot.subsystem.interfaces.motionProfile.TwoSideMPSubsystem.SubsystemMPTwoSides;
+
+import java.util.List;
+
+/**
+ * Runs a sequence of profiles as one continuous trajectory. The first pair of profiles is loaded and started, and each
+ * following pair is appended to the Talons' buffers while the ones before it run, as soon as there's room for it,
+ * starting where they end, so the drive doesn't stop to reload between them. Profiles that can't be chained, because
+ * their point time, direction, or control mode differ from the ones before them, are loaded once the previous ones
+ * finish instead.
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
+public class RunProfileChainTwoSides<T extends Subsystem & SubsystemMPTwoSides> extends Command {
+
+    /**
+     * The subsystem to execute this command on.
+     */
+    @NotNull
+    private final SubsystemMPTwoSides subsystem;
+
+    /**
+     * The profiles for the left and right sides, in the order to run them.
+     */
+    @NotNull
+    private final List<MotionProfileData> left, right;
+
+    /**
+     * Whether each pair of profiles can be chained into the pair after it.
+     */
+    @NotNull
+    private final boolean[] chainsToNext;
+
+    /**
+     * The amount of time this command is allowed to run for, in milliseconds.
+     */
+    private final long timeout;
+
+    /**
+     * The time this command started running at.
+     */
+    private long startTime;
+
+    /**
+     * The index of the next pair of profiles to send to the subsystem.
+     */
+    private int nextProfile;
+
+    /**
+     * Whether the subsystem is running profiles or waiting for the bottom-level buffer to fill.
+     */
+    private boolean runningProfile;
+
+    /**
+     * Whether the subsystem still reports the previous profile as finished, which it does until the status frame
+     * after loading arrives.
+     */
+    private boolean startingFinished;
+
+    /**
+     * Default constructor.
+     *
+     * @param subsystem The subsystem to execute this command on.
+     * @param left      The profiles for the left side, in the order to run them.
+     * @param right     The profiles for the right side, in the order to run them. Must be the same length as left.
+     * @param timeout   The max amount of time this command is allowed to run for, in seconds.
+     */
+    @JsonCreator
+    public RunProfileChainTwoSides(@NotNull @JsonProperty(required = true) T subsystem,
+                                   @NotNull @JsonProperty(required = true) List<MotionProfileData> left,
+                                   @NotNull @JsonProperty(required = true) List<MotionProfileData> right,
+                                   @JsonProperty(required = true) double timeout) {
+        if (left.isEmpty() || left.size() != right.size()) {
+            throw new IllegalArgumentException("left and right must have the same, nonzero, number of profiles!");
+        }
+        this.subsystem = subsystem;
+        requires(subsystem);
+        this.left = left;
+        this.right = right;
+        chainsToNext = new boolean[left.size()];
+        for (int i = 0; i < left.size() - 1; i++) {
+            chainsToNext[i] = left.get(i).canChainTo(left.get(i + 1)) && right.get(i).canChainTo(right.get(i + 1));
+        }
+
+        //Convert to milliseconds.
+        this.timeout = (long) (timeout * 1000.);
+    }
+
+    /**
+     * Record the start time and load the first pair of profiles.
+     */
+    @Override
+    protected void initialize() {
+        //Record the start time.
+        startTime = Clock.currentTimeMillis();
+        Logger.addEvent("RunProfileChainTwoSides init", this.getClass());
+        nextProfile = 0;
+        loadNext();
+    }
+
+    /**
+     * Start the profiles once the bottom-level buffer is full, then feed the rest of the chain in behind them.
+     */
+    @Override
+    protected void execute() {
+        if (!runningProfile) {
+            if (startingFinished) {
+                startingFinished = subsystem.profileFinished();
+            }
+            if (subsystem.readyToRunProfile() && !startingFinished) {
+                subsystem.startRunningLoadedProfile();
+                runningProfile = true;
+            }
+        } else if (nextProfile < left.size()) {
+            if (chainsToNext[nextProfile - 1]) {
+                //Append the next pair while the current one runs so there's no gap between them, once the points
+                // before it have drained enough to make room.
+                if (subsystem.hasRoomToAppend(left.get(nextProfile), right.get(nextProfile))) {
+                    subsystem.appendMotionProfile(left.get(nextProfile), right.get(nextProfile),
+                            chainsToNext[nextProfile]);
+                    nextProfile++;
+                }
+            } else if (subsystem.profileFinished()) {
+                Logger.addEvent("Profile " + nextProfile + " can't be chained, reloading", this.getClass());
+                loadNext();
+            }
+        }
+    }
+
+    /**
+     * Load the next pair of profiles, leaving them open for the pair after if it can be chained.
+     */
+    private void loadNext() {
+        subsystem.loadMotionProfile(left.get(nextProfile), right.get(nextProfile), chainsToNext[nextProfile]);
+        nextProfile++;
+        runningProfile = false;
+        startingFinished = subsystem.profileFinished();
+    }
+
+    /**
+     * Finish when the last profile finishes or the timeout is reached.
+     *
+     * @return true if the last profile is finished or the timeout has been exceeded, false otherwise.
+     */
+    @Override
+    protected boolean isFinished() {
+        if (Clock.currentTimeMillis() - startTime > timeout) {
+            Logger.addEvent("Command timed out", this.getClass());
+            return true;
+        }
+        return runningProfile && nextProfile == left.size() && subsystem.profileFinished();
+    }
+
+    /**
+     * Hold position and log on exit.
+     */
+    @Override
+    protected void end() {
+        subsystem.holdPosition();
+        Logger.addEvent("RunProfileChainTwoSides end.", this.getClass());
+    }
+
+    /**
+     * Disable and log if interrupted.
+     */
+    @Override
+    protected void interrupted() {
+        subsystem.disable();
+        Logger.addEvent("RunProfileChainTwoSides interrupted!", this.getClass());
+    }
+}
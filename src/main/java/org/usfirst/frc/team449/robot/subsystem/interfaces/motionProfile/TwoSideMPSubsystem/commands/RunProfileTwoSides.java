@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.command.CommandGroup;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import org.jetbrains.annotations.NotNull;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmable;
 import org.usfirst.frc.team449.robot.other.MotionProfileData;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.motionProfile.TwoSideMPSubsystem.SubsystemMPTwoSides;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.motionProfile.commands.RunLoadedProfile;
@@ -17,7 +18,13 @@ import java.util.function.Supplier;
  * Loads and runs the given profiles into the given subsystem.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class RunProfileTwoSides<T extends Subsystem & SubsystemMPTwoSides> extends CommandGroup {
+public class RunProfileTwoSides<T extends Subsystem & SubsystemMPTwoSides> extends CommandGroup implements PreArmable {
+
+    /**
+     * The command that loads the profiles.
+     */
+    @NotNull
+    private final LoadProfileTwoSides<T> load;
 
     /**
      * Default constructor.
@@ -32,7 +39,8 @@ public class RunProfileTwoSides<T extends Subsystem & SubsystemMPTwoSides> exten
                               @NotNull @JsonProperty(required = true) MotionProfileData left,
                               @NotNull @JsonProperty(required = true) MotionProfileData right,
                               @JsonProperty(required = true) double timeout) {
-        addSequential(new LoadProfileTwoSides(subsystem, left, right));
+        load = new LoadProfileTwoSides<>(subsystem, left, right);
+        addSequential(load);
         addSequential(new RunLoadedProfile<>(subsystem, timeout));
     }
 
@@ -48,7 +56,26 @@ public class RunProfileTwoSides<T extends Subsystem & SubsystemMPTwoSides> exten
                               @NotNull Supplier<MotionProfileData> leftSupplier,
                               @NotNull Supplier<MotionProfileData> rightSupplier,
                               double timeout) {
-        addSequential(new LoadProfileTwoSides(subsystem, leftSupplier, rightSupplier));
+        load = new LoadProfileTwoSides<>(subsystem, leftSupplier, rightSupplier);
+        addSequential(load);
         addSequential(new RunLoadedProfile<>(subsystem, timeout));
     }
+
+    /**
+     * Load the profiles now, while disabled.
+     *
+     * @return true if the profiles are loaded, false otherwise.
+     */
+    @Override
+    public boolean preArm() {
+        return load.preArm();
+    }
+
+    /**
+     * Load the profiles when this runs instead of using the ones loaded while disabled.
+     */
+    @Override
+    public void disarm() {
+        load.disarm();
+    }
 }
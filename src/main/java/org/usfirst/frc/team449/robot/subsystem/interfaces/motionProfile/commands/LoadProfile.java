@@ -8,6 +8,7 @@ import edu.wpi.first.wpilibj.command.InstantCommand;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmable;
 import org.usfirst.frc.team449.robot.other.Logger;
 import org.usfirst.frc.team449.robot.other.MotionProfileData;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.motionProfile.SubsystemMP;
@@ -18,7 +19,7 @@ import java.util.function.Supplier;
  * Loads the given profile into the subsystem, but doesn't run it.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class LoadProfile<T extends Subsystem & SubsystemMP> extends InstantCommand {
+public class LoadProfile<T extends Subsystem & SubsystemMP> extends InstantCommand implements PreArmable {
 
     /**
      * The subsystem to execute this command on.
@@ -38,6 +39,11 @@ public class LoadProfile<T extends Subsystem & SubsystemMP> extends InstantComma
     @Nullable
     private final Supplier<MotionProfileData> profileSupplier;
 
+    /**
+     * Whether the profile was already loaded while disabled, so it shouldn't be loaded again when this runs.
+     */
+    private boolean preArmed;
+
     /**
      * Default constructor
      *
@@ -75,10 +81,48 @@ public class LoadProfile<T extends Subsystem & SubsystemMP> extends InstantComma
     }
 
     /**
-     * Load the profile.
+     * Load the profile, unless they were already loaded while disabled.
      */
     @Override
     protected void execute() {
+        if (preArmed) {
+            preArmed = false;
+        } else {
+            load();
+        }
+    }
+
+    /**
+     * Load the profile into the Talons now, while disabled, so they're already buffered when this runs. Not done for
+     * a supplier, because it may give a different profile by the time this runs.
+     *
+     * @return true if the profile is loaded, false if it comes from a supplier.
+     */
+    @Override
+    public boolean preArm() {
+        if (profile == null) {
+            return false;
+        }
+        if (!preArmed) {
+            load();
+            preArmed = true;
+            Logger.addEvent("LoadProfile pre-armed.", this.getClass());
+        }
+        return true;
+    }
+
+    /**
+     * Load the profile when this runs instead of using the ones loaded while disabled.
+     */
+    @Override
+    public void disarm() {
+        preArmed = false;
+    }
+
+    /**
+     * Send the profile to the subsystem.
+     */
+    private void load() {
         if (profile != null) {
             subsystem.loadMotionProfile(profile);
         } else {
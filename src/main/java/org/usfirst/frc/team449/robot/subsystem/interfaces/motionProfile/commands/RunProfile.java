@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import edu.wpi.first.wpilibj.command.CommandGroup;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import org.jetbrains.annotations.NotNull;
+import org.usfirst.frc.team449.robot.generalInterfaces.preArmable.PreArmable;
 import org.usfirst.frc.team449.robot.other.MotionProfileData;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.motionProfile.SubsystemMP;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.motionProfile.TwoSideMPSubsystem.SubsystemMPTwoSides;
@@ -17,7 +18,13 @@ import java.util.function.Supplier;
  * Loads and runs the given profile into the given subsystem.
  */
 @JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
-public class RunProfile<T extends Subsystem & SubsystemMP> extends CommandGroup {
+public class RunProfile<T extends Subsystem & SubsystemMP> extends CommandGroup implements PreArmable {
+
+    /**
+     * The command that loads the profile.
+     */
+    @NotNull
+    private final LoadProfile<T> load;
 
     /**
      * Default constructor.
@@ -30,7 +37,8 @@ public class RunProfile<T extends Subsystem & SubsystemMP> extends CommandGroup
     public RunProfile(@NotNull @JsonProperty(required = true) T subsystem,
                       @NotNull @JsonProperty(required = true) MotionProfileData profile,
                       @JsonProperty(required = true) double timeout) {
-        addSequential(new LoadProfile(subsystem, profile));
+        load = new LoadProfile<>(subsystem, profile);
+        addSequential(load);
         addSequential(new RunLoadedProfile<>(subsystem, timeout));
     }
 
@@ -44,7 +52,26 @@ public class RunProfile<T extends Subsystem & SubsystemMP> extends CommandGroup
     public RunProfile(@NotNull T subsystem,
                       @NotNull Supplier<MotionProfileData> profileSupplier,
                       double timeout) {
-        addSequential(new LoadProfile(subsystem, profileSupplier));
+        load = new LoadProfile<>(subsystem, profileSupplier);
+        addSequential(load);
         addSequential(new RunLoadedProfile<>(subsystem, timeout));
     }
+
+    /**
+     * Load the profile now, while disabled.
+     *
+     * @return true if the profile is loaded, false otherwise.
+     */
+    @Override
+    public boolean preArm() {
+        return load.preArm();
+    }
+
+    /**
+     * Load the profile when this runs instead of using the one loaded while disabled.
+     */
+    @Override
+    public void disarm() {
+        load.disarm();
+    }
 }
@@ -17,6 +17,11 @@ public interface SubsystemMPManual {
      */
     void runMPPoint(double pos, double vel, double accel);
 
+    /**
+     * Get ready to run trajectory points, e.g. by configuring the motors, so the first point runs without delay.
+     */
+    void prepareMPPoints();
+
 
     /**
      * Disable the motors.
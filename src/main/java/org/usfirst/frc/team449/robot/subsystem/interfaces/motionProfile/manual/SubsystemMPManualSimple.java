@@ -45,6 +45,14 @@ public class SubsystemMPManualSimple extends Subsystem implements SubsystemMPMan
         motor.executeMPPoint(pos,0,0);
     }
 
+    /**
+     * Configure the motor to run trajectory points.
+     */
+    @Override
+    public void prepareMPPoints() {
+        motor.prepareMPPoints();
+    }
+
     /**
      * Run the trajectory point
      */
@@ -93,7 +93,7 @@ public class SubsystemPositionOnboardMP extends Subsystem implements SubsystemPo
      */
     @Override
     public boolean getReverseLimit() {
-        return talon.getRevLimitSwitch();
+        return talon.getCachedRevLimitSwitch();
     }
 
     /**
@@ -103,7 +103,7 @@ public class SubsystemPositionOnboardMP extends Subsystem implements SubsystemPo
      */
     @Override
     public boolean getForwardLimit() {
-        return talon.getFwdLimitSwitch();
+        return talon.getCachedFwdLimitSwitch();
     }
 
     /**
@@ -152,7 +152,7 @@ public class SubsystemPositionOnboardMP extends Subsystem implements SubsystemPo
     @Override
     public void update() {
         //Update acceleration
-        accel = talon.getVelocity() - lastVel;
+        accel = talon.getCachedVelocity() - lastVel;
         //Do clever math to get the talon velocity back out
         lastVel = accel + lastVel;
     }
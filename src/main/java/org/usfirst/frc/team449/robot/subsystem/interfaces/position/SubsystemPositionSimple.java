@@ -73,7 +73,7 @@ public class SubsystemPositionSimple extends Subsystem implements SubsystemPosit
      */
     @Override
     public boolean getReverseLimit() {
-        return motor.getRevLimitSwitch();
+        return motor.getCachedRevLimitSwitch();
     }
 
     /**
@@ -83,7 +83,7 @@ public class SubsystemPositionSimple extends Subsystem implements SubsystemPosit
      */
     @Override
     public boolean getForwardLimit() {
-        return motor.getFwdLimitSwitch();
+        return motor.getCachedFwdLimitSwitch();
     }
 
     /**
@@ -101,7 +101,7 @@ public class SubsystemPositionSimple extends Subsystem implements SubsystemPosit
      */
     @Override
     public boolean onTarget() {
-        return Math.abs(motor.getError()) < onTargetTolerance;
+        return Math.abs(motor.getCachedError()) < onTargetTolerance;
     }
 
     /**
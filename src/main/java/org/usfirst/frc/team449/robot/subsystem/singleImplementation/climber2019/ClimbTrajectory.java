@@ -0,0 +1,112 @@
+package org.usfirst.frc.team449.robot.subsystem.singleImplementation.climber2019;
+
+import com.team254.lib.util.motion.MotionProfile;
+import com.team254.lib.util.motion.MotionProfileConstraints;
+import com.team254.lib.util.motion.MotionProfileGenerator;
+import com.team254.lib.util.motion.MotionProfileGoal;
+import com.team254.lib.util.motion.MotionState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Profiles for the back elevator, front elevator, and leg-drive of the 2019 climber that share one timebase, so they
+ * can be run together by {@link SubsystemClimber2019#startTrajectory(ClimbTrajectory, double, double)}. Each axis's
+ * profile can start later than the others by starting its profile at a later time.
+ */
+public class ClimbTrajectory {
+
+    /**
+     * The profiles for the back elevator, front elevator, and leg-drive. Null for axes that shouldn't move.
+     */
+    @Nullable
+    private final MotionProfile back, front, drive;
+
+    /**
+     * Whether the profile positions are relative to where each axis is when the trajectory starts, or absolute.
+     */
+    private final boolean relative;
+
+    /**
+     * The time at which every profile has ended, in seconds.
+     */
+    private final double duration;
+
+    /**
+     * Default constructor.
+     *
+     * @param back     The profile for the back elevator. Can be null to not move it.
+     * @param front    The profile for the front elevator. Can be null to not move it.
+     * @param drive    The profile for the leg-drive. Can be null to not move it.
+     * @param relative Whether the profile positions are relative to where each axis is when the trajectory starts.
+     */
+    public ClimbTrajectory(@Nullable MotionProfile back,
+                           @Nullable MotionProfile front,
+                           @Nullable MotionProfile drive,
+                           boolean relative) {
+        this.back = back;
+        this.front = front;
+        this.drive = drive;
+        this.relative = relative;
+        double end = 0;
+        for (MotionProfile profile : new MotionProfile[]{back, front, drive}) {
+            if (profile != null && !profile.isEmpty()) {
+                end = Math.max(end, profile.endTime());
+            }
+        }
+        duration = end;
+    }
+
+    /**
+     * Generate a trapezoidal profile for one axis.
+     *
+     * @param maxVel   The maximum velocity, in feet/second.
+     * @param maxAccel The maximum acceleration, in feet/second^2.
+     * @param start    The start position, in feet.
+     * @param end      The end position, in feet.
+     * @param delay    How long after the trajectory starts this axis should start moving, in seconds.
+     * @return The profile.
+     */
+    @NotNull
+    public static MotionProfile generate(double maxVel, double maxAccel, double start, double end, double delay) {
+        return MotionProfileGenerator.generateProfile(new MotionProfileConstraints(maxVel, maxAccel),
+                new MotionProfileGoal(end), new MotionState(delay, start, 0, 0));
+    }
+
+    /**
+     * @return The profile for the back elevator, or null if it shouldn't move.
+     */
+    @Nullable
+    public MotionProfile getBack() {
+        return back;
+    }
+
+    /**
+     * @return The profile for the front elevator, or null if it shouldn't move.
+     */
+    @Nullable
+    public MotionProfile getFront() {
+        return front;
+    }
+
+    /**
+     * @return The profile for the leg-drive, or null if it shouldn't move.
+     */
+    @Nullable
+    public MotionProfile getDrive() {
+        return drive;
+    }
+
+    /**
+     * @return Whether the profile positions are relative to where each axis is when the trajectory starts.
+     */
+    public boolean isRelative() {
+        return relative;
+    }
+
+    /**
+     * @return The time at which every profile has ended, in seconds.
+     */
+    public double getDuration() {
+        return duration;
+    }
+}
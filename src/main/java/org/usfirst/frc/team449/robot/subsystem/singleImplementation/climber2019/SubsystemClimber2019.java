@@ -8,8 +8,10 @@ import com.team254.lib.util.motion.*;
 import edu.wpi.first.wpilibj.DoubleSolenoid;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.usfirst.frc.team449.robot.jacksonWrappers.FPSTalon;
 import org.usfirst.frc.team449.robot.jacksonWrappers.MappedDoubleSolenoid;
+import org.usfirst.frc.team449.robot.other.PeriodicScheduler;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.binaryMotor.SubsystemBinaryMotor;
 
 /**
@@ -41,6 +43,62 @@ public class SubsystemClimber2019 extends Subsystem implements SubsystemBinaryMo
      */
     private boolean motorOn;
 
+    /**
+     * The task that streams the current trajectory to the Talons.
+     */
+    @NotNull
+    private final PeriodicScheduler.Task trajectoryTask;
+
+    /**
+     * Held while sending a trajectory's setpoints and while stopping it, so no setpoint goes out after it's stopped.
+     */
+    @NotNull
+    private final Object trajectoryLock = new Object();
+
+    /**
+     * The trajectory being run, or null if none is.
+     */
+    @Nullable
+    private volatile ClimbTrajectory trajectory;
+
+    /**
+     * When the current trajectory started, from {@link System#nanoTime()}.
+     */
+    private long trajectoryStartNanos;
+
+    /**
+     * The positions of the back elevator, front elevator, and leg-drive when the current trajectory started, in feet.
+     */
+    private double trajectoryBackStart, trajectoryFrontStart, trajectoryDriveStart;
+
+    /**
+     * The positions most recently commanded to the back elevator, front elevator, and leg-drive by the trajectory, in
+     * feet, or NaN if none has been commanded yet.
+     */
+    private double backSetpoint, frontSetpoint, driveSetpoint;
+
+    /**
+     * The most any axis can be away from where the trajectory put it before the trajectory is aborted, in feet.
+     */
+    private double maxTrackingError;
+
+    /**
+     * How often tracking is checked, in nanoseconds. The slowest rate any axis in the trajectory sends its position
+     * at, since checking more often just rereads the same position.
+     */
+    private long trackingCheckPeriodNanos;
+
+    /**
+     * When tracking was last checked, from {@link System#nanoTime()}.
+     */
+    private long lastTrackingCheckNanos;
+
+    /**
+     * A description of why the current trajectory was aborted, or null if it wasn't.
+     */
+    @Nullable
+    private volatile String trajectoryFault;
+
     /**
      * Default constructor
      *
@@ -67,6 +125,164 @@ public class SubsystemClimber2019 extends Subsystem implements SubsystemBinaryMo
         this.brakeFront = brakeFront;
         brakeBack.set(DoubleSolenoid.Value.kForward);
         brakeFront.set(DoubleSolenoid.Value.kForward);
+        trajectoryTask = PeriodicScheduler.createTask("climber_trajectory", this::runTrajectory);
+    }
+
+    /**
+     * Start running a trajectory on all three axes. The setpoints for every axis are computed from one clock and sent
+     * together from a background thread, so the axes stay in sync regardless of scheduler jitter.
+     *
+     * @param trajectory       The trajectory to run.
+     * @param periodSecs       How often to send new setpoints, in seconds.
+     * @param maxTrackingError The most any axis can be away from where the trajectory put it before the trajectory is
+     *                         aborted, in feet.
+     */
+    public void startTrajectory(@NotNull ClimbTrajectory trajectory, double periodSecs, double maxTrackingError) {
+        synchronized (trajectoryLock) {
+            trajectoryTask.stop();
+            int feedbackPeriodMillis = 0;
+            if (trajectory.getBack() != null) {
+                brakeBack.set(DoubleSolenoid.Value.kReverse);
+                feedbackPeriodMillis = Math.max(feedbackPeriodMillis, backTalon.getFeedbackPeriodMillis());
+            }
+            if (trajectory.getFront() != null) {
+                brakeFront.set(DoubleSolenoid.Value.kReverse);
+                feedbackPeriodMillis = Math.max(feedbackPeriodMillis, frontTalon.getFeedbackPeriodMillis());
+            }
+            if (trajectory.getDrive() != null) {
+                feedbackPeriodMillis = Math.max(feedbackPeriodMillis, driveTalon.getFeedbackPeriodMillis());
+            }
+            trajectoryBackStart = trajectory.isRelative() ? backTalon.getPositionFeet() : 0;
+            trajectoryFrontStart = trajectory.isRelative() ? frontTalon.getPositionFeet() : 0;
+            trajectoryDriveStart = trajectory.isRelative() ? driveTalon.getPositionFeet() : 0;
+            backSetpoint = Double.NaN;
+            frontSetpoint = Double.NaN;
+            driveSetpoint = Double.NaN;
+            this.maxTrackingError = maxTrackingError;
+            trackingCheckPeriodNanos = feedbackPeriodMillis * 1_000_000L;
+            trajectoryFault = null;
+            trajectoryStartNanos = System.nanoTime();
+            lastTrackingCheckNanos = trajectoryStartNanos;
+            this.trajectory = trajectory;
+            //Send the first setpoints now instead of waiting a period.
+            runTrajectory();
+            trajectoryTask.startPeriodic(periodSecs);
+        }
+    }
+
+    /**
+     * Send every axis its setpoint for the current time, after checking that each one kept up with the last one.
+     * Runs on the scheduler thread.
+     */
+    private void runTrajectory() {
+        synchronized (trajectoryLock) {
+            //Read under the lock, so a trajectory stopped while this waited doesn't get another setpoint.
+            ClimbTrajectory current = trajectory;
+            if (current == null) {
+                trajectoryTask.stop();
+                return;
+            }
+            sendTrajectory(current);
+        }
+    }
+
+    /**
+     * Send every axis its setpoint for the current time, checking tracking first if new positions could have arrived
+     * since the last check. Must be called holding trajectoryLock.
+     *
+     * @param current The trajectory being run.
+     */
+    private void sendTrajectory(@NotNull ClimbTrajectory current) {
+        long now = System.nanoTime();
+        double t = (now - trajectoryStartNanos) / 1e9;
+
+        //Check tracking before sending anything, so a stuck axis doesn't get pushed further.
+        String fault = null;
+        if (now - lastTrackingCheckNanos >= trackingCheckPeriodNanos) {
+            lastTrackingCheckNanos = now;
+            fault = checkTracking("back", backTalon, backSetpoint);
+            if (fault == null) {
+                fault = checkTracking("front", frontTalon, frontSetpoint);
+            }
+            if (fault == null) {
+                fault = checkTracking("leg-drive", driveTalon, driveSetpoint);
+            }
+        }
+        if (fault != null) {
+            //Stop updating setpoints and leave each Talon holding its last one until the command stops the axes.
+            trajectoryFault = fault;
+            trajectory = null;
+            trajectoryTask.stop();
+            return;
+        }
+
+        //Sample every profile at the same time before sending any of them.
+        MotionState backState = current.getBack() != null ? current.getBack().stateByTimeClamped(t) : null;
+        MotionState frontState = current.getFront() != null ? current.getFront().stateByTimeClamped(t) : null;
+        MotionState driveState = current.getDrive() != null ? current.getDrive().stateByTimeClamped(t) : null;
+        if (backState != null) {
+            backSetpoint = trajectoryBackStart + backState.pos();
+            backTalon.executeMPPoint(backSetpoint, backState.vel(), backState.acc());
+        }
+        if (frontState != null) {
+            frontSetpoint = trajectoryFrontStart + frontState.pos();
+            frontTalon.executeMPPoint(frontSetpoint, frontState.vel(), frontState.acc());
+        }
+        if (driveState != null) {
+            driveSetpoint = trajectoryDriveStart + driveState.pos();
+            driveTalon.executeMPPoint(driveSetpoint, driveState.vel(), driveState.acc());
+        }
+
+        if (t >= current.getDuration()) {
+            //Leave the Talons holding the final setpoints.
+            trajectory = null;
+            trajectoryTask.stop();
+        }
+    }
+
+    /**
+     * Check whether an axis is close enough to where the trajectory last put it.
+     *
+     * @param axis     The name of the axis, for the description.
+     * @param talon    The Talon for the axis.
+     * @param setpoint The position last commanded to the axis, in feet, or NaN if none has been.
+     * @return A description of the tracking error, or null if the axis is within tolerance.
+     */
+    @Nullable
+    private String checkTracking(@NotNull String axis, @NotNull FPSTalon talon, double setpoint) {
+        if (Double.isNaN(setpoint)) {
+            return null;
+        }
+        double error = talon.getPositionFeet() - setpoint;
+        if (Math.abs(error) > maxTrackingError) {
+            return "Climb trajectory aborted, " + axis + " was " + error + " feet off its setpoint of " + setpoint;
+        }
+        return null;
+    }
+
+    /**
+     * Stop sending the current trajectory's setpoints. The Talons keep the last ones they were sent.
+     */
+    public void stopTrajectory() {
+        synchronized (trajectoryLock) {
+            trajectoryTask.stop();
+            trajectory = null;
+        }
+    }
+
+    /**
+     * @return true if a trajectory is still being run, false if it finished, was aborted, or was stopped.
+     */
+    public boolean isTrajectoryRunning() {
+        return trajectory != null;
+    }
+
+    /**
+     * @return A description of why the last trajectory was aborted, or null if it wasn't.
+     */
+    @Nullable
+    public String getTrajectoryFault() {
+        return trajectoryFault;
     }
 
     /**
@@ -155,7 +371,7 @@ public class SubsystemClimber2019 extends Subsystem implements SubsystemBinaryMo
      */
     public boolean profileBackUntilMovement(MotionState motionState, double initPos, double tolerance) {
         brakeBack.set(DoubleSolenoid.Value.kReverse);
-        if (Math.abs(initPos - backTalon.getPositionFeet()) > tolerance) {
+        if (Math.abs(initPos - backTalon.getCachedPositionFeet()) > tolerance) {
             return true;
         }
         backTalon.executeMPPoint(motionState.pos(), motionState.vel(), motionState.acc());
@@ -172,7 +388,7 @@ public class SubsystemClimber2019 extends Subsystem implements SubsystemBinaryMo
      */
     public boolean profileFrontUntilMovement(MotionState motionState, double initPos, double tolerance) {
         brakeFront.set(DoubleSolenoid.Value.kReverse);
-        if (Math.abs(initPos - frontTalon.getPositionFeet()) > tolerance) {
+        if (Math.abs(initPos - frontTalon.getCachedPositionFeet()) > tolerance) {
             return true;
         }
         frontTalon.executeMPPoint(motionState.pos(), motionState.vel(), motionState.acc());
@@ -183,21 +399,21 @@ public class SubsystemClimber2019 extends Subsystem implements SubsystemBinaryMo
      * @return the position of the back motor.
      */
     public double getBackPos() {
-        return backTalon.getPositionFeet();
+        return backTalon.getCachedPositionFeet();
     }
 
     /**
      * @return the position of the front motor.
      */
     public double getFrontPos() {
-        return frontTalon.getPositionFeet();
+        return frontTalon.getCachedPositionFeet();
     }
 
     /**
      * @return the position of the leg-drive motor.
      */
     public double getDrivePos() {
-        return driveTalon.getPositionFeet();
+        return driveTalon.getCachedPositionFeet();
     }
 
     /**
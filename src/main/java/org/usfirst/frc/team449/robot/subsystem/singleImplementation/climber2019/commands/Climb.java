@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import edu.wpi.first.wpilibj.command.Command;
 import edu.wpi.first.wpilibj.command.CommandGroup;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import org.jetbrains.annotations.NotNull;
@@ -28,6 +29,7 @@ import org.usfirst.frc.team449.robot.subsystem.interfaces.intake.commands.SetInt
 import org.usfirst.frc.team449.robot.subsystem.interfaces.solenoid.SubsystemSolenoid;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.solenoid.commands.SolenoidForward;
 import org.usfirst.frc.team449.robot.subsystem.interfaces.solenoid.commands.SolenoidReverse;
+import org.usfirst.frc.team449.robot.subsystem.singleImplementation.climber2019.ClimbTrajectory;
 import org.usfirst.frc.team449.robot.subsystem.singleImplementation.climber2019.SubsystemClimber2019;
 import org.usfirst.frc.team449.robot.subsystem.singleImplementation.pneumatics.Pneumatics;
 import org.usfirst.frc.team449.robot.subsystem.singleImplementation.pneumatics.commands.StopCompressor;
@@ -66,6 +68,9 @@ public class Climb<T extends Subsystem & SubsystemAnalogMotor> extends CommandGr
 	 * @param crawlVelocity     The velocity at which to crawl the leg-drive and drive while the back elevator lifts.
 	 * @param bumperLipAvoidance  How far to back up before climbing.
 	 * @param backLegLipAvoidance How far to back up before retracting the back leg.
+	 * @param coordinated       Whether to extend the legs and retract the back leg with the climber's trajectory
+	 *                          executor, which updates every axis together at a high rate and aborts if one falls
+	 *                          behind, instead of one command per move run by the scheduler. Defaults to false.
 	 */
 	@JsonCreator
 	public Climb(@JsonProperty(required = true) @NotNull SubsystemClimber2019 climber,
@@ -93,7 +98,8 @@ public class Climb<T extends Subsystem & SubsystemAnalogMotor> extends CommandGr
 	             double stallVoltageFront,
 	             double crawlVelocity,
 	             @Nullable Double bumperLipAvoidance,
-	             @Nullable Double backLegLipAvoidance) {
+	             @Nullable Double backLegLipAvoidance,
+	             @Nullable Boolean coordinated) {
 		requires(climber);
 		climber.setCrawlVelocity(crawlVelocity * 0.75);
 		
@@ -115,8 +121,16 @@ public class Climb<T extends Subsystem & SubsystemAnalogMotor> extends CommandGr
 		RunDriveMP nudgeBackForBumperLip = bumperLipAvoidance == null ? null : new RunDriveMP<>(maxVelNudge,
 				maxAccelNudge, bumperLipAvoidance, drive);
 
-		RunElevator extendLegs = new RunElevator(RunElevator.MoveType.BOTH, maxVelExtend, maxAccelExtend,
-				0.0, extendDistance, heightOffset, velReduction, accelReduction, null, climber);
+		boolean useTrajectories = coordinated != null && coordinated;
+
+		Command extendLegs = useTrajectories ?
+				new RunClimbTrajectory(climber, new ClimbTrajectory(
+						ClimbTrajectory.generate((1 - velReduction) * maxVelExtend,
+								(1 - accelReduction) * maxAccelExtend, 0, extendDistance, 0),
+						ClimbTrajectory.generate(maxVelExtend, maxAccelExtend, 0, extendDistance + heightOffset, 0),
+						null, false), null, null) :
+				new RunElevator(RunElevator.MoveType.BOTH, maxVelExtend, maxAccelExtend,
+						0.0, extendDistance, heightOffset, velReduction, accelReduction, null, climber);
 
 		StallElevators stallElevators = new StallElevators(climber, stallVoltageBack, stallVoltageFront);
 
@@ -140,8 +154,12 @@ public class Climb<T extends Subsystem & SubsystemAnalogMotor> extends CommandGr
 		DriveLegWheels nudgeBackForBackLegLip = backLegLipAvoidance == null ? null : new DriveLegWheels(maxVelNudge,
 				maxAccelNudge, -backLegLipAvoidance, climber);
 
-		RunElevator retractBackLeg = new RunElevator(RunElevator.MoveType.BACK, maxVelRetract, maxAccelRetract,
-				extendDistance, -0.5, 0, 0, 0, null, climber);
+		Command retractBackLeg = useTrajectories ?
+				new RunClimbTrajectory(climber, new ClimbTrajectory(
+						ClimbTrajectory.generate(maxVelRetract, maxAccelRetract, extendDistance, -0.5, 0),
+						null, null, false), null, null) :
+				new RunElevator(RunElevator.MoveType.BACK, maxVelRetract, maxAccelRetract,
+						extendDistance, -0.5, 0, 0, 0, null, climber);
 
 //		TurnMotorOffWithRequires stopLegCrawl = new TurnMotorOffWithRequires<>(climber);
 
@@ -0,0 +1,171 @@
+package org.usfirst.frc.team449.robot.subsystem.singleImplementation.climber2019.commands;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import edu.wpi.first.wpilibj.command.Command;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.usfirst.frc.team449.robot.other.Logger;
+import org.usfirst.frc.team449.robot.subsystem.singleImplementation.climber2019.ClimbTrajectory;
+import org.usfirst.frc.team449.robot.subsystem.singleImplementation.climber2019.SubsystemClimber2019;
+
+/**
+ * Run a trajectory on any of the climber's axes at once, with the setpoints for every axis sent together from a
+ * high-rate background thread. Ends when the trajectory finishes or an axis falls too far behind it.
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.StringIdGenerator.class)
+public class RunClimbTrajectory extends Command {
+
+    /**
+     * The climber subsystem.
+     */
+    @NotNull
+    private final SubsystemClimber2019 climber;
+
+    /**
+     * The trajectory to run.
+     */
+    @NotNull
+    private final ClimbTrajectory trajectory;
+
+    /**
+     * How often to send new setpoints, in seconds.
+     */
+    private final double periodSecs;
+
+    /**
+     * The most any axis can be away from where the trajectory put it before the trajectory is aborted, in feet.
+     */
+    private final double maxTrackingError;
+
+    /**
+     * Default constructor.
+     *
+     * @param climber          The climber subsystem.
+     * @param maxVel           The maximum velocity to run the elevators at, in feet/second.
+     * @param maxAccel         The maximum acceleration to run the elevators at, in feet/second^2.
+     * @param backDistance     How far to move the back elevator, in feet. Can be null to not move it.
+     * @param frontDistance    How far to move the front elevator, in feet. Can be null to not move it.
+     * @param driveDistance    How far to move the leg-drive, in feet. Can be null to not move it.
+     * @param driveMaxVel      The maximum velocity to run the leg-drive at, in feet/second. Defaults to maxVel.
+     * @param driveMaxAccel    The maximum acceleration to run the leg-drive at, in feet/second^2. Defaults to
+     *                         maxAccel.
+     * @param driveDelay       How long after the elevators start the leg-drive should start, in seconds. Defaults to
+     *                         0.
+     * @param periodSecs       How often to send new setpoints, in seconds. Defaults to 0.005.
+     * @param maxTrackingError The most any axis can be away from where the trajectory put it before the trajectory is
+     *                         aborted, in feet. Defaults to 0.25.
+     */
+    @JsonCreator
+    public RunClimbTrajectory(@JsonProperty(required = true) @NotNull SubsystemClimber2019 climber,
+                              @JsonProperty(required = true) double maxVel,
+                              @JsonProperty(required = true) double maxAccel,
+                              @Nullable Double backDistance,
+                              @Nullable Double frontDistance,
+                              @Nullable Double driveDistance,
+                              @Nullable Double driveMaxVel,
+                              @Nullable Double driveMaxAccel,
+                              @Nullable Double driveDelay,
+                              @Nullable Double periodSecs,
+                              @Nullable Double maxTrackingError) {
+        this(climber,
+                new ClimbTrajectory(
+                        backDistance == null ? null : ClimbTrajectory.generate(maxVel, maxAccel, 0, backDistance, 0),
+                        frontDistance == null ? null : ClimbTrajectory.generate(maxVel, maxAccel, 0, frontDistance, 0),
+                        driveDistance == null ? null : ClimbTrajectory.generate(
+                                driveMaxVel != null ? driveMaxVel : maxVel,
+                                driveMaxAccel != null ? driveMaxAccel : maxAccel,
+                                0, driveDistance, driveDelay != null ? driveDelay : 0),
+                        true),
+                periodSecs, maxTrackingError);
+    }
+
+    /**
+     * Constructor for a trajectory that's already been generated.
+     *
+     * @param climber          The climber subsystem.
+     * @param trajectory       The trajectory to run.
+     * @param periodSecs       How often to send new setpoints, in seconds. Defaults to 0.005.
+     * @param maxTrackingError The most any axis can be away from where the trajectory put it before the trajectory is
+     *                         aborted, in feet. Defaults to 0.25.
+     */
+    public RunClimbTrajectory(@NotNull SubsystemClimber2019 climber,
+                              @NotNull ClimbTrajectory trajectory,
+                              @Nullable Double periodSecs,
+                              @Nullable Double maxTrackingError) {
+        requires(climber);
+        this.climber = climber;
+        this.trajectory = trajectory;
+        this.periodSecs = periodSecs != null ? periodSecs : 0.005;
+        this.maxTrackingError = maxTrackingError != null ? maxTrackingError : 0.25;
+    }
+
+    /**
+     * Start the trajectory.
+     */
+    @Override
+    protected void initialize() {
+        Logger.addEvent("RunClimbTrajectory initialize", this.getClass());
+        climber.startTrajectory(trajectory, periodSecs, maxTrackingError);
+    }
+
+    /**
+     * Run until the trajectory finishes or is aborted.
+     *
+     * @return true if the trajectory is no longer running, false otherwise.
+     */
+    @Override
+    protected boolean isFinished() {
+        return !climber.isTrajectoryRunning();
+    }
+
+    /**
+     * Log how the trajectory ended and brake the elevators it moved. If it was aborted, stop the leg-drive too.
+     */
+    @Override
+    protected void end() {
+        climber.stopTrajectory();
+        String fault = climber.getTrajectoryFault();
+        if (fault != null) {
+            Logger.addEvent(fault, this.getClass());
+            stopAxes();
+        } else {
+            Logger.addEvent("RunClimbTrajectory end, " + timeSinceInitialized(), this.getClass());
+            stopElevators();
+        }
+    }
+
+    /**
+     * Stop the trajectory and the axes it moved.
+     */
+    @Override
+    protected void interrupted() {
+        climber.stopTrajectory();
+        stopAxes();
+        Logger.addEvent("RunClimbTrajectory interrupted!", this.getClass());
+    }
+
+    /**
+     * Brake and disable every axis the trajectory moves.
+     */
+    private void stopAxes() {
+        stopElevators();
+        if (trajectory.getDrive() != null) {
+            climber.fullStopDrive();
+        }
+    }
+
+    /**
+     * Brake and disable the elevators the trajectory moves.
+     */
+    private void stopElevators() {
+        if (trajectory.getBack() != null) {
+            climber.fullStopBack();
+        }
+        if (trajectory.getFront() != null) {
+            climber.fullStopFront();
+        }
+    }
+}